@@ -0,0 +1,41 @@
+package com.meli.social.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+// Relay do outbox e flush dos contadores rodam em schedulers próprios: jobs longos do scheduler padrão
+// (arquivamento, sugestões, partições, snapshot) não atrasam a entrega de eventos nem a gravação dos deltas.
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    public static final String OUTBOX_RELAY_SCHEDULER = "outboxRelayScheduler";
+    public static final String COUNTER_FLUSH_SCHEDULER = "counterFlushScheduler";
+
+    // Com outros TaskScheduler no contexto, o Spring só usa o padrão se ele se chamar taskScheduler
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${spring.task.scheduling.pool.size:2}") int poolSize) {
+        return scheduler("scheduling-", poolSize);
+    }
+
+    @Bean(OUTBOX_RELAY_SCHEDULER)
+    public ThreadPoolTaskScheduler outboxRelayScheduler() {
+        return scheduler("outbox-relay-", 1);
+    }
+
+    @Bean(COUNTER_FLUSH_SCHEDULER)
+    public ThreadPoolTaskScheduler counterFlushScheduler() {
+        return scheduler("counter-flush-", 1);
+    }
+
+    private static ThreadPoolTaskScheduler scheduler(String threadNamePrefix, int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix(threadNamePrefix);
+        scheduler.setPoolSize(poolSize);
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        return scheduler;
+    }
+}
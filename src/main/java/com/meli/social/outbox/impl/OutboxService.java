@@ -0,0 +1,183 @@
+package com.meli.social.outbox.impl;
+
+import com.meli.social.config.SchedulingConfig;
+import com.meli.social.outbox.inter.IOutboxConsumer;
+import com.meli.social.outbox.inter.IOutboxService;
+import com.meli.social.outbox.inter.OutboxJpaRepository;
+import com.meli.social.outbox.model.OutboxEvent;
+import com.meli.social.outbox.model.OutboxEventType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Outbox transacional: follows, posts e likes gravam um evento na mesma transação da escrita principal
+// e o relay o entrega depois aos consumidores em processo (caches, contadores, timelines), tirando
+// esse trabalho da thread da requisição. Cada evento é reivindicado e processado numa transação própria:
+// as escritas dos consumidores e a marcação de processado são commitadas juntas, então uma falha
+// desfaz as duas e o evento volta a ser entregue (at-least-once). Após max-attempts falhas o evento
+// é marcado como failed e sai da fila. Funciona com várias instâncias: o UPDATE de reivindicação
+// garante que só uma processe cada evento, e só o pendente mais antigo de cada ator é elegível, então
+// os efeitos de um mesmo ator são aplicados na ordem de gravação (um evento com falha segura os
+// seguintes até ser entregue ou ir para failed). Desabilitado, os serviços aplicam os efeitos na hora.
+@Service
+public class OutboxService implements IOutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxService.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxJpaRepository outboxRepository;
+    // Resolvidos só na entrega: os consumidores também publicam eventos (dependência circular)
+    private final ObjectProvider<IOutboxConsumer> consumers;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retention;
+    private final Duration maxRelayDuration;
+
+    private final Counter published;
+    private final Counter relayed;
+    private final Counter failures;
+
+    public OutboxService(
+            OutboxJpaRepository outboxRepository,
+            ObjectProvider<IOutboxConsumer> consumers,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${social.outbox.enabled:false}") boolean enabled,
+            @Value("${social.outbox.batch-size:100}") int batchSize,
+            @Value("${social.outbox.max-attempts:5}") int maxAttempts,
+            @Value("${social.outbox.retention:PT24H}") Duration retention,
+            @Value("${social.outbox.relay-max-duration:PT2S}") Duration maxRelayDuration
+    ) {
+        this.outboxRepository = outboxRepository;
+        this.consumers = consumers;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retention = retention;
+        this.maxRelayDuration = maxRelayDuration;
+        this.published = meterRegistry.counter("social.outbox.published");
+        this.relayed = meterRegistry.counter("social.outbox.relayed");
+        this.failures = meterRegistry.counter("social.outbox.failures");
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Deve ser chamado dentro da transação da escrita principal
+    @Override
+    public void publish(OutboxEventType type, Integer actorId, Integer targetId) {
+        outboxRepository.save(new OutboxEvent(type, actorId, targetId));
+        published.increment();
+    }
+
+    // Percorre os elegíveis por id (keyset). Como só o pendente mais antigo de cada ator é elegível,
+    // uma passagem que entregou algo é seguida de outra desde o início, que pega os próximos eventos
+    // desses atores; cada evento é tentado no máximo uma vez por rodada. A rodada para ao fim do lote
+    // em que passar de relay-max-duration: sob carga contínua a fila nunca esvazia, e o job precisa
+    // devolver a thread do scheduler
+    @Override
+    @Scheduled(fixedDelayString = "${social.outbox.relay-interval:PT0.5S}", scheduler = SchedulingConfig.OUTBOX_RELAY_SCHEDULER)
+    public synchronized int relay() {
+        if (!enabled) {
+            return 0;
+        }
+
+        long deadline = System.nanoTime() + maxRelayDuration.toNanos();
+        Set<Long> attempted = new HashSet<>();
+        int delivered = 0;
+        boolean progress;
+        do {
+            progress = false;
+            Long lastId = 0L;
+            List<Long> batch;
+            do {
+                batch = outboxRepository.findPendingIdsAfter(lastId, PageRequest.of(0, batchSize));
+                for (Long id : batch) {
+                    if (attempted.add(id) && deliver(id)) {
+                        delivered++;
+                        progress = true;
+                    }
+                    lastId = id;
+                }
+            } while (batch.size() == batchSize && System.nanoTime() - deadline < 0);
+        } while (progress && System.nanoTime() - deadline < 0);
+
+        if (delivered > 0) {
+            logger.debug("Outbox relayed events={}", delivered);
+        }
+        return delivered;
+    }
+
+    @Override
+    @Scheduled(cron = "${social.outbox.purge-cron:0 45 * * * *}")
+    public int purge() {
+        if (!enabled) {
+            return 0;
+        }
+        LocalDateTime before = LocalDateTime.now().minus(retention);
+        Integer deleted = transactionTemplate.execute(status -> outboxRepository.deleteProcessedBefore(before));
+        logger.info("Outbox purged events={} before={}", deleted, before);
+        return deleted == null ? 0 : deleted;
+    }
+
+    private boolean deliver(Long id) {
+        try {
+            Boolean delivered = transactionTemplate.execute(status -> {
+                if (outboxRepository.markProcessed(id, LocalDateTime.now()) == 0) {
+                    return false;
+                }
+                OutboxEvent event = outboxRepository.findById(id).orElseThrow();
+                consumers.orderedStream().forEach(consumer -> consumer.handle(event));
+                return true;
+            });
+            if (Boolean.TRUE.equals(delivered)) {
+                relayed.increment();
+                return true;
+            }
+            return false;
+        } catch (RuntimeException e) {
+            failures.increment();
+            recordFailure(id, e);
+            return false;
+        }
+    }
+
+    private void recordFailure(Long id, RuntimeException error) {
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.findById(id).ifPresent(event -> {
+            event.setAttempts(event.getAttempts() + 1);
+            event.setLastError(truncate(String.valueOf(error.getMessage())));
+            if (event.getAttempts() >= maxAttempts) {
+                event.setFailed(true);
+                event.setProcessedAt(LocalDateTime.now());
+                logger.error("Outbox event dead-lettered id={} type={} attempts={}", id, event.getType(), event.getAttempts(), error);
+            } else {
+                logger.warn("Outbox delivery failed id={} type={} attempts={}", id, event.getType(), event.getAttempts(), error);
+            }
+            outboxRepository.save(event);
+        }));
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
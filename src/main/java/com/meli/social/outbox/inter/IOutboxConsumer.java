@@ -0,0 +1,11 @@
+package com.meli.social.outbox.inter;
+
+import com.meli.social.outbox.model.OutboxEvent;
+
+// Consumidor em processo dos eventos do outbox. Recebe todos os eventos e ignora os tipos que não
+// trata. Roda na transação do relay: escritas no banco são aplicadas uma única vez junto com a
+// marcação do evento; efeitos em memória podem se repetir numa nova tentativa e devem ser idempotentes.
+public interface IOutboxConsumer {
+
+    void handle(OutboxEvent event);
+}
@@ -0,0 +1,14 @@
+package com.meli.social.outbox.inter;
+
+import com.meli.social.outbox.model.OutboxEventType;
+
+public interface IOutboxService {
+
+    boolean isEnabled();
+
+    void publish(OutboxEventType type, Integer actorId, Integer targetId);
+
+    int relay();
+
+    int purge();
+}
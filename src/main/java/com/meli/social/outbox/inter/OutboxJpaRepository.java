@@ -0,0 +1,33 @@
+package com.meli.social.outbox.inter;
+
+import com.meli.social.outbox.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxJpaRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Só o evento pendente mais antigo de cada ator é elegível: o seguinte só aparece depois do commit
+    // do anterior, então efeitos do mesmo ator (ex.: follow e unfollow) não se invertem entre instâncias
+    @Query("SELECT e.id FROM OutboxEvent e WHERE e.processedAt IS NULL AND e.id > :afterId " +
+            "AND NOT EXISTS (SELECT 1 FROM OutboxEvent o WHERE o.actorId = e.actorId AND o.processedAt IS NULL AND o.id < e.id) " +
+            "ORDER BY e.id")
+    List<Long> findPendingIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Reivindica o evento: a linha fica bloqueada até o commit, então um relay concorrente espera e
+    // recebe 0 depois dele
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.processedAt = :processedAt WHERE e.id = :id AND e.processedAt IS NULL")
+    int markProcessed(@Param("id") Long id, @Param("processedAt") LocalDateTime processedAt);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.processedAt < :before AND e.failed = false")
+    int deleteProcessedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,60 @@
+package com.meli.social.outbox.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_pending", columnList = "processed_at, id"),
+        @Index(name = "idx_outbox_events_actor_pending", columnList = "actor_id, processed_at, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 32)
+    private OutboxEventType type;
+
+    @Column(name = "actor_id", nullable = false)
+    private Integer actorId;
+
+    @Column(name = "target_id", nullable = false)
+    private Integer targetId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Preenchido na mesma transação dos consumidores; nulo enquanto pendente
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    // Esgotou as tentativas: fica na tabela para inspeção e não é removido pela limpeza
+    @Column(name = "failed", nullable = false)
+    private boolean failed;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    public OutboxEvent(OutboxEventType type, Integer actorId, Integer targetId) {
+        this.type = type;
+        this.actorId = actorId;
+        this.targetId = targetId;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
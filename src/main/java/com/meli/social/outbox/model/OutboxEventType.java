@@ -0,0 +1,11 @@
+package com.meli.social.outbox.model;
+
+// actorId/targetId de cada tipo: FOLLOW/UNFOLLOW (seguidor, seguido), POST_CREATED (autor, post),
+// POST_LIKED/POST_UNLIKED (usuário, post)
+public enum OutboxEventType {
+    FOLLOW,
+    UNFOLLOW,
+    POST_CREATED,
+    POST_LIKED,
+    POST_UNLIKED
+}
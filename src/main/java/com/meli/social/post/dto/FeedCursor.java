@@ -0,0 +1,54 @@
+package com.meli.social.post.dto;
+
+import com.meli.social.post.model.Post;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Posição (date, postId) do último post entregue, serializada de forma opaca para o cliente.
+// Na ordenação 'rank' o cursor também carrega o score do último post.
+public record FeedCursor(LocalDate date, Integer postId, Double score) {
+
+    public FeedCursor(LocalDate date, Integer postId) {
+        this(date, postId, null);
+    }
+
+    public static FeedCursor of(Post post) {
+        return new FeedCursor(post.getDate(), post.getPostId());
+    }
+
+    public static FeedCursor of(FeedPostDTO post) {
+        return new FeedCursor(post.getDate(), post.getPostId());
+    }
+
+    public static FeedCursor ranked(FeedPostDTO post) {
+        return new FeedCursor(post.getDate(), post.getPostId(), post.getScore());
+    }
+
+    public String encode() {
+        String raw = date + ":" + postId + (score == null ? "" : ":" + score);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static FeedCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", -1);
+            if (parts.length < 2 || parts.length > 3) {
+                throw new IllegalArgumentException();
+            }
+            return new FeedCursor(
+                    LocalDate.parse(parts[0]),
+                    Integer.valueOf(parts[1]),
+                    parts.length == 3 ? Double.valueOf(parts[2]) : null
+            );
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor);
+        }
+    }
+}
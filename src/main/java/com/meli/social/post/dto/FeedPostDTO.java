@@ -0,0 +1,61 @@
+package com.meli.social.post.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.meli.social.post.model.Post;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// Post do feed já achatado para a resposta: mesmo formato JSON de Post, sem entidade gerenciada.
+// O construtor com as colunas de produto é usado pelas consultas de projeção (SELECT new ...).
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedPostDTO {
+
+    private Integer postId;
+    private LocalDate date;
+    private ProductDTO product;
+    private Integer category;
+    private Double price;
+    private Boolean hasPromo;
+    private Double discount;
+    private Integer likesCount;
+
+    // Autor do post: usado para separar resultados em memória (ex.: feed em lote), fora do JSON como em Post
+    @JsonIgnore
+    private Integer userId;
+
+    // Score de relevância (ordenação 'rank'); só usado para montar o cursor
+    @JsonIgnore
+    private Double score;
+
+    public FeedPostDTO(Integer userId, Integer postId, LocalDate date, Integer category, Double price, Boolean hasPromo,
+                       Double discount, Integer likesCount, Integer productId, String productName,
+                       String type, String brand, String color, String notes, Double score) {
+        this(postId, date,
+                productId == null ? null : new ProductDTO(productId, productName, type, brand, color, notes),
+                category, price, hasPromo, discount, likesCount, userId, score);
+    }
+
+    public static FeedPostDTO fromEntity(Post post) {
+        if (post == null) {
+            return null;
+        }
+
+        return new FeedPostDTO(
+                post.getPostId(),
+                post.getDate(),
+                ProductDTO.fromEntity(post.getProduct()),
+                post.getCategory(),
+                post.getPrice(),
+                post.getHasPromo(),
+                post.getDiscount(),
+                post.getLikesCount(),
+                post.getUser() != null ? post.getUser().getUserId() : null,
+                post.getScore()
+        );
+    }
+}
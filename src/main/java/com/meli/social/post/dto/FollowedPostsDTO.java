@@ -1,7 +1,7 @@
 package com.meli.social.post.dto;
 
 import com.fasterxml.jackson.annotation.JsonAlias;
-import com.meli.social.post.model.Post;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -14,5 +14,12 @@ import java.util.List;
 public class FollowedPostsDTO {
     @JsonAlias("userId")
     private Integer userId;
-    private List<Post> posts;
+    private List<FeedPostDTO> posts;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
+    public FollowedPostsDTO(Integer userId, List<FeedPostDTO> posts) {
+        this.userId = userId;
+        this.posts = posts;
+    }
 }
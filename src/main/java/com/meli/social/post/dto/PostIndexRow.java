@@ -0,0 +1,13 @@
+package com.meli.social.post.dto;
+
+import java.time.LocalDate;
+
+// Projeção mínima (autor, post, data) usada para carregar o índice de feed em memória
+public interface PostIndexRow {
+
+    Integer getUserId();
+
+    Integer getPostId();
+
+    LocalDate getDate();
+}
@@ -0,0 +1,168 @@
+package com.meli.social.post.impl;
+
+import com.meli.social.common.AfterCommit;
+import com.meli.social.config.SchedulingConfig;
+import com.meli.social.post.inter.ICounterBufferService;
+import com.meli.social.post.inter.IFeedVersionService;
+import com.meli.social.post.inter.IPostRepository;
+import com.meli.social.user.inter.UserJpaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+// Contadores write-behind: likes por post e seguidores por usuário acumulam deltas em memória
+// (ConcurrentHashMap, lock por bin) e são gravados no banco de forma agregada a cada
+// flush-interval e no shutdown. Um post viral vira um UPDATE por intervalo em vez de um por like.
+// Leituras devem somar o valor persistido com o delta pendente. Deltas ainda não gravados se perdem
+// se o processo morrer sem shutdown.
+// Os feeds mostram o likesCount persistido: a versão do feed dos seguidores do autor (que invalida
+// cache e ETag) só avança depois que o lote de likes é gravado, senão a página recarregada no commit do like
+// ficaria em cache (e respondendo 304) com o valor antigo.
+// Um LongAdder por chave não serviria: o flush precisa ler e remover cada delta atomicamente, e
+// LongAdder.sumThenReset() perde incrementos concorrentes; o merge no bin do mapa já não disputa
+// um único lock entre posts diferentes.
+@Service
+public class CounterBufferService implements ICounterBufferService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CounterBufferService.class);
+
+    private final IPostRepository postRepository;
+    private final UserJpaRepository userRepository;
+    private final IFeedVersionService feedVersionService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+
+    private final Map<Integer, Long> likeDeltas = new ConcurrentHashMap<>();
+    private final Map<Integer, Long> followerDeltas = new ConcurrentHashMap<>();
+
+    private final Counter flushedRows;
+    private final Counter flushFailures;
+
+    public CounterBufferService(
+            IPostRepository postRepository,
+            UserJpaRepository userRepository,
+            IFeedVersionService feedVersionService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${social.counters.buffer.enabled:false}") boolean enabled,
+            @Value("${social.counters.buffer.batch-size:500}") int batchSize
+    ) {
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+        this.feedVersionService = feedVersionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushedRows = meterRegistry.counter("social.counters.buffer.flushed");
+        this.flushFailures = meterRegistry.counter("social.counters.buffer.flush.failures");
+        meterRegistry.gauge("social.counters.buffer.pending", this, service -> likeDeltas.size() + followerDeltas.size());
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Só acumula depois do commit, para não contar likes/follows de transações desfeitas
+    @Override
+    public void addLikes(Integer postId, int delta) {
+        AfterCommit.run(() -> add(likeDeltas, postId, delta));
+    }
+
+    @Override
+    public void addFollowers(Integer userId, int delta) {
+        AfterCommit.run(() -> add(followerDeltas, userId, delta));
+    }
+
+    @Override
+    public long pendingLikes(Integer postId) {
+        return likeDeltas.getOrDefault(postId, 0L);
+    }
+
+    @Override
+    public long pendingFollowers(Integer userId) {
+        return followerDeltas.getOrDefault(userId, 0L);
+    }
+
+    @Override
+    public Map<Integer, Long> pendingFollowers() {
+        return Map.copyOf(followerDeltas);
+    }
+
+    @Override
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${social.counters.buffer.flush-interval:PT1S}", scheduler = SchedulingConfig.COUNTER_FLUSH_SCHEDULER)
+    public synchronized void flush() {
+        if (!enabled) {
+            return;
+        }
+        List<Integer> posts = flush(likeDeltas, postRepository::applyLikesCountDelta);
+        List<Integer> users = flush(followerDeltas, userRepository::applyFollowersCountDelta);
+        if (!posts.isEmpty()) {
+            refreshFeedsOfPosts(posts);
+        }
+        if (posts.size() + users.size() > 0) {
+            logger.debug("Counters flushed posts={} users={}", posts.size(), users.size());
+        }
+    }
+
+    // Devolve os ids cujos deltas foram gravados
+    private List<Integer> flush(Map<Integer, Long> deltas, BiConsumer<Integer, Integer> apply) {
+        // Cada entrada é lida e removida atomicamente (lock do bin): um delta concorrente entra antes
+        // da retirada ou cria uma entrada nova para o próximo flush, nunca nos dois
+        List<Map.Entry<Integer, Integer>> drained = new ArrayList<>();
+        for (Integer id : deltas.keySet()) {
+            deltas.computeIfPresent(id, (key, delta) -> {
+                drained.add(Map.entry(key, delta.intValue()));
+                return null;
+            });
+        }
+
+        List<Integer> flushed = new ArrayList<>();
+        for (int from = 0; from < drained.size(); from += batchSize) {
+            List<Map.Entry<Integer, Integer>> batch = drained.subList(from, Math.min(from + batchSize, drained.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> batch.forEach(entry -> apply.accept(entry.getKey(), entry.getValue())));
+                flushedRows.increment(batch.size());
+                batch.forEach(entry -> flushed.add(entry.getKey()));
+            } catch (RuntimeException e) {
+                // Devolve os deltas do lote para a próxima tentativa
+                batch.forEach(entry -> add(deltas, entry.getKey(), entry.getValue()));
+                flushFailures.increment();
+                logger.error("Counter flush failed batchSize={}", batch.size(), e);
+            }
+        }
+        return flushed;
+    }
+
+    private void refreshFeedsOfPosts(List<Integer> postIds) {
+        Set<Integer> authorIds = new HashSet<>();
+        for (int from = 0; from < postIds.size(); from += batchSize) {
+            authorIds.addAll(postRepository.findAuthorIdsByPostIdIn(postIds.subList(from, Math.min(from + batchSize, postIds.size()))));
+        }
+        for (Integer authorId : authorIds) {
+            feedVersionService.bumpFollowersOf(authorId);
+        }
+    }
+
+    // Deltas que se anulam removem a entrada, mantendo o mapa só com posts/usuários pendentes
+    private static void add(Map<Integer, Long> deltas, Integer id, long delta) {
+        deltas.merge(id, delta, (current, added) -> current + added == 0 ? null : current + added);
+    }
+}
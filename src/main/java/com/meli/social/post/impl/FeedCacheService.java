@@ -0,0 +1,128 @@
+package com.meli.social.post.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.meli.social.post.dto.FollowedPostsDTO;
+import com.meli.social.post.inter.IFeedCacheService;
+import com.meli.social.post.inter.IFeedVersionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Cache das páginas do feed, agrupadas por usuário e marcadas com a versão do feed do usuário
+// (FeedVersionService) lida antes da carga: um post, like ou follow avança a versão só dos usuários
+// cujo feed pode ter mudado, e as páginas com versão anterior deixam de ser servidas. Assim a mesma
+// consulta de seguidores serve ao cache e ao ETag, e uma escrita só descarta cargas daqueles usuários.
+// Eviction W-TinyLFU (Caffeine) limitada pelo total de páginas; as entradas expiram na virada do dia,
+// quando a janela de 14 dias do feed desloca (ou antes, em max-ttl).
+@Service
+public class FeedCacheService implements IFeedCacheService {
+
+    record PageKey(String sort, int page, int size) {
+    }
+
+    record UserPages(long version, Map<PageKey, FollowedPostsDTO> pages) {
+    }
+
+    private final IFeedVersionService feedVersionService;
+    private final boolean enabled;
+    private final Duration maxTtl;
+    private final Cache<Integer, UserPages> cache;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public FeedCacheService(
+            IFeedVersionService feedVersionService,
+            MeterRegistry meterRegistry,
+            @Value("${social.feed.cache.enabled:false}") boolean enabled,
+            @Value("${social.feed.cache.max-pages:50000}") long maxPages,
+            @Value("${social.feed.cache.max-ttl:PT10M}") Duration maxTtl
+    ) {
+        this.feedVersionService = feedVersionService;
+        this.enabled = enabled;
+        this.maxTtl = maxTtl;
+        this.hits = meterRegistry.counter("social.feed.cache.hits");
+        this.misses = meterRegistry.counter("social.feed.cache.misses");
+        this.evictions = meterRegistry.counter("social.feed.cache.evictions");
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxPages)
+                .<Integer, UserPages>weigher((userId, entry) -> entry.pages().size())
+                .expireAfter(new Expiry<Integer, UserPages>() {
+                    @Override
+                    public long expireAfterCreate(Integer userId, UserPages entry, long currentTime) {
+                        return untilWindowRollover().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Integer userId, UserPages entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(Integer userId, UserPages entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .removalListener((Integer userId, UserPages entry, com.github.benmanes.caffeine.cache.RemovalCause cause) -> {
+                    if (cause.wasEvicted()) {
+                        evictions.increment(entry == null ? 1 : entry.pages().size());
+                    }
+                })
+                .executor(Runnable::run)
+                .build();
+        meterRegistry.gauge("social.feed.cache.size", cache, Cache::estimatedSize);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // A versão é lida antes da carga: se uma escrita a avançar durante a carga, o resultado não é
+    // gravado (pode ter lido o estado anterior), e só os feeds daquela escrita são afetados
+    @Override
+    public FollowedPostsDTO get(Integer userId, String sort, int page, int size, Supplier<FollowedPostsDTO> loader) {
+        PageKey key = new PageKey(sort == null ? "" : sort.trim().toLowerCase(), page, size);
+        long version = feedVersionService.currentVersion(userId);
+
+        UserPages entry = cache.getIfPresent(userId);
+        FollowedPostsDTO cached = entry == null || entry.version() != version ? null : entry.pages().get(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        FollowedPostsDTO loaded = loader.get();
+        cache.asMap().compute(userId, (id, current) -> {
+            if (feedVersionService.currentVersion(userId) != version) {
+                return current;
+            }
+            Map<PageKey, FollowedPostsDTO> updated = current == null || current.version() != version
+                    ? new HashMap<>()
+                    : new HashMap<>(current.pages());
+            updated.put(key, loaded);
+            return new UserPages(version, Map.copyOf(updated));
+        });
+        return loaded;
+    }
+
+    private Duration untilWindowRollover() {
+        ZonedDateTime now = ZonedDateTime.now();
+        ZonedDateTime nextDay = LocalDate.now().plusDays(1).atStartOfDay(ZoneId.systemDefault());
+        Duration untilMidnight = Duration.between(now, nextDay);
+        return untilMidnight.compareTo(maxTtl) < 0 ? untilMidnight : maxTtl;
+    }
+}
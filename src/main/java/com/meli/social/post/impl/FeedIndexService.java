@@ -0,0 +1,277 @@
+package com.meli.social.post.impl;
+
+import com.meli.social.common.AfterCommit;
+import com.meli.social.post.dto.FeedCursor;
+import com.meli.social.post.dto.PostIndexRow;
+import com.meli.social.post.inter.IFeedIndexService;
+import com.meli.social.post.inter.IPostRepository;
+import com.meli.social.post.inter.IPostService;
+import com.meli.social.post.model.Post;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Índice em memória dos posts recentes (janela do feed) por autor.
+// Cada autor tem um long[] ordenado de chaves (epochDay << 32 | postId); o feed é montado
+// por k-way merge dessas listas com um heap, sem consulta IN-list no banco.
+// O aquecimento mescla a leitura do banco no mapa, preservando posts indexados enquanto ela rodava;
+// até ele terminar isEnabled() é false e o feed usa o banco.
+// O índice é local ao processo: habilitar apenas com uma instância ou com roteamento por usuário.
+@Service
+public class FeedIndexService implements IFeedIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeedIndexService.class);
+
+    private final IPostRepository postRepository;
+    private final boolean enabled;
+
+    // Arrays imutáveis (copy-on-write): leitores sempre enxergam um snapshot consistente por autor
+    private final Map<Integer, long[]> keysByAuthor = new ConcurrentHashMap<>();
+    private volatile boolean warmedUp;
+
+    public FeedIndexService(
+            IPostRepository postRepository,
+            @Value("${social.feed.index.enabled:false}") boolean enabled
+    ) {
+        this.postRepository = postRepository;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled && warmedUp;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+
+        List<PostIndexRow> rows = postRepository.findIndexRowsByDateFrom(windowStart());
+
+        Map<Integer, Integer> counts = new HashMap<>();
+        rows.forEach(row -> counts.merge(row.getUserId(), 1, Integer::sum));
+
+        Map<Integer, long[]> arrays = new HashMap<>();
+        Map<Integer, Integer> filled = new HashMap<>();
+        counts.forEach((authorId, count) -> arrays.put(authorId, new long[count]));
+        for (PostIndexRow row : rows) {
+            int position = filled.merge(row.getUserId(), 1, Integer::sum) - 1;
+            arrays.get(row.getUserId())[position] = key(row.getDate(), row.getPostId());
+        }
+        arrays.values().forEach(Arrays::sort);
+
+        // Sem clear()+putAll(): um index() commitado durante a leitura já está no mapa e seria perdido
+        long floor = key(windowStart(), 0);
+        arrays.forEach((authorId, keys) -> keysByAuthor.merge(authorId, keys, (current, loaded) -> union(current, loaded, floor)));
+        warmedUp = true;
+        logger.info("Feed index warmed up authors={} posts={}", arrays.size(), rows.size());
+    }
+
+    @Override
+    public void index(Post post) {
+        if (!enabled || post == null || post.getUser() == null || post.getPostId() == null) {
+            return;
+        }
+
+        Integer authorId = post.getUser().getUserId();
+        long key = key(post.getDate(), post.getPostId());
+        Runnable add = () -> keysByAuthor.compute(authorId, (id, keys) -> insert(keys, key, key(windowStart(), 0)));
+
+        // Só publica no índice depois do commit, para não expor posts de transações desfeitas
+        AfterCommit.run(add);
+    }
+
+    @Scheduled(cron = "${social.feed.index.evict-cron:0 5 0 * * *}")
+    public void evictExpired() {
+        if (!enabled) {
+            return;
+        }
+
+        long floor = key(windowStart(), 0);
+        keysByAuthor.replaceAll((authorId, keys) -> {
+            int from = lowerBound(keys, floor);
+            return from == 0 ? keys : Arrays.copyOfRange(keys, from, keys.length);
+        });
+        keysByAuthor.values().removeIf(keys -> keys.length == 0);
+        logger.info("Feed index evicted posts before {} authors={}", windowStart(), keysByAuthor.size());
+    }
+
+    @Override
+    public List<Integer> findFeedPostIds(List<Integer> authorIds, LocalDate startDate, LocalDate endDate, Sort.Direction direction, int offset, int limit) {
+        return merge(authorIds, key(startDate, 0), maxKey(endDate), direction, offset, limit);
+    }
+
+    @Override
+    public List<Integer> findFeedPostIds(List<Integer> authorIds, LocalDate startDate, LocalDate endDate, Sort.Direction direction, FeedCursor after, int limit) {
+        long low = key(startDate, 0);
+        long high = maxKey(endDate);
+        if (after != null) {
+            long cursorKey = key(after.date(), after.postId());
+            if (direction.isAscending()) {
+                low = Math.max(low, cursorKey + 1);
+            } else {
+                high = Math.min(high, cursorKey - 1);
+            }
+        }
+        return merge(authorIds, low, high, direction, 0, limit);
+    }
+
+    private List<Integer> merge(List<Integer> authorIds, long low, long high, Sort.Direction direction, int offset, int limit) {
+        boolean ascending = direction.isAscending();
+        int step = ascending ? 1 : -1;
+
+        // Um "cabeçote" por autor: posição atual e posição de parada (exclusiva) dentro do seu array
+        long[][] lists = new long[authorIds.size()][];
+        int[] position = new int[authorIds.size()];
+        int[] stop = new int[authorIds.size()];
+        int[] heap = new int[authorIds.size()];
+        int heapSize = 0;
+
+        for (int i = 0; i < authorIds.size(); i++) {
+            long[] keys = keysByAuthor.get(authorIds.get(i));
+            if (keys == null) {
+                continue;
+            }
+            int from = lowerBound(keys, low);
+            int to = lowerBound(keys, high + 1);
+            if (from >= to) {
+                continue;
+            }
+            lists[i] = keys;
+            position[i] = ascending ? from : to - 1;
+            stop[i] = ascending ? to : from - 1;
+            heap[heapSize] = i;
+            siftUp(heap, heapSize++, lists, position, ascending);
+        }
+
+        List<Integer> postIds = new ArrayList<>(limit);
+        int popped = 0;
+        while (heapSize > 0 && postIds.size() < limit) {
+            int slot = heap[0];
+            if (popped++ >= offset) {
+                postIds.add((int) lists[slot][position[slot]]);
+            }
+
+            position[slot] += step;
+            if (position[slot] == stop[slot]) {
+                heap[0] = heap[--heapSize];
+            }
+            siftDown(heap, heapSize, lists, position, ascending);
+        }
+        return postIds;
+    }
+
+    private static void siftUp(int[] heap, int index, long[][] lists, int[] position, boolean ascending) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!before(heap[index], heap[parent], lists, position, ascending)) {
+                return;
+            }
+            swap(heap, index, parent);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, long[][] lists, int[] position, boolean ascending) {
+        int index = 0;
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                return;
+            }
+            int child = left + 1 < size && before(heap[left + 1], heap[left], lists, position, ascending) ? left + 1 : left;
+            if (!before(heap[child], heap[index], lists, position, ascending)) {
+                return;
+            }
+            swap(heap, index, child);
+            index = child;
+        }
+    }
+
+    private static boolean before(int a, int b, long[][] lists, int[] position, boolean ascending) {
+        long keyA = lists[a][position[a]];
+        long keyB = lists[b][position[b]];
+        return ascending ? keyA < keyB : keyA > keyB;
+    }
+
+    private static void swap(int[] heap, int i, int j) {
+        int tmp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = tmp;
+    }
+
+    private static long[] insert(long[] keys, long key, long floor) {
+        if (key < floor) {
+            return keys;
+        }
+        if (keys == null) {
+            return new long[]{key};
+        }
+
+        int from = lowerBound(keys, floor);
+        int at = Arrays.binarySearch(keys, from, keys.length, key);
+        if (at >= 0) {
+            return keys;
+        }
+        at = -at - 1;
+
+        long[] updated = new long[keys.length - from + 1];
+        System.arraycopy(keys, from, updated, 0, at - from);
+        updated[at - from] = key;
+        System.arraycopy(keys, at, updated, at - from + 1, keys.length - at);
+        return updated;
+    }
+
+    // União de dois arrays ordenados, sem repetidos e sem chaves abaixo de floor
+    private static long[] union(long[] a, long[] b, long floor) {
+        long[] merged = new long[a.length + b.length];
+        int i = lowerBound(a, floor);
+        int j = lowerBound(b, floor);
+        int size = 0;
+        while (i < a.length || j < b.length) {
+            long next = j == b.length || (i < a.length && a[i] <= b[j]) ? a[i++] : b[j++];
+            if (size == 0 || merged[size - 1] != next) {
+                merged[size++] = next;
+            }
+        }
+        return size == merged.length ? merged : Arrays.copyOf(merged, size);
+    }
+
+    // Primeiro índice com keys[i] >= key
+    private static int lowerBound(long[] keys, long key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long key(LocalDate date, int postId) {
+        return (date.toEpochDay() << 32) | (postId & 0xFFFFFFFFL);
+    }
+
+    private static long maxKey(LocalDate date) {
+        return key(date, -1);
+    }
+
+    private static LocalDate windowStart() {
+        return LocalDate.now().minusDays(IPostService.FEED_WINDOW_DAYS);
+    }
+}
@@ -0,0 +1,74 @@
+package com.meli.social.post.impl;
+
+import com.meli.social.post.dto.FollowedPostsDTO;
+import com.meli.social.post.inter.IFeedSingleFlightService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Coalescência de requisições idênticas de feed: por chave (usuário, sort, página, tamanho) só uma
+// consulta fica em andamento; as chamadas concorrentes aguardam e compartilham o mesmo resultado (ou erro).
+@Service
+public class FeedSingleFlightService implements IFeedSingleFlightService {
+
+    record FeedKey(Integer userId, String sort, int page, int size) {
+    }
+
+    private final boolean enabled;
+    private final Counter coalesced;
+    private final Map<FeedKey, CompletableFuture<FollowedPostsDTO>> inFlight = new ConcurrentHashMap<>();
+
+    public FeedSingleFlightService(
+            MeterRegistry meterRegistry,
+            @Value("${social.feed.single-flight.enabled:false}") boolean enabled
+    ) {
+        this.enabled = enabled;
+        this.coalesced = meterRegistry.counter("social.feed.single-flight.coalesced");
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public FollowedPostsDTO execute(Integer userId, String sort, int page, int size, Supplier<FollowedPostsDTO> loader) {
+        FeedKey key = new FeedKey(userId, sort == null ? "" : sort.trim().toLowerCase(), page, size);
+
+        CompletableFuture<FollowedPostsDTO> call = new CompletableFuture<>();
+        CompletableFuture<FollowedPostsDTO> running = inFlight.putIfAbsent(key, call);
+        if (running != null) {
+            coalesced.increment();
+            return await(running);
+        }
+
+        try {
+            FollowedPostsDTO result = loader.get();
+            call.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            call.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private static FollowedPostsDTO await(CompletableFuture<FollowedPostsDTO> running) {
+        try {
+            return running.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
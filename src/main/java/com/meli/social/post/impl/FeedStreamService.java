@@ -0,0 +1,312 @@
+package com.meli.social.post.impl;
+
+import com.meli.social.common.AfterCommit;
+import com.meli.social.exception.UserNotFoundException;
+import com.meli.social.post.dto.FeedPostDTO;
+import com.meli.social.post.inter.IFeedStreamService;
+import com.meli.social.post.model.Post;
+import com.meli.social.user.inter.UserJpaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Pub/sub em processo do feed ao vivo (SSE), indexado por autor.
+// A publicação só enfileira o evento depois do commit; o fan-out e o envio rodam em um pool próprio.
+// Cada assinante tem uma fila limitada: se ela encher (cliente lento), o assinante é desconectado.
+// Um send bloqueado (cliente que não lê e janela TCP cheia) segura uma thread do pool: um watchdog
+// desconecta o assinante cujo envio passar de send-timeout e interrompe a thread. Se o container não
+// abortar a escrita com a interrupção, o timeout de escrita dele é o limite final.
+@Service
+public class FeedStreamService implements IFeedStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeedStreamService.class);
+
+    private static final int EXECUTOR_QUEUE_PER_THREAD = 1024;
+
+    static final class Subscriber {
+        private final Integer userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<FeedPostDTO> pending;
+        private final Set<Integer> authorIds = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+        private volatile boolean evicted;
+        // Thread e início (nanoTime) do send em andamento, nula quando ocioso; protegidos pelo monitor
+        private Thread sender;
+        private long sendStartedAt;
+
+        private Subscriber(Integer userId, SseEmitter emitter, int queueCapacity) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.pending = new ArrayBlockingQueue<>(queueCapacity);
+        }
+    }
+
+    private final UserJpaRepository userRepository;
+    private final Duration timeout;
+    private final int queueCapacity;
+    private final long sendTimeoutNanos;
+    private final ThreadPoolExecutor executor;
+
+    private final Map<Integer, Set<Subscriber>> subscribersByAuthor = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Subscriber>> subscribersByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    private final Counter delivered;
+    private final Counter evicted;
+    private final Counter rejected;
+
+    public FeedStreamService(
+            UserJpaRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${social.feed.stream.timeout:PT30M}") Duration timeout,
+            @Value("${social.feed.stream.queue-capacity:64}") int queueCapacity,
+            @Value("${social.feed.stream.threads:4}") int threads,
+            @Value("${social.feed.stream.send-timeout:PT5S}") Duration sendTimeout
+    ) {
+        this.userRepository = userRepository;
+        this.timeout = timeout;
+        this.queueCapacity = queueCapacity;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(threads * EXECUTOR_QUEUE_PER_THREAD),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "feed-stream-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.delivered = meterRegistry.counter("social.feed.stream.delivered");
+        this.evicted = meterRegistry.counter("social.feed.stream.evicted");
+        this.rejected = meterRegistry.counter("social.feed.stream.rejected");
+        meterRegistry.gauge("social.feed.stream.subscribers", subscribers);
+    }
+
+    @Override
+    public SseEmitter subscribe(Integer userId) {
+        if (!userRepository.existsById(userId)) {
+            logger.warn("Feed stream requested for non-existing userId={}", userId);
+            throw new UserNotFoundException("Usuário não encontrado: " + userId);
+        }
+
+        SseEmitter emitter = createEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(userId, emitter, queueCapacity);
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> unregister(subscriber));
+
+        subscribersByUser.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        subscribers.incrementAndGet();
+        userRepository.findFollowingIdsByUserId(userId).forEach(authorId -> addAuthor(subscriber, authorId));
+        logger.info("Feed stream subscribed userId={} authors={}", userId, subscriber.authorIds.size());
+        return emitter;
+    }
+
+    protected SseEmitter createEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    @Override
+    public void publish(Post post) {
+        if (post == null || post.getUser() == null || post.getPostId() == null) {
+            return;
+        }
+
+        Integer authorId = post.getUser().getUserId();
+        if (!subscribersByAuthor.containsKey(authorId)) {
+            return;
+        }
+
+        FeedPostDTO event = FeedPostDTO.fromEntity(post);
+        AfterCommit.run(() -> submit(() -> dispatch(authorId, event)));
+    }
+
+    @Override
+    public void follow(Integer followerId, Integer followedId) {
+        AfterCommit.run(() -> subscribersByUser.getOrDefault(followerId, Set.of())
+                .forEach(subscriber -> addAuthor(subscriber, followedId)));
+    }
+
+    @Override
+    public void unfollow(Integer followerId, Integer followedId) {
+        AfterCommit.run(() -> subscribersByUser.getOrDefault(followerId, Set.of())
+                .forEach(subscriber -> removeAuthor(subscriber, followedId)));
+    }
+
+    public int subscriberCount() {
+        return subscribers.get();
+    }
+
+    @Scheduled(fixedDelayString = "${social.feed.stream.watchdog-interval:PT1S}")
+    public int evictStalled() {
+        long now = System.nanoTime();
+        int stalled = 0;
+        for (Set<Subscriber> userSubscribers : subscribersByUser.values()) {
+            for (Subscriber subscriber : userSubscribers) {
+                Thread sender;
+                synchronized (subscriber) {
+                    sender = subscriber.sender;
+                    if (sender == null || now - subscriber.sendStartedAt <= sendTimeoutNanos) {
+                        continue;
+                    }
+                }
+                evict(subscriber);
+                synchronized (subscriber) {
+                    // Só se ainda for o mesmo envio: depois dele a thread já serve outro assinante
+                    if (subscriber.sender == sender) {
+                        sender.interrupt();
+                    }
+                }
+                stalled++;
+            }
+        }
+        return stalled;
+    }
+
+    private void dispatch(Integer authorId, FeedPostDTO event) {
+        for (Subscriber subscriber : subscribersByAuthor.getOrDefault(authorId, Set.of())) {
+            if (!subscriber.pending.offer(event)) {
+                evict(subscriber);
+                continue;
+            }
+            scheduleDrain(subscriber);
+        }
+    }
+
+    // No máximo um drain por assinante em execução, preservando a ordem dos eventos
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true) && !submit(() -> drain(subscriber))) {
+            subscriber.draining.set(false);
+            evict(subscriber);
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            FeedPostDTO event;
+            while (!subscriber.closed && (event = subscriber.pending.poll()) != null) {
+                send(subscriber, event);
+                delivered.increment();
+            }
+        } catch (IOException | IllegalStateException ex) {
+            if (unregister(subscriber)) {
+                logger.info("Feed stream closed by client userId={}", subscriber.userId);
+            }
+        } finally {
+            subscriber.draining.set(false);
+        }
+
+        if (subscriber.closed) {
+            // Despejado durante o envio: o emitter estava ocupado no send e quem o fecha é este drain
+            if (subscriber.evicted) {
+                subscriber.emitter.complete();
+            }
+            return;
+        }
+        // Evento enfileirado entre o fim do laço e a liberação do flag
+        if (!subscriber.pending.isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void send(Subscriber subscriber, FeedPostDTO event) throws IOException {
+        synchronized (subscriber) {
+            subscriber.sender = Thread.currentThread();
+            subscriber.sendStartedAt = System.nanoTime();
+        }
+        try {
+            subscriber.emitter.send(SseEmitter.event()
+                    .id(String.valueOf(event.getPostId()))
+                    .name("post")
+                    .data(event, MediaType.APPLICATION_JSON));
+        } finally {
+            synchronized (subscriber) {
+                subscriber.sender = null;
+            }
+        }
+    }
+
+    private boolean submit(Runnable task) {
+        try {
+            executor.execute(task);
+            return true;
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            return false;
+        }
+    }
+
+    // Os métodos do SseEmitter são sincronizados: com um drain em andamento, complete() esperaria o
+    // send bloqueado, então o fechamento fica para o fim do drain
+    private void evict(Subscriber subscriber) {
+        if (!unregister(subscriber)) {
+            return;
+        }
+        evicted.increment();
+        logger.warn("Feed stream evicted slow consumer userId={}", subscriber.userId);
+        subscriber.evicted = true;
+        if (!subscriber.draining.get()) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    private void addAuthor(Subscriber subscriber, Integer authorId) {
+        if (subscriber.closed) {
+            return;
+        }
+        subscriber.authorIds.add(authorId);
+        subscribersByAuthor.computeIfAbsent(authorId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+    }
+
+    private void removeAuthor(Subscriber subscriber, Integer authorId) {
+        subscriber.authorIds.remove(authorId);
+        subscribersByAuthor.computeIfPresent(authorId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private boolean unregister(Subscriber subscriber) {
+        synchronized (subscriber) {
+            if (subscriber.closed) {
+                return false;
+            }
+            subscriber.closed = true;
+        }
+        subscribers.decrementAndGet();
+        subscriber.pending.clear();
+        subscriber.authorIds.forEach(authorId -> removeAuthor(subscriber, authorId));
+        subscribersByUser.computeIfPresent(subscriber.userId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        subscribersByUser.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+}
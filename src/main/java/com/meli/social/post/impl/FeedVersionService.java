@@ -0,0 +1,98 @@
+package com.meli.social.post.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.meli.social.common.AfterCommit;
+import com.meli.social.post.inter.IFeedVersionService;
+import com.meli.social.user.inter.UserJpaRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Versão do feed por usuário, mantida em memória para validar o cache do feed e responder
+// If-None-Match sem consultar o banco. O ETag combina a época do processo (versões não sobrevivem
+// a restart), o dia corrente (a janela do feed desloca na virada do dia) e a versão do usuário.
+// As versões só avançam depois do commit: uma leitura concorrente nunca associa dados antigos à versão nova.
+// Local ao processo: com várias instâncias, uma escrita atendida por outra instância não avança a
+// versão daqui, por isso o ETag fica desligado por padrão e deve ser usado com uma única instância.
+// O mapa é limitado a max-users; um usuário removido passa a ter a maior versão já removida, que
+// nunca é menor que a dele, então a versão de cada usuário continua monotônica.
+@Service
+public class FeedVersionService implements IFeedVersionService {
+
+    private static final String EPOCH = Long.toString(System.currentTimeMillis(), 36);
+
+    private final UserJpaRepository userRepository;
+    private final boolean etagEnabled;
+    // Sem cache nem ETag ninguém lê as versões: as escritas não consultam os seguidores
+    private final boolean tracking;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong evictedFloor = new AtomicLong();
+    private final Cache<Integer, Long> versions;
+
+    public FeedVersionService(
+            UserJpaRepository userRepository,
+            @Value("${social.feed.etag.enabled:false}") boolean etagEnabled,
+            @Value("${social.feed.cache.enabled:false}") boolean cacheEnabled,
+            @Value("${social.feed.versions.max-users:100000}") long maxUsers
+    ) {
+        this.userRepository = userRepository;
+        this.etagEnabled = etagEnabled;
+        this.tracking = etagEnabled || cacheEnabled;
+        // evictionListener roda dentro da remoção: nenhuma leitura vê o usuário ausente com o piso antigo
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .evictionListener((Integer userId, Long version, RemovalCause cause) -> {
+                    if (version != null) {
+                        evictedFloor.accumulateAndGet(version, Math::max);
+                    }
+                })
+                .executor(Runnable::run)
+                .build();
+    }
+
+    @Override
+    public boolean isEtagEnabled() {
+        return etagEnabled;
+    }
+
+    @Override
+    public long currentVersion(Integer userId) {
+        Long version = versions.getIfPresent(userId);
+        return version != null ? version : evictedFloor.get();
+    }
+
+    @Override
+    public String etag(Integer userId) {
+        return "\"" + EPOCH + "-" + LocalDate.now().toEpochDay() + "-" + currentVersion(userId) + "\"";
+    }
+
+    @Override
+    public void bumpUser(Integer userId) {
+        if (!tracking || userId == null) {
+            return;
+        }
+
+        AfterCommit.run(() -> bump(List.of(userId)));
+    }
+
+    @Override
+    public void bumpFollowersOf(Integer authorId) {
+        if (!tracking || authorId == null) {
+            return;
+        }
+
+        List<Integer> followerIds = userRepository.findFollowerIdsByUserId(authorId);
+        AfterCommit.run(() -> bump(followerIds));
+    }
+
+    private void bump(List<Integer> userIds) {
+        long version = sequence.incrementAndGet();
+        userIds.forEach(userId -> versions.asMap().merge(userId, version, Math::max));
+    }
+}
@@ -0,0 +1,77 @@
+package com.meli.social.post.impl;
+
+import com.meli.social.post.inter.IPostArchiveService;
+import com.meli.social.post.inter.IPostRepository;
+import com.meli.social.post.inter.IPostService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+// Arquivamento de posts fora da janela do feed: move posts (e seus likes) para posts_archive /
+// post_likes_archive em lotes, cada lote na sua própria transação, mantendo a tabela quente pequena.
+// Posts arquivados continuam visíveis nas rotas de promoção, mas não podem mais ser curtidos.
+@Service
+public class PostArchiveService implements IPostArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostArchiveService.class);
+
+    private final IPostRepository postRepository;
+    private final boolean enabled;
+    private final int afterDays;
+    private final int batchSize;
+
+    private final Counter archivedPosts;
+
+    public PostArchiveService(
+            IPostRepository postRepository,
+            MeterRegistry meterRegistry,
+            @Value("${social.posts.archive.enabled:false}") boolean enabled,
+            @Value("${social.posts.archive.after-days:30}") int afterDays,
+            @Value("${social.posts.archive.batch-size:500}") int batchSize
+    ) {
+        if (afterDays <= IPostService.FEED_WINDOW_DAYS) {
+            throw new IllegalArgumentException("Arquivamento deve ocorrer após a janela do feed de " + IPostService.FEED_WINDOW_DAYS + " dias");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Tamanho do lote deve ser maior que zero");
+        }
+        this.postRepository = postRepository;
+        this.enabled = enabled;
+        this.afterDays = afterDays;
+        this.batchSize = batchSize;
+        this.archivedPosts = meterRegistry.counter("social.posts.archived");
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Scheduled(cron = "${social.posts.archive.cron:0 30 0 * * *}")
+    public void archiveAgedPosts() {
+        if (!enabled) {
+            return;
+        }
+        archivePostsBefore(LocalDate.now().minusDays(afterDays));
+    }
+
+    @Override
+    public int archivePostsBefore(LocalDate cutoff) {
+        int total = 0;
+        int moved;
+        do {
+            moved = postRepository.archivePostsBefore(cutoff, batchSize);
+            total += moved;
+            archivedPosts.increment(moved);
+        } while (moved == batchSize);
+
+        logger.info("Archived posts before {} total={}", cutoff, total);
+        return total;
+    }
+}
@@ -1,7 +1,10 @@
 package com.meli.social.post.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.meli.social.exception.ErrorDTO;
 import com.meli.social.post.dto.*;
+import com.meli.social.post.inter.IFeedStreamService;
+import com.meli.social.post.inter.IFeedVersionService;
 import com.meli.social.post.inter.IPostService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,9 +17,22 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/products")
@@ -27,6 +43,9 @@ public class PostController {
     private static final Logger logger = LoggerFactory.getLogger(PostController.class);
 
     private final IPostService postService;
+    private final IFeedStreamService feedStreamService;
+    private final IFeedVersionService feedVersionService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/publish")
     @Operation(summary = "Publicar post", description = "Cria uma nova publicação")
@@ -56,19 +75,112 @@ public class PostController {
     @Operation(summary = "Buscar feed", description = "Retorna publicações dos usuários seguidos")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Feed retornado", content = @Content(schema = @Schema(implementation = FollowedPostsDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Feed inalterado desde o ETag informado em If-None-Match (com social.feed.etag.enabled)", content = @Content),
             @ApiResponse(responseCode = "404", description = "Usuário não encontrado", content = @Content)
     })
     public ResponseEntity<FollowedPostsDTO> getFeed(
             @Parameter(description = "ID do usuário", example = "1")
             @PathVariable Integer userId,
-            @Parameter(description = "Ordenação (ex.: date_asc / date_desc)")
+            @Parameter(description = "Ordenação (ex.: date_asc / date_desc / rank)")
             @RequestParam(required = false) String order,
             @Parameter(description = "Número da página (0-based)", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Tamanho da página", example = "10")
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Cursor opaco (nextCursor da página anterior). Quando informado, mesmo vazio, ativa a paginação por cursor e 'page' é ignorado")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "ETag de uma resposta anterior; se o feed não mudou, retorna 304 sem corpo")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        logger.info("Request to get feed userId={} order={} page={} size={} cursor={}", userId, order, page, size, cursor);
+        if (!feedVersionService.isEtagEnabled()) {
+            return ResponseEntity.ok(loadFeed(userId, order, page, size, cursor));
+        }
+
+        postService.validateFeedUser(userId);
+        // Versão lida antes da consulta: uma escrita concorrente invalida o ETag devolvido agora
+        String etag = feedVersionService.etag(userId);
+        if (matchesETag(ifNoneMatch, etag)) {
+            logger.info("Feed not modified userId={} etag={}", userId, etag);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(loadFeed(userId, order, page, size, cursor));
+    }
+
+    private FollowedPostsDTO loadFeed(Integer userId, String order, int page, int size, String cursor) {
+        return cursor != null
+                ? postService.getFollowedPostsByCursor(userId, order, cursor, size)
+                : postService.getFollowedPosts(userId, order, page, size);
+    }
+
+    private static boolean matchesETag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(candidate -> candidate.startsWith("W/") ? candidate.substring(2) : candidate)
+                .anyMatch(candidate -> candidate.equals(etag) || candidate.equals("*"));
+    }
+
+    @PostMapping("/followed/batch/list")
+    @Operation(summary = "Buscar feeds em lote", description = "Retorna a primeira página do feed de cada usuário informado (máximo de 500), indexada por userId. Usuários inexistentes são omitidos")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Feeds retornados"),
+            @ApiResponse(responseCode = "400", description = "Lista ou parâmetros inválidos", content = @Content)
+    })
+    public ResponseEntity<Map<Integer, FollowedPostsDTO>> getFeedBatch(
+            @RequestBody List<Integer> userIds,
+            @Parameter(description = "Ordenação (ex.: date_asc / date_desc / rank)")
+            @RequestParam(required = false) String order,
+            @Parameter(description = "Tamanho do feed de cada usuário", example = "10")
             @RequestParam(defaultValue = "10") int size) {
-        logger.info("Request to get feed userId={} order={} page={} size={}", userId, order, page, size);
-        return ResponseEntity.ok(postService.getFollowedPosts(userId, order, page, size));
+        logger.info("Request to get feed batch users={} order={} size={}", userIds == null ? 0 : userIds.size(), order, size);
+        return ResponseEntity.ok(postService.getFollowedPostsBatch(userIds, order, size));
+    }
+
+    @GetMapping(value = "/followed/{userId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Assinar feed ao vivo", description = "Abre um stream SSE que recebe um evento 'post' a cada nova publicação dos usuários seguidos")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream aberto", content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = FeedPostDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Usuário não encontrado", content = @Content)
+    })
+    public SseEmitter streamFeed(
+            @Parameter(description = "ID do usuário", example = "1")
+            @PathVariable Integer userId) {
+        logger.info("Request to stream feed userId={}", userId);
+        return feedStreamService.subscribe(userId);
+    }
+
+    @GetMapping(value = "/followed/{userId}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exportar feed", description = "Transmite todas as publicações do feed (janela de 14 dias) em NDJSON, uma por linha, sem paginação")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Feed transmitido", content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = FeedPostDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Usuário não encontrado", content = @Content)
+    })
+    public ResponseEntity<StreamingResponseBody> exportFeed(
+            @Parameter(description = "ID do usuário", example = "1")
+            @PathVariable Integer userId,
+            @Parameter(description = "Ordenação (ex.: date_asc / date_desc)")
+            @RequestParam(required = false) String order) {
+        logger.info("Request to export feed userId={} order={}", userId, order);
+        postService.validateFeedUser(userId);
+        StreamingResponseBody body = out -> {
+            try {
+                postService.streamFollowedPosts(userId, order, post -> writeLine(out, post));
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private void writeLine(OutputStream out, FeedPostDTO post) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(post));
+            out.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
     }
 
     @GetMapping("/promo-pub/count")
@@ -112,10 +224,12 @@ public class PostController {
             @Parameter(description = "ID do post", example = "100")
             @PathVariable Integer postId,
             @Parameter(description = "ID do usuário", example = "1")
-            @PathVariable Integer userId
+            @PathVariable Integer userId,
+            @Parameter(description = "Data do post (yyyy-MM-dd, como no feed). Opcional: com ela a busca lê só a partição do dia")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
     ) {
-        logger.info("Request to like postId={} userId={}", postId, userId);
-        postService.likePost(postId, userId);
+        logger.info("Request to like postId={} userId={} date={}", postId, userId, date);
+        postService.likePost(postId, userId, date);
         return ResponseEntity.ok().build();
     }
 
@@ -130,10 +244,12 @@ public class PostController {
             @Parameter(description = "ID do post", example = "100")
             @PathVariable Integer postId,
             @Parameter(description = "ID do usuário", example = "1")
-            @PathVariable Integer userId
+            @PathVariable Integer userId,
+            @Parameter(description = "Data do post (yyyy-MM-dd, como no feed). Opcional: com ela a busca lê só a partição do dia")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
     ) {
-        logger.info("Request to unlike postId={} userId={}", postId, userId);
-        postService.unlikePost(postId, userId);
+        logger.info("Request to unlike postId={} userId={} date={}", postId, userId, date);
+        postService.unlikePost(postId, userId, date);
         return ResponseEntity.ok().build();
     }
 
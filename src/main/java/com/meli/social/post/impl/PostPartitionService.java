@@ -0,0 +1,209 @@
+package com.meli.social.post.impl;
+
+import com.meli.social.post.inter.IPostPartitionService;
+import com.meli.social.post.inter.IPostService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+// Particionamento por dia (RANGE COLUMNS(date)) da tabela posts no MySQL, mantido pela aplicação.
+// As consultas do feed já filtram date BETWEEN início e fim da janela, então o MySQL faz partition
+// pruning e só lê as partições dos últimos dias, independente do volume histórico.
+// Layout: p_archive (antes da primeira partição diária) | pYYYYMMDD (um dia cada) | p_future (MAXVALUE).
+// Restrições do MySQL: toda chave única precisa conter a coluna de partição (PK vira post_id, date)
+// e tabelas particionadas não aceitam foreign keys, então as FKs de/para posts são removidas.
+// Buscas só por post_id consultam todas as partições: like/unlike aceitam a data do post e o join da
+// timeline usa post_date. Exige retenção (o número de partições fica limitado) e ddl-auto none ou
+// validate: create recriaria posts sem partições a cada boot e update tentaria recriar as FKs.
+@Service
+public class PostPartitionService implements IPostPartitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostPartitionService.class);
+
+    static final String TABLE = "posts";
+    static final String ARCHIVE_PARTITION = "p_archive";
+    static final String FUTURE_PARTITION = "p_future";
+
+    // Modos de spring.jpa.hibernate.ddl-auto que preservam o particionamento entre boots
+    static final Set<String> SUPPORTED_DDL_AUTO = Set.of("none", "validate");
+
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMMdd");
+
+    static final String PARTITIONS_SQL = "SELECT PARTITION_NAME FROM information_schema.PARTITIONS "
+            + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = '" + TABLE + "' AND PARTITION_NAME IS NOT NULL";
+
+    static final String FOREIGN_KEYS_SQL = "SELECT TABLE_NAME, CONSTRAINT_NAME FROM information_schema.REFERENTIAL_CONSTRAINTS "
+            + "WHERE CONSTRAINT_SCHEMA = DATABASE() AND (TABLE_NAME = '" + TABLE + "' OR REFERENCED_TABLE_NAME = '" + TABLE + "')";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int futureDays;
+    private final int retentionDays;
+
+    public PostPartitionService(
+            JdbcTemplate jdbcTemplate,
+            @Value("${social.posts.partitioning.enabled:false}") boolean enabled,
+            @Value("${social.posts.partitioning.future-days:7}") int futureDays,
+            @Value("${social.posts.partitioning.retention-days:0}") int retentionDays,
+            @Value("${social.posts.archive.enabled:false}") boolean archiveEnabled,
+            @Value("${social.posts.archive.after-days:30}") int archiveAfterDays,
+            @Value("${spring.jpa.hibernate.ddl-auto:none}") String ddlAuto
+    ) {
+        if (futureDays < 1) {
+            throw new IllegalArgumentException("Dias de partições futuras deve ser maior que zero");
+        }
+        if (enabled && retentionDays < 1) {
+            throw new IllegalArgumentException("Particionamento exige social.posts.partitioning.retention-days maior que zero");
+        }
+        if (enabled && !SUPPORTED_DDL_AUTO.contains(ddlAuto.trim().toLowerCase())) {
+            throw new IllegalArgumentException("Particionamento exige spring.jpa.hibernate.ddl-auto none ou validate, não " + ddlAuto);
+        }
+        // Nunca desanexar partições que ainda fazem parte da janela do feed
+        if (retentionDays != 0 && retentionDays <= IPostService.FEED_WINDOW_DAYS) {
+            throw new IllegalArgumentException("Retenção deve ser maior que a janela do feed de " + IPostService.FEED_WINDOW_DAYS + " dias");
+        }
+        // O arquivamento só lê a tabela posts: partições desanexadas antes dele levariam os posts junto
+        if (retentionDays != 0 && archiveEnabled && retentionDays <= archiveAfterDays) {
+            throw new IllegalArgumentException("Retenção deve ser maior que social.posts.archive.after-days de " + archiveAfterDays + " dias");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.futureDays = futureDays;
+        this.retentionDays = retentionDays;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void setUp() {
+        if (!enabled) {
+            return;
+        }
+
+        if (jdbcTemplate.queryForList(PARTITIONS_SQL, String.class).isEmpty()) {
+            partitionTable(LocalDate.now());
+        }
+        maintainPartitions();
+    }
+
+    @Override
+    @Scheduled(cron = "${social.posts.partitioning.cron:0 15 0 * * *}")
+    public void maintainPartitions() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDate today = LocalDate.now();
+        List<LocalDate> days = findDailyPartitions();
+
+        LocalDate next = days.isEmpty() ? today.minusDays(IPostService.FEED_WINDOW_DAYS) : days.getLast().plusDays(1);
+        LocalDate last = today.plusDays(futureDays);
+        int created = 0;
+        for (LocalDate day = next; !day.isAfter(last); day = day.plusDays(1)) {
+            createPartition(day);
+            created++;
+        }
+
+        int detached = 0;
+        if (retentionDays > 0) {
+            LocalDate horizon = today.minusDays(retentionDays);
+            for (LocalDate day : days) {
+                if (day.isBefore(horizon)) {
+                    detachPartition(day);
+                    detached++;
+                }
+            }
+        }
+        logger.info("Posts partitions maintained created={} detached={} until={}", created, detached, last);
+    }
+
+    @Override
+    public List<LocalDate> findDailyPartitions() {
+        return jdbcTemplate.queryForList(PARTITIONS_SQL, String.class).stream()
+                .map(PostPartitionService::parseDay)
+                .filter(Objects::nonNull)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    // Conversão inicial: remove FKs, estende a PK com a coluna de partição e cria as partições
+    // diárias da janela atual. Linhas mais antigas ficam em p_archive.
+    private void partitionTable(LocalDate today) {
+        jdbcTemplate.query(FOREIGN_KEYS_SQL, rs -> {
+            execute("ALTER TABLE " + rs.getString("TABLE_NAME") + " DROP FOREIGN KEY " + rs.getString("CONSTRAINT_NAME"));
+        });
+        execute("ALTER TABLE " + TABLE + " DROP PRIMARY KEY, ADD PRIMARY KEY (post_id, date)");
+
+        LocalDate first = today.minusDays(IPostService.FEED_WINDOW_DAYS);
+        StringJoiner partitions = new StringJoiner(", ");
+        partitions.add(partition(ARCHIVE_PARTITION, first));
+        for (LocalDate day = first; !day.isAfter(today); day = day.plusDays(1)) {
+            partitions.add(partition(day));
+        }
+        partitions.add(futurePartition());
+        execute("ALTER TABLE " + TABLE + " PARTITION BY RANGE COLUMNS(date) (" + partitions + ")");
+    }
+
+    // p_future normalmente está vazia (posts com data futura), então a reorganização é barata
+    private void createPartition(LocalDate day) {
+        execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + FUTURE_PARTITION
+                + " INTO (" + partition(day) + ", " + futurePartition() + ")");
+    }
+
+    // Troca a partição por uma tabela vazia de mesmo layout (operação só de metadados) e remove a
+    // partição vazia: as linhas do dia ficam em posts_pYYYYMMDD, fora da tabela quente
+    private void detachPartition(LocalDate day) {
+        String name = partitionName(day);
+        String detachedTable = TABLE + "_" + name;
+        execute("CREATE TABLE " + detachedTable + " LIKE " + TABLE);
+        execute("ALTER TABLE " + detachedTable + " REMOVE PARTITIONING");
+        execute("ALTER TABLE " + TABLE + " EXCHANGE PARTITION " + name + " WITH TABLE " + detachedTable);
+        execute("ALTER TABLE " + TABLE + " DROP PARTITION " + name);
+    }
+
+    private void execute(String ddl) {
+        logger.info("Posts partitioning: {}", ddl);
+        jdbcTemplate.execute(ddl);
+    }
+
+    private static String partition(LocalDate day) {
+        return partition(partitionName(day), day.plusDays(1));
+    }
+
+    private static String partition(String name, LocalDate lessThan) {
+        return "PARTITION " + name + " VALUES LESS THAN ('" + lessThan + "')";
+    }
+
+    private static String futurePartition() {
+        return "PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE)";
+    }
+
+    static String partitionName(LocalDate day) {
+        return day.format(PARTITION_NAME);
+    }
+
+    private static LocalDate parseDay(String name) {
+        if (name == null || !name.matches("p\\d{8}")) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(name, PARTITION_NAME);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
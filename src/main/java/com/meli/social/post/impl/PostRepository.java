@@ -1,22 +1,35 @@
 package com.meli.social.post.impl;
 
-import com.meli.social.post.inter.IPostRepository;
-import com.meli.social.post.inter.PostJpaRepository;
+import com.meli.social.post.dto.FeedCursor;
+import com.meli.social.post.dto.FeedPostDTO;
+import com.meli.social.post.dto.PostIndexRow;
+import com.meli.social.post.inter.*;
+import com.meli.social.post.model.ArchivedPost;
 import com.meli.social.post.model.Post;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
 @RequiredArgsConstructor
 public class PostRepository  implements IPostRepository {
 
     private final PostJpaRepository postJpaRepository;
+    private final ArchivedPostJpaRepository archivedPostJpaRepository;
+    private final ArchivedPostLikeJpaRepository archivedPostLikeJpaRepository;
+    private final PostLikeJpaRepository postLikeJpaRepository;
+    private final TimelineJpaRepository timelineJpaRepository;
 
     @Override
     public Post save(Post post) {
@@ -28,6 +41,16 @@ public class PostRepository  implements IPostRepository {
         return postJpaRepository.findById(postId);
     }
 
+    @Override
+    public Optional<Post> findByIdAndDate(Integer postId, LocalDate date) {
+        return postJpaRepository.findByPostIdAndDate(postId, date);
+    }
+
+    @Override
+    public List<Post> findAllById(List<Integer> postIds) {
+        return postJpaRepository.findAllById(postIds);
+    }
+
     @Override
     public List<Post> findPostsByUserIdInAndDateBetween(List<Integer> userIds, LocalDate startDate, LocalDate endDate, Sort sort) {
         return postJpaRepository.findByUser_UserIdInAndDateBetween(userIds, startDate, endDate, sort);
@@ -38,19 +61,165 @@ public class PostRepository  implements IPostRepository {
         return postJpaRepository.findByUser_UserIdInAndDateBetween(userIds, startDate, endDate, pageable);
     }
 
+    @Override
+    public List<FeedPostDTO> findFeedRowsByUserIdInAndDateBetween(List<Integer> userIds, LocalDate startDate, LocalDate endDate, Pageable pageable) {
+        return postJpaRepository.findFeedRowsByUserIdInAndDateBetween(userIds, startDate, endDate, pageable);
+    }
+
+    @Override
+    public List<FeedPostDTO> findFeedRowsByUserIdInAndDateBetween(List<Integer> userIds, LocalDate startDate, LocalDate endDate, Sort sort) {
+        return postJpaRepository.findFeedRowsByUserIdInAndDateBetween(userIds, startDate, endDate, sort);
+    }
+
+    @Override
+    public List<FeedPostDTO> findFeedRowsByUserIdInAndDateBetween(List<Integer> userIds, LocalDate startDate, LocalDate endDate, FeedCursor after, Sort.Direction direction, int limit) {
+        // Keyset: sempre a primeira página a partir do cursor, sem OFFSET
+        Pageable pageable = PageRequest.of(0, limit, Sort.by(direction, "date").and(Sort.by(direction, "postId")));
+        if (after == null) {
+            return postJpaRepository.findFeedRowsByUserIdInAndDateBetween(userIds, startDate, endDate, pageable);
+        }
+        return direction.isAscending()
+                ? postJpaRepository.findFeedRowsByUserIdInAndDateBetweenAfterCursor(userIds, startDate, endDate, after.date(), after.postId(), pageable)
+                : postJpaRepository.findFeedRowsByUserIdInAndDateBetweenBeforeCursor(userIds, startDate, endDate, after.date(), after.postId(), pageable);
+    }
+
+    @Override
+    public List<FeedPostDTO> findRankedFeedRowsByUserIdInAndDateBetween(List<Integer> userIds, LocalDate startDate, LocalDate endDate, FeedCursor after, int limit) {
+        Pageable pageable = PageRequest.of(0, limit, RANK_SORT);
+        if (after == null) {
+            return postJpaRepository.findFeedRowsByUserIdInAndDateBetween(userIds, startDate, endDate, pageable);
+        }
+        return postJpaRepository.findFeedRowsByUserIdInAndDateBetweenBelowScore(userIds, startDate, endDate, after.score(), after.postId(), pageable);
+    }
+
+    @Override
+    public List<FeedPostDTO> findFeedRowsByPostIdIn(List<Integer> postIds) {
+        return postJpaRepository.findFeedRowsByPostIdIn(postIds);
+    }
+
+    @Override
+    public List<FeedPostDTO> findFeedRowsPerAuthor(List<Integer> userIds, LocalDate startDate, LocalDate endDate, boolean ranked, Sort.Direction direction, int perAuthor) {
+        if (ranked) {
+            return postJpaRepository.findTopRankedFeedRowsPerAuthor(userIds, startDate, endDate, perAuthor);
+        }
+        return direction.isAscending()
+                ? postJpaRepository.findOldestFeedRowsPerAuthor(userIds, startDate, endDate, perAuthor)
+                : postJpaRepository.findLatestFeedRowsPerAuthor(userIds, startDate, endDate, perAuthor);
+    }
+
+    @Override
+    public List<Integer> findAuthorIdsByPostIdIn(List<Integer> postIds) {
+        return postJpaRepository.findAuthorIdsByPostIdIn(postIds);
+    }
+
+    @Override
+    public Stream<FeedPostDTO> streamFeedRowsByFollowerIdAndDateBetween(Integer followerId, LocalDate startDate, LocalDate endDate, Sort.Direction direction) {
+        return postJpaRepository.streamFeedRowsByFollowerIdAndDateBetween(followerId, startDate, endDate,
+                Sort.by(direction, "date").and(Sort.by(direction, "postId")));
+    }
+
+    @Override
+    public List<Post> findPostsByUserIdAndDateBetween(Integer userId, LocalDate startDate, LocalDate endDate) {
+        return postJpaRepository.findByUser_UserIdAndDateBetween(userId, startDate, endDate);
+    }
+
+    @Override
+    public List<Post> lockPostsByUserIdAndDateBetween(Integer userId, LocalDate startDate, LocalDate endDate) {
+        return postJpaRepository.lockByUserIdAndDateBetween(userId, startDate, endDate);
+    }
+
+    @Override
+    public List<PostIndexRow> findIndexRowsByDateFrom(LocalDate startDate) {
+        return postJpaRepository.findIndexRowsByDateFrom(startDate);
+    }
+
+    // Rotas de promoção leem a tabela quente e o arquivo (posts fora da janela do feed)
     @Override
     public long countPromoPostsByUserId(Integer userId) {
-        return postJpaRepository.countByUser_UserIdAndHasPromoTrue(userId);
+        return postJpaRepository.countByUser_UserIdAndHasPromoTrue(userId)
+                + archivedPostJpaRepository.countByUserIdAndHasPromoTrue(userId);
     }
 
     @Override
     public List<Post> findPromoPostsByUserId(Integer userId) {
-        return postJpaRepository.findByUser_UserIdAndHasPromoTrue(userId);
+        List<Post> posts = new ArrayList<>(postJpaRepository.findByUser_UserIdAndHasPromoTrue(userId));
+        archivedPostJpaRepository.findByUserIdAndHasPromoTrue(userId).forEach(archived -> posts.add(archived.toPost()));
+        return posts;
     }
 
+    // Cada fonte devolve no máximo offset + size linhas na ordem pedida; o merge descarta o offset.
+    // Não há garantia de que o arquivo só tenha datas anteriores às da tabela quente (posts com data
+    // retroativa ainda não arquivados), por isso o merge em vez de concatenar.
     @Override
     public List<Post> findPromoPostsByUserId(Integer userId, Pageable pageable) {
-        return postJpaRepository.findByUser_UserIdAndHasPromoTrue(userId, pageable);
+        Pageable head = PageRequest.of(0, (int) pageable.getOffset() + pageable.getPageSize(), pageable.getSort());
+        List<ArchivedPost> archived = archivedPostJpaRepository.findByUserIdAndHasPromoTrue(userId, head);
+        if (archived.isEmpty()) {
+            return postJpaRepository.findByUser_UserIdAndHasPromoTrue(userId, pageable);
+        }
+
+        List<Post> hot = postJpaRepository.findByUser_UserIdAndHasPromoTrue(userId, head);
+        return Stream.concat(hot.stream(), archived.stream().map(ArchivedPost::toPost))
+                .sorted(comparator(pageable.getSort()))
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .collect(Collectors.toList());
+    }
+
+    // Score primeiro (lê o likesCount antigo), likesCount depois; o primeiro UPDATE trava a linha até o commit
+    @Override
+    @Transactional
+    public int incrementLikesCount(Integer postId, LocalDate date) {
+        postJpaRepository.shiftScoreByLikes(postId, date, 1);
+        return postJpaRepository.incrementLikesCount(postId, date);
+    }
+
+    @Override
+    @Transactional
+    public int decrementLikesCount(Integer postId, LocalDate date) {
+        if (postJpaRepository.shiftScoreByLikes(postId, date, -1) == 0) {
+            return 0;
+        }
+        return postJpaRepository.decrementLikesCount(postId, date);
+    }
+
+    @Override
+    @Transactional
+    public int applyLikesCountDelta(Integer postId, int delta) {
+        if (postJpaRepository.shiftScoreByLikes(postId, delta) == 0) {
+            return 0;
+        }
+        return postJpaRepository.applyLikesCountDelta(postId, delta);
+    }
+
+    // Move um lote de posts anteriores a cutoff (e seus likes) para o arquivo, na mesma transação
+    @Override
+    @Transactional
+    public int archivePostsBefore(LocalDate cutoff, int limit) {
+        List<Integer> postIds = postJpaRepository.findPostIdsByDateBefore(cutoff, PageRequest.of(0, limit));
+        if (postIds.isEmpty()) {
+            return 0;
+        }
+
+        archivedPostJpaRepository.archivePosts(postIds);
+        archivedPostLikeJpaRepository.archiveLikes(postIds);
+        postLikeJpaRepository.deleteByPostIdIn(postIds);
+        timelineJpaRepository.deleteByPostIdIn(postIds);
+        postJpaRepository.deleteAllByIdInBatch(postIds);
+        return postIds.size();
+    }
+
+    private static Comparator<Post> comparator(Sort sort) {
+        Comparator<Post> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<Post> next = switch (order.getProperty()) {
+                case "date" -> Comparator.comparing(Post::getDate);
+                case "postId" -> Comparator.comparing(Post::getPostId);
+                default -> throw new IllegalArgumentException("Ordenação não suportada: " + order.getProperty());
+            };
+            comparator = comparator.thenComparing(order.isAscending() ? next : next.reversed());
+        }
+        return comparator;
     }
 
 }
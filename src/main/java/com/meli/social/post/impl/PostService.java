@@ -3,18 +3,33 @@ package com.meli.social.post.impl;
 import com.meli.social.exception.PostNotFoundException;
 import com.meli.social.exception.PostUnprocessableException;
 import com.meli.social.exception.UserNotFoundException;
+import com.meli.social.outbox.inter.IOutboxConsumer;
+import com.meli.social.outbox.inter.IOutboxService;
+import com.meli.social.outbox.model.OutboxEvent;
+import com.meli.social.outbox.model.OutboxEventType;
+import com.meli.social.post.dto.FeedCursor;
+import com.meli.social.post.dto.FeedPostDTO;
 import com.meli.social.post.dto.FollowedPostsDTO;
 import com.meli.social.post.dto.PostDTO;
 import com.meli.social.post.dto.PostPromoDTO;
 import com.meli.social.post.dto.PromoProducsListDTO;
 import com.meli.social.post.dto.PromoProductsCountDTO;
+import com.meli.social.post.inter.ICounterBufferService;
+import com.meli.social.post.inter.IFeedCacheService;
+import com.meli.social.post.inter.IFeedIndexService;
+import com.meli.social.post.inter.IFeedSingleFlightService;
+import com.meli.social.post.inter.IFeedStreamService;
+import com.meli.social.post.inter.IFeedVersionService;
 import com.meli.social.post.inter.IProductRepository;
 import com.meli.social.post.inter.PostLikeJpaRepository;
 import com.meli.social.post.inter.IPostRepository;
 import com.meli.social.post.inter.IPostService;
+import com.meli.social.post.inter.IShardedFeedQueryService;
+import com.meli.social.post.inter.ITimelineService;
 import com.meli.social.post.model.Post;
 import com.meli.social.post.model.PostLike;
 import com.meli.social.post.model.Product;
+import com.meli.social.user.inter.IFollowGraphService;
 import com.meli.social.user.inter.UserJpaRepository;
 import com.meli.social.user.model.User;
 import lombok.RequiredArgsConstructor;
@@ -30,20 +45,47 @@ import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
-public class PostService implements IPostService {
+public class PostService implements IPostService, IOutboxConsumer {
 
     private static final Logger logger = LoggerFactory.getLogger(PostService.class);
 
+    private static final int FEED_BATCH_MAX_USERS = 500;
+    private static final int FEED_BATCH_AUTHORS_PER_QUERY = 1000;
+
     private final IPostRepository postRepository;
     private final IProductRepository productRepository;
     private final UserJpaRepository userRepository;
     private final PostLikeJpaRepository postLikeRepository;
+    private final ITimelineService timelineService;
+    private final IFeedIndexService feedIndexService;
+    private final IFeedCacheService feedCacheService;
+    private final IFeedSingleFlightService feedSingleFlightService;
+    private final IFeedStreamService feedStreamService;
+    private final IFeedVersionService feedVersionService;
+    private final IShardedFeedQueryService shardedFeedQueryService;
+    private final IFollowGraphService followGraphService;
+    private final ICounterBufferService counterBufferService;
+    private final IOutboxService outboxService;
 
     @Override
     @Transactional
@@ -66,6 +108,12 @@ public class PostService implements IPostService {
         post.setProduct(resolveProduct(post.getProduct()));
 
         postRepository.save(post);
+        feedIndexService.index(post);
+        if (outboxService.isEnabled()) {
+            outboxService.publish(OutboxEventType.POST_CREATED, user.getUserId(), post.getPostId());
+        } else {
+            applyPostCreated(post);
+        }
         logger.info("Post persisted userId={} postDate={}", user.getUserId(), post.getDate());
         return true;
     }
@@ -78,33 +126,239 @@ public class PostService implements IPostService {
     @Override
     public FollowedPostsDTO getFollowedPosts(Integer userId, String sort, int page, int size) {
         logger.info("Fetching feed userId={} sort={} page={} size={}", userId, sort, page, size);
+        PageSizeValidation(page, size);
+
+        Supplier<FollowedPostsDTO> loader = () -> loadFollowedPosts(userId, sort, page, size);
+        if (feedSingleFlightService.isEnabled()) {
+            Supplier<FollowedPostsDTO> query = loader;
+            loader = () -> feedSingleFlightService.execute(userId, sort, page, size, query);
+        }
+
+        if (feedCacheService.isEnabled()) {
+            return feedCacheService.get(userId, sort, page, size, loader);
+        }
+        return loader.get();
+    }
+
+    private FollowedPostsDTO loadFollowedPosts(Integer userId, String sort, int page, int size) {
         if (!userRepository.existsById(userId)){
             logger.warn("Feed requested for non-existing userId={}", userId);
             throw new UserNotFoundException("Usuário não encontrado: " + userId);
         }
 
-        PageSizeValidation(page, size);
-
-        FollowedPostsDTO followedPosts =  new FollowedPostsDTO();
-        followedPosts.setUserId(userId);
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusDays(FEED_WINDOW_DAYS);
+        Sort.Direction direction = resolveDateDirection(sort);
+        boolean ranked = isRankSort(sort);
+
+        // Timeline e índice em memória são ordenados por data: 'rank' sempre lê o score no banco
+        if (!ranked && !feedIndexService.isEnabled() && timelineService.isEnabled()) {
+            List<FeedPostDTO> posts = timelineService.findFeed(userId, startDate, endDate, direction, page, size);
+            logger.info("Feed fetched from timeline userId={} postsCount={}", userId, posts.size());
+            return new FollowedPostsDTO(userId, posts);
+        }
 
-        List<Integer> userFollows = userRepository.findFollowingIdsByUserId(userId);
+        List<Integer> userFollows = findFollowingIds(userId);
         if (userFollows.isEmpty()) {
             logger.info("Feed empty (user follows nobody) userId={}", userId);
             return new FollowedPostsDTO(userId, null);
         }
-        LocalDate endDate = LocalDate.now();
-        LocalDate startDate = endDate.minusDays(14);
-        Sort sortSpec = (sort == null || sort.isBlank() || sort.equalsIgnoreCase("date_desc"))
-                ? Sort.by("date").descending()
-                : sort.equalsIgnoreCase("date_asc") ? Sort.by("date").ascending() : Sort.by("date").descending();
 
-        Pageable pageable = PageRequest.of(page, size, sortSpec);
-        List<Post> posts = postRepository.findPostsByUserIdInAndDateBetween(userFollows, startDate, endDate, pageable);
+        List<FeedPostDTO> posts;
+        if (ranked) {
+            posts = postRepository.findFeedRowsByUserIdInAndDateBetween(userFollows, startDate, endDate, PageRequest.of(page, size, IPostRepository.RANK_SORT));
+        } else if (feedIndexService.isEnabled()) {
+            posts = findPostsInOrder(feedIndexService.findFeedPostIds(userFollows, startDate, endDate, direction, page * size, size));
+        } else if (shardedFeedQueryService.isEnabled()) {
+            posts = shardedFeedQueryService.findFeedRows(userFollows, startDate, endDate, direction, page, size);
+        } else {
+            Pageable pageable = PageRequest.of(page, size, Sort.by(direction, "date"));
+            posts = postRepository.findFeedRowsByUserIdInAndDateBetween(userFollows, startDate, endDate, pageable);
+        }
         logger.info("Feed fetched userId={} postsCount={}", userId, posts == null ? 0 : posts.size());
         return new FollowedPostsDTO(userId, posts);
     }
 
+    @Override
+    public FollowedPostsDTO getFollowedPostsByCursor(Integer userId, String sort, String cursor, int size) {
+        logger.info("Fetching feed by cursor userId={} sort={} cursor={} size={}", userId, sort, cursor, size);
+        if (!userRepository.existsById(userId)){
+            logger.warn("Feed requested for non-existing userId={}", userId);
+            throw new UserNotFoundException("Usuário não encontrado: " + userId);
+        }
+
+        PageSizeValidation(0, size);
+        FeedCursor after = FeedCursor.decode(cursor);
+        boolean ranked = isRankSort(sort);
+        if (ranked && after != null && after.score() == null) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor);
+        }
+
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusDays(FEED_WINDOW_DAYS);
+        Sort.Direction direction = resolveDateDirection(sort);
+
+        List<FeedPostDTO> posts;
+        if (!ranked && !feedIndexService.isEnabled() && timelineService.isEnabled()) {
+            posts = timelineService.findFeed(userId, startDate, endDate, direction, after, size);
+        } else {
+            List<Integer> userFollows = findFollowingIds(userId);
+            if (userFollows.isEmpty()) {
+                logger.info("Feed empty (user follows nobody) userId={}", userId);
+                return new FollowedPostsDTO(userId, null);
+            }
+            if (ranked) {
+                posts = postRepository.findRankedFeedRowsByUserIdInAndDateBetween(userFollows, startDate, endDate, after, size);
+            } else if (feedIndexService.isEnabled()) {
+                posts = findPostsInOrder(feedIndexService.findFeedPostIds(userFollows, startDate, endDate, direction, after, size));
+            } else if (shardedFeedQueryService.isEnabled()) {
+                posts = shardedFeedQueryService.findFeedRows(userFollows, startDate, endDate, direction, after, size);
+            } else {
+                posts = postRepository.findFeedRowsByUserIdInAndDateBetween(userFollows, startDate, endDate, after, direction, size);
+            }
+        }
+
+        // Página cheia: pode haver mais posts depois do último entregue
+        String nextCursor = null;
+        if (posts.size() == size) {
+            FeedPostDTO last = posts.get(posts.size() - 1);
+            nextCursor = (ranked ? FeedCursor.ranked(last) : FeedCursor.of(last)).encode();
+        }
+        logger.info("Feed fetched by cursor userId={} postsCount={} hasNext={}", userId, posts.size(), nextCursor != null);
+        return new FollowedPostsDTO(userId, posts, nextCursor);
+    }
+
+    // Feed de vários usuários com consultas compartilhadas: arestas de follow em uma consulta,
+    // posts da união dos autores seguidos em blocos de IN-list, e a separação por usuário em memória
+    @Override
+    public Map<Integer, FollowedPostsDTO> getFollowedPostsBatch(List<Integer> userIds, String sort, int size) {
+        logger.info("Fetching feed batch users={} sort={} size={}", userIds == null ? 0 : userIds.size(), sort, size);
+        PageSizeValidation(0, size);
+        if (userIds == null || userIds.isEmpty()) {
+            throw new IllegalArgumentException("Lista de usuários não pode ser vazia");
+        }
+        if (userIds.size() > FEED_BATCH_MAX_USERS) {
+            throw new IllegalArgumentException("Lista de usuários excede o máximo de " + FEED_BATCH_MAX_USERS);
+        }
+        if (userIds.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("IDs não podem ser nulos");
+        }
+
+        List<Integer> requested = userIds.stream().distinct().toList();
+        Set<Integer> existing = new HashSet<>(userRepository.findExistingIds(requested));
+
+        Map<Integer, List<Integer>> followingByUser = new HashMap<>();
+        if (followGraphService.isEnabled()) {
+            existing.forEach(id -> followingByUser.put(id, followGraphService.findFollowingIds(id)));
+        } else {
+            userRepository.findFollowEdgesByFollowerIdIn(List.copyOf(existing)).forEach(edge ->
+                    followingByUser.computeIfAbsent(edge.getFollowerId(), id -> new ArrayList<>()).add(edge.getFollowedId()));
+        }
+
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusDays(FEED_WINDOW_DAYS);
+        Sort.Direction direction = resolveDateDirection(sort);
+        boolean ranked = isRankSort(sort);
+
+        // Nenhum feed usa mais que 'size' posts de um mesmo autor: o LIMIT por autor fica no banco
+        List<Integer> authors = followingByUser.values().stream().flatMap(List::stream).distinct().toList();
+        Map<Integer, List<FeedPostDTO>> postsByAuthor = new HashMap<>();
+        for (int from = 0; from < authors.size(); from += FEED_BATCH_AUTHORS_PER_QUERY) {
+            List<Integer> chunk = authors.subList(from, Math.min(from + FEED_BATCH_AUTHORS_PER_QUERY, authors.size()));
+            postRepository.findFeedRowsPerAuthor(chunk, startDate, endDate, ranked, direction, size).forEach(post ->
+                    postsByAuthor.computeIfAbsent(post.getUserId(), id -> new ArrayList<>()).add(post));
+        }
+
+        // Mesma ordem das consultas: score desc com nulos por último (como no MySQL) ou data, e postId como desempate
+        Comparator<FeedPostDTO> comparator = ranked
+                ? Comparator.comparing(FeedPostDTO::getScore, Comparator.nullsFirst(Comparator.<Double>naturalOrder()))
+                        .thenComparing(FeedPostDTO::getPostId).reversed()
+                : direction.isAscending()
+                        ? Comparator.comparing(FeedPostDTO::getDate).thenComparing(FeedPostDTO::getPostId)
+                        : Comparator.comparing(FeedPostDTO::getDate).thenComparing(FeedPostDTO::getPostId).reversed();
+
+        Map<Integer, FollowedPostsDTO> feeds = new LinkedHashMap<>();
+        for (Integer userId : requested) {
+            if (!existing.contains(userId)) {
+                logger.warn("Feed batch skipping non-existing userId={}", userId);
+                continue;
+            }
+            // Quem não segue ninguém recebe posts: null, como no feed individual, venha o grafo de onde vier
+            List<Integer> following = followingByUser.get(userId);
+            if (following == null || following.isEmpty()) {
+                feeds.put(userId, new FollowedPostsDTO(userId, null));
+                continue;
+            }
+            List<FeedPostDTO> posts = following.stream()
+                    .flatMap(authorId -> postsByAuthor.getOrDefault(authorId, List.of()).stream())
+                    .sorted(comparator)
+                    .limit(size)
+                    .toList();
+            feeds.put(userId, new FollowedPostsDTO(userId, posts));
+        }
+        logger.info("Feed batch fetched users={} authors={}", feeds.size(), authors.size());
+        return feeds;
+    }
+
+    // Chamado antes de abrir a resposta da exportação (depois do 200 enviado, o erro não vira 404)
+    // e antes de comparar o ETag (um usuário inexistente não pode receber 304)
+    @Override
+    public void validateFeedUser(Integer userId) {
+        if (!userRepository.existsById(userId)) {
+            logger.warn("Feed requested for non-existing userId={}", userId);
+            throw new UserNotFoundException("Usuário não encontrado: " + userId);
+        }
+    }
+
+    // Exportação sem limite de tamanho: as linhas são entregues uma a uma enquanto o cursor do banco
+    // está aberto (dentro desta transação), sem materializar o feed nem a lista de seguidos em memória
+    @Override
+    public long streamFollowedPosts(Integer userId, String sort, Consumer<FeedPostDTO> action) {
+        logger.info("Streaming feed userId={} sort={}", userId, sort);
+        validateFeedUser(userId);
+
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusDays(FEED_WINDOW_DAYS);
+
+        long count = 0;
+        try (Stream<FeedPostDTO> rows = postRepository.streamFeedRowsByFollowerIdAndDateBetween(userId, startDate, endDate, resolveDateDirection(sort))) {
+            Iterator<FeedPostDTO> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                action.accept(iterator.next());
+                count++;
+            }
+        }
+        logger.info("Feed streamed userId={} postsCount={}", userId, count);
+        return count;
+    }
+
+    // Carrega as linhas do feed por id preservando a ordem devolvida pelo índice
+    private List<FeedPostDTO> findPostsInOrder(List<Integer> postIds) {
+        if (postIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, FeedPostDTO> postsById = postRepository.findFeedRowsByPostIdIn(postIds).stream()
+                .collect(Collectors.toMap(FeedPostDTO::getPostId, Function.identity()));
+        return postIds.stream()
+                .map(postsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private List<Integer> findFollowingIds(Integer userId) {
+        return followGraphService.isEnabled()
+                ? followGraphService.findFollowingIds(userId)
+                : userRepository.findFollowingIdsByUserId(userId);
+    }
+
+    private static boolean isRankSort(String sort) {
+        return sort != null && sort.equalsIgnoreCase("rank");
+    }
+
+    private static Sort.Direction resolveDateDirection(String sort) {
+        return sort != null && sort.equalsIgnoreCase("date_asc") ? Sort.Direction.ASC : Sort.Direction.DESC;
+    }
+
     private static void PageSizeValidation(int page, int size) {
         if (page < 0) {
             throw new IllegalArgumentException("Page inválida: " + page);
@@ -145,13 +399,18 @@ public class PostService implements IPostService {
     @Override
     @Transactional
     public void likePost(Integer postId, Integer userId) {
-        logger.info("Liking post postId={} userId={}", postId, userId);
+        likePost(postId, userId, null);
+    }
+
+    @Override
+    @Transactional
+    public void likePost(Integer postId, Integer userId, LocalDate postDate) {
+        logger.info("Liking post postId={} userId={} postDate={}", postId, userId, postDate);
         validateNotNullOrThrow(postId, userId);
 
         User user = getUserOrThrow(userId);
 
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new PostNotFoundException("Post não encontrado: " + postId));
+        Post post = getPostOrThrow(postId, postDate);
 
         if (postLikeRepository.existsByUser_UserIdAndPost_PostId(userId, postId)) {
             logger.warn("Like rejected (already liked) postId={} userId={}", postId, userId);
@@ -166,21 +425,29 @@ public class PostService implements IPostService {
 
         postLikeRepository.save(like);
 
-        post.setLikesCount((post.getLikesCount() == null ? 0 : post.getLikesCount()) + 1);
-        postRepository.save(post);
-        logger.info("Post liked postId={} userId={} likesCount={}", postId, userId, post.getLikesCount());
+        if (outboxService.isEnabled()) {
+            outboxService.publish(OutboxEventType.POST_LIKED, userId, postId);
+        } else {
+            applyLike(post, 1);
+        }
+        logger.info("Post liked postId={} userId={}", postId, userId);
     }
 
     @Override
     @Transactional
     public void unlikePost(Integer postId, Integer userId) {
-        logger.info("Unliking post postId={} userId={}", postId, userId);
+        unlikePost(postId, userId, null);
+    }
+
+    @Override
+    @Transactional
+    public void unlikePost(Integer postId, Integer userId, LocalDate postDate) {
+        logger.info("Unliking post postId={} userId={} postDate={}", postId, userId, postDate);
         validateNotNullOrThrow(postId, userId);
 
         getUserOrThrow(userId);
 
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new PostNotFoundException("Post não encontrado: " + postId));
+        Post post = getPostOrThrow(postId, postDate);
 
         long deleted = postLikeRepository.deleteByUser_UserIdAndPost_PostId(userId, postId);
         if (deleted == 0) {
@@ -190,9 +457,49 @@ public class PostService implements IPostService {
             );
         }
 
-        post.setLikesCount(Math.max(0, (post.getLikesCount() == null ? 0 : post.getLikesCount()) - 1));
-        postRepository.save(post);
-        logger.info("Post unliked postId={} userId={} likesCount={}", postId, userId, post.getLikesCount());
+        if (outboxService.isEnabled()) {
+            outboxService.publish(OutboxEventType.POST_UNLIKED, userId, postId);
+        } else {
+            applyLike(post, -1);
+        }
+        logger.info("Post unliked postId={} userId={}", postId, userId);
+    }
+
+    // Dados derivados de posts e likes: aplicados na transação da requisição ou, com o outbox
+    // habilitado, pelo relay. Posts removidos antes da entrega são ignorados
+    @Override
+    public void handle(OutboxEvent event) {
+        switch (event.getType()) {
+            case POST_CREATED -> postRepository.findById(event.getTargetId()).ifPresent(this::applyPostCreated);
+            case POST_LIKED -> postRepository.findById(event.getTargetId()).ifPresent(post -> applyLike(post, 1));
+            case POST_UNLIKED -> postRepository.findById(event.getTargetId()).ifPresent(post -> applyLike(post, -1));
+            default -> {
+            }
+        }
+    }
+
+    private void applyPostCreated(Post post) {
+        timelineService.fanOut(post);
+        feedStreamService.publish(post);
+        feedVersionService.bumpFollowersOf(authorIdOf(post));
+    }
+
+    // Com o buffer, o likesCount só muda no flush, que invalida cache e versão dos feeds
+    private void applyLike(Post post, int delta) {
+        if (counterBufferService.isEnabled()) {
+            counterBufferService.addLikes(post.getPostId(), delta);
+            return;
+        }
+        if (delta > 0) {
+            postRepository.incrementLikesCount(post.getPostId(), post.getDate());
+        } else {
+            postRepository.decrementLikesCount(post.getPostId(), post.getDate());
+        }
+        feedVersionService.bumpFollowersOf(authorIdOf(post));
+    }
+
+    private static Integer authorIdOf(Post post) {
+        return post.getUser() == null ? null : post.getUser().getUserId();
     }
 
     private static void validateNotNullOrThrow(Integer postId, Integer userId) {
@@ -206,6 +513,14 @@ public class PostService implements IPostService {
                 .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado: " + userId));
     }
 
+    // Sem a data, a busca só pela coluna post_id consulta todas as partições de posts
+    private Post getPostOrThrow(Integer postId, LocalDate postDate) {
+        Optional<Post> post = postDate == null
+                ? postRepository.findById(postId)
+                : postRepository.findByIdAndDate(postId, postDate);
+        return post.orElseThrow(() -> new PostNotFoundException("Post não encontrado: " + postId));
+    }
+
     private Product resolveProduct(Product product) {
         if (product == null) {
             return null;
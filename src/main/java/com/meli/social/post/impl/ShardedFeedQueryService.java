@@ -0,0 +1,143 @@
+package com.meli.social.post.impl;
+
+import com.meli.social.post.dto.FeedCursor;
+import com.meli.social.post.dto.FeedPostDTO;
+import com.meli.social.post.inter.IPostRepository;
+import com.meli.social.post.inter.IShardedFeedQueryService;
+import com.meli.social.post.inter.IPostService;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+// Feed para listas de follows muito grandes: a IN-list é dividida em blocos consultados em paralelo
+// (pool limitado; com a fila cheia a própria thread da requisição executa o bloco).
+// Cada bloco traz só as (page + 1) * size primeiras linhas, suficientes para a página pedida, e o
+// resultado final sai do merge ordenado (date, postId) dos blocos. Offsets acima de
+// FEED_MAX_OFFSET_ROWS são rejeitados: páginas fundas devem usar o cursor.
+// Conexões: a requisição segura a sua (transação readOnly de PostService) enquanto espera os blocos,
+// e cada thread feed-shard-* precisa de outra. Só max-concurrent-requests requisições esperam blocos
+// ao mesmo tempo (as demais consultam os blocos em sequência na própria conexão), então o pool do
+// banco precisa de max-concurrent-requests + parallelism conexões, validado no startup; sem essa
+// folga, requisições esperando blocos e blocos esperando conexão travariam até o timeout do pool.
+@Service
+public class ShardedFeedQueryService implements IShardedFeedQueryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardedFeedQueryService.class);
+
+    private final IPostRepository postRepository;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final ThreadPoolExecutor executor;
+    private final Semaphore parallelRequests;
+
+    public ShardedFeedQueryService(
+            IPostRepository postRepository,
+            DataSource dataSource,
+            @Value("${social.feed.sharded.enabled:false}") boolean enabled,
+            @Value("${social.feed.sharded.chunk-size:500}") int chunkSize,
+            @Value("${social.feed.sharded.parallelism:4}") int parallelism,
+            @Value("${social.feed.sharded.max-concurrent-requests:2}") int maxConcurrentRequests
+    ) {
+        if (enabled && dataSource instanceof HikariDataSource hikari
+                && hikari.getMaximumPoolSize() < maxConcurrentRequests + parallelism) {
+            throw new IllegalArgumentException("Pool de conexões (%d) menor que max-concurrent-requests + parallelism (%d)"
+                    .formatted(hikari.getMaximumPoolSize(), maxConcurrentRequests + parallelism));
+        }
+        this.postRepository = postRepository;
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+        this.parallelRequests = new Semaphore(maxConcurrentRequests);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(parallelism * 16),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "feed-shard-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public List<FeedPostDTO> findFeedRows(List<Integer> authorIds, LocalDate startDate, LocalDate endDate, Sort.Direction direction, int page, int size) {
+        if (((long) page + 1) * size > IPostService.FEED_MAX_OFFSET_ROWS) {
+            throw new IllegalArgumentException("Página muito profunda para paginação por offset; use o cursor");
+        }
+        int limit = (page + 1) * size;
+        PageRequest head = PageRequest.of(0, limit, Sort.by(direction, "date").and(Sort.by(direction, "postId")));
+        return queryChunks(authorIds, direction, page * size, size,
+                chunk -> postRepository.findFeedRowsByUserIdInAndDateBetween(chunk, startDate, endDate, head));
+    }
+
+    @Override
+    public List<FeedPostDTO> findFeedRows(List<Integer> authorIds, LocalDate startDate, LocalDate endDate, Sort.Direction direction, FeedCursor after, int size) {
+        return queryChunks(authorIds, direction, 0, size,
+                chunk -> postRepository.findFeedRowsByUserIdInAndDateBetween(chunk, startDate, endDate, after, direction, size));
+    }
+
+    private List<FeedPostDTO> queryChunks(List<Integer> authorIds, Sort.Direction direction, int offset, int size,
+                                          Function<List<Integer>, List<FeedPostDTO>> query) {
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < authorIds.size(); from += chunkSize) {
+            chunks.add(List.copyOf(authorIds.subList(from, Math.min(from + chunkSize, authorIds.size()))));
+        }
+
+        List<FeedPostDTO> rows = new ArrayList<>();
+        if (chunks.size() > 1 && parallelRequests.tryAcquire()) {
+            try {
+                List<CompletableFuture<List<FeedPostDTO>>> futures = chunks.stream()
+                        .map(chunk -> CompletableFuture.supplyAsync(() -> query.apply(chunk), executor))
+                        .toList();
+                futures.forEach(future -> rows.addAll(future.join()));
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw ex;
+            } finally {
+                parallelRequests.release();
+            }
+        } else {
+            // Sem vaga para esperar blocos: usa só a conexão da própria requisição
+            chunks.forEach(chunk -> rows.addAll(query.apply(chunk)));
+        }
+
+        Comparator<FeedPostDTO> byDate = Comparator.comparing(FeedPostDTO::getDate).thenComparing(FeedPostDTO::getPostId);
+        List<FeedPostDTO> page = rows.stream()
+                .sorted(direction.isAscending() ? byDate : byDate.reversed())
+                .skip(offset)
+                .limit(size)
+                .toList();
+        logger.info("Sharded feed query authors={} chunks={} rows={}", authorIds.size(), chunks.size(), rows.size());
+        return page;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
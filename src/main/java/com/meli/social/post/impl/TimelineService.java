@@ -0,0 +1,249 @@
+package com.meli.social.post.impl;
+
+import com.meli.social.post.dto.FeedCursor;
+import com.meli.social.post.dto.FeedPostDTO;
+import com.meli.social.post.inter.ICounterBufferService;
+import com.meli.social.post.inter.IPostRepository;
+import com.meli.social.post.inter.IPostService;
+import com.meli.social.post.inter.ITimelineService;
+import com.meli.social.post.inter.TimelineJpaRepository;
+import com.meli.social.post.model.Post;
+import com.meli.social.post.model.TimelineEntry;
+import com.meli.social.user.inter.UserJpaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Timeline materializada (fan-out on write): cada post é copiado para o feed de cada seguidor do autor,
+// de forma que a leitura do feed vira um range scan em (owner_id, post_date).
+// Autores com muitos seguidores não são distribuídos: seus posts são buscados na leitura (pull) e
+// intercalados com a timeline dos demais. O modo fica gravado em users.feed_pulled e muda com histerese:
+// entra em pull com followersCount >= pull-threshold e só sai abaixo de pull-threshold * (1 - pull-hysteresis).
+// Na entrada as linhas do autor são removidas das timelines; na saída os posts da janela são copiados
+// para todos os seguidores atuais, inclusive os que seguiram durante o período em pull.
+// O modo é lido com trava na linha do autor, então um post publicado durante a transição ou é distribuído
+// depois dela ou já está confirmado quando a saída de pull copia a janela (lida sem snapshot).
+@Service
+@Transactional(readOnly = true)
+public class TimelineService implements ITimelineService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimelineService.class);
+
+    private final TimelineJpaRepository timelineRepository;
+    private final IPostRepository postRepository;
+    private final UserJpaRepository userRepository;
+    private final ICounterBufferService counterBufferService;
+    private final boolean enabled;
+    private final int pullThreshold;
+    private final double releaseThreshold;
+
+    private final Counter timelineReads;
+    private final Counter pullReads;
+    private final Counter pullMergedPosts;
+
+    public TimelineService(
+            TimelineJpaRepository timelineRepository,
+            IPostRepository postRepository,
+            UserJpaRepository userRepository,
+            ICounterBufferService counterBufferService,
+            MeterRegistry meterRegistry,
+            @Value("${social.feed.timeline.enabled:false}") boolean enabled,
+            @Value("${social.feed.timeline.pull-threshold:10000}") int pullThreshold,
+            @Value("${social.feed.timeline.pull-hysteresis:0.1}") double pullHysteresis
+    ) {
+        this.timelineRepository = timelineRepository;
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+        this.counterBufferService = counterBufferService;
+        this.enabled = enabled;
+        this.pullThreshold = pullThreshold;
+        this.releaseThreshold = pullThreshold * (1 - pullHysteresis);
+        this.timelineReads = meterRegistry.counter("social.feed.timeline.reads");
+        this.pullReads = meterRegistry.counter("social.feed.pull.reads");
+        this.pullMergedPosts = meterRegistry.counter("social.feed.pull.merged.posts");
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    @Transactional
+    public void fanOut(Post post) {
+        if (!enabled || post == null || post.getUser() == null) {
+            return;
+        }
+
+        Integer authorId = post.getUser().getUserId();
+        boolean pulled = lockPulled(authorId);
+        // Numa transição a timeline do autor é reconstruída por inteiro, já incluindo este post
+        if (reconcilePullMode(authorId, pulled)) {
+            return;
+        }
+        if (pulled) {
+            logger.info("Timeline fan-out skipped (pulled author) authorId={} postId={}", authorId, post.getPostId());
+            return;
+        }
+
+        List<TimelineEntry> entries = userRepository.findFollowerIdsByUserId(authorId).stream()
+                .map(followerId -> new TimelineEntry(followerId, post))
+                .toList();
+
+        timelineRepository.saveAll(entries);
+        logger.info("Timeline fan-out authorId={} postId={} followers={}", authorId, post.getPostId(), entries.size());
+    }
+
+    @Override
+    @Transactional
+    public void backfill(Integer followerId, Integer followedId) {
+        if (!enabled) {
+            return;
+        }
+        boolean pulled = lockPulled(followedId);
+        if (reconcilePullMode(followedId, pulled)) {
+            return;
+        }
+        if (pulled) {
+            logger.info("Timeline backfill skipped (pulled author) followerId={} followedId={}", followerId, followedId);
+            return;
+        }
+
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusDays(IPostService.FEED_WINDOW_DAYS);
+        List<TimelineEntry> entries = postRepository.findPostsByUserIdAndDateBetween(followedId, startDate, endDate).stream()
+                .map(post -> new TimelineEntry(followerId, post))
+                .toList();
+
+        timelineRepository.saveAll(entries);
+        logger.info("Timeline backfill followerId={} followedId={} entries={}", followerId, followedId, entries.size());
+    }
+
+    @Override
+    @Transactional
+    public void prune(Integer followerId, Integer followedId) {
+        if (!enabled) {
+            return;
+        }
+
+        int deleted = timelineRepository.deleteByOwnerIdAndAuthorId(followerId, followedId);
+        logger.info("Timeline prune followerId={} followedId={} entries={}", followerId, followedId, deleted);
+        reconcilePullMode(followedId, lockPulled(followedId));
+    }
+
+    // Chamado a cada mudança de seguidores do autor, já com a linha travada; devolve true se houve transição de modo
+    private boolean reconcilePullMode(Integer authorId, boolean pulled) {
+        int followersCount = userRepository.getFollowersCountByUserId(authorId).orElse(0);
+        if (counterBufferService.isEnabled()) {
+            followersCount = (int) Math.max(0, followersCount + counterBufferService.pendingFollowers(authorId));
+        }
+        boolean target = pulled ? followersCount >= releaseThreshold : followersCount >= pullThreshold;
+        if (target == pulled || userRepository.updateFeedPulled(authorId, target) == 0) {
+            return false;
+        }
+
+        if (target) {
+            int deleted = timelineRepository.deleteByAuthorId(authorId);
+            logger.info("Timeline author switched to pull authorId={} followers={} removedEntries={}", authorId, followersCount, deleted);
+            return true;
+        }
+
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusDays(IPostService.FEED_WINDOW_DAYS);
+        List<Post> posts = postRepository.lockPostsByUserIdAndDateBetween(authorId, startDate, endDate);
+        List<Integer> followerIds = posts.isEmpty() ? List.of() : userRepository.findFollowerIdsByUserId(authorId);
+        List<TimelineEntry> entries = followerIds.stream()
+                .flatMap(followerId -> posts.stream().map(post -> new TimelineEntry(followerId, post)))
+                .toList();
+        timelineRepository.saveAll(entries);
+        logger.info("Timeline author switched to push authorId={} followers={} entries={}", authorId, followersCount, entries.size());
+        return true;
+    }
+
+    @Override
+    public List<FeedPostDTO> findFeed(Integer userId, LocalDate startDate, LocalDate endDate, Sort.Direction direction, int page, int size) {
+        timelineReads.increment();
+
+        if (((long) page + 1) * size > IPostService.FEED_MAX_OFFSET_ROWS) {
+            throw new IllegalArgumentException("Página muito profunda para paginação por offset; use o cursor");
+        }
+
+        List<Integer> pulledAuthors = userRepository.findPulledFollowingIdsByUserId(userId);
+        if (pulledAuthors.isEmpty()) {
+            return timelineRepository.findFeedRowsByOwnerIdAndDateBetween(userId, startDate, endDate,
+                    PageRequest.of(page, size, timelineSort(direction)));
+        }
+
+        // Cada fonte devolve as (page+1)*size primeiras linhas; o merge descarta as páginas anteriores.
+        int head = (page + 1) * size;
+        List<FeedPostDTO> pushed = timelineRepository.findFeedRowsByOwnerIdAndDateBetween(userId, startDate, endDate,
+                PageRequest.of(0, head, timelineSort(direction)));
+        List<FeedPostDTO> pulled = postRepository.findFeedRowsByUserIdInAndDateBetween(pulledAuthors, startDate, endDate, null, direction, head);
+        return mergePulled(userId, pulledAuthors, pushed, pulled, direction, (long) page * size, size);
+    }
+
+    @Override
+    public List<FeedPostDTO> findFeed(Integer userId, LocalDate startDate, LocalDate endDate, Sort.Direction direction, FeedCursor after, int size) {
+        timelineReads.increment();
+
+        PageRequest first = PageRequest.of(0, size, timelineSort(direction));
+        List<FeedPostDTO> pushed;
+        if (after == null) {
+            pushed = timelineRepository.findFeedRowsByOwnerIdAndDateBetween(userId, startDate, endDate, first);
+        } else if (direction.isAscending()) {
+            pushed = timelineRepository.findFeedRowsByOwnerIdAndDateBetweenAfterCursor(userId, startDate, endDate, after.date(), after.postId(), first);
+        } else {
+            pushed = timelineRepository.findFeedRowsByOwnerIdAndDateBetweenBeforeCursor(userId, startDate, endDate, after.date(), after.postId(), first);
+        }
+
+        List<Integer> pulledAuthors = userRepository.findPulledFollowingIdsByUserId(userId);
+        if (pulledAuthors.isEmpty()) {
+            return pushed;
+        }
+
+        List<FeedPostDTO> pulled = postRepository.findFeedRowsByUserIdInAndDateBetween(pulledAuthors, startDate, endDate, after, direction, size);
+        return mergePulled(userId, pulledAuthors, pushed, pulled, direction, 0, size);
+    }
+
+    private List<FeedPostDTO> mergePulled(Integer userId, List<Integer> pulledAuthors, List<FeedPostDTO> pushed, List<FeedPostDTO> pulled,
+                                   Sort.Direction direction, long skip, int size) {
+        Map<Integer, FeedPostDTO> merged = new LinkedHashMap<>();
+        pushed.forEach(post -> merged.put(post.getPostId(), post));
+        Set<Integer> pushedIds = Set.copyOf(merged.keySet());
+        pulled.forEach(post -> merged.putIfAbsent(post.getPostId(), post));
+
+        Comparator<FeedPostDTO> order = Comparator.comparing(FeedPostDTO::getDate).thenComparing(FeedPostDTO::getPostId);
+        List<FeedPostDTO> result = merged.values().stream()
+                .sorted(direction.isAscending() ? order : order.reversed())
+                .skip(skip)
+                .limit(size)
+                .toList();
+
+        long mergedIn = result.stream().filter(post -> !pushedIds.contains(post.getPostId())).count();
+        pullReads.increment();
+        pullMergedPosts.increment(mergedIn);
+        logger.info("Feed pull merge userId={} pulledAuthors={} mergedPosts={}", userId, pulledAuthors.size(), mergedIn);
+        return result;
+    }
+
+    private static Sort timelineSort(Sort.Direction direction) {
+        return Sort.by(direction, "postDate").and(Sort.by(direction, "post.postId"));
+    }
+
+    private boolean lockPulled(Integer authorId) {
+        return userRepository.lockFeedPulledByUserId(authorId).orElse(false);
+    }
+}
@@ -0,0 +1,28 @@
+package com.meli.social.post.inter;
+
+import com.meli.social.post.model.ArchivedPost;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ArchivedPostJpaRepository extends JpaRepository<ArchivedPost, Integer> {
+
+    long countByUserIdAndHasPromoTrue(Integer userId);
+
+    List<ArchivedPost> findByUserIdAndHasPromoTrue(Integer userId);
+
+    List<ArchivedPost> findByUserIdAndHasPromoTrue(Integer userId, Pageable pageable);
+
+    @Modifying
+    @Query("""
+        INSERT INTO ArchivedPost (postId, userId, date, productId, category, price, hasPromo, discount, likesCount)
+        SELECT p.postId, p.user.userId, p.date, p.product.productId, p.category, p.price, p.hasPromo, p.discount, p.likesCount
+        FROM Post p
+        WHERE p.postId IN :postIds
+        """)
+    int archivePosts(@Param("postIds") List<Integer> postIds);
+}
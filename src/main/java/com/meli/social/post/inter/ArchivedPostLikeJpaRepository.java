@@ -0,0 +1,23 @@
+package com.meli.social.post.inter;
+
+import com.meli.social.post.model.ArchivedPostLike;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ArchivedPostLikeJpaRepository extends JpaRepository<ArchivedPostLike, Long> {
+
+    long countByPostId(Integer postId);
+
+    @Modifying
+    @Query("""
+        INSERT INTO ArchivedPostLike (id, userId, postId, likedAt)
+        SELECT l.id, l.user.userId, l.post.postId, l.likedAt
+        FROM PostLike l
+        WHERE l.post.postId IN :postIds
+        """)
+    int archiveLikes(@Param("postIds") List<Integer> postIds);
+}
@@ -0,0 +1,20 @@
+package com.meli.social.post.inter;
+
+import java.util.Map;
+
+public interface ICounterBufferService {
+
+    boolean isEnabled();
+
+    void addLikes(Integer postId, int delta);
+
+    void addFollowers(Integer userId, int delta);
+
+    long pendingLikes(Integer postId);
+
+    long pendingFollowers(Integer userId);
+
+    Map<Integer, Long> pendingFollowers();
+
+    void flush();
+}
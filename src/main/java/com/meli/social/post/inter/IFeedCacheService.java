@@ -0,0 +1,12 @@
+package com.meli.social.post.inter;
+
+import com.meli.social.post.dto.FollowedPostsDTO;
+
+import java.util.function.Supplier;
+
+public interface IFeedCacheService {
+
+    boolean isEnabled();
+
+    FollowedPostsDTO get(Integer userId, String sort, int page, int size, Supplier<FollowedPostsDTO> loader);
+}
@@ -0,0 +1,19 @@
+package com.meli.social.post.inter;
+
+import com.meli.social.post.dto.FeedCursor;
+import com.meli.social.post.model.Post;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface IFeedIndexService {
+
+    boolean isEnabled();
+
+    void index(Post post);
+
+    List<Integer> findFeedPostIds(List<Integer> authorIds, LocalDate startDate, LocalDate endDate, Sort.Direction direction, int offset, int limit);
+
+    List<Integer> findFeedPostIds(List<Integer> authorIds, LocalDate startDate, LocalDate endDate, Sort.Direction direction, FeedCursor after, int limit);
+}
@@ -0,0 +1,15 @@
+package com.meli.social.post.inter;
+
+import com.meli.social.post.model.Post;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface IFeedStreamService {
+
+    SseEmitter subscribe(Integer userId);
+
+    void publish(Post post);
+
+    void follow(Integer followerId, Integer followedId);
+
+    void unfollow(Integer followerId, Integer followedId);
+}
@@ -0,0 +1,14 @@
+package com.meli.social.post.inter;
+
+public interface IFeedVersionService {
+
+    boolean isEtagEnabled();
+
+    long currentVersion(Integer userId);
+
+    String etag(Integer userId);
+
+    void bumpUser(Integer userId);
+
+    void bumpFollowersOf(Integer authorId);
+}
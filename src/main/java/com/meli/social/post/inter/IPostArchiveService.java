@@ -0,0 +1,10 @@
+package com.meli.social.post.inter;
+
+import java.time.LocalDate;
+
+public interface IPostArchiveService {
+
+    boolean isEnabled();
+
+    int archivePostsBefore(LocalDate cutoff);
+}
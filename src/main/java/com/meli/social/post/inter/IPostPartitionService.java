@@ -0,0 +1,13 @@
+package com.meli.social.post.inter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface IPostPartitionService {
+
+    boolean isEnabled();
+
+    void maintainPartitions();
+
+    List<LocalDate> findDailyPartitions();
+}
@@ -1,5 +1,8 @@
 package com.meli.social.post.inter;
 
+import com.meli.social.post.dto.FeedCursor;
+import com.meli.social.post.dto.FeedPostDTO;
+import com.meli.social.post.dto.PostIndexRow;
 import com.meli.social.post.model.Post;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -7,21 +10,61 @@ import org.springframework.data.domain.Sort;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface IPostRepository {
 
+    // Ordenação 'rank' do feed: score de relevância, com postId como desempate estável
+    Sort RANK_SORT = Sort.by(Sort.Direction.DESC, "score").and(Sort.by(Sort.Direction.DESC, "postId"));
+
     Post save(Post post);
 
     Optional<Post> findById(Integer postId);
 
+    // Com posts particionado por date, só a busca com a PK inteira (post_id, date) lê uma única partição
+    Optional<Post> findByIdAndDate(Integer postId, LocalDate date);
+
+    List<Post> findAllById(List<Integer> postIds);
+
     List<Post> findPostsByUserIdInAndDateBetween(List<Integer> userIds, LocalDate startDate, LocalDate endDate, Sort sort);
 
     List<Post> findPostsByUserIdInAndDateBetween(List<Integer> userIds, LocalDate startDate, LocalDate endDate, Pageable pageable);
 
+    List<FeedPostDTO> findFeedRowsByUserIdInAndDateBetween(List<Integer> userIds, LocalDate startDate, LocalDate endDate, Pageable pageable);
+
+    List<FeedPostDTO> findFeedRowsByUserIdInAndDateBetween(List<Integer> userIds, LocalDate startDate, LocalDate endDate, Sort sort);
+
+    List<FeedPostDTO> findFeedRowsByUserIdInAndDateBetween(List<Integer> userIds, LocalDate startDate, LocalDate endDate, FeedCursor after, Sort.Direction direction, int limit);
+
+    List<FeedPostDTO> findRankedFeedRowsByUserIdInAndDateBetween(List<Integer> userIds, LocalDate startDate, LocalDate endDate, FeedCursor after, int limit);
+
+    List<FeedPostDTO> findFeedRowsByPostIdIn(List<Integer> postIds);
+
+    // Até 'perAuthor' posts de cada autor, na ordem pedida (date_asc, date_desc ou rank)
+    List<FeedPostDTO> findFeedRowsPerAuthor(List<Integer> userIds, LocalDate startDate, LocalDate endDate, boolean ranked, Sort.Direction direction, int perAuthor);
+
+    List<Integer> findAuthorIdsByPostIdIn(List<Integer> postIds);
+
+    Stream<FeedPostDTO> streamFeedRowsByFollowerIdAndDateBetween(Integer followerId, LocalDate startDate, LocalDate endDate, Sort.Direction direction);
+
+    List<Post> findPostsByUserIdAndDateBetween(Integer userId, LocalDate startDate, LocalDate endDate);
+
+    List<Post> lockPostsByUserIdAndDateBetween(Integer userId, LocalDate startDate, LocalDate endDate);
+
+    List<PostIndexRow> findIndexRowsByDateFrom(LocalDate startDate);
+
     long countPromoPostsByUserId(Integer userId);
 
     List<Post> findPromoPostsByUserId(Integer userId);
 
     List<Post> findPromoPostsByUserId(Integer userId, Pageable pageable);
 
+    int archivePostsBefore(LocalDate cutoff, int limit);
+
+    int incrementLikesCount(Integer postId, LocalDate date);
+
+    int decrementLikesCount(Integer postId, LocalDate date);
+
+    int applyLikesCountDelta(Integer postId, int delta);
+
 }
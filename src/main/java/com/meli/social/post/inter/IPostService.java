@@ -1,17 +1,38 @@
 package com.meli.social.post.inter;
 
+import com.meli.social.post.dto.FeedPostDTO;
 import com.meli.social.post.dto.FollowedPostsDTO;
 import com.meli.social.post.dto.PostDTO;
 import com.meli.social.post.dto.PromoProducsListDTO;
 import com.meli.social.post.dto.PromoProductsCountDTO;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
 public interface IPostService {
+
+    // Janela (em dias) de publicações consideradas no feed
+    int FEED_WINDOW_DAYS = 14;
+
+    // Paginação por offset lê (page + 1) * size linhas de cada fonte; além disso, usar o cursor
+    int FEED_MAX_OFFSET_ROWS = 1_000;
+
     Boolean createPost(PostDTO newPost);
 
     FollowedPostsDTO getFollowedPosts(Integer userId, String sort);
 
     FollowedPostsDTO getFollowedPosts(Integer userId, String sort, int page, int size);
 
+    FollowedPostsDTO getFollowedPostsByCursor(Integer userId, String sort, String cursor, int size);
+
+    Map<Integer, FollowedPostsDTO> getFollowedPostsBatch(List<Integer> userIds, String sort, int size);
+
+    void validateFeedUser(Integer userId);
+
+    long streamFollowedPosts(Integer userId, String sort, Consumer<FeedPostDTO> action);
+
     PromoProductsCountDTO getPromoProductsCount(Integer userId);
 
     PromoProducsListDTO getPromoProductsList(Integer userId);
@@ -20,5 +41,10 @@ public interface IPostService {
 
     void likePost(Integer postId, Integer userId);
 
+    // postDate (opcional, como no feed) completa a PK (post_id, date) da tabela posts particionada
+    void likePost(Integer postId, Integer userId, LocalDate postDate);
+
     void unlikePost(Integer postId, Integer userId);
+
+    void unlikePost(Integer postId, Integer userId, LocalDate postDate);
 }
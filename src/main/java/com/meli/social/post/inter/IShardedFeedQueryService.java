@@ -0,0 +1,17 @@
+package com.meli.social.post.inter;
+
+import com.meli.social.post.dto.FeedCursor;
+import com.meli.social.post.dto.FeedPostDTO;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface IShardedFeedQueryService {
+
+    boolean isEnabled();
+
+    List<FeedPostDTO> findFeedRows(List<Integer> authorIds, LocalDate startDate, LocalDate endDate, Sort.Direction direction, int page, int size);
+
+    List<FeedPostDTO> findFeedRows(List<Integer> authorIds, LocalDate startDate, LocalDate endDate, Sort.Direction direction, FeedCursor after, int size);
+}
@@ -0,0 +1,24 @@
+package com.meli.social.post.inter;
+
+import com.meli.social.post.dto.FeedCursor;
+import com.meli.social.post.dto.FeedPostDTO;
+import com.meli.social.post.model.Post;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ITimelineService {
+
+    boolean isEnabled();
+
+    void fanOut(Post post);
+
+    void backfill(Integer followerId, Integer followedId);
+
+    void prune(Integer followerId, Integer followedId);
+
+    List<FeedPostDTO> findFeed(Integer userId, LocalDate startDate, LocalDate endDate, Sort.Direction direction, int page, int size);
+
+    List<FeedPostDTO> findFeed(Integer userId, LocalDate startDate, LocalDate endDate, Sort.Direction direction, FeedCursor after, int size);
+}
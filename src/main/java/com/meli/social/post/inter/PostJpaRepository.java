@@ -1,18 +1,260 @@
 package com.meli.social.post.inter;
 
+import com.meli.social.post.dto.FeedPostDTO;
+import com.meli.social.post.dto.PostIndexRow;
 import com.meli.social.post.model.Post;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PostJpaRepository  extends JpaRepository<Post, Integer> {
 
+    // Projeção do feed: linhas planas com as colunas do produto, sem hidratar entidades. Cada consulta
+    // completa com o FROM (alias p para o post, pr para o produto) e os filtros
+    String FEED_ROW_SELECT = """
+        SELECT new com.meli.social.post.dto.FeedPostDTO(
+            p.user.userId, p.postId, p.date, p.category, p.price, p.hasPromo, p.discount, p.likesCount,
+            pr.productId, pr.productName, pr.type, pr.brand, pr.color, pr.notes, p.score)
+        """;
+
     List<Post> findByUser_UserIdInAndDateBetween(List<Integer> userIds, LocalDate startDate, LocalDate endDate, Sort sort);
 
     List<Post> findByUser_UserIdInAndDateBetween(List<Integer> userIds, LocalDate startDate, LocalDate endDate, Pageable pageable);
 
+    @Query(FEED_ROW_SELECT + """
+        FROM Post p LEFT JOIN p.product pr
+        WHERE p.user.userId IN :userIds
+        AND p.date BETWEEN :startDate AND :endDate
+        """)
+    List<FeedPostDTO> findFeedRowsByUserIdInAndDateBetween(@Param("userIds") List<Integer> userIds,
+                                                           @Param("startDate") LocalDate startDate,
+                                                           @Param("endDate") LocalDate endDate,
+                                                           Pageable pageable);
+
+    @Query(FEED_ROW_SELECT + """
+        FROM Post p LEFT JOIN p.product pr
+        WHERE p.user.userId IN :userIds
+        AND p.date BETWEEN :startDate AND :endDate
+        """)
+    List<FeedPostDTO> findFeedRowsByUserIdInAndDateBetween(@Param("userIds") List<Integer> userIds,
+                                                           @Param("startDate") LocalDate startDate,
+                                                           @Param("endDate") LocalDate endDate,
+                                                           Sort sort);
+
+    @Query(FEED_ROW_SELECT + """
+        FROM Post p LEFT JOIN p.product pr
+        WHERE p.user.userId IN :userIds
+        AND p.date BETWEEN :startDate AND :endDate
+        AND (p.date < :cursorDate OR (p.date = :cursorDate AND p.postId < :cursorPostId))
+        """)
+    List<FeedPostDTO> findFeedRowsByUserIdInAndDateBetweenBeforeCursor(@Param("userIds") List<Integer> userIds,
+                                                                       @Param("startDate") LocalDate startDate,
+                                                                       @Param("endDate") LocalDate endDate,
+                                                                       @Param("cursorDate") LocalDate cursorDate,
+                                                                       @Param("cursorPostId") Integer cursorPostId,
+                                                                       Pageable pageable);
+
+    @Query(FEED_ROW_SELECT + """
+        FROM Post p LEFT JOIN p.product pr
+        WHERE p.user.userId IN :userIds
+        AND p.date BETWEEN :startDate AND :endDate
+        AND (p.date > :cursorDate OR (p.date = :cursorDate AND p.postId > :cursorPostId))
+        """)
+    List<FeedPostDTO> findFeedRowsByUserIdInAndDateBetweenAfterCursor(@Param("userIds") List<Integer> userIds,
+                                                                      @Param("startDate") LocalDate startDate,
+                                                                      @Param("endDate") LocalDate endDate,
+                                                                      @Param("cursorDate") LocalDate cursorDate,
+                                                                      @Param("cursorPostId") Integer cursorPostId,
+                                                                      Pageable pageable);
+
+    // Keyset da ordenação 'rank' (score desc, postId desc)
+    @Query(FEED_ROW_SELECT + """
+        FROM Post p LEFT JOIN p.product pr
+        WHERE p.user.userId IN :userIds
+        AND p.date BETWEEN :startDate AND :endDate
+        AND (p.score < :cursorScore OR (p.score = :cursorScore AND p.postId < :cursorPostId))
+        """)
+    List<FeedPostDTO> findFeedRowsByUserIdInAndDateBetweenBelowScore(@Param("userIds") List<Integer> userIds,
+                                                                     @Param("startDate") LocalDate startDate,
+                                                                     @Param("endDate") LocalDate endDate,
+                                                                     @Param("cursorScore") Double cursorScore,
+                                                                     @Param("cursorPostId") Integer cursorPostId,
+                                                                     Pageable pageable);
+
+    @Query(FEED_ROW_SELECT + """
+        FROM Post p LEFT JOIN p.product pr
+        WHERE p.postId IN :postIds
+        """)
+    List<FeedPostDTO> findFeedRowsByPostIdIn(@Param("postIds") List<Integer> postIds);
+
+    // Primeiros posts de cada autor (LIMIT por autor via LATERAL): o feed em lote nunca usa mais que
+    // 'size' posts de um mesmo autor, então só esses saem do banco
+    @Query(FEED_ROW_SELECT + """
+        FROM User a
+        JOIN LATERAL (
+            SELECT q.postId AS postId, q.date AS postDate
+            FROM Post q
+            WHERE q.user.userId = a.userId
+            AND q.date BETWEEN :startDate AND :endDate
+            ORDER BY q.date DESC, q.postId DESC
+            LIMIT :perAuthor
+        ) top
+        JOIN Post p ON p.postId = top.postId AND p.date = top.postDate
+        LEFT JOIN p.product pr
+        WHERE a.userId IN :userIds
+        """)
+    List<FeedPostDTO> findLatestFeedRowsPerAuthor(@Param("userIds") List<Integer> userIds,
+                                                  @Param("startDate") LocalDate startDate,
+                                                  @Param("endDate") LocalDate endDate,
+                                                  @Param("perAuthor") int perAuthor);
+
+    @Query(FEED_ROW_SELECT + """
+        FROM User a
+        JOIN LATERAL (
+            SELECT q.postId AS postId, q.date AS postDate
+            FROM Post q
+            WHERE q.user.userId = a.userId
+            AND q.date BETWEEN :startDate AND :endDate
+            ORDER BY q.date ASC, q.postId ASC
+            LIMIT :perAuthor
+        ) top
+        JOIN Post p ON p.postId = top.postId AND p.date = top.postDate
+        LEFT JOIN p.product pr
+        WHERE a.userId IN :userIds
+        """)
+    List<FeedPostDTO> findOldestFeedRowsPerAuthor(@Param("userIds") List<Integer> userIds,
+                                                  @Param("startDate") LocalDate startDate,
+                                                  @Param("endDate") LocalDate endDate,
+                                                  @Param("perAuthor") int perAuthor);
+
+    @Query(FEED_ROW_SELECT + """
+        FROM User a
+        JOIN LATERAL (
+            SELECT q.postId AS postId, q.date AS postDate
+            FROM Post q
+            WHERE q.user.userId = a.userId
+            AND q.date BETWEEN :startDate AND :endDate
+            ORDER BY q.score DESC, q.postId DESC
+            LIMIT :perAuthor
+        ) top
+        JOIN Post p ON p.postId = top.postId AND p.date = top.postDate
+        LEFT JOIN p.product pr
+        WHERE a.userId IN :userIds
+        """)
+    List<FeedPostDTO> findTopRankedFeedRowsPerAuthor(@Param("userIds") List<Integer> userIds,
+                                                     @Param("startDate") LocalDate startDate,
+                                                     @Param("endDate") LocalDate endDate,
+                                                     @Param("perAuthor") int perAuthor);
+
+    // Cursor forward-only para exportação: os seguidos vêm de subconsulta (sem IN-list em memória).
+    // No MySQL o fetch size só é respeitado com useCursorFetch=true na URL; sem ele o driver lê tudo
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(FEED_ROW_SELECT + """
+        FROM Post p LEFT JOIN p.product pr
+        WHERE p.user.userId IN (SELECT f.followed.userId FROM UserFollow f WHERE f.follower.userId = :followerId)
+        AND p.date BETWEEN :startDate AND :endDate
+        """)
+    Stream<FeedPostDTO> streamFeedRowsByFollowerIdAndDateBetween(@Param("followerId") Integer followerId,
+                                                                 @Param("startDate") LocalDate startDate,
+                                                                 @Param("endDate") LocalDate endDate,
+                                                                 Sort sort);
+
+    @Query("""
+        SELECT p.user.userId AS userId, p.postId AS postId, p.date AS date
+        FROM Post p
+        WHERE p.date >= :startDate
+        """)
+    List<PostIndexRow> findIndexRowsByDateFrom(@Param("startDate") LocalDate startDate);
+
+    @Query("SELECT p FROM Post p WHERE p.postId = :postId AND p.date = :date")
+    Optional<Post> findByPostIdAndDate(@Param("postId") Integer postId, @Param("date") LocalDate date);
+
+    // Ajuste do score (ver Post.refreshScore) por um delta de likes: o termo de recência não muda, então
+    // basta somar a diferença do termo de engajamento, log2((1 + L + delta + B) / (1 + L + B)), com o bônus
+    // de promo B já gravado em promo_boost. Roda antes do UPDATE de likesCount, na mesma transação: a linha
+    // fica travada entre os dois e nenhum depende da ordem de avaliação das atribuições do SET
+    @Modifying
+    @Query("""
+        UPDATE Post p
+        SET p.score = p.score + LN((1.0 + COALESCE(p.likesCount, 0) + :delta + COALESCE(p.promoBoost, 0))
+                               / (1.0 + COALESCE(p.likesCount, 0) + COALESCE(p.promoBoost, 0))) / LN(2.0)
+        WHERE p.postId = :postId
+        AND p.date = :date
+        AND COALESCE(p.likesCount, 0) + :delta >= 0
+        """)
+    int shiftScoreByLikes(@Param("postId") Integer postId, @Param("date") LocalDate date, @Param("delta") Integer delta);
+
+    @Modifying
+    @Query("""
+        UPDATE Post p
+        SET p.score = p.score + LN((1.0 + COALESCE(p.likesCount, 0) + :delta + COALESCE(p.promoBoost, 0))
+                               / (1.0 + COALESCE(p.likesCount, 0) + COALESCE(p.promoBoost, 0))) / LN(2.0)
+        WHERE p.postId = :postId
+        AND COALESCE(p.likesCount, 0) + :delta >= 0
+        """)
+    int shiftScoreByLikes(@Param("postId") Integer postId, @Param("delta") Integer delta);
+
+    // Like/unlike atômicos, filtrados pela PK inteira (post_id, date) para o partition pruning
+    @Modifying
+    @Query("""
+        UPDATE Post p
+        SET p.likesCount = COALESCE(p.likesCount, 0) + 1
+        WHERE p.postId = :postId
+        AND p.date = :date
+        """)
+    int incrementLikesCount(@Param("postId") Integer postId, @Param("date") LocalDate date);
+
+    @Modifying
+    @Query("""
+        UPDATE Post p
+        SET p.likesCount = p.likesCount - 1
+        WHERE p.postId = :postId
+        AND p.date = :date
+        AND p.likesCount > 0
+        """)
+    int decrementLikesCount(@Param("postId") Integer postId, @Param("date") LocalDate date);
+
+    // Delta agregado (positivo ou negativo) de likes
+    @Modifying
+    @Query("""
+        UPDATE Post p
+        SET p.likesCount = COALESCE(p.likesCount, 0) + :delta
+        WHERE p.postId = :postId
+        AND COALESCE(p.likesCount, 0) + :delta >= 0
+        """)
+    int applyLikesCountDelta(@Param("postId") Integer postId, @Param("delta") Integer delta);
+
+    @Query("SELECT DISTINCT p.user.userId FROM Post p WHERE p.postId IN :postIds")
+    List<Integer> findAuthorIdsByPostIdIn(@Param("postIds") List<Integer> postIds);
+
+    @Query("SELECT p.postId FROM Post p WHERE p.date < :before ORDER BY p.postId")
+    List<Integer> findPostIdsByDateBefore(@Param("before") LocalDate before, Pageable pageable);
+
+    List<Post> findByUser_UserIdAndDateBetween(Integer userId, LocalDate startDate, LocalDate endDate);
+
+    // Leitura corrente (FOR SHARE): enxerga posts confirmados depois do snapshot da transação
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("""
+        SELECT p FROM Post p
+        WHERE p.user.userId = :userId
+        AND p.date BETWEEN :startDate AND :endDate
+        """)
+    List<Post> lockByUserIdAndDateBetween(@Param("userId") Integer userId,
+                                          @Param("startDate") LocalDate startDate,
+                                          @Param("endDate") LocalDate endDate);
+
     long countByUser_UserIdAndHasPromoTrue(Integer userId);
 
     List<Post> findByUser_UserIdAndHasPromoTrue(Integer userId);
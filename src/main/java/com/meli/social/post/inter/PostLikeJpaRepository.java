@@ -2,10 +2,19 @@ package com.meli.social.post.inter;
 
 import com.meli.social.post.model.PostLike;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface PostLikeJpaRepository extends JpaRepository<PostLike, Long> {
 
     boolean existsByUser_UserIdAndPost_PostId(Integer userId, Integer postId);
 
     long deleteByUser_UserIdAndPost_PostId(Integer userId, Integer postId);
+
+    @Modifying
+    @Query("DELETE FROM PostLike l WHERE l.post.postId IN :postIds")
+    int deleteByPostIdIn(@Param("postIds") List<Integer> postIds);
 }
@@ -0,0 +1,80 @@
+package com.meli.social.post.inter;
+
+import com.meli.social.post.dto.FeedPostDTO;
+import com.meli.social.post.model.TimelineEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface TimelineJpaRepository extends JpaRepository<TimelineEntry, Long> {
+
+    // p.date = t.postDate completa a PK (post_id, date) no join: com posts particionado, cada post
+    // é lido só na partição do seu dia. As linhas saem já projetadas (PostJpaRepository.FEED_ROW_SELECT),
+    // sem hidratar Post nem Product
+
+    @Query(PostJpaRepository.FEED_ROW_SELECT + """
+        FROM TimelineEntry t
+        JOIN t.post p
+        LEFT JOIN p.product pr
+        WHERE t.ownerId = :ownerId
+        AND p.date = t.postDate
+        AND t.postDate BETWEEN :startDate AND :endDate
+        """)
+    List<FeedPostDTO> findFeedRowsByOwnerIdAndDateBetween(@Param("ownerId") Integer ownerId,
+                                                          @Param("startDate") LocalDate startDate,
+                                                          @Param("endDate") LocalDate endDate,
+                                                          Pageable pageable);
+
+    @Query(PostJpaRepository.FEED_ROW_SELECT + """
+        FROM TimelineEntry t
+        JOIN t.post p
+        LEFT JOIN p.product pr
+        WHERE t.ownerId = :ownerId
+        AND p.date = t.postDate
+        AND t.postDate BETWEEN :startDate AND :endDate
+        AND (t.postDate < :cursorDate OR (t.postDate = :cursorDate AND t.post.postId < :cursorPostId))
+        """)
+    List<FeedPostDTO> findFeedRowsByOwnerIdAndDateBetweenBeforeCursor(@Param("ownerId") Integer ownerId,
+                                                                      @Param("startDate") LocalDate startDate,
+                                                                      @Param("endDate") LocalDate endDate,
+                                                                      @Param("cursorDate") LocalDate cursorDate,
+                                                                      @Param("cursorPostId") Integer cursorPostId,
+                                                                      Pageable pageable);
+
+    @Query(PostJpaRepository.FEED_ROW_SELECT + """
+        FROM TimelineEntry t
+        JOIN t.post p
+        LEFT JOIN p.product pr
+        WHERE t.ownerId = :ownerId
+        AND p.date = t.postDate
+        AND t.postDate BETWEEN :startDate AND :endDate
+        AND (t.postDate > :cursorDate OR (t.postDate = :cursorDate AND t.post.postId > :cursorPostId))
+        """)
+    List<FeedPostDTO> findFeedRowsByOwnerIdAndDateBetweenAfterCursor(@Param("ownerId") Integer ownerId,
+                                                                     @Param("startDate") LocalDate startDate,
+                                                                     @Param("endDate") LocalDate endDate,
+                                                                     @Param("cursorDate") LocalDate cursorDate,
+                                                                     @Param("cursorPostId") Integer cursorPostId,
+                                                                     Pageable pageable);
+
+    @Modifying
+    @Query("""
+        DELETE FROM TimelineEntry t
+        WHERE t.ownerId = :ownerId
+        AND t.authorId = :authorId
+        """)
+    int deleteByOwnerIdAndAuthorId(@Param("ownerId") Integer ownerId, @Param("authorId") Integer authorId);
+
+    @Modifying
+    @Query("DELETE FROM TimelineEntry t WHERE t.authorId = :authorId")
+    int deleteByAuthorId(@Param("authorId") Integer authorId);
+
+    @Modifying
+    @Query("DELETE FROM TimelineEntry t WHERE t.post.postId IN :postIds")
+    int deleteByPostIdIn(@Param("postIds") List<Integer> postIds);
+}
@@ -0,0 +1,68 @@
+package com.meli.social.post.model;
+
+import com.meli.social.user.model.User;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+// Cópia compacta de um post que saiu da janela do feed: sem FKs e sem score, só o que as
+// rotas de promoção leem. O post_id original é preservado.
+@Entity
+@Table(name = "posts_archive", indexes = @Index(name = "idx_posts_archive_user_promo_date", columnList = "user_id, has_promo, date"))
+@Data
+@NoArgsConstructor
+@ToString(exclude = {"product"})
+@EqualsAndHashCode(of = "postId")
+public class ArchivedPost {
+
+    @Id
+    @Column(name = "post_id")
+    private Integer postId;
+
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+
+    @Column(name = "date", nullable = false)
+    private LocalDate date;
+
+    @Column(name = "product_id")
+    private Integer productId;
+
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "product_id", insertable = false, updatable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private Product product;
+
+    @Column(name = "category")
+    private Integer category;
+
+    @Column(name = "price", nullable = false)
+    private Double price;
+
+    @Column(name = "has_promo")
+    private Boolean hasPromo;
+
+    @Column(name = "discount")
+    private Double discount;
+
+    @Column(name = "likes_count")
+    private Integer likesCount;
+
+    // Post desanexado (não gerenciado) com o mesmo formato do post quente, para os DTOs existentes
+    public Post toPost() {
+        User user = new User();
+        user.setUserId(userId);
+
+        Post post = new Post();
+        post.setPostId(postId);
+        post.setUser(user);
+        post.setDate(date);
+        post.setProduct(product);
+        post.setCategory(category);
+        post.setPrice(price);
+        post.setHasPromo(hasPromo);
+        post.setDiscount(discount);
+        post.setLikesCount(likesCount);
+        return post;
+    }
+}
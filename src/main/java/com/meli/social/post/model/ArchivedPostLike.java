@@ -0,0 +1,28 @@
+package com.meli.social.post.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Like de um post arquivado: só ids e data, sem FKs
+@Entity
+@Table(name = "post_likes_archive", indexes = @Index(name = "idx_post_likes_archive_post", columnList = "post_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class ArchivedPostLike {
+
+    @Id
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+
+    @Column(name = "post_id", nullable = false)
+    private Integer postId;
+
+    @Column(name = "liked_at")
+    private LocalDateTime likedAt;
+}
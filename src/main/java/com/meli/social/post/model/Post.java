@@ -10,12 +10,16 @@ import lombok.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = @Index(name = "idx_posts_user_score", columnList = "user_id, score"))
 @Data
 @ToString(exclude = {"user"})
 @EqualsAndHashCode(of = "postId")
 public class Post {
 
+    // A cada RANK_DECAY_DAYS de idade, um post precisa do dobro de engajamento para empatar com um mais novo
+    public static final double RANK_DECAY_DAYS = 7.0;
+    public static final double RANK_PROMO_WEIGHT = 2.0;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "post_id")
@@ -51,4 +55,33 @@ public class Post {
 
     @Column(name = "likes_count")
     private Integer likesCount = 0;
+
+    // Relevância para a ordenação 'rank' do feed, mantida a cada insert/update do post
+    @Column(name = "score")
+    @JsonIgnore
+    private Double score;
+
+    // Bônus de promo do score, gravado para que os ajustes de likes no banco não recalculem a fórmula
+    @Column(name = "promo_boost")
+    @JsonIgnore
+    private Double promoBoost;
+
+    // score = log2(1 + likes + bônus de promo) + idade em dias / RANK_DECAY_DAYS.
+    // Ordena como engajamento * 2^(-idade / RANK_DECAY_DAYS), mas sem depender do instante da consulta:
+    // o termo de recência é fixo por post, então o score só muda quando likes ou promo mudam.
+    @PrePersist
+    @PreUpdate
+    public void refreshScore() {
+        if (date == null) {
+            return;
+        }
+        double boost = 0;
+        if (Boolean.TRUE.equals(hasPromo)) {
+            double discountRatio = price == null || price <= 0 || discount == null ? 0 : Math.min(1, discount / price);
+            boost = RANK_PROMO_WEIGHT * (1 + discountRatio);
+        }
+        this.promoBoost = boost;
+        int likes = likesCount == null ? 0 : Math.max(0, likesCount);
+        this.score = Math.log1p(likes + boost) / Math.log(2) + date.toEpochDay() / RANK_DECAY_DAYS;
+    }
 }
\ No newline at end of file
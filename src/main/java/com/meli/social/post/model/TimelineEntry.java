@@ -0,0 +1,46 @@
+package com.meli.social.post.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "feed_timeline",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"owner_id", "post_id"}),
+        indexes = @Index(name = "idx_feed_timeline_owner_date", columnList = "owner_id, post_date, post_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString(exclude = {"post"})
+@EqualsAndHashCode(of = "id")
+public class TimelineEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Usuário dono do feed (seguidor do autor)
+    @Column(name = "owner_id", nullable = false)
+    private Integer ownerId;
+
+    @Column(name = "author_id", nullable = false)
+    private Integer authorId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "post_id", nullable = false)
+    @JsonIgnore
+    private Post post;
+
+    // Cópia de posts.date para permitir range scan pelo índice (owner_id, post_date)
+    @Column(name = "post_date", nullable = false)
+    private LocalDate postDate;
+
+    public TimelineEntry(Integer ownerId, Post post) {
+        this.ownerId = ownerId;
+        this.authorId = post.getUser().getUserId();
+        this.post = post;
+        this.postDate = post.getDate();
+    }
+}
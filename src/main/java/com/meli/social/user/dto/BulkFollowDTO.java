@@ -0,0 +1,15 @@
+package com.meli.social.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkFollowDTO {
+
+    private List<Integer> userIds;
+}
@@ -0,0 +1,23 @@
+package com.meli.social.user.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonPropertyOrder({"userId", "processedUserIds", "skippedUserIds"})
+public class BulkFollowResultDTO {
+
+    private Integer userId;
+
+    // Relações criadas (follow) ou removidas (unfollow)
+    private List<Integer> processedUserIds;
+
+    // Já seguidos (follow) ou não seguidos (unfollow): ignorados
+    private List<Integer> skippedUserIds;
+}
@@ -0,0 +1,19 @@
+package com.meli.social.user.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonPropertyOrder({"userId", "otherUserId", "commonFollowersCount"})
+public class CommonFollowersCountDTO {
+
+    private Integer userId;
+
+    private Integer otherUserId;
+
+    private Long commonFollowersCount;
+}
@@ -0,0 +1,22 @@
+package com.meli.social.user.dto;
+
+// Contagem e soma de um hash por aresta de user_follows, para conferir o grafo restaurado de um snapshot.
+// O hash não é linear em (follower, followed): trocar destinos entre arestas muda a soma, o que somas
+// separadas dos ids de origem e de destino não detectam
+public interface FollowEdgeChecksum {
+
+    long EDGE_HASH_MULTIPLIER = 1_000_003L;
+
+    // Primo 2^31 - 1: o quadrado cabe em 63 bits e a soma de até 2^32 arestas também
+    long EDGE_HASH_MODULUS = 2_147_483_647L;
+
+    Long getEdges();
+
+    Long getEdgeHashSum();
+
+    // Mesma fórmula de UserFollowJpaRepository.findEdgeChecksum: x = (from * M + to) mod P, hash = x^2 mod P
+    static long edgeHash(int from, int to) {
+        long mixed = (from * EDGE_HASH_MULTIPLIER + to) % EDGE_HASH_MODULUS;
+        return mixed * mixed % EDGE_HASH_MODULUS;
+    }
+}
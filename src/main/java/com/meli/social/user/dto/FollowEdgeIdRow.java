@@ -0,0 +1,7 @@
+package com.meli.social.user.dto;
+
+// Aresta com o id da linha em user_follows, para leitura paginada por keyset
+public interface FollowEdgeIdRow extends FollowEdgeRow {
+
+    Long getId();
+}
@@ -0,0 +1,9 @@
+package com.meli.social.user.dto;
+
+// Projeção de uma aresta (seguidor -> seguido) do grafo de follows
+public interface FollowEdgeRow {
+
+    Integer getFollowerId();
+
+    Integer getFollowedId();
+}
@@ -0,0 +1,11 @@
+package com.meli.social.user.dto;
+
+// Linha mínima de users para montar o ranking em memória
+public interface LeaderboardRow {
+
+    Integer getUserId();
+
+    String getUserName();
+
+    Integer getFollowersCount();
+}
@@ -0,0 +1,20 @@
+package com.meli.social.user.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonPropertyOrder({"userId", "userName", "sharedConnections"})
+public class SuggestedUserDTO {
+
+    private Integer userId;
+
+    private String userName;
+
+    // Quantos usuários seguidos pelo solicitante seguem o sugerido
+    private Integer sharedConnections;
+}
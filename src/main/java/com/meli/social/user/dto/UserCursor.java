@@ -0,0 +1,37 @@
+package com.meli.social.user.dto;
+
+import com.meli.social.user.model.User;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Posição (userName, userId) do último usuário entregue nas listas de seguidores/seguidos,
+// serializada de forma opaca para o cliente
+public record UserCursor(String userName, Integer userId) {
+
+    public static UserCursor of(User user) {
+        return new UserCursor(user.getUserName(), user.getUserId());
+    }
+
+    public String encode() {
+        String raw = userId + ":" + userName;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static UserCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            // O id vem antes: o nome pode conter ':'
+            String[] parts = raw.split(":", 2);
+            if (parts.length != 2 || parts[1].isEmpty()) {
+                throw new IllegalArgumentException();
+            }
+            return new UserCursor(parts[1], Integer.valueOf(parts[0]));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor);
+        }
+    }
+}
@@ -14,10 +14,12 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true) // Manter metodos Lombok para herança
-@JsonPropertyOrder({"userId", "userName", "followed"})
+@JsonPropertyOrder({"userId", "userName", "followed", "nextCursor"})
 public class UserWithFollowedDTO extends UserSimpleDTO {
     @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<UserSimpleDTO> followed;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
 
     public static UserWithFollowedDTO withFollowed(User user, List<UserSimpleDTO> followed) {
         UserWithFollowedDTO dto = new UserWithFollowedDTO();
@@ -14,10 +14,12 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true) // Manter metodos Lombok para herança
-@JsonPropertyOrder({"userId", "userName", "followers"})
+@JsonPropertyOrder({"userId", "userName", "followers", "nextCursor"})
 public class UserWithFollowersDTO extends UserSimpleDTO {
     @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<UserSimpleDTO> followers;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
 
     public static UserWithFollowersDTO withFollowers(User user, List<UserSimpleDTO> followers) {
         UserWithFollowersDTO dto = new UserWithFollowersDTO();
@@ -0,0 +1,28 @@
+package com.meli.social.user.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.meli.social.user.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@JsonPropertyOrder({"userId", "userName", "suggestions"})
+public class UserWithSuggestionsDTO extends UserSimpleDTO {
+
+    private List<SuggestedUserDTO> suggestions;
+
+    public static UserWithSuggestionsDTO withSuggestions(User user, List<SuggestedUserDTO> suggestions) {
+        UserWithSuggestionsDTO dto = new UserWithSuggestionsDTO();
+        dto.setUserId(user.getUserId());
+        dto.setUserName(user.getUserName());
+        dto.setSuggestions(suggestions);
+        return dto;
+    }
+}
@@ -0,0 +1,217 @@
+package com.meli.social.user.impl;
+
+import com.meli.social.common.AfterCommit;
+import com.meli.social.user.dto.FollowEdgeIdRow;
+import com.meli.social.user.inter.IFollowBitmapService;
+import com.meli.social.user.inter.UserFollowJpaRepository;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Bitmaps comprimidos (Roaring) por usuário: ids seguidos e ids de seguidores.
+// Pertinência, seguidores mútuos (seguidos AND seguidores) e sobreposição de seguidores entre dois
+// usuários viram operações de bitmap em memória, sem JOIN em user_follows.
+// RoaringBitmap não é thread-safe: cada bitmap tem seu próprio read/write lock e é alterado no lugar,
+// então um follow só bloqueia os dois usuários envolvidos e não copia o bitmap inteiro (um usuário com
+// milhões de seguidores custaria uma cópia de milhões de ids por follow). Operações sobre dois bitmaps
+// adquirem os read locks numa ordem fixa para não haver deadlock com escritores na fila.
+// Até a carga terminar isEnabled() é false e as mudanças commitadas ficam enfileiradas para serem
+// reaplicadas sobre os bitmaps carregados.
+// Os bitmaps são locais ao processo: habilitar apenas com uma instância ou com roteamento por usuário.
+@Service
+public class FollowBitmapService implements IFollowBitmapService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FollowBitmapService.class);
+
+    private static final int LOAD_BATCH = 50_000;
+
+    private final UserFollowJpaRepository userFollowRepository;
+    private final boolean enabled;
+
+    private final Map<Integer, UserBitmap> followingByUser = new ConcurrentHashMap<>();
+    private final Map<Integer, UserBitmap> followersByUser = new ConcurrentHashMap<>();
+
+    // Escritas compartilham o read lock; a troca da carga pega o write lock
+    private final ReadWriteLock loadLock = new ReentrantReadWriteLock();
+    private final Queue<Change> changesDuringLoad = new ConcurrentLinkedQueue<>();
+    private volatile boolean loaded;
+
+    public FollowBitmapService(
+            UserFollowJpaRepository userFollowRepository,
+            @Value("${social.follow.bitmap.enabled:false}") boolean enabled
+    ) {
+        this.userFollowRepository = userFollowRepository;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled && loaded;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        loaded = false;
+
+        Map<Integer, RoaringBitmap> following = new HashMap<>();
+        Map<Integer, RoaringBitmap> followers = new HashMap<>();
+        long lastId = 0;
+        int edges = 0;
+        List<FollowEdgeIdRow> batch;
+        do {
+            batch = userFollowRepository.findEdgesAfterId(lastId, PageRequest.of(0, LOAD_BATCH));
+            for (FollowEdgeIdRow row : batch) {
+                following.computeIfAbsent(row.getFollowerId(), id -> new RoaringBitmap()).add(row.getFollowedId().intValue());
+                followers.computeIfAbsent(row.getFollowedId(), id -> new RoaringBitmap()).add(row.getFollowerId().intValue());
+                lastId = row.getId();
+                edges++;
+            }
+        } while (batch.size() == LOAD_BATCH);
+
+        following.values().forEach(RoaringBitmap::runOptimize);
+        followers.values().forEach(RoaringBitmap::runOptimize);
+
+        int queued = 0;
+        loadLock.writeLock().lock();
+        try {
+            followingByUser.clear();
+            following.forEach((userId, bitmap) -> followingByUser.put(userId, new UserBitmap(bitmap)));
+            followersByUser.clear();
+            followers.forEach((userId, bitmap) -> followersByUser.put(userId, new UserBitmap(bitmap)));
+            for (Change change = changesDuringLoad.poll(); change != null; change = changesDuringLoad.poll()) {
+                write(change);
+                queued++;
+            }
+            loaded = true;
+        } finally {
+            loadLock.writeLock().unlock();
+        }
+        logger.info("Follow bitmaps loaded users={} edges={} queuedChanges={}", following.size(), edges, queued);
+    }
+
+    @Override
+    public boolean isFollowing(Integer followerId, Integer followedId) {
+        UserBitmap following = followingByUser.get(followerId);
+        if (following == null) {
+            return false;
+        }
+        following.lock.readLock().lock();
+        try {
+            return following.values.contains(followedId.intValue());
+        } finally {
+            following.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Integer> findMutualFollowIds(Integer userId) {
+        UserBitmap following = followingByUser.get(userId);
+        UserBitmap followers = followersByUser.get(userId);
+        if (following == null || followers == null) {
+            return List.of();
+        }
+        // Ordem fixa: seguidos antes de seguidores
+        following.lock.readLock().lock();
+        followers.lock.readLock().lock();
+        try {
+            return RoaringBitmap.and(following.values, followers.values).stream().boxed().toList();
+        } finally {
+            followers.lock.readLock().unlock();
+            following.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int countCommonFollowers(Integer userId, Integer otherUserId) {
+        UserBitmap first = followersByUser.get(Math.min(userId, otherUserId));
+        UserBitmap second = followersByUser.get(Math.max(userId, otherUserId));
+        if (first == null || second == null) {
+            return 0;
+        }
+        // Ordem fixa: menor userId primeiro
+        first.lock.readLock().lock();
+        second.lock.readLock().lock();
+        try {
+            return RoaringBitmap.andCardinality(first.values, second.values);
+        } finally {
+            second.lock.readLock().unlock();
+            first.lock.readLock().unlock();
+        }
+    }
+
+    // Só aplica depois do commit, para não expor follows de transações desfeitas
+    @Override
+    public void follow(Integer followerId, Integer followedId) {
+        if (enabled) {
+            AfterCommit.run(() -> apply(new Change(followerId, followedId, true)));
+        }
+    }
+
+    @Override
+    public void unfollow(Integer followerId, Integer followedId) {
+        if (enabled) {
+            AfterCommit.run(() -> apply(new Change(followerId, followedId, false)));
+        }
+    }
+
+    private void apply(Change change) {
+        loadLock.readLock().lock();
+        try {
+            if (loaded) {
+                write(change);
+            } else {
+                changesDuringLoad.add(change);
+            }
+        } finally {
+            loadLock.readLock().unlock();
+        }
+    }
+
+    private void write(Change change) {
+        update(followingByUser, change.followerId(), change.followedId(), change.present());
+        update(followersByUser, change.followedId(), change.followerId(), change.present());
+    }
+
+    private static void update(Map<Integer, UserBitmap> bitmaps, int userId, int value, boolean present) {
+        UserBitmap bitmap = bitmaps.computeIfAbsent(userId, id -> new UserBitmap(new RoaringBitmap()));
+        bitmap.lock.writeLock().lock();
+        try {
+            if (present) {
+                bitmap.values.add(value);
+            } else {
+                bitmap.values.remove(value);
+            }
+        } finally {
+            bitmap.lock.writeLock().unlock();
+        }
+    }
+
+    private record Change(int followerId, int followedId, boolean present) {
+    }
+
+    private static final class UserBitmap {
+        private final RoaringBitmap values;
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private UserBitmap(RoaringBitmap values) {
+            this.values = values;
+        }
+    }
+}
@@ -0,0 +1,498 @@
+package com.meli.social.user.impl;
+
+import com.meli.social.common.AfterCommit;
+import com.meli.social.user.dto.FollowEdgeChecksum;
+import com.meli.social.user.dto.FollowEdgeIdRow;
+import com.meli.social.user.inter.IFollowGraphService;
+import com.meli.social.user.inter.UserFollowJpaRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Grafo de follows em memória. A base é CSR (compressed sparse row): para cada usuário com arestas,
+// keys[i] é o id, e targets[offsets[i]..offsets[i+1]) são os vizinhos ordenados; há uma CSR de saída
+// (quem o usuário segue) e uma de entrada (seguidores). Follows/unfollows recentes ficam numa camada
+// delta mutável e são incorporados à base (compactação) quando passam de compact-threshold; a compactação
+// roda numa thread própria e reaplica na nova base as mudanças que chegaram enquanto ela era montada.
+// Até a carga terminar isEnabled() é false (chamadores usam o banco) e os follows/unfollows commitados
+// ficam enfileirados para serem reaplicados sobre o grafo carregado.
+// O grafo é local ao processo: habilitar apenas com uma instância ou com roteamento por usuário.
+// Com snapshot.path, as CSRs são gravadas a cada snapshot.interval (e no shutdown) junto com o maior
+// user_follows.id já refletido; no startup o snapshot é mapeado e só as linhas com id acima dele são lidas
+// do banco. Unfollows e commits tardios posteriores ao snapshot não aparecem nessa leitura: o grafo
+// restaurado é conferido com contagem e soma de hashes por aresta de user_follows e, se divergir, vem a carga completa.
+@Service
+public class FollowGraphService implements IFollowGraphService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FollowGraphService.class);
+
+    private static final int LOAD_BATCH = 50_000;
+
+    private final UserFollowJpaRepository userFollowRepository;
+    private final boolean enabled;
+    private final int compactThreshold;
+    private final Path snapshotPath;
+
+    // Base + delta trocados juntos: leitores sempre enxergam um par consistente
+    private volatile Graph graph = Graph.of(new long[0]);
+    private int pendingChanges;
+    private volatile boolean loaded;
+
+    // Mudanças commitadas durante a carga e durante uma compactação; guardadas sob o monitor
+    private List<Change> changesDuringLoad = new ArrayList<>();
+    private List<Change> changesDuringCompaction;
+
+    private final Object compactionLock = new Object();
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "follow-graph-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public FollowGraphService(
+            UserFollowJpaRepository userFollowRepository,
+            @Value("${social.follow.graph.enabled:false}") boolean enabled,
+            @Value("${social.follow.graph.compact-threshold:10000}") int compactThreshold,
+            @Value("${social.follow.graph.snapshot.path:}") String snapshotPath
+    ) {
+        this.userFollowRepository = userFollowRepository;
+        this.enabled = enabled;
+        this.compactThreshold = compactThreshold;
+        this.snapshotPath = snapshotPath == null || snapshotPath.isBlank() ? null : Path.of(snapshotPath);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled && loaded;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                loaded = false;
+                changesDuringLoad = new ArrayList<>();
+            }
+        }
+        if (snapshotPath != null && restoreSnapshot()) {
+            return;
+        }
+
+        long[] edges = new long[1024];
+        int count = 0;
+        long lastId = 0;
+        List<FollowEdgeIdRow> batch;
+        do {
+            batch = userFollowRepository.findEdgesAfterId(lastId, PageRequest.of(0, LOAD_BATCH));
+            for (FollowEdgeIdRow row : batch) {
+                if (count == edges.length) {
+                    edges = Arrays.copyOf(edges, count * 2);
+                }
+                edges[count++] = edge(row.getFollowerId(), row.getFollowedId());
+                lastId = row.getId();
+            }
+        } while (batch.size() == LOAD_BATCH);
+
+        Graph full = Graph.of(Arrays.copyOf(edges, count));
+        int queued = install(full, 0);
+        logger.info("Follow graph loaded users={} edges={} queuedChanges={}", full.out.base.keys.length, count, queued);
+    }
+
+    // Publica o grafo carregado com as mudanças que chegaram durante a carga; devolve quantas foram reaplicadas
+    private int install(Graph loadedGraph, int replayed) {
+        int queued;
+        synchronized (this) {
+            queued = changesDuringLoad.size();
+            changesDuringLoad.forEach(loadedGraph::apply);
+            changesDuringLoad = null;
+            graph = loadedGraph;
+            pendingChanges = replayed + queued;
+            loaded = true;
+        }
+        scheduleCompactionIfNeeded();
+        return queued;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writeSnapshot();
+        compactor.shutdownNow();
+    }
+
+    // O high-water mark é lido antes de capturar o grafo: linhas commitadas entre as duas leituras
+    // são repetidas no replay (sem efeito) em vez de perdidas
+    @Scheduled(initialDelayString = "${social.follow.graph.snapshot.interval:PT10M}",
+            fixedDelayString = "${social.follow.graph.snapshot.interval:PT10M}")
+    public void writeSnapshot() {
+        if (!enabled || snapshotPath == null || !loaded) {
+            return;
+        }
+
+        long highWaterMark = userFollowRepository.findMaxId();
+        boolean dirty;
+        synchronized (this) {
+            dirty = pendingChanges > 0;
+        }
+        if (dirty) {
+            compact();
+        }
+        Graph current = graph;
+
+        Csr out = current.out.base;
+        Csr in = current.in.base;
+        try {
+            new FollowGraphSnapshot(highWaterMark, out.keys, out.offsets, out.targets, in.keys, in.offsets, in.targets)
+                    .write(snapshotPath);
+            logger.info("Follow graph snapshot written path={} edges={} highWaterMark={}", snapshotPath, out.targets.length, highWaterMark);
+        } catch (IOException e) {
+            logger.error("Follow graph snapshot write failed path={}", snapshotPath, e);
+        }
+    }
+
+    private boolean restoreSnapshot() {
+        if (!Files.exists(snapshotPath)) {
+            logger.info("Follow graph snapshot not found path={}", snapshotPath);
+            return false;
+        }
+
+        FollowGraphSnapshot snapshot;
+        try {
+            snapshot = FollowGraphSnapshot.read(snapshotPath);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Follow graph snapshot unreadable, falling back to full load path={}", snapshotPath, e);
+            return false;
+        }
+
+        Graph restored = new Graph(
+                new Adjacency(new Csr(snapshot.outKeys(), snapshot.outOffsets(), snapshot.outTargets())),
+                new Adjacency(new Csr(snapshot.inKeys(), snapshot.inOffsets(), snapshot.inTargets())));
+
+        int replayed = 0;
+        long lastId = snapshot.highWaterMark();
+        List<FollowEdgeIdRow> batch;
+        do {
+            batch = userFollowRepository.findEdgesAfterId(lastId, PageRequest.of(0, LOAD_BATCH));
+            for (FollowEdgeIdRow row : batch) {
+                restored.out.set(row.getFollowerId(), row.getFollowedId(), true);
+                restored.in.set(row.getFollowedId(), row.getFollowerId(), true);
+                lastId = row.getId();
+            }
+            replayed += batch.size();
+        } while (batch.size() == LOAD_BATCH);
+
+        long[] checksum = restored.out.checksum();
+        FollowEdgeChecksum expected = userFollowRepository.findEdgeChecksum();
+        if (checksum[0] != expected.getEdges() || checksum[1] != expected.getEdgeHashSum()) {
+            logger.warn("Follow graph snapshot diverges from user_follows, falling back to full load path={} snapshotEdges={} edges={}",
+                    snapshotPath, checksum[0], expected.getEdges());
+            return false;
+        }
+
+        install(restored, replayed);
+        logger.info("Follow graph restored from snapshot users={} edges={} replayed={} highWaterMark={}",
+                restored.out.base.keys.length, checksum[0], replayed, snapshot.highWaterMark());
+        return true;
+    }
+
+    @Override
+    public boolean isFollowing(Integer followerId, Integer followedId) {
+        return graph.out.contains(followerId, followedId);
+    }
+
+    @Override
+    public List<Integer> findFollowingIds(Integer userId) {
+        return graph.out.neighbours(userId);
+    }
+
+    @Override
+    public List<Integer> findFollowerIds(Integer userId) {
+        return graph.in.neighbours(userId);
+    }
+
+    @Override
+    public int countFollowers(Integer userId) {
+        return graph.in.degree(userId);
+    }
+
+    // Só aplica depois do commit, para não expor follows de transações desfeitas
+    @Override
+    public void follow(Integer followerId, Integer followedId) {
+        if (enabled) {
+            AfterCommit.run(() -> apply(followerId, followedId, true));
+        }
+    }
+
+    @Override
+    public void unfollow(Integer followerId, Integer followedId) {
+        if (enabled) {
+            AfterCommit.run(() -> apply(followerId, followedId, false));
+        }
+    }
+
+    private void apply(int followerId, int followedId, boolean present) {
+        Change change = new Change(followerId, followedId, present);
+        synchronized (this) {
+            if (!loaded) {
+                changesDuringLoad.add(change);
+                return;
+            }
+            if (!graph.apply(change)) {
+                return;
+            }
+            if (changesDuringCompaction != null) {
+                changesDuringCompaction.add(change);
+            }
+            pendingChanges++;
+        }
+        scheduleCompactionIfNeeded();
+    }
+
+    private void scheduleCompactionIfNeeded() {
+        boolean due;
+        synchronized (this) {
+            due = pendingChanges >= compactThreshold;
+        }
+        if (due && compactionScheduled.compareAndSet(false, true)) {
+            compactor.execute(() -> {
+                try {
+                    compact();
+                } catch (RuntimeException e) {
+                    logger.error("Follow graph compaction failed", e);
+                } finally {
+                    compactionScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    // A nova CSR é montada fora do monitor a partir de uma cópia fracamente consistente do grafo;
+    // as mudanças registradas nesse intervalo são reaplicadas antes da troca
+    private void compact() {
+        synchronized (compactionLock) {
+            Graph source;
+            synchronized (this) {
+                source = graph;
+                changesDuringCompaction = new ArrayList<>();
+            }
+
+            Graph compacted = Graph.of(source.out.edges());
+
+            synchronized (this) {
+                changesDuringCompaction.forEach(compacted::apply);
+                pendingChanges = changesDuringCompaction.size();
+                changesDuringCompaction = null;
+                graph = compacted;
+            }
+            logger.info("Follow graph compacted users={} edges={}", compacted.out.base.keys.length, compacted.out.base.targets.length);
+        }
+    }
+
+    private static long edge(int from, int to) {
+        return ((long) from << 32) | (to & 0xFFFFFFFFL);
+    }
+
+    private record Change(int followerId, int followedId, boolean present) {
+    }
+
+    private record Graph(Adjacency out, Adjacency in) {
+
+        // Devolve false se a aresta já estava no estado pedido
+        boolean apply(Change change) {
+            if (out.contains(change.followerId(), change.followedId()) == change.present()) {
+                return false;
+            }
+            out.set(change.followerId(), change.followedId(), change.present());
+            in.set(change.followedId(), change.followerId(), change.present());
+            return true;
+        }
+
+        static Graph of(long[] edges) {
+            long[] reversed = new long[edges.length];
+            for (int i = 0; i < edges.length; i++) {
+                reversed[i] = edge((int) edges[i], (int) (edges[i] >>> 32));
+            }
+            return new Graph(new Adjacency(Csr.of(edges)), new Adjacency(Csr.of(reversed)));
+        }
+    }
+
+    // Base CSR imutável + delta (arestas adicionadas / removidas em relação à base)
+    private static final class Adjacency {
+
+        final Csr base;
+        final Map<Integer, Set<Integer>> added = new ConcurrentHashMap<>();
+        final Map<Integer, Set<Integer>> removed = new ConcurrentHashMap<>();
+
+        Adjacency(Csr base) {
+            this.base = base;
+        }
+
+        boolean contains(int from, int to) {
+            return base.contains(from, to)
+                    ? !removed.getOrDefault(from, Set.of()).contains(to)
+                    : added.getOrDefault(from, Set.of()).contains(to);
+        }
+
+        void set(int from, int to, boolean present) {
+            if (base.contains(from, to)) {
+                if (present) {
+                    remove(removed, from, to);
+                } else {
+                    removed.computeIfAbsent(from, key -> ConcurrentHashMap.newKeySet()).add(to);
+                }
+            } else if (present) {
+                added.computeIfAbsent(from, key -> ConcurrentHashMap.newKeySet()).add(to);
+            } else {
+                remove(added, from, to);
+            }
+        }
+
+        List<Integer> neighbours(int from) {
+            Set<Integer> removedTargets = removed.getOrDefault(from, Set.of());
+            Set<Integer> addedTargets = added.getOrDefault(from, Set.of());
+            int row = base.row(from);
+
+            List<Integer> result = new ArrayList<>(base.degree(row) + addedTargets.size());
+            if (row >= 0) {
+                for (int i = base.offsets[row]; i < base.offsets[row + 1]; i++) {
+                    if (!removedTargets.contains(base.targets[i])) {
+                        result.add(base.targets[i]);
+                    }
+                }
+            }
+            result.addAll(addedTargets);
+            return result;
+        }
+
+        int degree(int from) {
+            return base.degree(base.row(from))
+                    - removed.getOrDefault(from, Set.of()).size()
+                    + added.getOrDefault(from, Set.of()).size();
+        }
+
+        // Fracamente consistente se a delta muda durante a cópia: quem compacta reaplica essas mudanças
+        long[] edges() {
+            long[] edges = new long[Math.max(16, base.targets.length)];
+            int count = 0;
+            for (int row = 0; row < base.keys.length; row++) {
+                for (int to : neighbours(base.keys[row])) {
+                    if (count == edges.length) {
+                        edges = Arrays.copyOf(edges, count * 2);
+                    }
+                    edges[count++] = edge(base.keys[row], to);
+                }
+            }
+            for (Map.Entry<Integer, Set<Integer>> entry : added.entrySet()) {
+                if (base.row(entry.getKey()) < 0) {
+                    for (int to : entry.getValue()) {
+                        if (count == edges.length) {
+                            edges = Arrays.copyOf(edges, count * 2);
+                        }
+                        edges[count++] = edge(entry.getKey(), to);
+                    }
+                }
+            }
+            return Arrays.copyOf(edges, count);
+        }
+
+        // {arestas, soma dos hashes das arestas}, no mesmo formato de findEdgeChecksum
+        long[] checksum() {
+            long[] checksum = new long[2];
+            for (int row = 0; row < base.keys.length; row++) {
+                accumulate(checksum, base.keys[row], neighbours(base.keys[row]));
+            }
+            for (Map.Entry<Integer, Set<Integer>> entry : added.entrySet()) {
+                if (base.row(entry.getKey()) < 0) {
+                    accumulate(checksum, entry.getKey(), entry.getValue());
+                }
+            }
+            return checksum;
+        }
+
+        private static void accumulate(long[] checksum, int from, Collection<Integer> targets) {
+            checksum[0] += targets.size();
+            for (int to : targets) {
+                checksum[1] += FollowEdgeChecksum.edgeHash(from, to);
+            }
+        }
+
+        private static void remove(Map<Integer, Set<Integer>> layer, int from, int to) {
+            layer.computeIfPresent(from, (key, targets) -> {
+                targets.remove(to);
+                return targets.isEmpty() ? null : targets;
+            });
+        }
+    }
+
+    private static final class Csr {
+
+        final int[] keys;
+        final int[] offsets;
+        final int[] targets;
+
+        private Csr(int[] keys, int[] offsets, int[] targets) {
+            this.keys = keys;
+            this.offsets = offsets;
+            this.targets = targets;
+        }
+
+        // Arestas codificadas como (from << 32 | to); ordenar agrupa por origem com destinos ordenados
+        static Csr of(long[] edges) {
+            long[] sorted = Arrays.stream(edges).sorted().distinct().toArray();
+
+            int rows = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (i == 0 || (sorted[i] >>> 32) != (sorted[i - 1] >>> 32)) {
+                    rows++;
+                }
+            }
+
+            int[] keys = new int[rows];
+            int[] offsets = new int[rows + 1];
+            int[] targets = new int[sorted.length];
+            int row = -1;
+            for (int i = 0; i < sorted.length; i++) {
+                int from = (int) (sorted[i] >>> 32);
+                if (row < 0 || keys[row] != from) {
+                    keys[++row] = from;
+                    offsets[row] = i;
+                }
+                targets[i] = (int) sorted[i];
+            }
+            offsets[rows] = sorted.length;
+            return new Csr(keys, offsets, targets);
+        }
+
+        int row(int key) {
+            int row = Arrays.binarySearch(keys, key);
+            return row < 0 ? -1 : row;
+        }
+
+        int degree(int row) {
+            return row < 0 ? 0 : offsets[row + 1] - offsets[row];
+        }
+
+        boolean contains(int from, int to) {
+            int row = row(from);
+            return row >= 0 && Arrays.binarySearch(targets, offsets[row], offsets[row + 1], to) >= 0;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.meli.social.user.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+// Snapshot binário das duas CSRs do grafo de follows. Layout (big-endian):
+// magic, versão, high-water mark (maior user_follows.id já refletido), linhas/arestas de saída e de
+// entrada, depois keys/offsets/targets de saída e de entrada como int[] e, no fim, o CRC32 de tudo.
+// A leitura mapeia o arquivo (FileChannel.map) e copia os arrays em bloco, sem parse nem ordenação.
+// A escrita vai para um arquivo temporário que substitui o anterior com um move atômico.
+record FollowGraphSnapshot(
+        long highWaterMark,
+        int[] outKeys,
+        int[] outOffsets,
+        int[] outTargets,
+        int[] inKeys,
+        int[] inOffsets,
+        int[] inTargets
+) {
+
+    private static final int MAGIC = 0x46475331;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int TRAILER_BYTES = 8;
+
+    // Uma região mapeada tem no máximo 2 GB; arrays maiores são lidos em várias regiões
+    private static final int MAX_MAPPED_INTS = 1 << 28;
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+
+    void write(Path path) throws IOException {
+        Path target = path.toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+
+        CRC32 crc = new CRC32();
+        try (FileChannel channel = FileChannel.open(temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                    .putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putLong(highWaterMark)
+                    .putInt(outKeys.length)
+                    .putInt(outTargets.length)
+                    .putInt(inKeys.length)
+                    .putInt(inTargets.length)
+                    .flip();
+            crc.update(header.duplicate());
+            long position = write(channel, 0, header);
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES);
+            for (int[] section : new int[][]{outKeys, outOffsets, outTargets, inKeys, inOffsets, inTargets}) {
+                for (int from = 0; from < section.length; ) {
+                    buffer.clear();
+                    IntBuffer ints = buffer.asIntBuffer();
+                    int count = Math.min(section.length - from, ints.capacity());
+                    ints.put(section, from, count);
+                    buffer.limit(count * Integer.BYTES);
+                    crc.update(buffer.duplicate());
+                    position = write(channel, position, buffer);
+                    from += count;
+                }
+            }
+
+            write(channel, position, ByteBuffer.allocate(TRAILER_BYTES).putLong(crc.getValue()).flip());
+            channel.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static FollowGraphSnapshot read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + TRAILER_BYTES) {
+                throw new IOException("Snapshot truncado: " + path);
+            }
+
+            CRC32 crc = new CRC32();
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            crc.update(header.duplicate());
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Formato de snapshot desconhecido: " + path);
+            }
+            long highWaterMark = header.getLong();
+            int outRows = header.getInt();
+            int outEdges = header.getInt();
+            int inRows = header.getInt();
+            int inEdges = header.getInt();
+
+            long ints = 2L * outRows + 1 + outEdges + 2L * inRows + 1 + inEdges;
+            if (outRows < 0 || outEdges < 0 || inRows < 0 || inEdges < 0
+                    || size != HEADER_BYTES + ints * Integer.BYTES + TRAILER_BYTES) {
+                throw new IOException("Tamanho de snapshot inválido: " + path);
+            }
+
+            long position = HEADER_BYTES;
+            int[][] sections = {
+                    new int[outRows], new int[outRows + 1], new int[outEdges],
+                    new int[inRows], new int[inRows + 1], new int[inEdges]
+            };
+            for (int[] section : sections) {
+                position = read(channel, position, section, crc);
+            }
+
+            long stored = channel.map(FileChannel.MapMode.READ_ONLY, position, TRAILER_BYTES).getLong();
+            if (stored != crc.getValue()) {
+                throw new IOException("Checksum de snapshot inválido: " + path);
+            }
+            return new FollowGraphSnapshot(highWaterMark, sections[0], sections[1], sections[2], sections[3], sections[4], sections[5]);
+        }
+    }
+
+    private static long read(FileChannel channel, long position, int[] section, CRC32 crc) throws IOException {
+        for (int from = 0; from < section.length; ) {
+            int count = Math.min(section.length - from, MAX_MAPPED_INTS);
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, (long) count * Integer.BYTES);
+            crc.update(mapped.duplicate());
+            mapped.asIntBuffer().get(section, from, count);
+            position += (long) count * Integer.BYTES;
+            from += count;
+        }
+        return position;
+    }
+
+    private static long write(FileChannel channel, long position, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        return position;
+    }
+}
@@ -2,8 +2,22 @@ package com.meli.social.user.impl;
 
 import com.meli.social.exception.PostUnprocessableException;
 import com.meli.social.exception.UserNotFoundException;
+import com.meli.social.outbox.inter.IOutboxConsumer;
+import com.meli.social.outbox.inter.IOutboxService;
+import com.meli.social.outbox.model.OutboxEvent;
+import com.meli.social.outbox.model.OutboxEventType;
+import com.meli.social.post.inter.ICounterBufferService;
+import com.meli.social.post.inter.IFeedStreamService;
+import com.meli.social.post.inter.IFeedVersionService;
+import com.meli.social.post.inter.ITimelineService;
+import com.meli.social.user.dto.BulkFollowResultDTO;
 import com.meli.social.user.dto.UserSimpleDTO;
+import com.meli.social.user.inter.IFollowBitmapService;
+import com.meli.social.user.inter.IFollowGraphService;
 import com.meli.social.user.inter.IFollowService;
+import com.meli.social.user.inter.ILeaderboardService;
+import com.meli.social.user.inter.ISuggestionService;
+import com.meli.social.user.inter.IUserRepository;
 import com.meli.social.user.inter.UserFollowJpaRepository;
 import com.meli.social.user.inter.UserJpaRepository;
 import com.meli.social.user.model.User;
@@ -14,15 +28,26 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
-public class FollowService implements IFollowService {
+public class FollowService implements IFollowService, IOutboxConsumer {
 
     private static final Logger logger = LoggerFactory.getLogger(FollowService.class);
 
     private final UserJpaRepository userRepository;
     private final UserFollowJpaRepository userFollowRepository;
+    private final ITimelineService timelineService;
+    private final IFeedStreamService feedStreamService;
+    private final IFeedVersionService feedVersionService;
+    private final IFollowGraphService followGraphService;
+    private final IFollowBitmapService followBitmapService;
+    private final ICounterBufferService counterBufferService;
+    private final IUserRepository userBatchRepository;
+    private final ISuggestionService suggestionService;
+    private final ILeaderboardService leaderboardService;
+    private final IOutboxService outboxService;
 
     @Override
     @Transactional
@@ -45,11 +70,16 @@ public class FollowService implements IFollowService {
 
         UserFollow userFollow = new UserFollow(follower, followed);
         userFollowRepository.save(userFollow);
+        followGraphService.follow(followerId, followedId);
+        followBitmapService.follow(followerId, followedId);
 
-        followed.incrementFollowersCount();
-        userRepository.save(followed);
+        if (outboxService.isEnabled()) {
+            outboxService.publish(OutboxEventType.FOLLOW, followerId, followedId);
+        } else {
+            applyFollow(followerId, followedId);
+        }
 
-        logger.info("Follow created followerId={} followedId={} followedFollowersCount={}", followerId, followedId, followed.getFollowersCount());
+        logger.info("Follow created followerId={} followedId={}", followerId, followedId);
 
         return follower;
     }
@@ -76,9 +106,14 @@ public class FollowService implements IFollowService {
 
         int deleted = userFollowRepository.deleteFollow(followerId, followedId);
         if (deleted > 0) {
-            followed.decrementFollowersCount();
-            userRepository.save(followed);
-            logger.info("Unfollow completed followerId={} followedId={} followedFollowersCount={}", followerId, followedId, followed.getFollowersCount());
+            followGraphService.unfollow(followerId, followedId);
+            followBitmapService.unfollow(followerId, followedId);
+            if (outboxService.isEnabled()) {
+                outboxService.publish(OutboxEventType.UNFOLLOW, followerId, followedId);
+            } else {
+                applyUnfollow(followerId, followedId);
+            }
+            logger.info("Unfollow completed followerId={} followedId={}", followerId, followedId);
         } else {
             logger.warn("Unfollow did not delete relationship followerId={} followedId={}", followerId, followedId);
         }
@@ -86,11 +121,179 @@ public class FollowService implements IFollowService {
         return follower;
     }
 
+    // Dados derivados do follow/unfollow: aplicados na transação da requisição ou, com o outbox
+    // habilitado, pelo relay
+    @Override
+    public void handle(OutboxEvent event) {
+        switch (event.getType()) {
+            case FOLLOW -> applyFollow(event.getActorId(), event.getTargetId());
+            case UNFOLLOW -> applyUnfollow(event.getActorId(), event.getTargetId());
+            default -> {
+            }
+        }
+    }
+
+    private void applyFollow(Integer followerId, Integer followedId) {
+        if (counterBufferService.isEnabled()) {
+            counterBufferService.addFollowers(followedId, 1);
+        } else {
+            userRepository.incrementFollowersCount(followedId);
+        }
+        applyFollowEffects(followerId, List.of(followedId));
+    }
+
+    // Follow em lote sem outbox: contadores num UPDATE agrupado
+    private void applyFollows(Integer followerId, List<Integer> followedIds) {
+        if (counterBufferService.isEnabled()) {
+            followedIds.forEach(followedId -> counterBufferService.addFollowers(followedId, 1));
+        } else {
+            userRepository.incrementFollowersCounts(followedIds);
+        }
+        applyFollowEffects(followerId, followedIds);
+    }
+
+    private void applyFollowEffects(Integer followerId, List<Integer> followedIds) {
+        for (Integer followedId : followedIds) {
+            leaderboardService.adjust(followedId, 1);
+            timelineService.backfill(followerId, followedId);
+            feedStreamService.follow(followerId, followedId);
+        }
+        feedVersionService.bumpUser(followerId);
+        suggestionService.invalidate(followerId);
+    }
+
+    private void applyUnfollow(Integer followerId, Integer followedId) {
+        if (counterBufferService.isEnabled()) {
+            counterBufferService.addFollowers(followedId, -1);
+        } else {
+            userRepository.decrementFollowersCount(followedId);
+        }
+        applyUnfollowEffects(followerId, List.of(followedId));
+    }
+
+    private void applyUnfollows(Integer followerId, List<Integer> followedIds) {
+        if (counterBufferService.isEnabled()) {
+            followedIds.forEach(followedId -> counterBufferService.addFollowers(followedId, -1));
+        } else {
+            userRepository.decrementFollowersCounts(followedIds);
+        }
+        applyUnfollowEffects(followerId, followedIds);
+    }
+
+    private void applyUnfollowEffects(Integer followerId, List<Integer> followedIds) {
+        for (Integer followedId : followedIds) {
+            leaderboardService.adjust(followedId, -1);
+            timelineService.prune(followerId, followedId);
+            feedStreamService.unfollow(followerId, followedId);
+        }
+        feedVersionService.bumpUser(followerId);
+        suggestionService.invalidate(followerId);
+    }
+
+    // Follow em lote: valida a existência com um findByUserIdIn, ignora relações existentes com uma
+    // consulta, insere as novas num batch JDBC e atualiza os contadores num UPDATE agrupado
+    @Override
+    @Transactional
+    public BulkFollowResultDTO followUsers(Integer followerId, List<Integer> followedIds) {
+        List<Integer> targets = validateBulk(followerId, followedIds);
+        logger.info("Request to bulk follow followerId={} count={}", followerId, targets.size());
+
+        requireUsers(followerId, targets, "Usuários a serem seguidos não encontrados: %s");
+
+        Set<Integer> existing = new HashSet<>(userFollowRepository.findFollowedIdsIn(followerId, targets));
+        List<Integer> toFollow = targets.stream().filter(id -> !existing.contains(id)).toList();
+        List<Integer> skipped = targets.stream().filter(existing::contains).toList();
+
+        if (!toFollow.isEmpty()) {
+            userBatchRepository.insertFollows(followerId, toFollow);
+            for (Integer followedId : toFollow) {
+                followGraphService.follow(followerId, followedId);
+                followBitmapService.follow(followerId, followedId);
+            }
+            if (outboxService.isEnabled()) {
+                toFollow.forEach(followedId -> outboxService.publish(OutboxEventType.FOLLOW, followerId, followedId));
+            } else {
+                applyFollows(followerId, toFollow);
+            }
+        }
+
+        logger.info("Bulk follow completed followerId={} followed={} skipped={}", followerId, toFollow.size(), skipped.size());
+        return new BulkFollowResultDTO(followerId, toFollow, skipped);
+    }
+
+    @Override
+    @Transactional
+    public BulkFollowResultDTO unfollowUsers(Integer followerId, List<Integer> followedIds) {
+        List<Integer> targets = validateBulk(followerId, followedIds);
+        logger.info("Request to bulk unfollow followerId={} count={}", followerId, targets.size());
+
+        requireUsers(followerId, targets, "Usuários a serem deixados de seguir não encontrados: %s");
+
+        Set<Integer> existing = new HashSet<>(userFollowRepository.findFollowedIdsIn(followerId, targets));
+        List<Integer> toUnfollow = targets.stream().filter(existing::contains).toList();
+        List<Integer> skipped = targets.stream().filter(id -> !existing.contains(id)).toList();
+
+        if (!toUnfollow.isEmpty()) {
+            userFollowRepository.deleteFollows(followerId, toUnfollow);
+            for (Integer followedId : toUnfollow) {
+                followGraphService.unfollow(followerId, followedId);
+                followBitmapService.unfollow(followerId, followedId);
+            }
+            if (outboxService.isEnabled()) {
+                toUnfollow.forEach(followedId -> outboxService.publish(OutboxEventType.UNFOLLOW, followerId, followedId));
+            } else {
+                applyUnfollows(followerId, toUnfollow);
+            }
+        }
+
+        logger.info("Bulk unfollow completed followerId={} unfollowed={} skipped={}", followerId, toUnfollow.size(), skipped.size());
+        return new BulkFollowResultDTO(followerId, toUnfollow, skipped);
+    }
+
+    private static List<Integer> validateBulk(Integer followerId, List<Integer> followedIds) {
+        if (followerId == null || followedIds == null || followedIds.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um usuário");
+        }
+
+        // Remove duplicados preservando a ordem do pedido
+        List<Integer> targets = new ArrayList<>(new LinkedHashSet<>(followedIds));
+        if (targets.size() > MAX_BULK_FOLLOW) {
+            throw new IllegalArgumentException("Máximo de %d usuários por requisição".formatted(MAX_BULK_FOLLOW));
+        }
+        for (Integer followedId : targets) {
+            validateNullsOrEcuals(followerId, followedId);
+        }
+        return targets;
+    }
+
+    private void requireUsers(Integer followerId, List<Integer> targets, String missingMessage) {
+        List<Integer> ids = new ArrayList<>(targets.size() + 1);
+        ids.add(followerId);
+        ids.addAll(targets);
+
+        Set<Integer> found = new HashSet<>();
+        userRepository.findByUserIdIn(ids).forEach(user -> found.add(user.getUserId()));
+
+        if (!found.contains(followerId)) {
+            throw new UserNotFoundException("Seguidor não encontrado");
+        }
+        List<Integer> missing = targets.stream().filter(id -> !found.contains(id)).toList();
+        if (!missing.isEmpty()) {
+            throw new UserNotFoundException(missingMessage.formatted(missing));
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public boolean isFollowing(Integer followerId, Integer followedId) {
         validateNullsOrEcuals(followerId, followedId);
 
+        if (followGraphService.isEnabled()) {
+            return followGraphService.isFollowing(followerId, followedId);
+        }
+        if (followBitmapService.isEnabled()) {
+            return followBitmapService.isFollowing(followerId, followedId);
+        }
         return userFollowRepository.existsFollow(followerId, followedId);
     }
 
@@ -111,6 +314,15 @@ public class FollowService implements IFollowService {
         User follower = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado"));
 
-        return UserSimpleDTO.fromUserWithFollowers(follower);
+        UserSimpleDTO dto = UserSimpleDTO.fromUserWithFollowers(follower);
+        if (followGraphService.isEnabled()) {
+            // Grau de entrada no grafo em memória: exato assim que o follow é commitado
+            dto.setFollowersCount(followGraphService.countFollowers(userId));
+        } else if (counterBufferService.isEnabled()) {
+            // Valor persistido + delta ainda não gravado pelo write-behind
+            int persisted = dto.getFollowersCount() == null ? 0 : dto.getFollowersCount();
+            dto.setFollowersCount((int) Math.max(0, persisted + counterBufferService.pendingFollowers(userId)));
+        }
+        return dto;
     }
 }
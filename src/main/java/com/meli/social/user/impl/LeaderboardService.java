@@ -0,0 +1,229 @@
+package com.meli.social.user.impl;
+
+import com.meli.social.common.AfterCommit;
+import com.meli.social.post.inter.ICounterBufferService;
+import com.meli.social.user.dto.LeaderboardRow;
+import com.meli.social.user.dto.UserDTO;
+import com.meli.social.user.inter.ILeaderboardService;
+import com.meli.social.user.inter.UserJpaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Ranking de usuários por seguidores mantido em memória: um conjunto ordenado por
+// (followersCount desc, userId asc) e um índice userId -> entrada atual, para trocar a posição de um
+// usuário em O(log n). Follows/unfollows ajustam o ranking depois do commit; top-N lê só a memória.
+// As trocas ficam sob o write lock (microssegundos) e as leituras sob o read lock, então o top-N é
+// sempre um snapshot consistente, mesmo com rajadas de follows concorrentes.
+// Reconstruído do banco no startup; até lá as leituras caem na consulta. Os contadores lidos somam os
+// deltas ainda pendentes no buffer de contadores. Local ao processo.
+@Service
+public class LeaderboardService implements ILeaderboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardService.class);
+
+    private static final int LOAD_BATCH = 10_000;
+    private static final int MAX_RECONCILE_ROUNDS = 5;
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingInt(Entry::followersCount).reversed()
+            .thenComparingInt(Entry::userId);
+
+    private final UserJpaRepository userRepository;
+    private final ICounterBufferService counterBufferService;
+    private final boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableSet<Entry> ranking = new TreeSet<>(ORDER);
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    // Usuários ajustados ou registrados durante a reconstrução (protegido pelo write lock)
+    private final Set<Integer> touchedDuringLoad = new HashSet<>();
+    private volatile boolean loaded;
+
+    public LeaderboardService(
+            UserJpaRepository userRepository,
+            ICounterBufferService counterBufferService,
+            @Value("${social.users.leaderboard.enabled:false}") boolean enabled
+    ) {
+        this.userRepository = userRepository;
+        this.counterBufferService = counterBufferService;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled && loaded;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    // Eventos que chegam durante a carga só ajustam usuários já carregados, mas um follow commitado
+    // entre a leitura de um lote e sua aplicação se perderia: os usuários tocados durante a carga são
+    // relidos do banco ao final, até uma rodada sem novos eventos
+    @Override
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            loaded = false;
+            ranking.clear();
+            entries.clear();
+            touchedDuringLoad.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        int count = 0;
+        Integer lastId = 0;
+        List<LeaderboardRow> batch;
+        do {
+            batch = userRepository.findLeaderboardRowsAfterId(lastId, PageRequest.of(0, LOAD_BATCH));
+            Map<Integer, Long> pending = pendingFollowers();
+            lock.writeLock().lock();
+            try {
+                for (LeaderboardRow row : batch) {
+                    if (!entries.containsKey(row.getUserId())) {
+                        put(entryOf(row, pending));
+                    }
+                    lastId = row.getUserId();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            count += batch.size();
+        } while (batch.size() == LOAD_BATCH);
+
+        int reconciled = 0;
+        for (int round = 0; round < MAX_RECONCILE_ROUNDS; round++) {
+            List<Integer> touched = drainTouched();
+            if (touched.isEmpty()) {
+                break;
+            }
+            for (int from = 0; from < touched.size(); from += LOAD_BATCH) {
+                List<LeaderboardRow> rows = userRepository.findLeaderboardRowsByUserIdIn(touched.subList(from, Math.min(from + LOAD_BATCH, touched.size())));
+                Map<Integer, Long> pending = pendingFollowers();
+                lock.writeLock().lock();
+                try {
+                    for (LeaderboardRow row : rows) {
+                        Entry current = entries.get(row.getUserId());
+                        if (current != null) {
+                            ranking.remove(current);
+                        }
+                        put(entryOf(row, pending));
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+            reconciled += touched.size();
+        }
+
+        lock.writeLock().lock();
+        try {
+            touchedDuringLoad.clear();
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Leaderboard loaded users={} reconciled={}", count, reconciled);
+    }
+
+    @Override
+    public List<UserDTO> getTopUsers(int limit) {
+        lock.readLock().lock();
+        try {
+            List<UserDTO> top = new ArrayList<>(Math.min(limit, ranking.size()));
+            for (Entry entry : ranking) {
+                if (top.size() == limit) {
+                    break;
+                }
+                top.add(new UserDTO(entry.userId(), entry.userName(), entry.followersCount()));
+            }
+            return top;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void register(Integer userId, String userName) {
+        if (!enabled) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                if (!entries.containsKey(userId)) {
+                    put(new Entry(0, userId, userName));
+                }
+                if (!loaded) {
+                    touchedDuringLoad.add(userId);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public void adjust(Integer userId, int delta) {
+        if (!enabled) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                Entry current = entries.get(userId);
+                if (current != null) {
+                    ranking.remove(current);
+                    put(new Entry(Math.max(0, current.followersCount() + delta), userId, current.userName()));
+                }
+                if (!loaded) {
+                    touchedDuringLoad.add(userId);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private List<Integer> drainTouched() {
+        lock.writeLock().lock();
+        try {
+            List<Integer> touched = new ArrayList<>(touchedDuringLoad);
+            touchedDuringLoad.clear();
+            return touched;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Map<Integer, Long> pendingFollowers() {
+        return counterBufferService.isEnabled() ? counterBufferService.pendingFollowers() : Map.of();
+    }
+
+    private static Entry entryOf(LeaderboardRow row, Map<Integer, Long> pending) {
+        int persisted = row.getFollowersCount() == null ? 0 : row.getFollowersCount();
+        int followersCount = (int) Math.max(0, persisted + pending.getOrDefault(row.getUserId(), 0L));
+        return new Entry(followersCount, row.getUserId(), row.getUserName());
+    }
+
+    private void put(Entry entry) {
+        entries.put(entry.userId(), entry);
+        ranking.add(entry);
+    }
+
+    private record Entry(int followersCount, int userId, String userName) {
+    }
+}
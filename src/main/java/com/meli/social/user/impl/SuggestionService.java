@@ -0,0 +1,245 @@
+package com.meli.social.user.impl;
+
+import com.meli.social.common.AfterCommit;
+import com.meli.social.exception.UserNotFoundException;
+import com.meli.social.user.dto.FollowEdgeRow;
+import com.meli.social.user.dto.SuggestedUserDTO;
+import com.meli.social.user.dto.UserWithSuggestionsDTO;
+import com.meli.social.user.inter.IFollowGraphService;
+import com.meli.social.user.inter.ISuggestionService;
+import com.meli.social.user.inter.UserJpaRepository;
+import com.meli.social.user.model.User;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Sugestões "quem seguir": amigos de amigos, ranqueados pelo número de seguidos em comum.
+// O ranking (top max-per-user) fica guardado em memória por usuário e é atualizado de forma incremental:
+// um follow/unfollow de A invalida A e os seguidores de A, cujo segundo grau passa por A. Os seguidores
+// não são lidos: cada ranking guarda os seguidos usados no cálculo e a invalidação só percorre os
+// rankings em memória (quem passou a seguir A depois já foi invalidado pelo próprio follow). Inválidos e
+// rankings mais velhos que ttl são recalculados em paralelo (fork/join) a cada refresh-interval; um
+// usuário inválido que lê antes disso tem o ranking recalculado na hora. Rankings não lidos por um ttl
+// são descartados. A adjacência vem do grafo em memória quando habilitado, senão do banco.
+@Service
+public class SuggestionService implements ISuggestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuggestionService.class);
+
+    // Usuários por tarefa folha do fork/join
+    private static final int SPLIT_THRESHOLD = 32;
+
+    private final UserJpaRepository userRepository;
+    private final IFollowGraphService followGraphService;
+    private final int maxPerUser;
+    private final long ttlMillis;
+    private final ForkJoinPool pool;
+
+    private final Map<Integer, Ranking> rankings = new ConcurrentHashMap<>();
+    private final Set<Integer> invalidated = ConcurrentHashMap.newKeySet();
+
+    public SuggestionService(
+            UserJpaRepository userRepository,
+            IFollowGraphService followGraphService,
+            @Value("${social.follow.suggestions.max-per-user:100}") int maxPerUser,
+            @Value("${social.follow.suggestions.ttl:PT1H}") Duration ttl,
+            @Value("${social.follow.suggestions.parallelism:0}") int parallelism
+    ) {
+        this.userRepository = userRepository;
+        this.followGraphService = followGraphService;
+        this.maxPerUser = maxPerUser;
+        this.ttlMillis = ttl.toMillis();
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Override
+    public UserWithSuggestionsDTO getSuggestions(Integer userId, int page, int size) {
+        logger.info("Fetching suggestions userId={} page={} size={}", userId, page, size);
+        validatePageRequest(page, size);
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado"));
+
+        Ranking ranking = rankings.get(userId);
+        if (ranking == null || invalidated.remove(userId)) {
+            ranking = rank(userId);
+            rankings.put(userId, ranking);
+        }
+        ranking.lastReadAt = System.currentTimeMillis();
+
+        int from = Math.min(page * size, ranking.userIds.length);
+        int to = Math.min(from + size, ranking.userIds.length);
+        List<Integer> pageIds = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            pageIds.add(ranking.userIds[i]);
+        }
+
+        Map<Integer, User> users = pageIds.isEmpty() ? Map.of() : userRepository.findByUserIdIn(pageIds).stream()
+                .collect(Collectors.toMap(User::getUserId, Function.identity()));
+
+        List<SuggestedUserDTO> suggestions = new ArrayList<>(pageIds.size());
+        for (int i = from; i < to; i++) {
+            User suggested = users.get(ranking.userIds[i]);
+            if (suggested != null) {
+                suggestions.add(new SuggestedUserDTO(suggested.getUserId(), suggested.getUserName(), ranking.shared[i]));
+            }
+        }
+        return UserWithSuggestionsDTO.withSuggestions(user, suggestions);
+    }
+
+    // Chamado na transação do follow/unfollow; a invalidação só é publicada depois do commit
+    @Override
+    public void invalidate(Integer followerId) {
+        if (rankings.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> rankings.forEach((userId, ranking) -> {
+            if (userId.equals(followerId) || ranking.follows(followerId)) {
+                invalidated.add(userId);
+            }
+        }));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${social.follow.suggestions.refresh-interval:PT30S}")
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        rankings.values().removeIf(ranking -> ranking.lastReadAt < now - ttlMillis);
+
+        List<Integer> stale = new ArrayList<>();
+        rankings.forEach((userId, ranking) -> {
+            if (invalidated.remove(userId) || ranking.computedAt < now - ttlMillis) {
+                stale.add(userId);
+            }
+        });
+        if (stale.isEmpty()) {
+            return;
+        }
+
+        pool.invoke(new RefreshTask(stale, 0, stale.size()));
+        logger.info("Suggestions refreshed users={} stored={}", stale.size(), rankings.size());
+    }
+
+    private Ranking rank(Integer userId) {
+        List<Integer> following = followingIds(userId);
+        Set<Integer> excluded = new HashSet<>(following);
+        excluded.add(userId);
+
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (Integer candidate : secondHop(following)) {
+            if (!excluded.contains(candidate)) {
+                shared.merge(candidate, 1, Integer::sum);
+            }
+        }
+
+        List<Map.Entry<Integer, Integer>> ranked = shared.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(maxPerUser)
+                .toList();
+
+        int[] userIds = new int[ranked.size()];
+        int[] counts = new int[ranked.size()];
+        for (int i = 0; i < ranked.size(); i++) {
+            userIds[i] = ranked.get(i).getKey();
+            counts[i] = ranked.get(i).getValue();
+        }
+        return new Ranking(userIds, counts, following.stream().mapToInt(Integer::intValue).sorted().toArray());
+    }
+
+    private List<Integer> followingIds(Integer userId) {
+        return followGraphService.isEnabled()
+                ? followGraphService.findFollowingIds(userId)
+                : userRepository.findFollowingIdsByUserId(userId);
+    }
+
+    // Seguidos dos seguidos, com repetição: cada ocorrência é uma conexão em comum
+    private List<Integer> secondHop(List<Integer> following) {
+        if (following.isEmpty()) {
+            return List.of();
+        }
+        if (followGraphService.isEnabled()) {
+            List<Integer> candidates = new ArrayList<>();
+            following.forEach(followedId -> candidates.addAll(followGraphService.findFollowingIds(followedId)));
+            return candidates;
+        }
+        return userRepository.findFollowEdgesByFollowerIdIn(following).stream()
+                .map(FollowEdgeRow::getFollowedId)
+                .toList();
+    }
+
+    private static void validatePageRequest(int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page inválida: " + page);
+        }
+        if (size <= 0 || size > 100) {
+            throw new IllegalArgumentException("Size inválido: " + size);
+        }
+    }
+
+    private static final class Ranking {
+        private final int[] userIds;
+        private final int[] shared;
+        // Seguidos no momento do cálculo, ordenados para busca binária
+        private final int[] following;
+        private final long computedAt = System.currentTimeMillis();
+        private volatile long lastReadAt = computedAt;
+
+        private Ranking(int[] userIds, int[] shared, int[] following) {
+            this.userIds = userIds;
+            this.shared = shared;
+            this.following = following;
+        }
+
+        private boolean follows(int userId) {
+            return Arrays.binarySearch(following, userId) >= 0;
+        }
+    }
+
+    // Divide a lista de usuários ao meio até SPLIT_THRESHOLD; cada folha recalcula seus usuários
+    private final class RefreshTask extends RecursiveAction {
+        private final List<Integer> userIds;
+        private final int from;
+        private final int to;
+
+        private RefreshTask(List<Integer> userIds, int from, int to) {
+            this.userIds = userIds;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    Integer userId = userIds.get(i);
+                    Ranking previous = rankings.get(userId);
+                    Ranking ranking = rank(userId);
+                    // Mantém o último horário de leitura para a expiração por inatividade
+                    if (previous != null) {
+                        ranking.lastReadAt = previous.lastReadAt;
+                    }
+                    rankings.put(userId, ranking);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RefreshTask(userIds, from, mid), new RefreshTask(userIds, mid, to));
+        }
+    }
+}
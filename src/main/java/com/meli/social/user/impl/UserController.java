@@ -1,11 +1,16 @@
 package com.meli.social.user.impl;
 
 import com.meli.social.exception.ErrorDTO;
+import com.meli.social.user.dto.BulkFollowDTO;
+import com.meli.social.user.dto.BulkFollowResultDTO;
+import com.meli.social.user.dto.CommonFollowersCountDTO;
 import com.meli.social.user.dto.UserDTO;
 import com.meli.social.user.dto.UserSimpleDTO;
 import com.meli.social.user.dto.UserWithFollowedDTO;
 import com.meli.social.user.dto.UserWithFollowersDTO;
+import com.meli.social.user.dto.UserWithSuggestionsDTO;
 import com.meli.social.user.inter.IFollowService;
+import com.meli.social.user.inter.ISuggestionService;
 import com.meli.social.user.inter.IUserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -34,6 +39,7 @@ public class UserController {
 
     private final IUserService userService;
     private final IFollowService followService;
+    private final ISuggestionService suggestionService;
 
     @PostMapping
     @Operation(summary = "Criar um novo usuário", description = "Cria um usuário a partir do campo 'userName' no corpo da requisição")
@@ -100,6 +106,38 @@ public class UserController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/{userId}/follow")
+    @Operation(summary = "Seguir vários usuários", description = "Segue em lote os usuários do campo 'userIds'. Relações já existentes são ignoradas")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Follows realizados", content = @Content(schema = @Schema(implementation = BulkFollowResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Requisição inválida", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Usuário não encontrado", content = @Content)
+    })
+    public ResponseEntity<BulkFollowResultDTO> followUsers(
+            @Parameter(description = "ID do usuário que irá seguir", example = "1")
+            @PathVariable Integer userId,
+            @RequestBody BulkFollowDTO body
+    ) {
+        logger.info("Request to bulk follow userId={}", userId);
+        return ResponseEntity.ok(followService.followUsers(userId, body.getUserIds()));
+    }
+
+    @PostMapping("/{userId}/unfollow")
+    @Operation(summary = "Deixar de seguir vários usuários", description = "Remove em lote os follows dos usuários do campo 'userIds'. Usuários não seguidos são ignorados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Unfollows realizados", content = @Content(schema = @Schema(implementation = BulkFollowResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Requisição inválida", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Usuário não encontrado", content = @Content)
+    })
+    public ResponseEntity<BulkFollowResultDTO> unfollowUsers(
+            @Parameter(description = "ID do usuário que irá deixar de seguir", example = "1")
+            @PathVariable Integer userId,
+            @RequestBody BulkFollowDTO body
+    ) {
+        logger.info("Request to bulk unfollow userId={}", userId);
+        return ResponseEntity.ok(followService.unfollowUsers(userId, body.getUserIds()));
+    }
+
     @GetMapping("/{userId}/followers/count")
     @Operation(summary = "Contagem de seguidores", description = "Retorna o usuário com a contagem de seguidores")
     @ApiResponses(value = {
@@ -128,9 +166,13 @@ public class UserController {
             @Parameter(description = "Número da página (0-based)", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Tamanho da página (entre 1 e 100)", example = "10")
-            @RequestParam(defaultValue = "10") int size) {
-        logger.info("Request to get following userId={} order={} page={} size={}", userId, order, page, size);
-        return ResponseEntity.ok(userService.getFollowing(userId, order, page, size));
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Cursor opaco (nextCursor da página anterior). Quando informado, mesmo vazio, ativa a paginação por cursor e 'page' é ignorado")
+            @RequestParam(required = false) String cursor) {
+        logger.info("Request to get following userId={} order={} page={} size={} cursor={}", userId, order, page, size, cursor);
+        return ResponseEntity.ok(cursor != null
+                ? userService.getFollowingByCursor(userId, order, cursor, size)
+                : userService.getFollowing(userId, order, page, size));
     }
 
     @GetMapping("/{userId}/followers/list")
@@ -147,10 +189,63 @@ public class UserController {
             @Parameter(description = "Número da página (0-based)", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Tamanho da página (entre 1 e 100)", example = "10")
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Cursor opaco (nextCursor da página anterior). Quando informado, mesmo vazio, ativa a paginação por cursor e 'page' é ignorado")
+            @RequestParam(required = false) String cursor
+    ) {
+        logger.info("Request to get followers userId={} order={} page={} size={} cursor={}", userId, order, page, size, cursor);
+        return ResponseEntity.ok(cursor != null
+                ? userService.getFollowersByCursor(userId, order, cursor, size)
+                : userService.getFollowers(userId, order, page, size));
+    }
+
+    @GetMapping("/{userId}/suggestions")
+    @Operation(summary = "Sugestões de quem seguir", description = "Retorna usuários seguidos pelos seguidos do usuário, ordenados pelo número de conexões em comum")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista retornada", content = @Content(schema = @Schema(implementation = UserWithSuggestionsDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Requisição inválida", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Usuário não encontrado", content = @Content)
+    })
+    public ResponseEntity<UserWithSuggestionsDTO> getSuggestions(
+            @Parameter(description = "ID do usuário", example = "1")
+            @PathVariable Integer userId,
+            @Parameter(description = "Número da página (0-based)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Tamanho da página (entre 1 e 100)", example = "10")
             @RequestParam(defaultValue = "10") int size
     ) {
-        logger.info("Request to get followers userId={} order={} page={} size={}", userId, order, page, size);
-        return ResponseEntity.ok(userService.getFollowers(userId, order, page, size));
+        logger.info("Request to get suggestions userId={} page={} size={}", userId, page, size);
+        return ResponseEntity.ok(suggestionService.getSuggestions(userId, page, size));
+    }
+
+    @GetMapping("/{userId}/mutual/list")
+    @Operation(summary = "Listar seguidores mútuos", description = "Retorna os usuários seguidos por um usuário que também o seguem, ordenados por nome")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista retornada", content = @Content(schema = @Schema(implementation = UserWithFollowedDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Usuário não encontrado", content = @Content)
+    })
+    public ResponseEntity<UserWithFollowedDTO> getMutualFollows(
+            @Parameter(description = "ID do usuário", example = "1")
+            @PathVariable Integer userId
+    ) {
+        logger.info("Request to get mutual follows userId={}", userId);
+        return ResponseEntity.ok(userService.getMutualFollows(userId));
+    }
+
+    @GetMapping("/{userId}/followers/common/{otherUserId}/count")
+    @Operation(summary = "Contar seguidores em comum", description = "Retorna quantos usuários seguem os dois usuários informados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Contagem retornada", content = @Content(schema = @Schema(implementation = CommonFollowersCountDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Usuário não encontrado", content = @Content)
+    })
+    public ResponseEntity<CommonFollowersCountDTO> getCommonFollowersCount(
+            @Parameter(description = "ID do usuário", example = "1")
+            @PathVariable Integer userId,
+            @Parameter(description = "ID do outro usuário", example = "2")
+            @PathVariable Integer otherUserId
+    ) {
+        logger.info("Request to count common followers userId={} otherUserId={}", userId, otherUserId);
+        return ResponseEntity.ok(userService.getCommonFollowersCount(userId, otherUserId));
     }
 
-}
\ No newline at end of file
+}
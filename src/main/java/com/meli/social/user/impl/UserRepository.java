@@ -6,9 +6,12 @@ import com.meli.social.user.model.User;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +20,7 @@ import java.util.Optional;
 public class UserRepository implements IUserRepository {
 
     private final UserJpaRepository jpaRepository;
+    private final JdbcTemplate jdbcTemplate;
 
     @Override
     public User save(User user) {
@@ -33,4 +37,23 @@ public class UserRepository implements IUserRepository {
         return jpaRepository.count();
     }
 
+    // INSERT em lote via JDBC (um round-trip por lote em vez de um persist por follow); os nomes
+    // denormalizados vêm de users no próprio INSERT ... SELECT
+    @Override
+    public int insertFollows(Integer followerId, List<Integer> followedIds) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO user_follows (follower_id, followed_id, followed_at, follower_name, followed_name) "
+                        + "SELECT f.user_id, u.user_id, ?, f.user_name, u.user_name FROM users f, users u "
+                        + "WHERE f.user_id = ? AND u.user_id = ?",
+                followedIds,
+                followedIds.size(),
+                (statement, followedId) -> {
+                    statement.setTimestamp(1, now);
+                    statement.setInt(2, followerId);
+                    statement.setInt(3, followedId);
+                });
+        return followedIds.size();
+    }
+
 }
\ No newline at end of file
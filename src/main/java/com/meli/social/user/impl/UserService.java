@@ -1,9 +1,15 @@
 package com.meli.social.user.impl;
 
+import com.meli.social.exception.UserNotFoundException;
+import com.meli.social.post.inter.ICounterBufferService;
+import com.meli.social.user.dto.CommonFollowersCountDTO;
+import com.meli.social.user.dto.UserCursor;
 import com.meli.social.user.dto.UserDTO;
 import com.meli.social.user.dto.UserSimpleDTO;
 import com.meli.social.user.dto.UserWithFollowedDTO;
 import com.meli.social.user.dto.UserWithFollowersDTO;
+import com.meli.social.user.inter.IFollowBitmapService;
+import com.meli.social.user.inter.ILeaderboardService;
 import com.meli.social.user.inter.IUserService;
 import com.meli.social.user.inter.UserJpaRepository;
 import com.meli.social.user.model.User;
@@ -12,6 +18,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,6 +33,9 @@ public class        UserService implements IUserService {
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
 
     private final UserJpaRepository userRepository;
+    private final IFollowBitmapService followBitmapService;
+    private final ILeaderboardService leaderboardService;
+    private final ICounterBufferService counterBufferService;
 
     @Override
     @Transactional
@@ -35,6 +45,7 @@ public class        UserService implements IUserService {
         User user = new User(userName);
         User savedUser = userRepository.save(user);
         logger.info("User persisted userId={} userName={}", savedUser.getUserId(), savedUser.getUserName());
+        leaderboardService.register(savedUser.getUserId(), savedUser.getUserName());
         return UserSimpleDTO.fromUser(savedUser);
     }
 
@@ -52,6 +63,15 @@ public class        UserService implements IUserService {
     // Buscar top users (SEM relacionamentos lazy)
     public List<UserDTO> getTopUsers(int limit) {
         logger.info("Fetching top users limit={}", limit);
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit inválido: " + limit);
+        }
+        if (leaderboardService.isEnabled()) {
+            return leaderboardService.getTopUsers(limit);
+        }
+        if (counterBufferService.isEnabled()) {
+            return getTopUsersWithPendingFollowers(limit);
+        }
         List<User> users = userRepository.findAllByOrderByFollowersCountDesc(
                 PageRequest.of(0, limit)
         );
@@ -61,6 +81,34 @@ public class        UserService implements IUserService {
                 .toList();
     }
 
+    // Soma os deltas ainda não gravados pelo buffer de contadores. Busca um usuário a mais do banco
+    // para cada delta negativo (pode sair do top) e inclui os que têm delta positivo (podem entrar)
+    private List<UserDTO> getTopUsersWithPendingFollowers(int limit) {
+        Map<Integer, Long> pending = counterBufferService.pendingFollowers();
+        long decreasing = pending.values().stream().filter(delta -> delta < 0).count();
+
+        Map<Integer, User> candidates = new HashMap<>();
+        userRepository.findAllByOrderByFollowersCountDesc(PageRequest.of(0, (int) Math.min(Integer.MAX_VALUE, limit + decreasing)))
+                .forEach(user -> candidates.put(user.getUserId(), user));
+        List<Integer> increasing = pending.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0 && !candidates.containsKey(entry.getKey()))
+                .map(Map.Entry::getKey)
+                .toList();
+        if (!increasing.isEmpty()) {
+            userRepository.findAllById(increasing).forEach(user -> candidates.put(user.getUserId(), user));
+        }
+
+        return candidates.values().stream()
+                .map(user -> {
+                    int persisted = user.getFollowersCount() == null ? 0 : user.getFollowersCount();
+                    int followersCount = (int) Math.max(0, persisted + pending.getOrDefault(user.getUserId(), 0L));
+                    return new UserDTO(user.getUserId(), user.getUserName(), followersCount);
+                })
+                .sorted(Comparator.comparing(UserDTO::getFollowersCount).reversed().thenComparing(UserDTO::getUserId))
+                .limit(limit)
+                .toList();
+    }
+
     @Override
     public UserWithFollowersDTO getFollowers(Integer userId) {
         return getFollowers(userId, null);
@@ -163,6 +211,125 @@ public class        UserService implements IUserService {
         return UserWithFollowedDTO.withFollowed(mainUser, followingDTO);
     }
 
+    // Paginação por keyset: o cursor é o (userName, userId) do último usuário da página anterior,
+    // então páginas profundas custam o mesmo que a primeira e o Slice dispensa o COUNT
+    @Override
+    public UserWithFollowersDTO getFollowersByCursor(Integer userId, String order, String cursor, int size) {
+        logger.info("Fetching followers by cursor userId={} order={} cursor={} size={}", userId, order, cursor, size);
+        validatePageRequest(0, size);
+        boolean descending = isNameDescending(order);
+        UserCursor after = UserCursor.decode(cursor);
+        User mainUser = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado: " + userId));
+
+        PageRequest pageRequest = PageRequest.of(0, size);
+        Slice<User> followersSlice;
+        if (after == null) {
+            followersSlice = descending
+                    ? userRepository.findFollowersByUserIdFirstOrderByNameAndIdDesc(userId, pageRequest)
+                    : userRepository.findFollowersByUserIdFirstOrderByNameAndIdAsc(userId, pageRequest);
+        } else {
+            followersSlice = descending
+                    ? userRepository.findFollowersByUserIdAfterOrderByNameAndIdDesc(userId, after.userName(), after.userId(), pageRequest)
+                    : userRepository.findFollowersByUserIdAfterOrderByNameAndIdAsc(userId, after.userName(), after.userId(), pageRequest);
+        }
+
+        UserWithFollowersDTO dto = UserWithFollowersDTO.withFollowers(mainUser, toSimpleDTOs(followersSlice));
+        dto.setNextCursor(nextCursor(followersSlice));
+        return dto;
+    }
+
+    @Override
+    public UserWithFollowedDTO getFollowingByCursor(Integer userId, String order, String cursor, int size) {
+        logger.info("Fetching following by cursor userId={} order={} cursor={} size={}", userId, order, cursor, size);
+        validatePageRequest(0, size);
+        boolean descending = isNameDescending(order);
+        UserCursor after = UserCursor.decode(cursor);
+        User mainUser = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado: " + userId));
+
+        PageRequest pageRequest = PageRequest.of(0, size);
+        Slice<User> followingSlice;
+        if (after == null) {
+            followingSlice = descending
+                    ? userRepository.findFollowingByUserIdFirstOrderByNameAndIdDesc(userId, pageRequest)
+                    : userRepository.findFollowingByUserIdFirstOrderByNameAndIdAsc(userId, pageRequest);
+        } else {
+            followingSlice = descending
+                    ? userRepository.findFollowingByUserIdAfterOrderByNameAndIdDesc(userId, after.userName(), after.userId(), pageRequest)
+                    : userRepository.findFollowingByUserIdAfterOrderByNameAndIdAsc(userId, after.userName(), after.userId(), pageRequest);
+        }
+
+        UserWithFollowedDTO dto = UserWithFollowedDTO.withFollowed(mainUser, toSimpleDTOs(followingSlice));
+        dto.setNextCursor(nextCursor(followingSlice));
+        return dto;
+    }
+
+    // Sem ordem explícita a paginação por cursor usa name_asc: o keyset exige uma ordem total
+    private static boolean isNameDescending(String order) {
+        if (order == null || order.trim().isEmpty() || "name_asc".equalsIgnoreCase(order)) {
+            return false;
+        }
+        if ("name_desc".equalsIgnoreCase(order)) {
+            return true;
+        }
+        throw new IllegalArgumentException("Order inválido: " + order);
+    }
+
+    private static List<UserSimpleDTO> toSimpleDTOs(Slice<User> users) {
+        return users.getContent().stream()
+                .map(user -> new UserSimpleDTO(user.getUserId(), user.getUserName()))
+                .toList();
+    }
+
+    private static String nextCursor(Slice<User> users) {
+        if (!users.hasNext() || users.getContent().isEmpty()) {
+            return null;
+        }
+        return UserCursor.of(users.getContent().get(users.getNumberOfElements() - 1)).encode();
+    }
+
+    // Usuários que userId segue e que também o seguem de volta, ordenados por nome
+    @Override
+    public UserWithFollowedDTO getMutualFollows(Integer userId) {
+        logger.info("Fetching mutual follows userId={}", userId);
+        User mainUser = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado: " + userId));
+
+        List<User> mutual;
+        if (followBitmapService.isEnabled()) {
+            List<Integer> mutualIds = followBitmapService.findMutualFollowIds(userId);
+            mutual = mutualIds.isEmpty() ? List.of() : userRepository.findByUserIdIn(mutualIds);
+        } else {
+            mutual = userRepository.findMutualFollowers(userId);
+        }
+
+        List<UserSimpleDTO> mutualDTO = mutual.stream()
+                .sorted(Comparator.comparing(User::getUserName))
+                .map(user -> new UserSimpleDTO(user.getUserId(), user.getUserName()))
+                .toList();
+
+        return UserWithFollowedDTO.withFollowed(mainUser, mutualDTO);
+    }
+
+    @Override
+    public CommonFollowersCountDTO getCommonFollowersCount(Integer userId, Integer otherUserId) {
+        logger.info("Counting common followers userId={} otherUserId={}", userId, otherUserId);
+        if (userId == null || otherUserId == null) {
+            throw new IllegalArgumentException("IDs não podem ser nulos");
+        }
+        for (Integer id : List.of(userId, otherUserId)) {
+            if (!userRepository.existsById(id)) {
+                throw new UserNotFoundException("Usuário não encontrado: " + id);
+            }
+        }
+
+        long count = followBitmapService.isEnabled()
+                ? followBitmapService.countCommonFollowers(userId, otherUserId)
+                : userRepository.countCommonFollowers(userId, otherUserId);
+        return new CommonFollowersCountDTO(userId, otherUserId, count);
+    }
+
     private static void validatePageRequest(int page, int size) {
         if (page < 0) {
             throw new IllegalArgumentException("Page inválida: " + page);
@@ -0,0 +1,18 @@
+package com.meli.social.user.inter;
+
+import java.util.List;
+
+public interface IFollowBitmapService {
+
+    boolean isEnabled();
+
+    boolean isFollowing(Integer followerId, Integer followedId);
+
+    List<Integer> findMutualFollowIds(Integer userId);
+
+    int countCommonFollowers(Integer userId, Integer otherUserId);
+
+    void follow(Integer followerId, Integer followedId);
+
+    void unfollow(Integer followerId, Integer followedId);
+}
@@ -0,0 +1,20 @@
+package com.meli.social.user.inter;
+
+import java.util.List;
+
+public interface IFollowGraphService {
+
+    boolean isEnabled();
+
+    boolean isFollowing(Integer followerId, Integer followedId);
+
+    List<Integer> findFollowingIds(Integer userId);
+
+    List<Integer> findFollowerIds(Integer userId);
+
+    int countFollowers(Integer userId);
+
+    void follow(Integer followerId, Integer followedId);
+
+    void unfollow(Integer followerId, Integer followedId);
+}
@@ -1,15 +1,24 @@
 package com.meli.social.user.inter;
 
+import com.meli.social.user.dto.BulkFollowResultDTO;
 import com.meli.social.user.dto.UserSimpleDTO;
 import com.meli.social.user.model.User;
 
+import java.util.List;
+
 public interface IFollowService {
 
+    int MAX_BULK_FOLLOW = 1000;
+
     boolean isFollowing(Integer followerId, Integer followedId);
 
     User followUser(Integer followerId, Integer followedId);
 
     User unfollowUser(Integer followerId, Integer followedId);
 
+    BulkFollowResultDTO followUsers(Integer followerId, List<Integer> followedIds);
+
+    BulkFollowResultDTO unfollowUsers(Integer followerId, List<Integer> followedIds);
+
     UserSimpleDTO returnUserWithFollowerCounter(Integer userId);
 }
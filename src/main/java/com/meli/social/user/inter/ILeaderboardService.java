@@ -0,0 +1,18 @@
+package com.meli.social.user.inter;
+
+import com.meli.social.user.dto.UserDTO;
+
+import java.util.List;
+
+public interface ILeaderboardService {
+
+    boolean isEnabled();
+
+    List<UserDTO> getTopUsers(int limit);
+
+    void register(Integer userId, String userName);
+
+    void adjust(Integer userId, int delta);
+
+    void rebuild();
+}
@@ -0,0 +1,12 @@
+package com.meli.social.user.inter;
+
+import com.meli.social.user.dto.UserWithSuggestionsDTO;
+
+public interface ISuggestionService {
+
+    UserWithSuggestionsDTO getSuggestions(Integer userId, int page, int size);
+
+    void invalidate(Integer followerId);
+
+    void refresh();
+}
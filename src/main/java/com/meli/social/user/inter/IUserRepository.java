@@ -14,4 +14,6 @@ public interface IUserRepository {
 
     long count();
 
+    int insertFollows(Integer followerId, List<Integer> followedIds);
+
 }
\ No newline at end of file
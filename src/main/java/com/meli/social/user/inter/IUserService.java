@@ -1,5 +1,6 @@
 package com.meli.social.user.inter;
 
+import com.meli.social.user.dto.CommonFollowersCountDTO;
 import com.meli.social.user.dto.UserDTO;
 import com.meli.social.user.dto.UserSimpleDTO;
 import com.meli.social.user.dto.UserWithFollowedDTO;
@@ -23,6 +24,14 @@ public interface IUserService {
 
     UserWithFollowedDTO getFollowing(Integer userId, String order, int page, int size);
 
+    UserWithFollowersDTO getFollowersByCursor(Integer userId, String order, String cursor, int size);
+
+    UserWithFollowedDTO getFollowingByCursor(Integer userId, String order, String cursor, int size);
+
     List<UserDTO> getTopUsers(int limit);
 
+    UserWithFollowedDTO getMutualFollows(Integer userId);
+
+    CommonFollowersCountDTO getCommonFollowersCount(Integer userId, Integer otherUserId);
+
 }
\ No newline at end of file
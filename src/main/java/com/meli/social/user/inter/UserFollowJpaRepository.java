@@ -1,12 +1,17 @@
 package com.meli.social.user.inter;
 
+import com.meli.social.user.dto.FollowEdgeChecksum;
+import com.meli.social.user.dto.FollowEdgeIdRow;
 import com.meli.social.user.model.UserFollow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface UserFollowJpaRepository extends JpaRepository<UserFollow, Long> {
 
@@ -25,4 +30,41 @@ public interface UserFollowJpaRepository extends JpaRepository<UserFollow, Long>
         AND uf.followed.userId = :followedId
         """)
     int deleteFollow(@Param("followerId") Integer followerId, @Param("followedId") Integer followedId);
+
+    @Query("""
+        SELECT uf.followed.userId
+        FROM UserFollow uf
+        WHERE uf.follower.userId = :followerId
+        AND uf.followed.userId IN :followedIds
+        """)
+    List<Integer> findFollowedIdsIn(@Param("followerId") Integer followerId, @Param("followedIds") List<Integer> followedIds);
+
+    @Modifying
+    @Query("""
+        DELETE FROM UserFollow uf
+        WHERE uf.follower.userId = :followerId
+        AND uf.followed.userId IN :followedIds
+        """)
+    int deleteFollows(@Param("followerId") Integer followerId, @Param("followedIds") List<Integer> followedIds);
+
+    @Query("""
+        SELECT uf.id AS id, uf.follower.userId AS followerId, uf.followed.userId AS followedId
+        FROM UserFollow uf
+        WHERE uf.id > :afterId
+        ORDER BY uf.id
+        """)
+    List<FollowEdgeIdRow> findEdgesAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(uf.id), 0L) FROM UserFollow uf")
+    Long findMaxId();
+
+    // Hash por aresta de FollowEdgeChecksum.edgeHash (M = 1000003, P = 2147483647); com ids positivos
+    // o MOD do banco coincide com o % do Java
+    @Query("""
+        SELECT COUNT(uf) AS edges,
+               COALESCE(SUM(MOD(MOD(uf.follower.userId * 1000003L + uf.followed.userId, 2147483647L)
+                              * MOD(uf.follower.userId * 1000003L + uf.followed.userId, 2147483647L), 2147483647L)), 0L) AS edgeHashSum
+        FROM UserFollow uf
+        """)
+    FollowEdgeChecksum findEdgeChecksum();
 }
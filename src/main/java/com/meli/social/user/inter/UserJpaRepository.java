@@ -1,9 +1,14 @@
 package com.meli.social.user.inter;
 
+import com.meli.social.user.dto.FollowEdgeRow;
+import com.meli.social.user.dto.LeaderboardRow;
 import com.meli.social.user.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -37,14 +42,14 @@ public interface UserJpaRepository extends JpaRepository<User, Integer> {
     @Query("""
         SELECT uf.follower FROM UserFollow uf
         WHERE uf.followed.userId = :userId
-        ORDER BY uf.follower.userName ASC
+        ORDER BY uf.followerName ASC
         """)
     Page<User> findFollowersByUserIdOrderByNameAsc(@Param("userId") Integer userId, Pageable pageable);
 
     @Query("""
         SELECT uf.follower FROM UserFollow uf
         WHERE uf.followed.userId = :userId
-        ORDER BY uf.follower.userName DESC
+        ORDER BY uf.followerName DESC
         """)
     Page<User> findFollowersByUserIdOrderByNameDesc(@Param("userId") Integer userId, Pageable pageable);
 
@@ -52,17 +57,84 @@ public interface UserJpaRepository extends JpaRepository<User, Integer> {
     @Query("""
         SELECT uf.follower FROM UserFollow uf 
         WHERE uf.followed.userId = :userId 
-        ORDER BY uf.follower.userName ASC
+        ORDER BY uf.followerName ASC
         """)
     List<User> findFollowersByUserIdOrderByNameAsc(@Param("userId") Integer userId);
 
     @Query("""
         SELECT uf.follower FROM UserFollow uf 
         WHERE uf.followed.userId = :userId 
-        ORDER BY uf.follower.userName DESC
+        ORDER BY uf.followerName DESC
         """)
     List<User> findFollowersByUserIdOrderByNameDesc(@Param("userId") Integer userId);
 
+    // Paginação por keyset em (userName, userId) com Slice: sem OFFSET e sem consulta COUNT.
+    // First* abre a lista; After* continua a partir do último usuário entregue. O nome vem da cópia
+    // em user_follows, então o índice (dono, nome, id) entrega as linhas já na ordem
+    @Query("""
+        SELECT uf.follower FROM UserFollow uf
+        WHERE uf.followed.userId = :userId
+        ORDER BY uf.followerName ASC, uf.follower.userId ASC
+        """)
+    Slice<User> findFollowersByUserIdFirstOrderByNameAndIdAsc(@Param("userId") Integer userId, Pageable pageable);
+
+    @Query("""
+        SELECT uf.follower FROM UserFollow uf
+        WHERE uf.followed.userId = :userId
+        AND (uf.followerName > :userName
+             OR (uf.followerName = :userName AND uf.follower.userId > :lastUserId))
+        ORDER BY uf.followerName ASC, uf.follower.userId ASC
+        """)
+    Slice<User> findFollowersByUserIdAfterOrderByNameAndIdAsc(@Param("userId") Integer userId, @Param("userName") String userName, @Param("lastUserId") Integer lastUserId, Pageable pageable);
+
+    @Query("""
+        SELECT uf.follower FROM UserFollow uf
+        WHERE uf.followed.userId = :userId
+        ORDER BY uf.followerName DESC, uf.follower.userId DESC
+        """)
+    Slice<User> findFollowersByUserIdFirstOrderByNameAndIdDesc(@Param("userId") Integer userId, Pageable pageable);
+
+    @Query("""
+        SELECT uf.follower FROM UserFollow uf
+        WHERE uf.followed.userId = :userId
+        AND (uf.followerName < :userName
+             OR (uf.followerName = :userName AND uf.follower.userId < :lastUserId))
+        ORDER BY uf.followerName DESC, uf.follower.userId DESC
+        """)
+    Slice<User> findFollowersByUserIdAfterOrderByNameAndIdDesc(@Param("userId") Integer userId, @Param("userName") String userName, @Param("lastUserId") Integer lastUserId, Pageable pageable);
+
+    @Query("""
+        SELECT uf.followed FROM UserFollow uf
+        WHERE uf.follower.userId = :userId
+        ORDER BY uf.followedName ASC, uf.followed.userId ASC
+        """)
+    Slice<User> findFollowingByUserIdFirstOrderByNameAndIdAsc(@Param("userId") Integer userId, Pageable pageable);
+
+    @Query("""
+        SELECT uf.followed FROM UserFollow uf
+        WHERE uf.follower.userId = :userId
+        AND (uf.followedName > :userName
+             OR (uf.followedName = :userName AND uf.followed.userId > :lastUserId))
+        ORDER BY uf.followedName ASC, uf.followed.userId ASC
+        """)
+    Slice<User> findFollowingByUserIdAfterOrderByNameAndIdAsc(@Param("userId") Integer userId, @Param("userName") String userName, @Param("lastUserId") Integer lastUserId, Pageable pageable);
+
+    @Query("""
+        SELECT uf.followed FROM UserFollow uf
+        WHERE uf.follower.userId = :userId
+        ORDER BY uf.followedName DESC, uf.followed.userId DESC
+        """)
+    Slice<User> findFollowingByUserIdFirstOrderByNameAndIdDesc(@Param("userId") Integer userId, Pageable pageable);
+
+    @Query("""
+        SELECT uf.followed FROM UserFollow uf
+        WHERE uf.follower.userId = :userId
+        AND (uf.followedName < :userName
+             OR (uf.followedName = :userName AND uf.followed.userId < :lastUserId))
+        ORDER BY uf.followedName DESC, uf.followed.userId DESC
+        """)
+    Slice<User> findFollowingByUserIdAfterOrderByNameAndIdDesc(@Param("userId") Integer userId, @Param("userName") String userName, @Param("lastUserId") Integer lastUserId, Pageable pageable);
+
     @Query("""
         SELECT uf.followed FROM UserFollow uf 
         WHERE uf.follower.userId = :userId
@@ -78,28 +150,28 @@ public interface UserJpaRepository extends JpaRepository<User, Integer> {
     @Query("""
         SELECT uf.followed FROM UserFollow uf
         WHERE uf.follower.userId = :userId
-        ORDER BY uf.followed.userName ASC
+        ORDER BY uf.followedName ASC
         """)
     Page<User> findFollowingByUserIdOrderByNameAsc(@Param("userId") Integer userId, Pageable pageable);
 
     @Query("""
         SELECT uf.followed FROM UserFollow uf
         WHERE uf.follower.userId = :userId
-        ORDER BY uf.followed.userName DESC
+        ORDER BY uf.followedName DESC
         """)
     Page<User> findFollowingByUserIdOrderByNameDesc(@Param("userId") Integer userId, Pageable pageable);
 
     @Query("""
         SELECT uf.followed FROM UserFollow uf 
         WHERE uf.follower.userId = :userId 
-        ORDER BY uf.followed.userName ASC
+        ORDER BY uf.followedName ASC
         """)
     List<User> findFollowingByUserIdOrderByNameAsc(@Param("userId") Integer userId);
 
     @Query("""
         SELECT uf.followed FROM UserFollow uf 
         WHERE uf.follower.userId = :userId 
-        ORDER BY uf.followed.userName DESC
+        ORDER BY uf.followedName DESC
         """)
     List<User> findFollowingByUserIdOrderByNameDesc(@Param("userId") Integer userId);
 
@@ -112,6 +184,21 @@ public interface UserJpaRepository extends JpaRepository<User, Integer> {
 
     List<User> findAllByOrderByFollowersCountDesc(Pageable pageable);
 
+    @Query("""
+        SELECT u.userId AS userId, u.userName AS userName, u.followersCount AS followersCount
+        FROM User u
+        WHERE u.userId > :afterId
+        ORDER BY u.userId
+        """)
+    List<LeaderboardRow> findLeaderboardRowsAfterId(@Param("afterId") Integer afterId, Pageable pageable);
+
+    @Query("""
+        SELECT u.userId AS userId, u.userName AS userName, u.followersCount AS followersCount
+        FROM User u
+        WHERE u.userId IN :userIds
+        """)
+    List<LeaderboardRow> findLeaderboardRowsByUserIdIn(@Param("userIds") List<Integer> userIds);
+
     @Query("""
         SELECT COUNT(uf) > 0 
         FROM UserFollow uf 
@@ -166,6 +253,33 @@ public interface UserJpaRepository extends JpaRepository<User, Integer> {
     @Query("UPDATE User u SET u.followersCount = :count WHERE u.userId = :userId")
     void updateFollowersCount(@Param("userId") Integer userId, @Param("count") Integer count);
 
+    // Incremento/decremento atômicos no banco: sem read-modify-write na entidade, sem updates perdidos
+    @Modifying
+    @Query("UPDATE User u SET u.followersCount = COALESCE(u.followersCount, 0) + 1 WHERE u.userId = :userId")
+    int incrementFollowersCount(@Param("userId") Integer userId);
+
+    @Modifying
+    @Query("UPDATE User u SET u.followersCount = u.followersCount - 1 WHERE u.userId = :userId AND u.followersCount > 0")
+    int decrementFollowersCount(@Param("userId") Integer userId);
+
+    // Versões agrupadas para follow/unfollow em lote: um UPDATE para todos os seguidos
+    @Modifying
+    @Query("UPDATE User u SET u.followersCount = COALESCE(u.followersCount, 0) + 1 WHERE u.userId IN :userIds")
+    int incrementFollowersCounts(@Param("userIds") List<Integer> userIds);
+
+    @Modifying
+    @Query("UPDATE User u SET u.followersCount = u.followersCount - 1 WHERE u.userId IN :userIds AND u.followersCount > 0")
+    int decrementFollowersCounts(@Param("userIds") List<Integer> userIds);
+
+    // Aplica um delta agregado (write-behind dos contadores em memória)
+    @Modifying
+    @Query("""
+        UPDATE User u SET u.followersCount = COALESCE(u.followersCount, 0) + :delta
+        WHERE u.userId = :userId
+        AND COALESCE(u.followersCount, 0) + :delta >= 0
+        """)
+    int applyFollowersCountDelta(@Param("userId") Integer userId, @Param("delta") Integer delta);
+
 
     @Query("""
         SELECT DISTINCT uf1.followed 
@@ -180,6 +294,19 @@ public interface UserJpaRepository extends JpaRepository<User, Integer> {
     List<User> findMutualFollowers(@Param("userId") Integer userId);
 
 
+    @Query("""
+        SELECT COUNT(uf1)
+        FROM UserFollow uf1
+        WHERE uf1.followed.userId = :userId
+        AND EXISTS (
+            SELECT 1 FROM UserFollow uf2
+            WHERE uf2.followed.userId = :otherUserId
+            AND uf2.follower.userId = uf1.follower.userId
+        )
+        """)
+    long countCommonFollowers(@Param("userId") Integer userId, @Param("otherUserId") Integer otherUserId);
+
+
     @Query("""
         SELECT DISTINCT uf2.followed 
         FROM UserFollow uf1 
@@ -202,6 +329,41 @@ public interface UserJpaRepository extends JpaRepository<User, Integer> {
         """)
     List<Integer> findFollowingIdsByUserId(@Param("userId") Integer userId);
 
+    @Query("""
+        SELECT uf.follower.userId 
+        FROM UserFollow uf 
+        WHERE uf.followed.userId = :userId
+        """)
+    List<Integer> findFollowerIdsByUserId(@Param("userId") Integer userId);
+
+    @Query("""
+        SELECT uf.followed.userId 
+        FROM UserFollow uf 
+        WHERE uf.follower.userId = :userId 
+        AND uf.followed.feedPulled = true
+        """)
+    List<Integer> findPulledFollowingIdsByUserId(@Param("userId") Integer userId);
+
+    // Leitura com trava na linha do autor: fan-out e transições de modo do mesmo autor são serializados
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u.feedPulled FROM User u WHERE u.userId = :userId")
+    Optional<Boolean> lockFeedPulledByUserId(@Param("userId") Integer userId);
+
+    // Troca condicional: só uma transação concorrente vence a transição e reconstrói a timeline do autor
+    @Modifying
+    @Query("UPDATE User u SET u.feedPulled = :pulled WHERE u.userId = :userId AND u.feedPulled <> :pulled")
+    int updateFeedPulled(@Param("userId") Integer userId, @Param("pulled") boolean pulled);
+
+    @Query("SELECT u.userId FROM User u WHERE u.userId IN :userIds")
+    List<Integer> findExistingIds(@Param("userIds") List<Integer> userIds);
+
+    @Query("""
+        SELECT uf.follower.userId AS followerId, uf.followed.userId AS followedId
+        FROM UserFollow uf
+        WHERE uf.follower.userId IN :followerIds
+        """)
+    List<FollowEdgeRow> findFollowEdgesByFollowerIdIn(@Param("followerIds") List<Integer> followerIds);
+
 
     @Query("SELECT u FROM User u WHERE u.userId = :userId")
     Optional<User> findById(@Param("userId") Integer userId);
@@ -8,6 +8,7 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -35,6 +36,13 @@ public class User {
     @Column(name = "followers_count")
     private Integer followersCount = 0;
 
+    // Autor servido por pull no feed: seus posts não são distribuídos para a timeline dos seguidores.
+    // Mantido pelo TimelineService com histerese em torno de social.feed.timeline.pull-threshold
+    @Column(name = "feed_pulled", nullable = false)
+    @ColumnDefault("false")
+    @JsonIgnore
+    private boolean feedPulled;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonIgnore
     private Set<Post> posts = new HashSet<>();
@@ -7,7 +7,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "user_follows")
+@Table(name = "user_follows", indexes = {
+        @Index(name = "idx_user_follows_followed_name", columnList = "followed_id, follower_name, follower_id"),
+        @Index(name = "idx_user_follows_follower_name", columnList = "follower_id, followed_name, followed_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -32,6 +35,15 @@ public class UserFollow {
     @Column(name = "followed_at")
     private LocalDateTime followedAt;
 
+    // Cópias de users.user_name (imutável): as listas ordenadas por nome paginam pelos índices
+    // (followed_id, follower_name, follower_id) e (follower_id, followed_name, followed_id) sem
+    // ordenar todas as relações do usuário
+    @Column(name = "follower_name", length = 15)
+    private String followerName;
+
+    @Column(name = "followed_name", length = 15)
+    private String followedName;
+
     @PrePersist
     protected void onCreate() {
         followedAt = LocalDateTime.now();
@@ -40,5 +52,7 @@ public class UserFollow {
     public UserFollow(User follower, User followed) {
         this.follower = follower;
         this.followed = followed;
+        this.followerName = follower.getUserName();
+        this.followedName = followed.getUserName();
     }
 }
\ No newline at end of file
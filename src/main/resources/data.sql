@@ -202,6 +202,11 @@ INSERT INTO user_follows (follower_id, followed_id, followed_at) VALUES
                                                                      (50, 2, '2025-12-24 09:00:00'),
                                                                      (50, 9, '2025-12-24 09:30:00');
 
+-- Copiar os nomes de users para user_follows (chave das listas ordenadas por nome)
+UPDATE user_follows uf
+SET uf.follower_name = (SELECT u.user_name FROM users u WHERE u.user_id = uf.follower_id),
+    uf.followed_name = (SELECT u.user_name FROM users u WHERE u.user_id = uf.followed_id);
+
 -- Recalcular followers_count baseado nas relações de follow
 UPDATE users u
 SET u.followers_count = COALESCE((
@@ -450,4 +455,18 @@ UPDATE posts SET likes_count = 3 WHERE post_id = 29;
 UPDATE posts SET likes_count = 4 WHERE post_id = 33;
 UPDATE posts SET likes_count = 3 WHERE post_id = 40;
 UPDATE posts SET likes_count = 2 WHERE post_id = 49;
-UPDATE posts SET likes_count = 5 WHERE post_id = 59;
\ No newline at end of file
+UPDATE posts SET likes_count = 5 WHERE post_id = 59;
+-- Popular a timeline materializada (fan-out) a partir dos follows e posts existentes
+INSERT INTO feed_timeline (owner_id, author_id, post_id, post_date)
+SELECT uf.follower_id, p.user_id, p.post_id, p.date
+FROM posts p
+         JOIN user_follows uf ON uf.followed_id = p.user_id;
+
+-- Score de relevância (ordenação 'rank') e bônus de promo dos posts inseridos acima, mesma fórmula de
+-- Post.refreshScore (cada atribuição calcula o bônus por conta própria, sem depender da ordem do SET)
+UPDATE posts
+SET promo_boost = CASE WHEN has_promo THEN 2.0 * (1 + CASE WHEN price > 0 AND discount IS NOT NULL THEN LEAST(1, discount / price) ELSE 0 END) ELSE 0 END,
+    score = LOG(2, 1 + GREATEST(COALESCE(likes_count, 0), 0)
+                   + CASE WHEN has_promo THEN 2.0 * (1 + CASE WHEN price > 0 AND discount IS NOT NULL THEN LEAST(1, discount / price) ELSE 0 END) ELSE 0 END)
+            + DATEDIFF(date, '1970-01-01') / 7.0
+WHERE date IS NOT NULL;
@@ -0,0 +1,206 @@
+package com.meli.social.integration.controller;
+
+import com.meli.social.post.inter.PostJpaRepository;
+import com.meli.social.post.inter.PostLikeJpaRepository;
+import com.meli.social.post.inter.ProductJpaRepository;
+import com.meli.social.post.inter.TimelineJpaRepository;
+import com.meli.social.user.inter.UserFollowJpaRepository;
+import com.meli.social.user.inter.UserJpaRepository;
+import com.meli.social.user.model.User;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+// Restaura os valores de application.properties que o perfil de teste sobrescreve: a API deve
+// refletir cada escrita na leitura seguinte com a configuração entregue
+@TestPropertySource(properties = {
+        "social.feed.timeline.enabled=true",
+        "social.feed.cache.enabled=true",
+        "social.counters.buffer.enabled=true",
+        "social.outbox.enabled=false",
+        "social.feed.etag.enabled=false"
+})
+@DisplayName("Testes de Integração - Configuração padrão")
+class DefaultConfigIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserJpaRepository userRepository;
+
+    @Autowired
+    private UserFollowJpaRepository userFollowRepository;
+
+    @Autowired
+    private PostJpaRepository postRepository;
+
+    @Autowired
+    private ProductJpaRepository productRepository;
+
+    @Autowired
+    private PostLikeJpaRepository postLikeRepository;
+
+    @Autowired
+    private TimelineJpaRepository timelineRepository;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.reset();
+        RestAssured.port = port;
+        RestAssured.basePath = "";
+        RestAssured.baseURI = "http://localhost";
+        cleanUp();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        timelineRepository.deleteAll();
+        postLikeRepository.deleteAll();
+        postRepository.deleteAll();
+        productRepository.deleteAll();
+        userFollowRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve retornar a contagem de seguidores logo após o follow")
+    void shouldReadFollowersCountRightAfterFollow() {
+        User target = userRepository.saveAndFlush(new User("target"));
+        User followerA = userRepository.saveAndFlush(new User("followera"));
+        User followerB = userRepository.saveAndFlush(new User("followerb"));
+
+        given().post("/users/{userId}/follow/{userIdToFollow}", followerA.getUserId(), target.getUserId()).then().statusCode(200);
+        given().post("/users/{userId}/follow/{userIdToFollow}", followerB.getUserId(), target.getUserId()).then().statusCode(200);
+
+        given()
+                .get("/users/{userId}/followers/count", target.getUserId())
+                .then()
+                .statusCode(200)
+                .body("followersCount", is(2));
+    }
+
+    @Test
+    @DisplayName("Não deve perder follows concorrentes na contagem de seguidores")
+    void shouldCountConcurrentFollows() throws Exception {
+        int followers = 200;
+        User popular = userRepository.saveAndFlush(new User("popular"));
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < followers; i++) {
+            users.add(new User("fan" + i));
+        }
+        List<Integer> followerIds = userRepository.saveAllAndFlush(users).stream().map(User::getUserId).toList();
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> statuses = new ArrayList<>();
+        try {
+            for (Integer followerId : followerIds) {
+                statuses.add(executor.submit(() -> {
+                    start.await();
+                    return given()
+                            .post("/users/{userId}/follow/{userIdToFollow}", followerId, popular.getUserId())
+                            .statusCode();
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> status : statuses) {
+                assertThat(status.get(60, TimeUnit.SECONDS)).isEqualTo(200);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        given()
+                .get("/users/{userId}/followers/count", popular.getUserId())
+                .then()
+                .statusCode(200)
+                .body("followersCount", is(followers));
+    }
+
+    @Test
+    @DisplayName("Deve mostrar o post no feed do seguidor logo após a publicação")
+    void shouldServePostInFeedRightAfterPublish() {
+        User follower = userRepository.saveAndFlush(new User("follower"));
+        User author = userRepository.saveAndFlush(new User("author"));
+
+        given().post("/users/{userId}/follow/{userIdToFollow}", follower.getUserId(), author.getUserId())
+                .then().statusCode(200);
+        given().get("/products/followed/{userId}/list", follower.getUserId())
+                .then().statusCode(200).body("posts.size()", is(0));
+
+        publish(author.getUserId(), 1001, LocalDate.now().minusDays(1));
+
+        given()
+                .get("/products/followed/{userId}/list", follower.getUserId())
+                .then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .body("posts.size()", is(1))
+                .body("posts[0].product.productId", is(1001));
+    }
+
+    @Test
+    @DisplayName("Com o ETag desligado por padrão, If-None-Match deve ser ignorado")
+    void shouldIgnoreIfNoneMatchByDefault() {
+        User user = userRepository.saveAndFlush(new User("reader"));
+
+        given()
+                .header("If-None-Match", "*")
+                .get("/products/followed/{userId}/list", user.getUserId())
+                .then()
+                .statusCode(200)
+                .header("ETag", nullValue());
+    }
+
+    private void publish(Integer userId, Integer productId, LocalDate date) {
+        Map<String, Object> product = new HashMap<>();
+        product.put("productId", productId);
+        product.put("productName", "Produto " + productId);
+        product.put("type", "Tipo");
+        product.put("brand", "Marca");
+        product.put("color", "Preto");
+        product.put("notes", "Teste");
+
+        Map<String, Object> request = new HashMap<>();
+        request.put("userId", userId);
+        request.put("date", date.toString());
+        request.put("product", product);
+        request.put("category", 1);
+        request.put("price", 100.0);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(request)
+                .when()
+                .post("/products/publish")
+                .then()
+                .statusCode(201);
+    }
+}
@@ -0,0 +1,115 @@
+package com.meli.social.integration.controller;
+
+import com.meli.social.post.impl.FeedIndexService;
+import com.meli.social.post.inter.PostJpaRepository;
+import com.meli.social.post.inter.PostLikeJpaRepository;
+import com.meli.social.post.inter.ProductJpaRepository;
+import com.meli.social.post.model.Post;
+import com.meli.social.post.model.Product;
+import com.meli.social.user.inter.UserFollowJpaRepository;
+import com.meli.social.user.inter.UserJpaRepository;
+import com.meli.social.user.model.User;
+import com.meli.social.user.model.UserFollow;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "social.feed.index.enabled=true")
+@DisplayName("Testes de Integração - Feed pelo índice em memória")
+class FeedIndexIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserJpaRepository userRepository;
+
+    @Autowired
+    private UserFollowJpaRepository userFollowRepository;
+
+    @Autowired
+    private PostJpaRepository postRepository;
+
+    @Autowired
+    private ProductJpaRepository productRepository;
+
+    @Autowired
+    private PostLikeJpaRepository postLikeRepository;
+
+    @Autowired
+    private FeedIndexService feedIndexService;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.reset();
+        RestAssured.port = port;
+        RestAssured.basePath = "/products";
+        RestAssured.baseURI = "http://localhost";
+
+        postLikeRepository.deleteAll();
+        postRepository.deleteAll();
+        productRepository.deleteAll();
+        userFollowRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve servir o feed a partir do índice carregado do banco e dos posts publicados")
+    void shouldServeFeedFromWarmedUpAndPublishedPosts() {
+        User follower = userRepository.saveAndFlush(new User("follower"));
+        User author = userRepository.saveAndFlush(new User("author"));
+        userFollowRepository.saveAndFlush(new UserFollow(follower, author));
+
+        Product product = productRepository.saveAndFlush(new Product(1, "Product 1", "Type 1", "Brand 1", "Color 1", "Notes 1"));
+        Post existing = new Post();
+        existing.setUser(author);
+        existing.setProduct(product);
+        existing.setDate(LocalDate.now().minusDays(3));
+        existing.setCategory(1);
+        existing.setPrice(100.0);
+        postRepository.saveAndFlush(existing);
+        feedIndexService.warmUp();
+
+        Map<String, Object> newProduct = new HashMap<>();
+        newProduct.put("productId", 2);
+        newProduct.put("productName", "Product 2");
+        newProduct.put("type", "Type");
+        newProduct.put("brand", "Brand");
+        newProduct.put("color", "Color");
+        newProduct.put("notes", "Notes");
+
+        Map<String, Object> request = new HashMap<>();
+        request.put("userId", author.getUserId());
+        request.put("date", LocalDate.now().minusDays(1).toString());
+        request.put("product", newProduct);
+        request.put("category", 1);
+        request.put("price", 50.0);
+
+        given().contentType(ContentType.JSON).body(request).post("/publish").then().statusCode(201);
+
+        given()
+                .when()
+                .get("/followed/{userId}/list?order=date_asc", follower.getUserId())
+                .then()
+                .statusCode(200)
+                .body("posts.size()", is(2))
+                .body("posts[0].postId", is(existing.getPostId()))
+                .body("posts[1].product.productId", is(2));
+    }
+}
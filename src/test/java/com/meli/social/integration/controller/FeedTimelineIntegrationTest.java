@@ -0,0 +1,235 @@
+package com.meli.social.integration.controller;
+
+import com.meli.social.post.inter.PostJpaRepository;
+import com.meli.social.post.inter.PostLikeJpaRepository;
+import com.meli.social.post.inter.ProductJpaRepository;
+import com.meli.social.post.inter.TimelineJpaRepository;
+import com.meli.social.post.model.Post;
+import com.meli.social.post.model.Product;
+import com.meli.social.user.inter.UserFollowJpaRepository;
+import com.meli.social.user.inter.UserJpaRepository;
+import com.meli.social.user.model.User;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "social.feed.timeline.enabled=true",
+        "social.feed.timeline.pull-threshold=2"
+})
+@DisplayName("Testes de Integração - Feed com timeline materializada")
+class FeedTimelineIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserJpaRepository userRepository;
+
+    @Autowired
+    private UserFollowJpaRepository userFollowRepository;
+
+    @Autowired
+    private PostJpaRepository postRepository;
+
+    @Autowired
+    private ProductJpaRepository productRepository;
+
+    @Autowired
+    private PostLikeJpaRepository postLikeRepository;
+
+    @Autowired
+    private TimelineJpaRepository timelineRepository;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.reset();
+        RestAssured.port = port;
+        RestAssured.basePath = "";
+        RestAssured.baseURI = "http://localhost";
+        cleanUp();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        timelineRepository.deleteAll();
+        postLikeRepository.deleteAll();
+        postRepository.deleteAll();
+        productRepository.deleteAll();
+        userFollowRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve distribuir o post para os seguidores e servir o feed a partir da timeline")
+    void shouldFanOutPostAndServeFeedFromTimeline() {
+        User follower = userRepository.saveAndFlush(new User("follower"));
+        User author = userRepository.saveAndFlush(new User("author"));
+
+        given().post("/users/{userId}/follow/{userIdToFollow}", follower.getUserId(), author.getUserId())
+                .then().statusCode(200);
+
+        publish(author.getUserId(), 1001, LocalDate.now().minusDays(2));
+        publish(author.getUserId(), 1002, LocalDate.now().minusDays(1));
+
+        assertThat(timelineRepository.count()).isEqualTo(2);
+
+        given()
+                .when()
+                .get("/products/followed/{userId}/list?order=date_desc", follower.getUserId())
+                .then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .body("posts.size()", is(2))
+                .body("posts[0].product.productId", is(1002))
+                .body("posts[1].product.productId", is(1001));
+    }
+
+    @Test
+    @DisplayName("Deve preencher a timeline ao seguir e esvaziá-la ao deixar de seguir")
+    void shouldBackfillOnFollowAndPruneOnUnfollow() {
+        User follower = userRepository.saveAndFlush(new User("follower"));
+        User author = userRepository.saveAndFlush(new User("author"));
+
+        Product product = productRepository.saveAndFlush(new Product(1, "Product 1", "Type 1", "Brand 1", "Color 1", "Notes 1"));
+        savePost(author, product, LocalDate.now().minusDays(3));
+        savePost(author, product, LocalDate.now().minusWeeks(3)); // fora da janela
+
+        given().post("/users/{userId}/follow/{userIdToFollow}", follower.getUserId(), author.getUserId())
+                .then().statusCode(200);
+
+        given()
+                .get("/products/followed/{userId}/list", follower.getUserId())
+                .then()
+                .statusCode(200)
+                .body("posts.size()", is(1));
+
+        given().post("/users/{userId}/unfollow/{userIdToUnfollow}", follower.getUserId(), author.getUserId())
+                .then().statusCode(200);
+
+        assertThat(timelineRepository.count()).isZero();
+        given()
+                .get("/products/followed/{userId}/list", follower.getUserId())
+                .then()
+                .statusCode(200)
+                .body("posts.size()", is(0));
+    }
+
+    @Test
+    @DisplayName("Deve buscar na leitura (pull) os posts de autores acima do limite de seguidores")
+    void shouldPullPostsOfHighFollowerAuthors() {
+        User followerA = userRepository.saveAndFlush(new User("followera"));
+        User followerB = userRepository.saveAndFlush(new User("followerb"));
+        User author = userRepository.saveAndFlush(new User("author"));
+
+        given().post("/users/{userId}/follow/{userIdToFollow}", followerA.getUserId(), author.getUserId())
+                .then().statusCode(200);
+        given().post("/users/{userId}/follow/{userIdToFollow}", followerB.getUserId(), author.getUserId())
+                .then().statusCode(200);
+
+        publish(author.getUserId(), 1001, LocalDate.now().minusDays(1));
+
+        assertThat(timelineRepository.count()).isZero();
+        given()
+                .get("/products/followed/{userId}/list", followerA.getUserId())
+                .then()
+                .statusCode(200)
+                .body("posts.size()", is(1))
+                .body("posts[0].product.productId", is(1001));
+    }
+
+    @Test
+    @DisplayName("Ao cair abaixo do limite (com histerese) o autor volta a push e a timeline recebe os posts do período em pull")
+    void shouldBackfillTimelinesWhenAuthorDropsBelowThreshold() {
+        User followerA = userRepository.saveAndFlush(new User("followera"));
+        User followerB = userRepository.saveAndFlush(new User("followerb"));
+        User followerC = userRepository.saveAndFlush(new User("followerc"));
+        User author = userRepository.saveAndFlush(new User("author"));
+
+        follow(followerA, author);
+        follow(followerB, author);
+        publish(author.getUserId(), 1001, LocalDate.now().minusDays(1));
+        // Segue durante o período em pull: o backfill é pulado
+        follow(followerC, author);
+        assertThat(timelineRepository.count()).isZero();
+
+        // 2 seguidores: ainda acima de 2 * (1 - 0.1), continua em pull
+        given().post("/users/{userId}/unfollow/{userIdToUnfollow}", followerB.getUserId(), author.getUserId())
+                .then().statusCode(200);
+        assertThat(userRepository.findById(author.getUserId()).orElseThrow().isFeedPulled()).isTrue();
+        assertThat(timelineRepository.count()).isZero();
+
+        given().post("/users/{userId}/unfollow/{userIdToUnfollow}", followerA.getUserId(), author.getUserId())
+                .then().statusCode(200);
+        assertThat(userRepository.findById(author.getUserId()).orElseThrow().isFeedPulled()).isFalse();
+        assertThat(timelineRepository.count()).isEqualTo(1);
+
+        given()
+                .get("/products/followed/{userId}/list", followerC.getUserId())
+                .then()
+                .statusCode(200)
+                .body("posts.size()", is(1))
+                .body("posts[0].product.productId", is(1001));
+
+        publish(author.getUserId(), 1002, LocalDate.now());
+        assertThat(timelineRepository.count()).isEqualTo(2);
+    }
+
+    private void follow(User follower, User followed) {
+        given().post("/users/{userId}/follow/{userIdToFollow}", follower.getUserId(), followed.getUserId())
+                .then().statusCode(200);
+    }
+
+    private void publish(Integer userId, Integer productId, LocalDate date) {
+        Map<String, Object> product = new HashMap<>();
+        product.put("productId", productId);
+        product.put("productName", "Produto " + productId);
+        product.put("type", "Tipo");
+        product.put("brand", "Marca");
+        product.put("color", "Preto");
+        product.put("notes", "Teste");
+
+        Map<String, Object> request = new HashMap<>();
+        request.put("userId", userId);
+        request.put("date", date.toString());
+        request.put("product", product);
+        request.put("category", 1);
+        request.put("price", 100.0);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(request)
+                .when()
+                .post("/products/publish")
+                .then()
+                .statusCode(201);
+    }
+
+    private void savePost(User user, Product product, LocalDate date) {
+        Post post = new Post();
+        post.setUser(user);
+        post.setProduct(product);
+        post.setDate(date);
+        post.setCategory(1);
+        post.setPrice(100.0);
+        postRepository.saveAndFlush(post);
+    }
+}
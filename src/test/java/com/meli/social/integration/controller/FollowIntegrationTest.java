@@ -11,6 +11,11 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.*;
 
@@ -258,6 +263,114 @@ public class FollowIntegrationTest {
                 .body("status", is(404));
     }
 
+    @Test
+    @Order(17)
+    @DisplayName("Deve manter followersCount exato com 1000 follows paralelos do mesmo usuário")
+    void testFollowUser_ConcurrentFollowsShouldNotLoseUpdates() throws Exception {
+        int followers = 1000;
+        User popular = createAndSaveUser("popular");
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < followers; i++) {
+            users.add(new User("fan" + i));
+        }
+        List<Integer> followerIds = userRepository.saveAllAndFlush(users).stream().map(User::getUserId).toList();
+
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> statuses = new ArrayList<>();
+        try {
+            for (Integer followerId : followerIds) {
+                statuses.add(executor.submit(() -> {
+                    start.await();
+                    return given()
+                            .when()
+                            .post("/users/{userId}/follow/{userIdToFollow}", followerId, popular.getUserId())
+                            .statusCode();
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> status : statuses) {
+                Assertions.assertEquals(200, status.get(60, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertEquals(followers, userRepository.findById(popular.getUserId()).orElseThrow().getFollowersCount());
+        Assertions.assertEquals(followers, userFollowRepository.count());
+    }
+
+    @Test
+    @Order(18)
+    @DisplayName("Deve seguir vários usuários em lote, ignorando os já seguidos")
+    void testFollowUsers_Bulk() {
+        User follower = createAndSaveUser("bulkfollower");
+        User userA = createAndSaveUser("bulka");
+        User userB = createAndSaveUser("bulkb");
+        User userC = createAndSaveUser("bulkc");
+
+        given().post("/users/{userId}/follow/{userIdToFollow}", follower.getUserId(), userB.getUserId()).then().statusCode(200);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("userIds", List.of(userA.getUserId(), userB.getUserId(), userC.getUserId())))
+                .when()
+                .post("/users/{userId}/follow", follower.getUserId())
+                .then()
+                .statusCode(200)
+                .body("userId", is(follower.getUserId()))
+                .body("processedUserIds", contains(userA.getUserId(), userC.getUserId()))
+                .body("skippedUserIds", contains(userB.getUserId()));
+
+        Assertions.assertEquals(3, userFollowRepository.count());
+        for (User followed : List.of(userA, userB, userC)) {
+            Assertions.assertEquals(1, userRepository.findById(followed.getUserId()).orElseThrow().getFollowersCount());
+        }
+
+        given()
+                .get("/users/{userId}/followed/list", follower.getUserId())
+                .then()
+                .statusCode(200)
+                .body("followed", hasSize(3));
+    }
+
+    @Test
+    @Order(19)
+    @DisplayName("Deve deixar de seguir vários usuários em lote e retornar 404 se algum não existir")
+    void testUnfollowUsers_Bulk() {
+        User follower = createAndSaveUser("bulkfollower");
+        User userA = createAndSaveUser("bulka");
+        User userB = createAndSaveUser("bulkb");
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("userIds", List.of(userA.getUserId(), userB.getUserId())))
+                .post("/users/{userId}/follow", follower.getUserId())
+                .then()
+                .statusCode(200);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("userIds", List.of(userA.getUserId(), 99999)))
+                .post("/users/{userId}/unfollow", follower.getUserId())
+                .then()
+                .statusCode(404);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("userIds", List.of(userA.getUserId())))
+                .when()
+                .post("/users/{userId}/unfollow", follower.getUserId())
+                .then()
+                .statusCode(200)
+                .body("processedUserIds", contains(userA.getUserId()))
+                .body("skippedUserIds", empty());
+
+        Assertions.assertEquals(1, userFollowRepository.count());
+        Assertions.assertEquals(0, userRepository.findById(userA.getUserId()).orElseThrow().getFollowersCount());
+        Assertions.assertEquals(1, userRepository.findById(userB.getUserId()).orElseThrow().getFollowersCount());
+    }
+
     private User createAndSaveUser(String userName) {
         User user = new User(userName);
         User saved = userRepository.saveAndFlush(user);
@@ -0,0 +1,145 @@
+package com.meli.social.integration.controller;
+
+import com.meli.social.post.inter.PostJpaRepository;
+import com.meli.social.post.inter.PostLikeJpaRepository;
+import com.meli.social.user.impl.LeaderboardService;
+import com.meli.social.user.inter.UserFollowJpaRepository;
+import com.meli.social.user.inter.UserJpaRepository;
+import com.meli.social.user.model.User;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "social.users.leaderboard.enabled=true")
+@DisplayName("Testes de Integração - Ranking de top usuários em memória")
+class LeaderboardIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserJpaRepository userRepository;
+
+    @Autowired
+    private UserFollowJpaRepository userFollowRepository;
+
+    @Autowired
+    private PostJpaRepository postRepository;
+
+    @Autowired
+    private PostLikeJpaRepository postLikeRepository;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.reset();
+        RestAssured.port = port;
+        RestAssured.basePath = "/users";
+        RestAssured.baseURI = "http://localhost";
+
+        postLikeRepository.deleteAll();
+        postRepository.deleteAll();
+        userFollowRepository.deleteAll();
+        userRepository.deleteAll();
+        leaderboardService.rebuild();
+    }
+
+    @Test
+    @DisplayName("Deve manter o top exato com follows e unfollows paralelos, sem consultar o ranking no banco")
+    void shouldKeepTopUsersExactUnderConcurrentFollows() throws Exception {
+        Integer star = createUser("star");
+        Integer runnerUp = createUser("runnerup");
+        List<Integer> fans = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            fans.add(createUser("lbfan" + i));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (Integer fan : fans) {
+                statuses.add(executor.submit(() -> given().post("/{userId}/follow/{userIdToFollow}", fan, star).statusCode()));
+                if (fan % 2 == 0) {
+                    statuses.add(executor.submit(() -> given().post("/{userId}/follow/{userIdToFollow}", fan, runnerUp).statusCode()));
+                }
+            }
+            for (Future<Integer> status : statuses) {
+                Assertions.assertEquals(200, status.get(60, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        given().post("/{userId}/unfollow/{userIdToUnfollow}", fans.get(0), star).then().statusCode(200);
+
+        int runnerUpFans = (int) fans.stream().filter(fan -> fan % 2 == 0).count();
+        given()
+                .queryParam("limit", 3)
+                .when()
+                .get("/top")
+                .then()
+                .statusCode(200)
+                .body("", hasSize(3))
+                .body("[0].userId", is(star))
+                .body("[0].followersCount", is(59))
+                .body("[1].userId", is(runnerUp))
+                .body("[1].followersCount", is(runnerUpFans))
+                .body("[2].followersCount", is(0));
+
+        // O ranking em memória bate com o banco
+        Assertions.assertEquals(59, userRepository.findById(star).orElseThrow().getFollowersCount());
+        Assertions.assertEquals(runnerUpFans, userRepository.findById(runnerUp).orElseThrow().getFollowersCount());
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir o ranking a partir do banco")
+    void shouldRebuildFromDatabase() {
+        User a = new User("rebuilda");
+        a.setFollowersCount(5);
+        User b = new User("rebuildb");
+        b.setFollowersCount(7);
+        userRepository.saveAllAndFlush(List.of(a, b));
+
+        leaderboardService.rebuild();
+
+        given()
+                .queryParam("limit", 2)
+                .when()
+                .get("/top")
+                .then()
+                .statusCode(200)
+                .body("userName", contains("rebuildb", "rebuilda"))
+                .body("followersCount", contains(7, 5));
+    }
+
+    private Integer createUser(String userName) {
+        return given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("userName", userName))
+                .post()
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("userId");
+    }
+}
@@ -0,0 +1,163 @@
+package com.meli.social.integration.controller;
+
+import com.meli.social.outbox.inter.IOutboxService;
+import com.meli.social.outbox.inter.OutboxJpaRepository;
+import com.meli.social.outbox.model.OutboxEvent;
+import com.meli.social.outbox.model.OutboxEventType;
+import com.meli.social.post.inter.PostJpaRepository;
+import com.meli.social.post.inter.PostLikeJpaRepository;
+import com.meli.social.post.inter.ProductJpaRepository;
+import com.meli.social.post.model.Post;
+import com.meli.social.post.model.Product;
+import com.meli.social.user.inter.UserFollowJpaRepository;
+import com.meli.social.user.inter.UserJpaRepository;
+import com.meli.social.user.model.User;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "social.outbox.enabled=true",
+        // O relay roda só quando o teste chama relay()
+        "social.outbox.relay-interval=PT1H"
+})
+@DisplayName("Testes de Integração - Outbox transacional")
+class OutboxIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private IOutboxService outboxService;
+
+    @Autowired
+    private OutboxJpaRepository outboxRepository;
+
+    @Autowired
+    private UserJpaRepository userRepository;
+
+    @Autowired
+    private UserFollowJpaRepository userFollowRepository;
+
+    @Autowired
+    private PostJpaRepository postRepository;
+
+    @Autowired
+    private PostLikeJpaRepository postLikeRepository;
+
+    @Autowired
+    private ProductJpaRepository productRepository;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.reset();
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost";
+
+        outboxRepository.deleteAll();
+        postLikeRepository.deleteAll();
+        postRepository.deleteAll();
+        userFollowRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Follow deve gravar o evento na transação e o relay deve atualizar o contador uma única vez")
+    void shouldRelayFollowEventExactlyOnce() {
+        User follower = userRepository.saveAndFlush(new User("outboxfollower"));
+        User followed = userRepository.saveAndFlush(new User("outboxfollowed"));
+
+        given()
+                .post("/users/{userId}/follow/{userIdToFollow}", follower.getUserId(), followed.getUserId())
+                .then()
+                .statusCode(200);
+
+        // A relação é gravada na hora; o contador derivado espera o relay
+        assertThat(userFollowRepository.count()).isEqualTo(1);
+        assertThat(followersCountOf(followed)).isZero();
+        List<OutboxEvent> pending = outboxRepository.findAll();
+        assertThat(pending).hasSize(1);
+        assertThat(pending.get(0).getType()).isEqualTo(OutboxEventType.FOLLOW);
+        assertThat(pending.get(0).getProcessedAt()).isNull();
+
+        assertThat(outboxService.relay()).isEqualTo(1);
+        assertThat(followersCountOf(followed)).isEqualTo(1);
+        assertThat(outboxRepository.findAll().get(0).getProcessedAt()).isNotNull();
+
+        // Eventos processados não são entregues de novo
+        assertThat(outboxService.relay()).isZero();
+        assertThat(followersCountOf(followed)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Like e unlike devem chegar ao likesCount pelo relay, na ordem de gravação")
+    void shouldRelayLikeEventsInOrder() {
+        User user = userRepository.saveAndFlush(new User("outboxliker"));
+        Product product = productRepository.findById(7101)
+                .orElseGet(() -> productRepository.saveAndFlush(new Product(7101, "Product", "Type", "Brand", "Color", "Notes")));
+
+        Post post = new Post();
+        post.setUser(user);
+        post.setDate(LocalDate.now());
+        post.setProduct(product);
+        post.setCategory(1);
+        post.setPrice(10.0);
+        post.setHasPromo(false);
+        post.setLikesCount(0);
+        Post saved = postRepository.saveAndFlush(post);
+
+        given().post("/products/{postId}/like/{userId}", saved.getPostId(), user.getUserId()).then().statusCode(200);
+        assertThat(likesCountOf(saved)).isZero();
+
+        assertThat(outboxService.relay()).isEqualTo(1);
+        assertThat(likesCountOf(saved)).isEqualTo(1);
+
+        given().post("/products/{postId}/unlike/{userId}", saved.getPostId(), user.getUserId()).then().statusCode(200);
+        assertThat(outboxService.relay()).isEqualTo(1);
+        assertThat(likesCountOf(saved)).isZero();
+        assertThat(outboxRepository.findAll())
+                .extracting(OutboxEvent::getType)
+                .containsExactly(OutboxEventType.POST_LIKED, OutboxEventType.POST_UNLIKED);
+    }
+
+    @Test
+    @DisplayName("Só o evento pendente mais antigo de cada ator deve ser elegível para o relay")
+    void shouldOnlyExposeOldestPendingEventPerActor() {
+        OutboxEvent follow = outboxRepository.saveAndFlush(new OutboxEvent(OutboxEventType.FOLLOW, 1, 2));
+        OutboxEvent unfollow = outboxRepository.saveAndFlush(new OutboxEvent(OutboxEventType.UNFOLLOW, 1, 2));
+        OutboxEvent other = outboxRepository.saveAndFlush(new OutboxEvent(OutboxEventType.FOLLOW, 3, 2));
+
+        assertThat(outboxRepository.findPendingIdsAfter(0L, PageRequest.of(0, 10)))
+                .containsExactly(follow.getId(), other.getId());
+
+        follow.setProcessedAt(LocalDateTime.now());
+        outboxRepository.saveAndFlush(follow);
+
+        assertThat(outboxRepository.findPendingIdsAfter(0L, PageRequest.of(0, 10)))
+                .containsExactly(unfollow.getId(), other.getId());
+    }
+
+    private int followersCountOf(User user) {
+        return userRepository.findById(user.getUserId()).orElseThrow().getFollowersCount();
+    }
+
+    private int likesCountOf(Post post) {
+        return postRepository.findById(post.getPostId()).orElseThrow().getLikesCount();
+    }
+}
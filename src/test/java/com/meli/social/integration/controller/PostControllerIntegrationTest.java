@@ -1,9 +1,13 @@
 package com.meli.social.integration.controller;
 
+import com.meli.social.post.inter.ArchivedPostJpaRepository;
+import com.meli.social.post.inter.ArchivedPostLikeJpaRepository;
+import com.meli.social.post.inter.IPostArchiveService;
 import com.meli.social.post.inter.PostJpaRepository;
 import com.meli.social.post.inter.PostLikeJpaRepository;
 import com.meli.social.post.inter.ProductJpaRepository;
 import com.meli.social.post.model.Post;
+import com.meli.social.post.model.PostLike;
 import com.meli.social.post.model.Product;
 import com.meli.social.user.inter.UserFollowJpaRepository;
 import com.meli.social.user.inter.UserJpaRepository;
@@ -11,6 +15,7 @@ import com.meli.social.user.model.UserFollow;
 import com.meli.social.user.model.User;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
+import io.restassured.response.Response;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,19 +23,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
  
  import jakarta.persistence.EntityManager;
 
 import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 import static org.hamcrest.Matchers.*;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @ActiveProfiles("test")
+@TestPropertySource(properties = "social.feed.etag.enabled=true")
 @DisplayName("Testes de Integração - PostController")
 class PostControllerIntegrationTest {
 
@@ -52,6 +61,15 @@ class PostControllerIntegrationTest {
     @Autowired
     private PostLikeJpaRepository postLikeRepository;
 
+    @Autowired
+    private ArchivedPostJpaRepository archivedPostRepository;
+
+    @Autowired
+    private ArchivedPostLikeJpaRepository archivedPostLikeRepository;
+
+    @Autowired
+    private IPostArchiveService postArchiveService;
+
     @Autowired
     private EntityManager entityManager;
 
@@ -62,6 +80,8 @@ class PostControllerIntegrationTest {
         RestAssured.basePath = "/products";
         RestAssured.baseURI = "http://localhost";
 
+        archivedPostLikeRepository.deleteAll();
+        archivedPostRepository.deleteAll();
         postLikeRepository.deleteAll();
         postRepository.deleteAll();
         productRepository.deleteAll();
@@ -210,6 +230,65 @@ class PostControllerIntegrationTest {
                 .body("timestamp", notNullValue());
     }
 
+    @Test
+    @DisplayName("Deve arquivar posts antigos com seus likes e somá-los nas rotas de promoção")
+    void shouldArchiveAgedPostsAndUnionThemInPromoRoutes() {
+        User user = userRepository.saveAndFlush(new User("vendedorArquivo"));
+        User liker = userRepository.saveAndFlush(new User("curtidor"));
+        Product oldProduct = productRepository.saveAndFlush(new Product(5101, "Old", "Type", "Brand", "Color", "Notes"));
+        Product newProduct = productRepository.saveAndFlush(new Product(5102, "New", "Type", "Brand", "Color", "Notes"));
+
+        Post old = promoPost(user, oldProduct, LocalDate.now().minusDays(40));
+        old.setLikesCount(1);
+        old = postRepository.saveAndFlush(old);
+        Post recent = postRepository.saveAndFlush(promoPost(user, newProduct, LocalDate.now()));
+
+        PostLike like = new PostLike();
+        like.setUser(liker);
+        like.setPost(old);
+        postLikeRepository.saveAndFlush(like);
+
+        int archived = postArchiveService.archivePostsBefore(LocalDate.now().minusDays(30));
+
+        assertThat(archived).isEqualTo(1);
+        assertThat(postRepository.findById(old.getPostId())).isEmpty();
+        assertThat(postRepository.findById(recent.getPostId())).isPresent();
+        assertThat(archivedPostRepository.findById(old.getPostId())).isPresent();
+        assertThat(postLikeRepository.count()).isZero();
+        assertThat(archivedPostLikeRepository.countByPostId(old.getPostId())).isEqualTo(1);
+
+        given()
+                .when()
+                .get("/promo-pub/count?userId={userId}", user.getUserId())
+                .then()
+                .statusCode(200)
+                .body("promoProductsCount", is(2));
+
+        given()
+                .when()
+                .get("/promo-pub/list?userId={userId}", user.getUserId())
+                .then()
+                .statusCode(200)
+                .body("posts", hasSize(2))
+                .body("posts[0].postId", is(recent.getPostId()))
+                .body("posts[1].postId", is(old.getPostId()))
+                .body("posts[1].userId", is(user.getUserId()))
+                .body("posts[1].product.productName", is("Old"));
+    }
+
+    private Post promoPost(User user, Product product, LocalDate date) {
+        Post post = new Post();
+        post.setUser(user);
+        post.setDate(date);
+        post.setProduct(product);
+        post.setCategory(1);
+        post.setPrice(10.0);
+        post.setHasPromo(true);
+        post.setDiscount(0.10);
+        post.setLikesCount(0);
+        return post;
+    }
+
     @Test
     @DisplayName("Deve dar like em um post e incrementar likesCount")
     void shouldLikePostSuccessfully() {
@@ -237,6 +316,10 @@ class PostControllerIntegrationTest {
 
         Post reloaded = postRepository.findById(saved.getPostId()).orElseThrow();
         assertThat(reloaded.getLikesCount()).isEqualTo(1);
+        // O UPDATE atômico ajusta o score no banco igual ao recálculo da entidade
+        double storedScore = reloaded.getScore();
+        reloaded.refreshScore();
+        assertThat(storedScore).isCloseTo(reloaded.getScore(), within(1e-9));
         assertThat(postLikeRepository.count()).isEqualTo(1);
     }
 
@@ -273,6 +356,10 @@ class PostControllerIntegrationTest {
 
         Post reloaded = postRepository.findById(saved.getPostId()).orElseThrow();
         assertThat(reloaded.getLikesCount()).isEqualTo(0);
+        // O UPDATE atômico ajusta o score no banco igual ao recálculo da entidade
+        double storedScore = reloaded.getScore();
+        reloaded.refreshScore();
+        assertThat(storedScore).isCloseTo(reloaded.getScore(), within(1e-9));
         assertThat(postLikeRepository.count()).isEqualTo(0);
     }
 
@@ -607,6 +694,9 @@ class PostControllerIntegrationTest {
                 .contentType(ContentType.JSON)
                 .body("posts.size()", is(2))
                 .body("posts[0].postId", is(p2.getPostId()))
+                .body("posts[0].product.productId", is(p2.getProduct().getProductId()))
+                .body("posts[0].product.productName", is(p2.getProduct().getProductName()))
+                .body("posts[0].date", is(p2.getDate().toString()))
                 .body("posts[1].postId", is(p3.getPostId()));
     }
 
@@ -825,6 +915,292 @@ class PostControllerIntegrationTest {
                 .body("timestamp", notNullValue());
     }
 
+    @Test
+    @DisplayName("Deve paginar o feed por cursor sem repetir posts com a mesma data")
+    void shouldPaginateFeedByCursorWithSameDatePosts() {
+        User user = userRepository.saveAndFlush(new User("testuser"));
+        User user2 = userRepository.saveAndFlush(new User("testuser2"));
+        userFollowRepository.saveAndFlush(new UserFollow(user, user2));
+
+        Product product = productRepository.saveAndFlush(new Product(1, "Product 1", "Type 1", "Brand 1", "Color 1", "Notes 1"));
+        for (int i = 0; i < 3; i++) {
+            Post post = new Post();
+            post.setDate(LocalDate.now().minusDays(1));
+            post.setProduct(product);
+            post.setUser(user2);
+            post.setCategory(1);
+            post.setPrice(100.0);
+            postRepository.save(post);
+        }
+
+        Response first = given()
+                .when()
+                .get("/followed/{userId}/list?cursor=&size=2", user.getUserId())
+                .then()
+                .statusCode(200)
+                .body("posts.size()", is(2))
+                .body("nextCursor", notNullValue())
+                .extract().response();
+
+        List<Integer> firstIds = first.path("posts.postId");
+        String nextCursor = first.path("nextCursor");
+
+        List<Integer> secondIds = given()
+                .when()
+                .get("/followed/{userId}/list?cursor={cursor}&size=2", user.getUserId(), nextCursor)
+                .then()
+                .statusCode(200)
+                .body("posts.size()", is(1))
+                .body("nextCursor", nullValue())
+                .extract().path("posts.postId");
+
+        assertThat(firstIds.get(0)).isGreaterThan(firstIds.get(1));
+        assertThat(secondIds.get(0)).isLessThan(firstIds.get(1));
+    }
+
+    @Test
+    @DisplayName("Deve retornar os feeds de vários usuários em uma chamada, indexados por userId")
+    void shouldReturnFeedBatchPerUser() {
+        User user = userRepository.saveAndFlush(new User("testuser"));
+        User user2 = userRepository.saveAndFlush(new User("testuser2"));
+        User user3 = userRepository.saveAndFlush(new User("testuser3"));
+        userFollowRepository.saveAndFlush(new UserFollow(user, user2));
+        userFollowRepository.saveAndFlush(new UserFollow(user, user3));
+        userFollowRepository.saveAndFlush(new UserFollow(user2, user3));
+
+        Product product = productRepository.saveAndFlush(new Product(1, "Product 1", "Type 1", "Brand 1", "Color 1", "Notes 1"));
+        Post fromUser2 = new Post();
+        fromUser2.setDate(LocalDate.now().minusDays(1));
+        fromUser2.setProduct(product);
+        fromUser2.setUser(user2);
+        fromUser2.setCategory(1);
+        fromUser2.setPrice(100.0);
+        postRepository.save(fromUser2);
+        Post fromUser3 = new Post();
+        fromUser3.setDate(LocalDate.now().minusDays(2));
+        fromUser3.setProduct(product);
+        fromUser3.setUser(user3);
+        fromUser3.setCategory(1);
+        fromUser3.setPrice(100.0);
+        postRepository.save(fromUser3);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(List.of(user.getUserId(), user2.getUserId(), user3.getUserId()))
+                .when()
+                .post("/followed/batch/list")
+                .then()
+                .statusCode(200)
+                .body(user.getUserId() + ".posts.postId", contains(fromUser2.getPostId(), fromUser3.getPostId()))
+                .body(user.getUserId() + ".posts[0].product.productName", is("Product 1"))
+                .body(user2.getUserId() + ".posts.postId", contains(fromUser3.getPostId()))
+                .body(user3.getUserId() + ".userId", is(user3.getUserId()))
+                .body(user3.getUserId() + ".posts", nullValue());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 quando a lista do feed em lote for vazia")
+    void shouldReturn400WhenFeedBatchIsEmpty() {
+        given()
+                .contentType(ContentType.JSON)
+                .body(List.of())
+                .when()
+                .post("/followed/batch/list")
+                .then()
+                .statusCode(400)
+                .body("message", equalTo("Lista de usuários não pode ser vazia"));
+    }
+
+    @Test
+    @DisplayName("Deve exportar o feed completo em NDJSON, um post por linha, sem limite de size")
+    void shouldExportFeedAsNdjson() {
+        User user = userRepository.saveAndFlush(new User("testuser"));
+        User user2 = userRepository.saveAndFlush(new User("testuser2"));
+        User user3 = userRepository.saveAndFlush(new User("testuser3"));
+        userFollowRepository.saveAndFlush(new UserFollow(user, user2));
+
+        Product product = productRepository.saveAndFlush(new Product(1, "Product 1", "Type 1", "Brand 1", "Color 1", "Notes 1"));
+        for (int i = 0; i < 120; i++) {
+            Post post = new Post();
+            post.setDate(LocalDate.now().minusDays(i % 10));
+            post.setProduct(product);
+            post.setUser(user2);
+            post.setCategory(1);
+            post.setPrice(100.0);
+            postRepository.save(post);
+        }
+        Post notFollowed = new Post();
+        notFollowed.setDate(LocalDate.now());
+        notFollowed.setProduct(product);
+        notFollowed.setUser(user3);
+        notFollowed.setCategory(1);
+        notFollowed.setPrice(100.0);
+        postRepository.save(notFollowed);
+
+        String body = given()
+                .when()
+                .get("/followed/{userId}/export?order=date_asc", user.getUserId())
+                .then()
+                .statusCode(200)
+                .contentType("application/x-ndjson")
+                .extract().asString();
+
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize(120);
+        assertThat(lines.get(0)).contains("\"date\":\"" + LocalDate.now().minusDays(9) + "\"");
+        assertThat(lines.get(0)).contains("\"productName\":\"Product 1\"");
+        assertThat(lines.get(119)).contains("\"date\":\"" + LocalDate.now() + "\"");
+    }
+
+    @Test
+    @DisplayName("Deve retornar 404 ao assinar o feed ao vivo de usuário inexistente")
+    void shouldReturn404WhenStreamingFeedOfUnknownUser() {
+        given()
+                .when()
+                .get("/followed/{userId}/stream", 999999)
+                .then()
+                .statusCode(404)
+                .body("message", equalTo("Usuário não encontrado: 999999"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 404 ao exportar o feed de usuário inexistente")
+    void shouldReturn404WhenExportingFeedOfUnknownUser() {
+        given()
+                .when()
+                .get("/followed/{userId}/export", 999999)
+                .then()
+                .statusCode(404)
+                .body("message", equalTo("Usuário não encontrado: 999999"));
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 para ETag atual e 200 com novo ETag depois que um seguido publicar")
+    void shouldReturn304WhenFeedIsUnchangedAndRefreshAfterNewPost() {
+        User user = userRepository.saveAndFlush(new User("testuser"));
+        User user2 = userRepository.saveAndFlush(new User("testuser2"));
+        userFollowRepository.saveAndFlush(new UserFollow(user, user2));
+
+        String etag = given()
+                .when()
+                .get("/followed/{userId}/list", user.getUserId())
+                .then()
+                .statusCode(200)
+                .header("ETag", notNullValue())
+                .extract().header("ETag");
+
+        given()
+                .header("If-None-Match", etag)
+                .when()
+                .get("/followed/{userId}/list", user.getUserId())
+                .then()
+                .statusCode(304)
+                .header("ETag", equalTo(etag));
+
+        Map<String, Object> product = new HashMap<>();
+        product.put("productId", 1001);
+        product.put("productName", "Mouse Gamer");
+        product.put("type", "Periferico");
+        product.put("brand", "Logitech");
+        product.put("color", "Preto");
+        product.put("notes", "Teste");
+        Map<String, Object> request = new HashMap<>();
+        request.put("userId", user2.getUserId());
+        request.put("product", product);
+        request.put("category", 58);
+        request.put("price", 299.90);
+        given()
+                .contentType(ContentType.JSON)
+                .body(request)
+                .when()
+                .post("/publish")
+                .then()
+                .statusCode(201);
+
+        given()
+                .header("If-None-Match", etag)
+                .when()
+                .get("/followed/{userId}/list", user.getUserId())
+                .then()
+                .statusCode(200)
+                .header("ETag", not(equalTo(etag)))
+                .body("posts.size()", is(1));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 404, e não 304, para usuário inexistente com If-None-Match: *")
+    void shouldReturn404ForMissingUserEvenWithWildcardETag() {
+        given()
+                .header("If-None-Match", "*")
+                .when()
+                .get("/followed/{userId}/list", 999999)
+                .then()
+                .statusCode(404)
+                .body("message", equalTo("Usuário não encontrado: 999999"));
+    }
+
+    @Test
+    @DisplayName("Deve ordenar o feed por relevância (likes, promo e recência) com order=rank, também por cursor")
+    void shouldReturnFeedOrderedByRank() {
+        User user = userRepository.saveAndFlush(new User("testuser"));
+        User user2 = userRepository.saveAndFlush(new User("testuser2"));
+        userFollowRepository.saveAndFlush(new UserFollow(user, user2));
+
+        Product product = productRepository.saveAndFlush(new Product(1, "Product 1", "Type 1", "Brand 1", "Color 1", "Notes 1"));
+        Post recent = rankPost(user2, product, LocalDate.now(), 0, false);
+        Post popular = rankPost(user2, product, LocalDate.now().minusDays(3), 40, false);
+        Post promo = rankPost(user2, product, LocalDate.now().minusDays(1), 0, true);
+
+        given()
+                .when()
+                .get("/followed/{userId}/list?order=rank", user.getUserId())
+                .then()
+                .statusCode(200)
+                .body("posts.postId", contains(popular.getPostId(), promo.getPostId(), recent.getPostId()));
+
+        String nextCursor = given()
+                .when()
+                .get("/followed/{userId}/list?order=rank&cursor=&size=2", user.getUserId())
+                .then()
+                .statusCode(200)
+                .body("posts.postId", contains(popular.getPostId(), promo.getPostId()))
+                .extract().path("nextCursor");
+
+        given()
+                .when()
+                .get("/followed/{userId}/list?order=rank&cursor={cursor}&size=2", user.getUserId(), nextCursor)
+                .then()
+                .statusCode(200)
+                .body("posts.postId", contains(recent.getPostId()))
+                .body("nextCursor", nullValue());
+    }
+
+    private Post rankPost(User author, Product product, LocalDate date, int likes, boolean promo) {
+        Post post = new Post();
+        post.setDate(date);
+        post.setProduct(product);
+        post.setUser(author);
+        post.setCategory(1);
+        post.setPrice(100.0);
+        post.setHasPromo(promo);
+        post.setDiscount(promo ? 50.0 : null);
+        post.setLikesCount(likes);
+        return postRepository.save(post);
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 quando o cursor do feed for inválido")
+    void shouldReturn400WhenFeedCursorIsInvalid() {
+        User user = userRepository.saveAndFlush(new User("testuser"));
+
+        given()
+                .when()
+                .get("/followed/{userId}/list?cursor={cursor}", user.getUserId(), "invalido")
+                .then()
+                .statusCode(400)
+                .body("message", equalTo("Cursor inválido: invalido"));
+    }
+
     @Test
     @DisplayName("Deve retornar 400 quando size for maior que 100 na listagem de promo")
     void shouldReturn400WhenPromoListSizeIsGreaterThan100() {
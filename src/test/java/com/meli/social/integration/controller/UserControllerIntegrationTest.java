@@ -6,6 +6,7 @@ import com.meli.social.user.inter.UserJpaRepository;
 import com.meli.social.user.model.User;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
+import io.restassured.response.Response;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,7 +15,9 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static io.restassured.RestAssured.given;
@@ -406,6 +409,151 @@ class UserControllerIntegrationTest {
                 .body("timestamp", notNullValue());
     }
 
+    @Test
+    @DisplayName("Deve listar os seguidores mútuos e contar seguidores em comum")
+    void shouldReturnMutualFollowsAndCommonFollowersCount() {
+        User userA = createAndSaveUser("mutuala");
+        User userB = createAndSaveUser("mutualb");
+        User userC = createAndSaveUser("mutualc");
+        User userD = createAndSaveUser("mutuald");
+
+        given().when().post("/{userId}/follow/{userIdToFollow}", userA.getUserId(), userB.getUserId()).then().statusCode(200);
+        given().when().post("/{userId}/follow/{userIdToFollow}", userB.getUserId(), userA.getUserId()).then().statusCode(200);
+        given().when().post("/{userId}/follow/{userIdToFollow}", userA.getUserId(), userC.getUserId()).then().statusCode(200);
+        given().when().post("/{userId}/follow/{userIdToFollow}", userD.getUserId(), userC.getUserId()).then().statusCode(200);
+        given().when().post("/{userId}/follow/{userIdToFollow}", userD.getUserId(), userB.getUserId()).then().statusCode(200);
+
+        given()
+                .when()
+                .get("/{userId}/mutual/list", userA.getUserId())
+                .then()
+                .statusCode(200)
+                .body("userId", is(userA.getUserId()))
+                .body("followed", hasSize(1))
+                .body("followed[0].userId", is(userB.getUserId()));
+
+        given()
+                .when()
+                .get("/{userId}/followers/common/{otherUserId}/count", userB.getUserId(), userC.getUserId())
+                .then()
+                .statusCode(200)
+                .body("userId", is(userB.getUserId()))
+                .body("otherUserId", is(userC.getUserId()))
+                .body("commonFollowersCount", is(2));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 404 ao contar seguidores em comum com usuário inexistente")
+    void shouldReturn404WhenCommonFollowersUserDoesNotExist() {
+        User userA = createAndSaveUser("commona");
+
+        given()
+                .when()
+                .get("/{userId}/followers/common/{otherUserId}/count", userA.getUserId(), 99999)
+                .then()
+                .statusCode(404)
+                .body("message", equalTo("Usuário não encontrado: 99999"));
+    }
+
+    @Test
+    @DisplayName("Deve sugerir amigos de amigos ordenados por conexões em comum e refletir novos follows")
+    void shouldReturnRankedSuggestionsAndRefreshAfterFollow() {
+        User userA = createAndSaveUser("suggesta");
+        User userB = createAndSaveUser("suggestb");
+        User userC = createAndSaveUser("suggestc");
+        User userD = createAndSaveUser("suggestd");
+        User userE = createAndSaveUser("suggeste");
+
+        given().when().post("/{userId}/follow/{userIdToFollow}", userA.getUserId(), userB.getUserId()).then().statusCode(200);
+        given().when().post("/{userId}/follow/{userIdToFollow}", userA.getUserId(), userC.getUserId()).then().statusCode(200);
+        given().when().post("/{userId}/follow/{userIdToFollow}", userB.getUserId(), userD.getUserId()).then().statusCode(200);
+        given().when().post("/{userId}/follow/{userIdToFollow}", userC.getUserId(), userD.getUserId()).then().statusCode(200);
+        given().when().post("/{userId}/follow/{userIdToFollow}", userC.getUserId(), userE.getUserId()).then().statusCode(200);
+
+        given()
+                .when()
+                .get("/{userId}/suggestions", userA.getUserId())
+                .then()
+                .statusCode(200)
+                .body("userId", is(userA.getUserId()))
+                .body("suggestions", hasSize(2))
+                .body("suggestions[0].userId", is(userD.getUserId()))
+                .body("suggestions[0].sharedConnections", is(2))
+                .body("suggestions[1].userId", is(userE.getUserId()))
+                .body("suggestions[1].sharedConnections", is(1));
+
+        given()
+                .when()
+                .get("/{userId}/suggestions?page=1&size=1", userA.getUserId())
+                .then()
+                .statusCode(200)
+                .body("suggestions", hasSize(1))
+                .body("suggestions[0].userId", is(userE.getUserId()));
+
+        given().when().post("/{userId}/follow/{userIdToFollow}", userA.getUserId(), userD.getUserId()).then().statusCode(200);
+
+        given()
+                .when()
+                .get("/{userId}/suggestions", userA.getUserId())
+                .then()
+                .statusCode(200)
+                .body("suggestions", hasSize(1))
+                .body("suggestions[0].userId", is(userE.getUserId()));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 404 ao buscar sugestões de usuário inexistente")
+    void shouldReturn404WhenSuggestionsUserDoesNotExist() {
+        given()
+                .when()
+                .get("/{userId}/suggestions", 99999)
+                .then()
+                .statusCode(404);
+    }
+
+    @Test
+    @DisplayName("Deve percorrer seguidores e seguidos por cursor na ordem (userName, userId)")
+    void shouldPageFollowersAndFollowingByCursor() {
+        User celebrity = createAndSaveUser("cursorceleb");
+        List<String> names = List.of("cursore", "cursorb", "cursord", "cursora", "cursorc");
+        for (String name : names) {
+            User follower = createAndSaveUser(name);
+            given().when().post("/{userId}/follow/{userIdToFollow}", follower.getUserId(), celebrity.getUserId()).then().statusCode(200);
+            given().when().post("/{userId}/follow/{userIdToFollow}", celebrity.getUserId(), follower.getUserId()).then().statusCode(200);
+        }
+
+        for (String list : List.of("followers", "followed")) {
+            List<String> seen = new ArrayList<>();
+            String cursor = "";
+            int pages = 0;
+            while (cursor != null) {
+                Response response = given()
+                        .queryParam("cursor", cursor)
+                        .queryParam("size", 2)
+                        .queryParam("order", "name_desc")
+                        .when()
+                        .get("/{userId}/" + list + "/list", celebrity.getUserId())
+                        .then()
+                        .statusCode(200)
+                        .extract()
+                        .response();
+                seen.addAll(response.jsonPath().getList(list + ".userName", String.class));
+                cursor = response.jsonPath().getString("nextCursor");
+                pages++;
+            }
+
+            assertThat(seen).containsExactly("cursore", "cursord", "cursorc", "cursorb", "cursora");
+            assertThat(pages).isEqualTo(3);
+        }
+
+        given()
+                .queryParam("cursor", "invalido!")
+                .when()
+                .get("/{userId}/followers/list", celebrity.getUserId())
+                .then()
+                .statusCode(400);
+    }
+
     private User createAndSaveUser(String userName) {
         User user = new User(userName);
         User saved = userRepository.saveAndFlush(user);
@@ -0,0 +1,151 @@
+package com.meli.social.unit.service;
+
+import com.meli.social.post.impl.CounterBufferService;
+import com.meli.social.post.inter.IFeedVersionService;
+import com.meli.social.post.inter.IPostRepository;
+import com.meli.social.user.inter.UserJpaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CounterBufferService - Contadores write-behind Tests")
+class CounterBufferServiceTest {
+
+    @Mock
+    private IPostRepository postRepository;
+
+    @Mock
+    private UserJpaRepository userRepository;
+
+    @Mock
+    private IFeedVersionService feedVersionService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private CounterBufferService counterBufferService;
+
+    @BeforeEach
+    void setUp() {
+        counterBufferService = new CounterBufferService(postRepository, userRepository, feedVersionService, transactionManager, meterRegistry, true, 2);
+    }
+
+    @Test
+    @DisplayName("Deve agregar os deltas por chave e gravá-los em um UPDATE por post/usuário no flush")
+    void testFlush_ShouldApplyAggregatedDeltas() {
+        counterBufferService.addLikes(10, 1);
+        counterBufferService.addLikes(10, 1);
+        counterBufferService.addLikes(10, -1);
+        counterBufferService.addLikes(11, 1);
+        counterBufferService.addFollowers(2, 1);
+        counterBufferService.addFollowers(2, 1);
+
+        assertEquals(1, counterBufferService.pendingLikes(10));
+        assertEquals(2, counterBufferService.pendingFollowers(2));
+        assertEquals(Map.of(2, 2L), counterBufferService.pendingFollowers());
+
+        counterBufferService.flush();
+
+        verify(postRepository).applyLikesCountDelta(10, 1);
+        verify(postRepository).applyLikesCountDelta(11, 1);
+        verify(userRepository).applyFollowersCountDelta(2, 2);
+        assertEquals(0, counterBufferService.pendingLikes(10));
+        assertEquals(0, counterBufferService.pendingFollowers(2));
+        assertEquals(3.0, meterRegistry.counter("social.counters.buffer.flushed").count());
+    }
+
+    @Test
+    @DisplayName("Após gravar os likes, deve invalidar cache e versão dos feeds dos seguidores dos autores")
+    void testFlush_ShouldRefreshFeedsAfterWritingLikes() {
+        when(postRepository.findAuthorIdsByPostIdIn(List.of(10))).thenReturn(List.of(2));
+        counterBufferService.addLikes(10, 1);
+        counterBufferService.flush();
+
+        var order = inOrder(postRepository, feedVersionService);
+        order.verify(postRepository).applyLikesCountDelta(10, 1);
+        order.verify(feedVersionService).bumpFollowersOf(2);
+    }
+
+    @Test
+    @DisplayName("Deltas que se anulam não devem gerar UPDATE")
+    void testFlush_ZeroDeltaShouldNotWrite() {
+        counterBufferService.addLikes(10, 1);
+        counterBufferService.addLikes(10, -1);
+
+        counterBufferService.flush();
+
+        verifyNoInteractions(postRepository, userRepository);
+    }
+
+    @Test
+    @DisplayName("Falha ao gravar deve devolver os deltas do lote para o próximo flush")
+    void testFlush_FailureShouldKeepDeltas() {
+        counterBufferService.addFollowers(2, 3);
+        doThrow(new IllegalStateException("db down")).when(userRepository).applyFollowersCountDelta(2, 3);
+
+        counterBufferService.flush();
+
+        assertEquals(3, counterBufferService.pendingFollowers(2));
+        assertEquals(1.0, meterRegistry.counter("social.counters.buffer.flush.failures").count());
+    }
+
+    @Test
+    @DisplayName("Não deve perder nem duplicar deltas com likes e flushes concorrentes")
+    void testConcurrentAddsAndFlushes_ShouldNotLoseUpdates() throws Exception {
+        Map<Integer, AtomicLong> persisted = new ConcurrentHashMap<>();
+        doAnswer(invocation -> {
+            persisted.computeIfAbsent(invocation.getArgument(0), id -> new AtomicLong()).addAndGet(invocation.<Integer>getArgument(1));
+            return 1;
+        }).when(postRepository).applyLikesCountDelta(anyInt(), anyInt());
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch done = new CountDownLatch(8);
+            for (int t = 0; t < 8; t++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < 5_000; i++) {
+                        counterBufferService.addLikes(i % 3, 1);
+                    }
+                    done.countDown();
+                });
+            }
+            while (!done.await(1, TimeUnit.MILLISECONDS)) {
+                counterBufferService.flush();
+            }
+            counterBufferService.flush();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long total = persisted.values().stream().mapToLong(AtomicLong::get).sum();
+        assertEquals(40_000, total);
+    }
+
+    @Test
+    @DisplayName("Desabilitado: flush não deve gravar nada")
+    void testFlush_WhenDisabled_ShouldDoNothing() {
+        CounterBufferService disabled = new CounterBufferService(postRepository, userRepository, feedVersionService, transactionManager, meterRegistry, false, 2);
+
+        disabled.flush();
+
+        assertFalse(disabled.isEnabled());
+        verifyNoInteractions(postRepository, userRepository, transactionManager);
+    }
+}
@@ -0,0 +1,98 @@
+package com.meli.social.unit.service;
+
+import com.meli.social.post.dto.FollowedPostsDTO;
+import com.meli.social.post.impl.FeedCacheService;
+import com.meli.social.post.impl.FeedVersionService;
+import com.meli.social.user.inter.UserJpaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FeedCacheService - Cache e invalidação Tests")
+class FeedCacheServiceTest {
+
+    @Mock
+    private UserJpaRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private FeedVersionService feedVersionService;
+    private FeedCacheService feedCacheService;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        feedVersionService = new FeedVersionService(userRepository, false, true, 1000);
+        feedCacheService = new FeedCacheService(feedVersionService, meterRegistry, true, 100, Duration.ofMinutes(5));
+        loads.set(0);
+    }
+
+    private FollowedPostsDTO load(Integer userId) {
+        loads.incrementAndGet();
+        return new FollowedPostsDTO(userId, List.of());
+    }
+
+    @Test
+    @DisplayName("Deve carregar uma vez e servir as leituras seguintes do cache, por página")
+    void testGet_ShouldCachePerPage() {
+        FollowedPostsDTO first = feedCacheService.get(1, "date_desc", 0, 10, () -> load(1));
+        FollowedPostsDTO second = feedCacheService.get(1, "DATE_DESC", 0, 10, () -> load(1));
+        feedCacheService.get(1, "date_desc", 1, 10, () -> load(1));
+
+        assertSame(first, second);
+        assertEquals(2, loads.get());
+        assertEquals(1.0, meterRegistry.counter("social.feed.cache.hits").count());
+        assertEquals(2.0, meterRegistry.counter("social.feed.cache.misses").count());
+    }
+
+    @Test
+    @DisplayName("Deve invalidar apenas os seguidores do autor")
+    void testBumpFollowersOf_ShouldInvalidateOnlyFollowers() {
+        feedCacheService.get(1, null, 0, 10, () -> load(1));
+        feedCacheService.get(2, null, 0, 10, () -> load(2));
+        when(userRepository.findFollowerIdsByUserId(9)).thenReturn(List.of(1));
+
+        feedVersionService.bumpFollowersOf(9);
+        feedCacheService.get(1, null, 0, 10, () -> load(1));
+        feedCacheService.get(2, null, 0, 10, () -> load(2));
+
+        assertEquals(3, loads.get());
+        verify(userRepository, times(1)).findFollowerIdsByUserId(9);
+    }
+
+    @Test
+    @DisplayName("Não deve gravar no cache uma carga concorrente com uma escrita no feed do usuário")
+    void testGet_ShouldNotStoreLoadRacingWithBump() {
+        feedCacheService.get(1, null, 0, 10, () -> {
+            feedVersionService.bumpUser(1);
+            return load(1);
+        });
+        feedCacheService.get(1, null, 0, 10, () -> load(1));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Escrita no feed de outro usuário não deve descartar a carga em andamento")
+    void testGet_ShouldStoreLoadRacingWithOtherUserBump() {
+        feedCacheService.get(1, null, 0, 10, () -> {
+            feedVersionService.bumpUser(2);
+            return load(1);
+        });
+        feedCacheService.get(1, null, 0, 10, () -> load(1));
+
+        assertEquals(1, loads.get());
+    }
+}
@@ -0,0 +1,142 @@
+package com.meli.social.unit.service;
+
+import com.meli.social.post.dto.FeedCursor;
+import com.meli.social.post.dto.PostIndexRow;
+import com.meli.social.post.impl.FeedIndexService;
+import com.meli.social.post.inter.IPostRepository;
+import com.meli.social.post.model.Post;
+import com.meli.social.user.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FeedIndexService - K-way merge Tests")
+class FeedIndexServiceTest {
+
+    @Mock
+    private IPostRepository postRepository;
+
+    private FeedIndexService feedIndexService;
+
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        feedIndexService = new FeedIndexService(postRepository, true);
+        when(postRepository.findIndexRowsByDateFrom(any())).thenReturn(List.of(
+                row(2, 1, today.minusDays(5)),
+                row(2, 4, today.minusDays(1)),
+                row(3, 2, today.minusDays(3)),
+                row(3, 5, today.minusDays(1)),
+                row(4, 3, today.minusDays(2))
+        ));
+        feedIndexService.warmUp();
+    }
+
+    private static PostIndexRow row(Integer userId, Integer postId, LocalDate date) {
+        return new PostIndexRow() {
+            public Integer getUserId() { return userId; }
+            public Integer getPostId() { return postId; }
+            public LocalDate getDate() { return date; }
+        };
+    }
+
+    private List<Integer> page(Sort.Direction direction, int offset, int limit) {
+        return feedIndexService.findFeedPostIds(List.of(2, 3, 4), today.minusDays(14), today, direction, offset, limit);
+    }
+
+    @Test
+    @DisplayName("Deve intercalar os posts dos autores em ordem (date, postId) decrescente")
+    void testMerge_Descending() {
+        assertEquals(List.of(5, 4, 3, 2, 1), page(Sort.Direction.DESC, 0, 10));
+    }
+
+    @Test
+    @DisplayName("Deve intercalar os posts dos autores em ordem (date, postId) crescente e respeitar offset/limit")
+    void testMerge_AscendingWithOffset() {
+        assertEquals(List.of(1, 2, 3, 4, 5), page(Sort.Direction.ASC, 0, 10));
+        assertEquals(List.of(3, 4), page(Sort.Direction.ASC, 2, 2));
+    }
+
+    @Test
+    @DisplayName("Deve considerar apenas os autores seguidos e a janela de datas")
+    void testMerge_FiltersAuthorsAndWindow() {
+        List<Integer> ids = feedIndexService.findFeedPostIds(List.of(2, 99), today.minusDays(2), today, Sort.Direction.DESC, 0, 10);
+
+        assertEquals(List.of(4), ids);
+    }
+
+    @Test
+    @DisplayName("Deve continuar a partir do cursor sem repetir posts")
+    void testMerge_ByCursor() {
+        FeedCursor after = new FeedCursor(today.minusDays(1), 4);
+
+        List<Integer> desc = feedIndexService.findFeedPostIds(List.of(2, 3, 4), today.minusDays(14), today, Sort.Direction.DESC, after, 2);
+        List<Integer> asc = feedIndexService.findFeedPostIds(List.of(2, 3, 4), today.minusDays(14), today, Sort.Direction.ASC, after, 2);
+
+        assertEquals(List.of(3, 2), desc);
+        assertEquals(List.of(5), asc);
+    }
+
+    @Test
+    @DisplayName("Deve indexar novos posts fora de transação imediatamente")
+    void testIndex_NewPost() {
+        User author = new User("author");
+        author.setUserId(4);
+        Post post = new Post();
+        post.setPostId(9);
+        post.setUser(author);
+        post.setDate(today);
+
+        feedIndexService.index(post);
+        feedIndexService.index(post);
+
+        assertEquals(List.of(9, 5, 4), page(Sort.Direction.DESC, 0, 3));
+    }
+
+    @Test
+    @DisplayName("Posts indexados durante o aquecimento não devem ser descartados pela carga")
+    void testWarmUp_ShouldKeepPostsIndexedDuringLoad() {
+        FeedIndexService warming = new FeedIndexService(postRepository, true);
+        User author = new User("author");
+        author.setUserId(4);
+        Post post = new Post();
+        post.setPostId(9);
+        post.setUser(author);
+        post.setDate(today);
+        when(postRepository.findIndexRowsByDateFrom(any())).thenAnswer(invocation -> {
+            // Commit concorrente à leitura, que não o enxergou
+            warming.index(post);
+            return List.of(row(4, 3, today.minusDays(2)), row(2, 1, today.minusDays(5)));
+        });
+
+        assertFalse(warming.isEnabled());
+        warming.warmUp();
+
+        assertTrue(warming.isEnabled());
+        assertEquals(List.of(9, 3, 1), warming.findFeedPostIds(List.of(2, 4), today.minusDays(14), today, Sort.Direction.DESC, 0, 10));
+    }
+
+    @Test
+    @DisplayName("Não deve indexar quando desabilitado")
+    void testDisabled() {
+        FeedIndexService disabled = new FeedIndexService(postRepository, false);
+        disabled.warmUp();
+
+        assertFalse(disabled.isEnabled());
+        assertTrue(disabled.findFeedPostIds(List.of(2), today.minusDays(14), today, Sort.Direction.DESC, 0, 10).isEmpty());
+        verify(postRepository, times(1)).findIndexRowsByDateFrom(any());
+    }
+}
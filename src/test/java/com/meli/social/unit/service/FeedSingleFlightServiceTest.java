@@ -0,0 +1,97 @@
+package com.meli.social.unit.service;
+
+import com.meli.social.exception.UserNotFoundException;
+import com.meli.social.post.dto.FollowedPostsDTO;
+import com.meli.social.post.impl.FeedSingleFlightService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FeedSingleFlightService - Coalescência Tests")
+class FeedSingleFlightServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private FeedSingleFlightService singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new FeedSingleFlightService(meterRegistry, true);
+    }
+
+    private double coalesced() {
+        return meterRegistry.counter("social.feed.single-flight.coalesced").count();
+    }
+
+    @Test
+    @DisplayName("Deve executar uma única consulta para chamadas concorrentes idênticas")
+    void testExecute_ShouldShareInFlightResult() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        FollowedPostsDTO expected = new FollowedPostsDTO(1, List.of());
+
+        CompletableFuture<FollowedPostsDTO> leader = CompletableFuture.supplyAsync(() ->
+                singleFlight.execute(1, "date_desc", 0, 10, () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return expected;
+                }));
+        while (loads.get() == 0) {
+            Thread.onSpinWait();
+        }
+
+        CompletableFuture<FollowedPostsDTO> follower = CompletableFuture.supplyAsync(() ->
+                singleFlight.execute(1, "DATE_DESC", 0, 10, () -> {
+                    loads.incrementAndGet();
+                    return new FollowedPostsDTO(1, List.of());
+                }));
+        while (coalesced() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertSame(expected, leader.get(5, TimeUnit.SECONDS));
+        assertSame(expected, follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+        assertEquals(1.0, coalesced());
+    }
+
+    @Test
+    @DisplayName("Deve propagar o erro da consulta e liberar a chave para novas chamadas")
+    void testExecute_ShouldPropagateErrorAndReleaseKey() {
+        assertThrows(UserNotFoundException.class, () -> singleFlight.execute(1, null, 0, 10, () -> {
+            throw new UserNotFoundException("Usuário não encontrado: 1");
+        }));
+
+        FollowedPostsDTO result = singleFlight.execute(1, null, 0, 10, () -> new FollowedPostsDTO(1, null));
+
+        assertEquals(1, result.getUserId());
+        assertEquals(0.0, coalesced());
+    }
+
+    @Test
+    @DisplayName("Não deve coalescer chamadas com chaves diferentes")
+    void testExecute_ShouldNotCoalesceDifferentKeys() {
+        singleFlight.execute(1, null, 0, 10, () -> new FollowedPostsDTO(1, null));
+        singleFlight.execute(1, null, 1, 10, () -> new FollowedPostsDTO(1, null));
+
+        assertEquals(0.0, coalesced());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.meli.social.unit.service;
+
+import com.meli.social.exception.UserNotFoundException;
+import com.meli.social.post.impl.FeedStreamService;
+import com.meli.social.post.model.Post;
+import com.meli.social.user.inter.UserJpaRepository;
+import com.meli.social.user.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FeedStreamService - Pub/sub SSE Tests")
+class FeedStreamServiceTest {
+
+    @Mock
+    private UserJpaRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private FeedStreamService feedStreamService;
+    private final CountDownLatch sendGate = new CountDownLatch(1);
+    private volatile boolean blockSends;
+
+    static class RecordingEmitter extends SseEmitter {
+        final AtomicInteger sent = new AtomicInteger();
+        volatile boolean sending;
+        volatile boolean completed;
+        private final FeedStreamServiceTest test;
+
+        RecordingEmitter(FeedStreamServiceTest test) {
+            this.test = test;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (test.blockSends) {
+                sending = true;
+                try {
+                    test.sendGate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Envio interrompido", ex);
+                } finally {
+                    sending = false;
+                }
+            }
+            sent.incrementAndGet();
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        feedStreamService = new FeedStreamService(userRepository, meterRegistry, Duration.ofMinutes(1), 2, 2, Duration.ZERO) {
+            @Override
+            protected SseEmitter createEmitter(long timeoutMillis) {
+                return new RecordingEmitter(FeedStreamServiceTest.this);
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        sendGate.countDown();
+        feedStreamService.shutdown();
+    }
+
+    private RecordingEmitter subscribe(Integer userId, List<Integer> following) {
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userRepository.findFollowingIdsByUserId(userId)).thenReturn(following);
+        return (RecordingEmitter) feedStreamService.subscribe(userId);
+    }
+
+    private static Post post(Integer postId, Integer authorId) {
+        User author = new User("author" + authorId);
+        author.setUserId(authorId);
+        Post post = new Post();
+        post.setPostId(postId);
+        post.setUser(author);
+        post.setDate(LocalDate.now());
+        return post;
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condição não atingida no tempo limite");
+            Thread.onSpinWait();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve entregar o post apenas aos assinantes que seguem o autor")
+    void testPublish_ShouldDeliverOnlyToFollowersOfAuthor() {
+        RecordingEmitter follower = subscribe(1, List.of(2));
+        RecordingEmitter other = subscribe(3, List.of(4));
+
+        feedStreamService.publish(post(10, 2));
+
+        awaitUntil(() -> follower.sent.get() == 1);
+        assertEquals(0, other.sent.get());
+        assertEquals(1.0, meterRegistry.counter("social.feed.stream.delivered").count());
+    }
+
+    @Test
+    @DisplayName("Deve passar a receber posts de um autor seguido depois da assinatura")
+    void testFollow_ShouldAddAuthorToOpenSubscription() {
+        RecordingEmitter emitter = subscribe(1, List.of());
+
+        feedStreamService.follow(1, 2);
+        feedStreamService.publish(post(10, 2));
+        awaitUntil(() -> emitter.sent.get() == 1);
+
+        feedStreamService.unfollow(1, 2);
+        feedStreamService.publish(post(11, 2));
+        assertEquals(1, emitter.sent.get());
+    }
+
+    @Test
+    @DisplayName("Deve desconectar o assinante lento quando sua fila estourar")
+    void testPublish_ShouldEvictSlowConsumer() {
+        blockSends = true;
+        RecordingEmitter slow = subscribe(1, List.of(2));
+
+        for (int i = 0; i < 5; i++) {
+            feedStreamService.publish(post(100 + i, 2));
+        }
+
+        // Com um send bloqueado, o emitter só é fechado quando ele termina
+        awaitUntil(() -> feedStreamService.subscriberCount() == 0);
+        sendGate.countDown();
+        awaitUntil(() -> slow.completed);
+        assertEquals(1.0, meterRegistry.counter("social.feed.stream.evicted").count());
+    }
+
+    @Test
+    @DisplayName("Deve desconectar o assinante cujo envio passar do send-timeout e liberar a thread")
+    void testEvictStalled_ShouldEvictAndInterruptBlockedSend() {
+        blockSends = true;
+        RecordingEmitter stalled = subscribe(1, List.of(2));
+
+        feedStreamService.publish(post(100, 2));
+        awaitUntil(() -> stalled.sending);
+
+        assertEquals(1, feedStreamService.evictStalled());
+        awaitUntil(() -> stalled.completed);
+        assertEquals(0, stalled.sent.get());
+        assertEquals(0, feedStreamService.subscriberCount());
+        assertEquals(1.0, meterRegistry.counter("social.feed.stream.evicted").count());
+    }
+
+    @Test
+    @DisplayName("Não deve desconectar assinantes sem envio em andamento")
+    void testEvictStalled_ShouldIgnoreIdleSubscribers() {
+        subscribe(1, List.of(2));
+
+        assertEquals(0, feedStreamService.evictStalled());
+        assertEquals(1, feedStreamService.subscriberCount());
+    }
+
+    @Test
+    @DisplayName("Deve lançar UserNotFoundException ao assinar o feed de usuário inexistente")
+    void testSubscribe_UnknownUser() {
+        when(userRepository.existsById(999)).thenReturn(false);
+
+        assertThrows(UserNotFoundException.class, () -> feedStreamService.subscribe(999));
+        assertEquals(0, feedStreamService.subscriberCount());
+    }
+}
@@ -0,0 +1,85 @@
+package com.meli.social.unit.service;
+
+import com.meli.social.post.impl.FeedVersionService;
+import com.meli.social.user.inter.UserJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FeedVersionService - Versão do feed Tests")
+class FeedVersionServiceTest {
+
+    @Mock
+    private UserJpaRepository userRepository;
+
+    private FeedVersionService feedVersionService;
+
+    @BeforeEach
+    void setUp() {
+        feedVersionService = new FeedVersionService(userRepository, true, false, 1000);
+    }
+
+    @Test
+    @DisplayName("Deve manter o ETag estável enquanto o feed do usuário não mudar")
+    void testETag_ShouldBeStableWithoutChanges() {
+        assertEquals(feedVersionService.etag(1), feedVersionService.etag(1));
+        assertEquals(0L, feedVersionService.currentVersion(1));
+    }
+
+    @Test
+    @DisplayName("Deve avançar a versão dos seguidores quando o autor publicar")
+    void testBumpFollowersOf_ShouldAdvanceOnlyFollowers() {
+        when(userRepository.findFollowerIdsByUserId(9)).thenReturn(List.of(1, 2));
+        String before = feedVersionService.etag(1);
+
+        feedVersionService.bumpFollowersOf(9);
+
+        assertNotEquals(before, feedVersionService.etag(1));
+        assertTrue(feedVersionService.currentVersion(2) > 0);
+        assertEquals(0L, feedVersionService.currentVersion(3));
+    }
+
+    @Test
+    @DisplayName("Deve avançar a versão de forma monotônica a cada alteração")
+    void testBumpUser_ShouldBeMonotonic() {
+        feedVersionService.bumpUser(1);
+        long first = feedVersionService.currentVersion(1);
+        feedVersionService.bumpUser(1);
+
+        assertTrue(feedVersionService.currentVersion(1) > first);
+    }
+
+    @Test
+    @DisplayName("Usuário removido do mapa limitado não deve voltar a uma versão menor")
+    void testCurrentVersion_ShouldStayMonotonicAfterEviction() {
+        FeedVersionService bounded = new FeedVersionService(userRepository, true, false, 1);
+        bounded.bumpUser(1);
+        long first = bounded.currentVersion(1);
+        for (int userId = 2; userId <= 50; userId++) {
+            bounded.bumpUser(userId);
+        }
+
+        assertTrue(bounded.currentVersion(1) >= first);
+        assertTrue(bounded.currentVersion(99) > 0);
+    }
+
+    @Test
+    @DisplayName("Sem ETag nem cache não deve consultar os seguidores")
+    void testBumpFollowersOf_ShouldSkipLookupWhenNotTracking() {
+        FeedVersionService disabled = new FeedVersionService(userRepository, false, false, 1000);
+
+        disabled.bumpFollowersOf(9);
+
+        assertFalse(disabled.isEtagEnabled());
+        verifyNoInteractions(userRepository);
+    }
+}
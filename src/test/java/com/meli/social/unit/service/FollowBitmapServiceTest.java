@@ -0,0 +1,135 @@
+package com.meli.social.unit.service;
+
+import com.meli.social.user.dto.FollowEdgeIdRow;
+import com.meli.social.user.impl.FollowBitmapService;
+import com.meli.social.user.inter.UserFollowJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FollowBitmapService - Bitmaps de follows Tests")
+class FollowBitmapServiceTest {
+
+    @Mock
+    private UserFollowJpaRepository userFollowRepository;
+
+    private FollowBitmapService bitmaps;
+
+    private static FollowEdgeIdRow edge(long id, int followerId, int followedId) {
+        return new FollowEdgeIdRow() {
+            public Long getId() { return id; }
+            public Integer getFollowerId() { return followerId; }
+            public Integer getFollowedId() { return followedId; }
+        };
+    }
+
+    // 1 <-> 2, 1 <-> 3, 1 -> 4, 5 -> 2, 5 -> 3
+    @BeforeEach
+    void setUp() {
+        when(userFollowRepository.findEdgesAfterId(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                edge(1, 1, 2), edge(2, 2, 1), edge(3, 1, 3), edge(4, 3, 1),
+                edge(5, 1, 4), edge(6, 5, 2), edge(7, 5, 3)));
+        bitmaps = new FollowBitmapService(userFollowRepository, true);
+        bitmaps.load();
+    }
+
+    @Test
+    @DisplayName("Deve responder pertinência, mútuos e seguidores em comum a partir dos bitmaps")
+    void testLoad_ShouldAnswerFromBitmaps() {
+        assertTrue(bitmaps.isFollowing(1, 4));
+        assertFalse(bitmaps.isFollowing(4, 1));
+        assertEquals(List.of(2, 3), bitmaps.findMutualFollowIds(1));
+        assertEquals(List.of(1), bitmaps.findMutualFollowIds(2));
+        assertEquals(2, bitmaps.countCommonFollowers(2, 3));
+        assertEquals(0, bitmaps.countCommonFollowers(4, 99));
+    }
+
+    @Test
+    @DisplayName("Follow e unfollow devem atualizar os bitmaps dos dois lados")
+    void testFollowUnfollow_ShouldUpdateBothSides() {
+        bitmaps.follow(4, 1);
+        bitmaps.unfollow(1, 3);
+
+        assertTrue(bitmaps.isFollowing(4, 1));
+        assertFalse(bitmaps.isFollowing(1, 3));
+        assertEquals(List.of(2, 4), bitmaps.findMutualFollowIds(1));
+        assertEquals(1, bitmaps.countCommonFollowers(2, 3));
+    }
+
+    @Test
+    @DisplayName("Follows commitados durante a carga não devem ser sobrescritos pela troca dos bitmaps")
+    void testLoad_ShouldKeepChangesCommittedDuringScan() {
+        reset(userFollowRepository);
+        FollowBitmapService reloading = new FollowBitmapService(userFollowRepository, true);
+        when(userFollowRepository.findEdgesAfterId(eq(0L), any(Pageable.class))).thenAnswer(invocation -> {
+            // Commits concorrentes à leitura: um follow novo e o unfollow de uma aresta já lida
+            reloading.follow(5, 1);
+            reloading.unfollow(1, 3);
+            return List.of(edge(1, 1, 3), edge(2, 1, 2));
+        });
+
+        assertFalse(reloading.isEnabled());
+        reloading.load();
+
+        assertTrue(reloading.isEnabled());
+        assertTrue(reloading.isFollowing(5, 1));
+        assertFalse(reloading.isFollowing(1, 3));
+        assertEquals(0, reloading.countCommonFollowers(1, 3));
+    }
+
+    @Test
+    @DisplayName("Follows concorrentes no mesmo usuário não devem se perder")
+    void testConcurrentFollows_ShouldNotLoseUpdates() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                int offset = 100 + thread * 500;
+                tasks.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        bitmaps.follow(offset + i, 2);
+                        bitmaps.follow(offset + i, 3);
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(2002, bitmaps.countCommonFollowers(2, 3));
+        assertTrue(bitmaps.isFollowing(1999, 3));
+    }
+
+    @Test
+    @DisplayName("Desabilitado: não deve carregar nem registrar follows")
+    void testDisabled_ShouldDoNothing() {
+        reset(userFollowRepository);
+        FollowBitmapService disabled = new FollowBitmapService(userFollowRepository, false);
+
+        disabled.load();
+        disabled.follow(1, 2);
+
+        assertFalse(disabled.isEnabled());
+        assertFalse(disabled.isFollowing(1, 2));
+        verifyNoInteractions(userFollowRepository);
+    }
+}
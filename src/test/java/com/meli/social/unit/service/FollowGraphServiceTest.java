@@ -0,0 +1,277 @@
+package com.meli.social.unit.service;
+
+import com.meli.social.user.dto.FollowEdgeChecksum;
+import com.meli.social.user.dto.FollowEdgeIdRow;
+import com.meli.social.user.impl.FollowGraphService;
+import com.meli.social.user.inter.UserFollowJpaRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FollowGraphService - Grafo de follows em memória Tests")
+class FollowGraphServiceTest {
+
+    @Mock
+    private UserFollowJpaRepository userFollowRepository;
+
+    private static FollowEdgeIdRow edge(long id, int followerId, int followedId) {
+        return new FollowEdgeIdRow() {
+            public Long getId() { return id; }
+            public Integer getFollowerId() { return followerId; }
+            public Integer getFollowedId() { return followedId; }
+        };
+    }
+
+    // Checksum do banco para as arestas {follower, followed} informadas
+    private static FollowEdgeChecksum checksum(int[]... edges) {
+        long hashSum = 0;
+        for (int[] edge : edges) {
+            hashSum += FollowEdgeChecksum.edgeHash(edge[0], edge[1]);
+        }
+        long count = edges.length;
+        long sum = hashSum;
+        return new FollowEdgeChecksum() {
+            public Long getEdges() { return count; }
+            public Long getEdgeHashSum() { return sum; }
+        };
+    }
+
+    @TempDir
+    Path tempDir;
+
+    // Carga completa (sem snapshot ainda) seguida da gravação do snapshot com high-water mark 4
+    private Path writtenSnapshot() {
+        Path snapshot = tempDir.resolve("graph/follow-graph.snapshot");
+        when(userFollowRepository.findEdgesAfterId(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(edge(1, 1, 3), edge(2, 1, 2), edge(3, 2, 3), edge(4, 4, 1)));
+        when(userFollowRepository.findMaxId()).thenReturn(4L);
+
+        FollowGraphService graph = new FollowGraphService(userFollowRepository, true, 100, snapshot.toString());
+        graph.load();
+        graph.writeSnapshot();
+
+        assertTrue(Files.exists(snapshot));
+        return snapshot;
+    }
+
+    // 1 -> 2, 1 -> 3, 2 -> 3, 4 -> 1
+    private FollowGraphService loadedGraph(int compactThreshold) {
+        when(userFollowRepository.findEdgesAfterId(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(edge(1, 1, 3), edge(2, 1, 2), edge(3, 2, 3), edge(4, 4, 1)));
+        FollowGraphService graph = new FollowGraphService(userFollowRepository, true, compactThreshold, "");
+        graph.load();
+        return graph;
+    }
+
+    @Test
+    @DisplayName("Deve carregar user_follows e responder seguidos, seguidores e contagens da memória")
+    void testLoad_ShouldAnswerFromCsr() {
+        FollowGraphService graph = loadedGraph(100);
+
+        assertTrue(graph.isFollowing(1, 2));
+        assertTrue(graph.isFollowing(1, 3));
+        assertFalse(graph.isFollowing(2, 1));
+        assertFalse(graph.isFollowing(99, 1));
+        assertEquals(List.of(2, 3), graph.findFollowingIds(1));
+        assertEquals(List.of(1, 2), graph.findFollowerIds(3));
+        assertEquals(2, graph.findFollowingIds(1).size());
+        assertEquals(2, graph.countFollowers(3));
+        assertEquals(0, graph.countFollowers(4));
+        assertThat(graph.findFollowingIds(99)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Follow e unfollow devem ser refletidos pela camada delta")
+    void testFollowUnfollow_ShouldApplyDelta() {
+        FollowGraphService graph = loadedGraph(100);
+
+        graph.follow(3, 1);
+        graph.unfollow(1, 2);
+        graph.follow(1, 2);
+        graph.unfollow(2, 3);
+
+        assertTrue(graph.isFollowing(3, 1));
+        assertTrue(graph.isFollowing(1, 2));
+        assertFalse(graph.isFollowing(2, 3));
+        assertEquals(List.of(1), graph.findFollowingIds(3));
+        assertThat(graph.findFollowerIds(1)).containsExactlyInAnyOrder(4, 3);
+        assertEquals(List.of(1), graph.findFollowerIds(3));
+        assertThat(graph.findFollowingIds(2)).isEmpty();
+        assertEquals(2, graph.countFollowers(1));
+    }
+
+    @Test
+    @DisplayName("Deve compactar a delta na base ao atingir o limite, mantendo as respostas")
+    void testCompaction_ShouldKeepAnswers() {
+        FollowGraphService graph = loadedGraph(2);
+
+        graph.follow(5, 1);
+        graph.unfollow(1, 3);
+        graph.follow(5, 2);
+
+        assertEquals(List.of(1, 2), graph.findFollowingIds(5));
+        assertEquals(List.of(2), graph.findFollowingIds(1));
+        assertEquals(List.of(2), graph.findFollowerIds(3));
+        assertEquals(2, graph.countFollowers(1));
+    }
+
+    @Test
+    @DisplayName("Deve restaurar o grafo do snapshot mapeado e ler do banco só as linhas após o high-water mark")
+    void testLoad_ShouldRestoreSnapshotAndReplayNewerRows() {
+        Path snapshot = writtenSnapshot();
+        when(userFollowRepository.findEdgesAfterId(eq(4L), any(Pageable.class))).thenReturn(List.of(edge(5, 3, 4)));
+        when(userFollowRepository.findEdgeChecksum()).thenReturn(checksum(new int[]{1, 3}, new int[]{1, 2}, new int[]{2, 3}, new int[]{4, 1}, new int[]{3, 4}));
+
+        FollowGraphService restored = new FollowGraphService(userFollowRepository, true, 100, snapshot.toString());
+        restored.load();
+
+        assertTrue(restored.isFollowing(3, 4));
+        assertEquals(List.of(2, 3), restored.findFollowingIds(1));
+        assertEquals(List.of(1, 2), restored.findFollowerIds(3));
+        assertEquals(List.of(3), restored.findFollowerIds(4));
+        assertEquals(1, restored.countFollowers(1));
+        // A carga completa só aconteceu uma vez, antes de existir o snapshot
+        verify(userFollowRepository, times(1)).findEdgesAfterId(eq(0L), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Snapshot divergente do banco (ex.: unfollow depois dele) deve cair na carga completa")
+    void testLoad_ShouldFallBackWhenSnapshotDiverges() {
+        Path snapshot = writtenSnapshot();
+        when(userFollowRepository.findEdgesAfterId(eq(4L), any(Pageable.class))).thenReturn(List.of());
+        // 1 -> 3 foi removido do banco depois do snapshot
+        when(userFollowRepository.findEdgeChecksum()).thenReturn(checksum(new int[]{1, 2}, new int[]{2, 3}, new int[]{4, 1}));
+        when(userFollowRepository.findEdgesAfterId(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(edge(2, 1, 2), edge(3, 2, 3), edge(4, 4, 1)));
+
+        FollowGraphService restored = new FollowGraphService(userFollowRepository, true, 100, snapshot.toString());
+        restored.load();
+
+        assertFalse(restored.isFollowing(1, 3));
+        assertEquals(List.of(2), restored.findFollowingIds(1));
+        verify(userFollowRepository, times(2)).findEdgesAfterId(eq(0L), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Snapshot com destinos trocados entre arestas (mesmas somas de ids) deve cair na carga completa")
+    void testLoad_ShouldFallBackWhenEdgesAreSwapped() {
+        Path snapshot = writtenSnapshot();
+        when(userFollowRepository.findEdgesAfterId(eq(4L), any(Pageable.class))).thenReturn(List.of());
+        // Banco com 2 -> 1 e 4 -> 3 no lugar de 2 -> 3 e 4 -> 1: contagem e somas de origens/destinos iguais
+        when(userFollowRepository.findEdgeChecksum())
+                .thenReturn(checksum(new int[]{1, 3}, new int[]{1, 2}, new int[]{2, 1}, new int[]{4, 3}));
+        when(userFollowRepository.findEdgesAfterId(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(edge(1, 1, 3), edge(2, 1, 2), edge(3, 2, 1), edge(4, 4, 3)));
+
+        FollowGraphService restored = new FollowGraphService(userFollowRepository, true, 100, snapshot.toString());
+        restored.load();
+
+        assertTrue(restored.isFollowing(2, 1));
+        assertFalse(restored.isFollowing(2, 3));
+        verify(userFollowRepository, times(2)).findEdgesAfterId(eq(0L), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Snapshot corrompido deve ser ignorado em favor da carga completa")
+    void testLoad_ShouldFallBackWhenSnapshotIsCorrupted() throws IOException {
+        Path snapshot = writtenSnapshot();
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[bytes.length / 2] ^= 0x7F;
+        Files.write(snapshot, bytes);
+
+        FollowGraphService restored = new FollowGraphService(userFollowRepository, true, 100, snapshot.toString());
+        restored.load();
+
+        assertEquals(List.of(2, 3), restored.findFollowingIds(1));
+        verify(userFollowRepository, times(2)).findEdgesAfterId(eq(0L), any(Pageable.class));
+        verify(userFollowRepository, never()).findEdgeChecksum();
+    }
+
+    @Test
+    @DisplayName("Antes da carga o grafo deve se declarar indisponível e guardar os follows commitados durante a leitura")
+    void testLoad_ShouldKeepChangesCommittedDuringScan() {
+        FollowGraphService graph = new FollowGraphService(userFollowRepository, true, 100, "");
+        when(userFollowRepository.findEdgesAfterId(eq(0L), any(Pageable.class))).thenAnswer(invocation -> {
+            // Commits concorrentes à leitura: um follow novo e o unfollow de uma aresta já lida
+            graph.follow(5, 1);
+            graph.unfollow(1, 3);
+            return List.of(edge(1, 1, 3), edge(2, 1, 2));
+        });
+
+        assertFalse(graph.isEnabled());
+        graph.load();
+
+        assertTrue(graph.isEnabled());
+        assertTrue(graph.isFollowing(5, 1));
+        assertFalse(graph.isFollowing(1, 3));
+        assertEquals(List.of(2), graph.findFollowingIds(1));
+        assertEquals(1, graph.countFollowers(1));
+    }
+
+    @Test
+    @DisplayName("Compactações em segundo plano não devem perder follows concorrentes")
+    void testCompaction_ShouldNotLoseConcurrentChanges() throws Exception {
+        FollowGraphService graph = loadedGraph(3);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                int offset = thread * 500;
+                tasks.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        graph.follow(1000 + offset + i, 1);
+                        if (i % 2 == 0) {
+                            graph.unfollow(1000 + offset + i, 1);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // 4 * 250 follows restantes + 4 -> 1 da carga
+        assertEquals(1001, graph.countFollowers(1));
+        assertEquals(1001, graph.findFollowerIds(1).size());
+        assertTrue(graph.isFollowing(1001, 1));
+        assertFalse(graph.isFollowing(1000, 1));
+    }
+
+    @Test
+    @DisplayName("Desabilitado: não deve carregar nem registrar follows")
+    void testDisabled_ShouldDoNothing() {
+        FollowGraphService graph = new FollowGraphService(userFollowRepository, false, 100, "");
+
+        graph.load();
+        graph.follow(1, 2);
+
+        assertFalse(graph.isEnabled());
+        assertFalse(graph.isFollowing(1, 2));
+        verifyNoInteractions(userFollowRepository);
+    }
+}
@@ -2,8 +2,21 @@ package com.meli.social.unit.service;
 
 import com.meli.social.exception.PostUnprocessableException;
 import com.meli.social.exception.UserNotFoundException;
+import com.meli.social.outbox.inter.IOutboxService;
+import com.meli.social.outbox.model.OutboxEvent;
+import com.meli.social.outbox.model.OutboxEventType;
+import com.meli.social.post.inter.ICounterBufferService;
+import com.meli.social.post.inter.IFeedStreamService;
+import com.meli.social.post.inter.IFeedVersionService;
+import com.meli.social.post.inter.ITimelineService;
+import com.meli.social.user.dto.BulkFollowResultDTO;
 import com.meli.social.user.dto.UserSimpleDTO;
 import com.meli.social.user.impl.FollowService;
+import com.meli.social.user.inter.IFollowBitmapService;
+import com.meli.social.user.inter.IFollowGraphService;
+import com.meli.social.user.inter.ILeaderboardService;
+import com.meli.social.user.inter.ISuggestionService;
+import com.meli.social.user.inter.IUserRepository;
 import com.meli.social.user.inter.UserFollowJpaRepository;
 import com.meli.social.user.model.User;
 import com.meli.social.user.inter.UserJpaRepository;
@@ -15,6 +28,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -29,12 +43,42 @@ public class FollowServiceTest {
     @Mock
     private UserFollowJpaRepository userFollowRepository;
 
+    @Mock
+    private ITimelineService timelineService;
+
+    @Mock
+    private IFeedStreamService feedStreamService;
+
+    @Mock
+    private IFeedVersionService feedVersionService;
+
+    @Mock
+    private IFollowGraphService followGraphService;
+
+    @Mock
+    private IFollowBitmapService followBitmapService;
+
+    @Mock
+    private ICounterBufferService counterBufferService;
+
+    @Mock
+    private IUserRepository userBatchRepository;
+
+    @Mock
+    private ISuggestionService suggestionService;
+
+    @Mock
+    private ILeaderboardService leaderboardService;
+
+    @Mock
+    private IOutboxService outboxService;
+
     @InjectMocks
     private FollowService followService;
 
     @BeforeEach
     void setUp() {
-        reset(userRepository, userFollowRepository);
+        reset(userRepository, userFollowRepository, timelineService, feedStreamService, feedVersionService, followGraphService, followBitmapService, counterBufferService, userBatchRepository, suggestionService, leaderboardService, outboxService);
     }
 
     private User createUser(Integer userId, String userName) {
@@ -62,6 +106,16 @@ public class FollowServiceTest {
         assertEquals(false, resultExpectedFalse);
     }
 
+    @Test
+    @DisplayName("Com o grafo em memória habilitado, isFollowing não deve consultar o banco")
+    void testIsFollowing_ShouldUseFollowGraphWhenEnabled() {
+        when(followGraphService.isEnabled()).thenReturn(true);
+        when(followGraphService.isFollowing(1, 2)).thenReturn(true);
+
+        assertTrue(followService.isFollowing(1, 2));
+        verify(userFollowRepository, never()).existsFollow(any(), any());
+    }
+
     @Test
     @DisplayName("Deve retornar o usuário que segue outro")
     void testFollowUser() {
@@ -72,7 +126,6 @@ public class FollowServiceTest {
         when(userFollowRepository.existsFollow(userA.getUserId(), userB.getUserId())).thenReturn(false);
         when(userRepository.findById(1)).thenReturn(Optional.of(userA));
         when(userRepository.findById(2)).thenReturn(Optional.of(userB));
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
  
         User result = followService.followUser(userA.getUserId(), userB.getUserId());
@@ -80,14 +133,60 @@ public class FollowServiceTest {
  
         assertNotNull(result);
         assertEquals(userA, result);
-        assertEquals(1, userB.getFollowersCount());
+        // Contador atualizado no banco com UPDATE atômico, sem read-modify-write na entidade
+        assertEquals(0, userB.getFollowersCount());
 
  
         verify(userFollowRepository, times(1)).existsFollow(userA.getUserId(), userB.getUserId());
         verify(userRepository, times(1)).findById(1);
         verify(userRepository, times(1)).findById(2);
         verify(userFollowRepository, times(1)).save(any());
-        verify(userRepository, times(1)).save(userB);
+        verify(userRepository, times(1)).incrementFollowersCount(2);
+        verify(userRepository, never()).save(any());
+        verify(timelineService, times(1)).backfill(1, 2);
+        verify(feedVersionService, times(1)).bumpUser(1);
+        verify(followGraphService, times(1)).follow(1, 2);
+        verify(followBitmapService, times(1)).follow(1, 2);
+    }
+
+    @Test
+    @DisplayName("Com o outbox habilitado, followUser deve gravar o evento e deixar os dados derivados para o relay")
+    void testFollowUser_ShouldPublishOutboxEventWhenEnabled() {
+        User userA = createUser(1, "test_userA");
+        User userB = createUser(2, "test_userB");
+
+        when(outboxService.isEnabled()).thenReturn(true);
+        when(userFollowRepository.existsFollow(1, 2)).thenReturn(false);
+        when(userRepository.findById(1)).thenReturn(Optional.of(userA));
+        when(userRepository.findById(2)).thenReturn(Optional.of(userB));
+
+        followService.followUser(1, 2);
+
+        verify(userFollowRepository, times(1)).save(any());
+        verify(followGraphService, times(1)).follow(1, 2);
+        verify(outboxService, times(1)).publish(OutboxEventType.FOLLOW, 1, 2);
+        verify(userRepository, never()).incrementFollowersCount(any());
+        verify(timelineService, never()).backfill(any(), any());
+        verify(feedVersionService, never()).bumpUser(any());
+        verify(leaderboardService, never()).adjust(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("O evento de follow entregue pelo relay deve atualizar contador, ranking, timeline e caches")
+    void testHandle_ShouldApplyFollowAndUnfollowEvents() {
+        followService.handle(new OutboxEvent(OutboxEventType.FOLLOW, 1, 2));
+        followService.handle(new OutboxEvent(OutboxEventType.UNFOLLOW, 1, 3));
+        followService.handle(new OutboxEvent(OutboxEventType.POST_LIKED, 1, 10));
+
+        verify(userRepository, times(1)).incrementFollowersCount(2);
+        verify(leaderboardService, times(1)).adjust(2, 1);
+        verify(timelineService, times(1)).backfill(1, 2);
+        verify(userRepository, times(1)).decrementFollowersCount(3);
+        verify(leaderboardService, times(1)).adjust(3, -1);
+        verify(timelineService, times(1)).prune(1, 3);
+        verify(feedVersionService, times(2)).bumpUser(1);
+        verify(suggestionService, times(2)).invalidate(1);
+        verifyNoInteractions(userFollowRepository);
     }
 
     @Test
@@ -329,7 +428,6 @@ public class FollowServiceTest {
         when(userFollowRepository.existsFollow(userA.getUserId(), userB.getUserId())).thenReturn(true);
         when(userRepository.findById(1)).thenReturn(Optional.of(userA));
         when(userRepository.findById(2)).thenReturn(Optional.of(userB));
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(userFollowRepository.deleteFollow(userA.getUserId(), userB.getUserId())).thenReturn(1);
 
  
@@ -345,7 +443,12 @@ public class FollowServiceTest {
         verify(userRepository, times(1)).findById(1);
         verify(userRepository, times(1)).findById(2);
         verify(userFollowRepository, times(1)).deleteFollow(userA.getUserId(), userB.getUserId());
-        verify(userRepository, times(1)).save(userB);
+        verify(userRepository, times(1)).decrementFollowersCount(2);
+        verify(leaderboardService, times(1)).adjust(2, -1);
+        verify(userRepository, never()).save(any());
+        verify(timelineService, times(1)).prune(1, 2);
+        verify(feedVersionService, times(1)).bumpUser(1);
+        verify(suggestionService, times(1)).invalidate(1);
     }
 
     @Test
@@ -547,6 +650,121 @@ public class FollowServiceTest {
         verify(userRepository, times(1)).findById(1);
     }
 
+    @Test
+    @DisplayName("Com o grafo em memória carregado, a contagem de seguidores deve vir do grafo")
+    void testReturnUserWithFollowerCounter_ShouldUseFollowGraphWhenEnabled() {
+        User userA = createUser(1, "test_userA");
+        userA.setFollowersCount(3);
+        when(userRepository.findById(1)).thenReturn(Optional.of(userA));
+        when(followGraphService.isEnabled()).thenReturn(true);
+        when(followGraphService.countFollowers(1)).thenReturn(7);
+
+        UserSimpleDTO result = followService.returnUserWithFollowerCounter(1);
+
+        assertEquals(7, result.getFollowersCount());
+        verifyNoInteractions(counterBufferService);
+    }
+
+    @Test
+    @DisplayName("Com o buffer de contadores, follow acumula o delta e a contagem soma o valor persistido com o pendente")
+    void testFollowUser_ShouldBufferCounterAndReadPendingDelta() {
+        User userA = createUser(1, "test_userA");
+        User userB = createUser(2, "test_userB");
+        userB.setFollowersCount(5);
+
+        when(counterBufferService.isEnabled()).thenReturn(true);
+        when(userFollowRepository.existsFollow(1, 2)).thenReturn(false);
+        when(userRepository.findById(1)).thenReturn(Optional.of(userA));
+        when(userRepository.findById(2)).thenReturn(Optional.of(userB));
+        when(counterBufferService.pendingFollowers(2)).thenReturn(3L);
+
+        followService.followUser(1, 2);
+        UserSimpleDTO result = followService.returnUserWithFollowerCounter(2);
+
+        verify(counterBufferService, times(1)).addFollowers(2, 1);
+        verify(userRepository, never()).incrementFollowersCount(any());
+        assertEquals(8, result.getFollowersCount());
+    }
+
+    @Test
+    @DisplayName("Follow em lote deve ignorar relações existentes, inserir em batch e atualizar contadores num UPDATE")
+    void testFollowUsers_ShouldSkipExistingAndBatchInsert() {
+        when(userRepository.findByUserIdIn(List.of(1, 2, 3, 4)))
+                .thenReturn(List.of(createUser(1, "a"), createUser(2, "b"), createUser(3, "c"), createUser(4, "d")));
+        when(userFollowRepository.findFollowedIdsIn(1, List.of(2, 3, 4))).thenReturn(List.of(3));
+
+        BulkFollowResultDTO result = followService.followUsers(1, List.of(2, 3, 4, 2));
+
+        assertEquals(List.of(2, 4), result.getProcessedUserIds());
+        assertEquals(List.of(3), result.getSkippedUserIds());
+        verify(userBatchRepository, times(1)).insertFollows(1, List.of(2, 4));
+        verify(userRepository, times(1)).incrementFollowersCounts(List.of(2, 4));
+        verify(userRepository, never()).incrementFollowersCount(any());
+        verify(timelineService, times(2)).backfill(eq(1), any());
+        verify(feedVersionService, times(1)).bumpUser(1);
+    }
+
+    @Test
+    @DisplayName("Com o outbox habilitado, follow e unfollow em lote devem publicar um evento por relação")
+    void testBulkFollowUnfollow_ShouldPublishOutboxEventPerEdge() {
+        when(outboxService.isEnabled()).thenReturn(true);
+        when(userRepository.findByUserIdIn(List.of(1, 2, 3)))
+                .thenReturn(List.of(createUser(1, "a"), createUser(2, "b"), createUser(3, "c")));
+        when(userFollowRepository.findFollowedIdsIn(1, List.of(2, 3))).thenReturn(List.of(), List.of(2, 3));
+
+        followService.followUsers(1, List.of(2, 3));
+        followService.unfollowUsers(1, List.of(2, 3));
+
+        verify(outboxService, times(1)).publish(OutboxEventType.FOLLOW, 1, 2);
+        verify(outboxService, times(1)).publish(OutboxEventType.FOLLOW, 1, 3);
+        verify(outboxService, times(1)).publish(OutboxEventType.UNFOLLOW, 1, 2);
+        verify(outboxService, times(1)).publish(OutboxEventType.UNFOLLOW, 1, 3);
+        verify(followGraphService, times(1)).follow(1, 2);
+        verify(followGraphService, times(1)).unfollow(1, 3);
+        verify(userRepository, never()).incrementFollowersCounts(any());
+        verify(userRepository, never()).decrementFollowersCounts(any());
+        verifyNoInteractions(timelineService, leaderboardService, feedVersionService);
+    }
+
+    @Test
+    @DisplayName("Follow em lote deve lançar UserNotFoundException listando os usuários inexistentes")
+    void testFollowUsers_ShouldThrowWhenSomeUserDoesNotExist() {
+        when(userRepository.findByUserIdIn(List.of(1, 2, 99)))
+                .thenReturn(List.of(createUser(1, "a"), createUser(2, "b")));
+
+        UserNotFoundException exception = assertThrows(
+                UserNotFoundException.class,
+                () -> followService.followUsers(1, List.of(2, 99))
+        );
+
+        assertTrue(exception.getMessage().contains("99"));
+        verify(userBatchRepository, never()).insertFollows(any(), any());
+    }
+
+    @Test
+    @DisplayName("Follow em lote deve rejeitar a lista contendo o próprio usuário")
+    void testFollowUsers_ShouldRejectSelfFollow() {
+        assertThrows(IllegalArgumentException.class, () -> followService.followUsers(1, List.of(2, 1)));
+
+        verifyNoInteractions(userRepository, userBatchRepository);
+    }
+
+    @Test
+    @DisplayName("Unfollow em lote deve remover só as relações existentes num DELETE e decrementar num UPDATE")
+    void testUnfollowUsers_ShouldDeleteOnlyExistingFollows() {
+        when(userRepository.findByUserIdIn(List.of(1, 2, 3)))
+                .thenReturn(List.of(createUser(1, "a"), createUser(2, "b"), createUser(3, "c")));
+        when(userFollowRepository.findFollowedIdsIn(1, List.of(2, 3))).thenReturn(List.of(2));
+
+        BulkFollowResultDTO result = followService.unfollowUsers(1, List.of(2, 3));
+
+        assertEquals(List.of(2), result.getProcessedUserIds());
+        assertEquals(List.of(3), result.getSkippedUserIds());
+        verify(userFollowRepository, times(1)).deleteFollows(1, List.of(2));
+        verify(userRepository, times(1)).decrementFollowersCounts(List.of(2));
+        verify(timelineService, times(1)).prune(1, 2);
+    }
+
     @Test
     @DisplayName("Deve lançar UserNotFoundException quando usuários não existem")
     void testReturnUserNotFoundException_WhenUserDoesNotExist(){
@@ -0,0 +1,166 @@
+package com.meli.social.unit.service;
+
+import com.meli.social.post.inter.ICounterBufferService;
+import com.meli.social.user.dto.LeaderboardRow;
+import com.meli.social.user.dto.UserDTO;
+import com.meli.social.user.impl.LeaderboardService;
+import com.meli.social.user.inter.UserJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LeaderboardService - Ranking em memória Tests")
+class LeaderboardServiceTest {
+
+    @Mock
+    private UserJpaRepository userRepository;
+
+    @Mock
+    private ICounterBufferService counterBufferService;
+
+    private LeaderboardService leaderboardService;
+
+    @BeforeEach
+    void setUp() {
+        leaderboardService = new LeaderboardService(userRepository, counterBufferService, true);
+    }
+
+    private static LeaderboardRow row(Integer userId, String userName, Integer followersCount) {
+        return new LeaderboardRow() {
+            @Override
+            public Integer getUserId() {
+                return userId;
+            }
+
+            @Override
+            public String getUserName() {
+                return userName;
+            }
+
+            @Override
+            public Integer getFollowersCount() {
+                return followersCount;
+            }
+        };
+    }
+
+    private void load(LeaderboardRow... rows) {
+        when(userRepository.findLeaderboardRowsAfterId(eq(0), any(Pageable.class))).thenReturn(List.of(rows));
+        leaderboardService.rebuild();
+    }
+
+    @Test
+    @DisplayName("Deve ordenar por seguidores desc e userId asc após a carga do banco")
+    void testRebuild_ShouldOrderByFollowersThenId() {
+        load(row(1, "a", 3), row(2, "b", 10), row(3, "c", 3), row(4, "d", null));
+
+        List<UserDTO> top = leaderboardService.getTopUsers(3);
+
+        assertTrue(leaderboardService.isEnabled());
+        assertEquals(List.of(2, 1, 3), top.stream().map(UserDTO::getUserId).toList());
+        assertEquals(10, top.get(0).getFollowersCount());
+    }
+
+    @Test
+    @DisplayName("Follow commitado entre a leitura do lote e sua aplicação não deve se perder")
+    void testRebuild_ShouldReconcileUsersTouchedDuringLoad() {
+        when(userRepository.findLeaderboardRowsAfterId(eq(0), any(Pageable.class))).thenAnswer(invocation -> {
+            // O lote já foi lido com 1 seguidor; o ajuste chega antes de o usuário estar no ranking
+            leaderboardService.adjust(2, 1);
+            return List.of(row(1, "a", 1), row(2, "b", 1));
+        });
+        when(userRepository.findLeaderboardRowsByUserIdIn(List.of(2))).thenReturn(List.of(row(2, "b", 2)));
+
+        leaderboardService.rebuild();
+
+        assertEquals(List.of(2, 1), leaderboardService.getTopUsers(2).stream().map(UserDTO::getUserId).toList());
+        assertEquals(2, leaderboardService.getTopUsers(1).get(0).getFollowersCount());
+    }
+
+    @Test
+    @DisplayName("A carga deve somar os seguidores ainda pendentes no buffer de contadores")
+    void testRebuild_ShouldIncludePendingBufferedFollowers() {
+        when(counterBufferService.isEnabled()).thenReturn(true);
+        when(counterBufferService.pendingFollowers()).thenReturn(Map.of(1, 4L));
+
+        load(row(1, "a", 1), row(2, "b", 3));
+
+        List<UserDTO> top = leaderboardService.getTopUsers(2);
+        assertEquals(List.of(1, 2), top.stream().map(UserDTO::getUserId).toList());
+        assertEquals(5, top.get(0).getFollowersCount());
+    }
+
+    @Test
+    @DisplayName("Ajustes e novos usuários devem reposicionar o ranking")
+    void testAdjustAndRegister_ShouldReorder() {
+        load(row(1, "a", 2), row(2, "b", 1));
+
+        leaderboardService.adjust(2, 1);
+        leaderboardService.adjust(2, 1);
+        leaderboardService.adjust(1, -1);
+        leaderboardService.register(3, "c");
+
+        List<UserDTO> top = leaderboardService.getTopUsers(10);
+        assertEquals(List.of(2, 1, 3), top.stream().map(UserDTO::getUserId).toList());
+        assertEquals(List.of(3, 1, 0), top.stream().map(UserDTO::getFollowersCount).toList());
+    }
+
+    @Test
+    @DisplayName("Deve manter contagens exatas e leituras consistentes com ajustes concorrentes")
+    void testConcurrentAdjusts_ShouldNotLoseUpdates() throws Exception {
+        load(row(1, "a", 0), row(2, "b", 0), row(3, "c", 0));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                tasks.add(executor.submit(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        leaderboardService.adjust(1, 1);
+                        leaderboardService.adjust(2, 1);
+                        leaderboardService.adjust(2, -1);
+                        // Cada leitura é um snapshot: nenhum usuário some ou aparece duas vezes
+                        assertEquals(3, leaderboardService.getTopUsers(10).size());
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<UserDTO> top = leaderboardService.getTopUsers(10);
+        assertEquals(8_000, top.get(0).getFollowersCount());
+        assertEquals(List.of(1, 2, 3), top.stream().map(UserDTO::getUserId).toList());
+        assertEquals(List.of(8_000, 0, 0), top.stream().map(UserDTO::getFollowersCount).toList());
+    }
+
+    @Test
+    @DisplayName("Desabilitado: não carrega nem aceita eventos")
+    void testDisabled_ShouldIgnoreEvents() {
+        LeaderboardService disabled = new LeaderboardService(userRepository, counterBufferService, false);
+
+        disabled.warmUp();
+        disabled.adjust(1, 1);
+
+        assertFalse(disabled.isEnabled());
+        verifyNoInteractions(userRepository);
+    }
+}
@@ -0,0 +1,177 @@
+package com.meli.social.unit.service;
+
+import com.meli.social.outbox.impl.OutboxService;
+import com.meli.social.outbox.inter.IOutboxConsumer;
+import com.meli.social.outbox.inter.OutboxJpaRepository;
+import com.meli.social.outbox.model.OutboxEvent;
+import com.meli.social.outbox.model.OutboxEventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OutboxService - Outbox transacional Tests")
+class OutboxServiceTest {
+
+    @Mock
+    private OutboxJpaRepository outboxRepository;
+
+    @Mock
+    private ObjectProvider<IOutboxConsumer> consumers;
+
+    @Mock
+    private IOutboxConsumer consumer;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OutboxService outboxService;
+
+    @BeforeEach
+    void setUp() {
+        outboxService = new OutboxService(outboxRepository, consumers, transactionManager, meterRegistry, true, 2, 2, Duration.ofHours(24), Duration.ofMinutes(1));
+    }
+
+    private OutboxEvent event(Long id, OutboxEventType type) {
+        OutboxEvent event = new OutboxEvent(type, 1, 2);
+        event.setId(id);
+        return event;
+    }
+
+    @Test
+    @DisplayName("Deve gravar o evento na transação corrente ao publicar")
+    void testPublish_ShouldSaveEvent() {
+        outboxService.publish(OutboxEventType.FOLLOW, 1, 2);
+
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxRepository).save(captor.capture());
+        assertEquals(OutboxEventType.FOLLOW, captor.getValue().getType());
+        assertEquals(1, captor.getValue().getActorId());
+        assertEquals(2, captor.getValue().getTargetId());
+        assertNull(captor.getValue().getProcessedAt());
+        assertEquals(1.0, meterRegistry.counter("social.outbox.published").count());
+    }
+
+    @Test
+    @DisplayName("O relay deve percorrer os pendentes em lotes e entregar cada evento reivindicado aos consumidores")
+    void testRelay_ShouldDeliverPendingEventsInBatches() {
+        OutboxEvent first = event(1L, OutboxEventType.FOLLOW);
+        OutboxEvent second = event(2L, OutboxEventType.POST_CREATED);
+        OutboxEvent third = event(3L, OutboxEventType.POST_LIKED);
+
+        when(outboxRepository.findPendingIdsAfter(eq(0L), any())).thenReturn(List.of(1L, 2L));
+        when(outboxRepository.findPendingIdsAfter(eq(2L), any())).thenReturn(List.of(3L));
+        when(outboxRepository.markProcessed(anyLong(), any())).thenReturn(1);
+        when(outboxRepository.findById(1L)).thenReturn(Optional.of(first));
+        when(outboxRepository.findById(2L)).thenReturn(Optional.of(second));
+        when(outboxRepository.findById(3L)).thenReturn(Optional.of(third));
+        when(consumers.orderedStream()).thenAnswer(invocation -> Stream.of(consumer));
+
+        assertEquals(3, outboxService.relay());
+
+        var order = inOrder(consumer);
+        order.verify(consumer).handle(first);
+        order.verify(consumer).handle(second);
+        order.verify(consumer).handle(third);
+        assertEquals(3.0, meterRegistry.counter("social.outbox.relayed").count());
+    }
+
+    @Test
+    @DisplayName("O próximo evento do mesmo ator deve ser entregue na mesma rodada, depois do anterior")
+    void testRelay_ShouldRescanForNextEventOfSameActor() {
+        OutboxEvent follow = event(1L, OutboxEventType.FOLLOW);
+        OutboxEvent unfollow = event(2L, OutboxEventType.UNFOLLOW);
+
+        // O unfollow só fica elegível depois que o follow do mesmo ator é processado
+        when(outboxRepository.findPendingIdsAfter(eq(0L), any()))
+                .thenReturn(List.of(1L))
+                .thenReturn(List.of(2L))
+                .thenReturn(List.of());
+        when(outboxRepository.markProcessed(anyLong(), any())).thenReturn(1);
+        when(outboxRepository.findById(1L)).thenReturn(Optional.of(follow));
+        when(outboxRepository.findById(2L)).thenReturn(Optional.of(unfollow));
+        when(consumers.orderedStream()).thenAnswer(invocation -> Stream.of(consumer));
+
+        assertEquals(2, outboxService.relay());
+
+        var order = inOrder(consumer);
+        order.verify(consumer).handle(follow);
+        order.verify(consumer).handle(unfollow);
+    }
+
+    @Test
+    @DisplayName("Evento já reivindicado por outra instância não deve ser entregue de novo")
+    void testRelay_ShouldSkipEventClaimedElsewhere() {
+        when(outboxRepository.findPendingIdsAfter(eq(0L), any())).thenReturn(List.of(1L));
+        when(outboxRepository.markProcessed(eq(1L), any())).thenReturn(0);
+
+        assertEquals(0, outboxService.relay());
+
+        verify(outboxRepository, never()).findById(any());
+        verifyNoInteractions(consumers);
+    }
+
+    @Test
+    @DisplayName("Falha no consumidor deve manter o evento pendente e, após max-attempts, marcá-lo como failed")
+    void testRelay_FailureShouldRetryAndThenDeadLetter() {
+        OutboxEvent event = event(1L, OutboxEventType.FOLLOW);
+
+        when(outboxRepository.findPendingIdsAfter(eq(0L), any())).thenReturn(List.of(1L));
+        when(outboxRepository.markProcessed(eq(1L), any())).thenReturn(1);
+        when(outboxRepository.findById(1L)).thenReturn(Optional.of(event));
+        when(consumers.orderedStream()).thenAnswer(invocation -> Stream.of(consumer));
+        doThrow(new IllegalStateException("falhou")).when(consumer).handle(event);
+
+        assertEquals(0, outboxService.relay());
+        assertEquals(1, event.getAttempts());
+        assertEquals("falhou", event.getLastError());
+        assertFalse(event.isFailed());
+        assertNull(event.getProcessedAt());
+
+        assertEquals(0, outboxService.relay());
+        assertEquals(2, event.getAttempts());
+        assertTrue(event.isFailed());
+        assertNotNull(event.getProcessedAt());
+        assertEquals(2.0, meterRegistry.counter("social.outbox.failures").count());
+    }
+
+    @Test
+    @DisplayName("Com o outbox desabilitado, relay e limpeza não devem acessar o banco")
+    void testRelay_DisabledShouldDoNothing() {
+        OutboxService disabled = new OutboxService(outboxRepository, consumers, transactionManager, meterRegistry, false, 2, 2, Duration.ofHours(24), Duration.ofMinutes(1));
+
+        assertEquals(0, disabled.relay());
+        assertEquals(0, disabled.purge());
+
+        verifyNoInteractions(outboxRepository, consumers);
+    }
+
+    @Test
+    @DisplayName("Com a fila sempre cheia, a rodada do relay deve terminar ao esgotar o tempo")
+    void testRelay_ShouldStopAtTimeBudget() {
+        OutboxService bounded = new OutboxService(outboxRepository, consumers, transactionManager, meterRegistry, true, 2, 2, Duration.ofHours(24), Duration.ZERO);
+        when(outboxRepository.findPendingIdsAfter(eq(0L), any())).thenReturn(List.of(1L, 2L));
+        when(outboxRepository.markProcessed(anyLong(), any())).thenReturn(0);
+
+        assertEquals(0, bounded.relay());
+
+        verify(outboxRepository, times(1)).findPendingIdsAfter(anyLong(), any());
+    }
+}
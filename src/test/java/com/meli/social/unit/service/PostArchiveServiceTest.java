@@ -0,0 +1,70 @@
+package com.meli.social.unit.service;
+
+import com.meli.social.post.impl.PostArchiveService;
+import com.meli.social.post.inter.IPostRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PostArchiveService - Arquivamento de posts Tests")
+class PostArchiveServiceTest {
+
+    @Mock
+    private IPostRepository postRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Deve arquivar em lotes até um lote vir incompleto e contabilizar o total")
+    void testArchivePostsBefore_ShouldLoopUntilPartialBatch() {
+        PostArchiveService service = new PostArchiveService(postRepository, meterRegistry, true, 30, 2);
+        LocalDate cutoff = LocalDate.now().minusDays(30);
+        when(postRepository.archivePostsBefore(cutoff, 2)).thenReturn(2, 2, 1);
+
+        int archived = service.archivePostsBefore(cutoff);
+
+        assertEquals(5, archived);
+        verify(postRepository, times(3)).archivePostsBefore(cutoff, 2);
+        assertEquals(5.0, meterRegistry.counter("social.posts.archived").count());
+    }
+
+    @Test
+    @DisplayName("Job agendado deve usar hoje - after-days como corte")
+    void testArchiveAgedPosts_ShouldUseConfiguredAge() {
+        PostArchiveService service = new PostArchiveService(postRepository, meterRegistry, true, 30, 500);
+        when(postRepository.archivePostsBefore(any(), anyInt())).thenReturn(0);
+
+        service.archiveAgedPosts();
+
+        verify(postRepository).archivePostsBefore(LocalDate.now().minusDays(30), 500);
+    }
+
+    @Test
+    @DisplayName("Desabilitado: job agendado não deve arquivar nada")
+    void testArchiveAgedPosts_WhenDisabled_ShouldDoNothing() {
+        PostArchiveService service = new PostArchiveService(postRepository, meterRegistry, false, 30, 500);
+
+        service.archiveAgedPosts();
+
+        assertFalse(service.isEnabled());
+        verifyNoInteractions(postRepository);
+    }
+
+    @Test
+    @DisplayName("Idade de arquivamento dentro da janela do feed deve ser rejeitada")
+    void testConstructor_AgeInsideFeedWindow_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new PostArchiveService(postRepository, meterRegistry, true, 14, 500));
+        assertThrows(IllegalArgumentException.class, () -> new PostArchiveService(postRepository, meterRegistry, true, 30, 0));
+    }
+}
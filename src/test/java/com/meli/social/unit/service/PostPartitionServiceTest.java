@@ -0,0 +1,131 @@
+package com.meli.social.unit.service;
+
+import com.meli.social.post.impl.PostPartitionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PostPartitionService - Particionamento diário de posts Tests")
+class PostPartitionServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDate today = LocalDate.now();
+
+    private static String name(LocalDate day) {
+        return day.format(DateTimeFormatter.ofPattern("'p'yyyyMMdd"));
+    }
+
+    // p_archive | dias de from até to | p_future
+    private List<String> partitions(LocalDate from, LocalDate to) {
+        List<String> names = new ArrayList<>();
+        names.add("p_archive");
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            names.add(name(day));
+        }
+        names.add("p_future");
+        return names;
+    }
+
+    @Test
+    @DisplayName("Desabilitado: não deve executar nenhum comando no banco")
+    void testMaintain_WhenDisabled_ShouldDoNothing() {
+        PostPartitionService service = new PostPartitionService(jdbcTemplate, false, 7, 0, false, 30, "none");
+
+        service.setUp();
+        service.maintainPartitions();
+
+        assertFalse(service.isEnabled());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Deve criar as partições diárias que faltam até hoje + future-days a partir de p_future")
+    void testMaintain_ShouldCreateMissingFuturePartitions() {
+        PostPartitionService service = new PostPartitionService(jdbcTemplate, true, 3, 30, false, 30, "none");
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(partitions(today.minusDays(14), today.plusDays(1)));
+
+        service.maintainPartitions();
+
+        ArgumentCaptor<String> ddl = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(2)).execute(ddl.capture());
+        assertEquals("ALTER TABLE posts REORGANIZE PARTITION p_future INTO (PARTITION " + name(today.plusDays(2))
+                + " VALUES LESS THAN ('" + today.plusDays(3) + "'), PARTITION p_future VALUES LESS THAN (MAXVALUE))", ddl.getAllValues().get(0));
+        assertTrue(ddl.getAllValues().get(1).contains("PARTITION " + name(today.plusDays(3)) + " VALUES LESS THAN ('" + today.plusDays(4) + "')"));
+    }
+
+    @Test
+    @DisplayName("Com retenção: deve desanexar partições antigas trocando-as por uma tabela e removendo a partição")
+    void testMaintain_WithRetention_ShouldDetachOldPartitions() {
+        PostPartitionService service = new PostPartitionService(jdbcTemplate, true, 1, 30, false, 30, "none");
+        LocalDate old = today.minusDays(31);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(partitions(old, today.plusDays(1)));
+
+        service.maintainPartitions();
+
+        String partition = name(old);
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("CREATE TABLE posts_" + partition + " LIKE posts");
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE posts_" + partition + " REMOVE PARTITIONING");
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE posts EXCHANGE PARTITION " + partition + " WITH TABLE posts_" + partition);
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE posts DROP PARTITION " + partition);
+        verify(jdbcTemplate, times(4)).execute(anyString());
+        verify(jdbcTemplate, never()).execute(contains("DROP PARTITION " + name(old.plusDays(1))));
+    }
+
+    @Test
+    @DisplayName("Tabela ainda não particionada: deve remover FKs, estender a PK e particionar a janela do feed")
+    void testSetUp_WhenNotPartitioned_ShouldConvertTable() {
+        PostPartitionService service = new PostPartitionService(jdbcTemplate, true, 1, 30, false, 30, "none");
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+                .thenReturn(List.of())
+                .thenReturn(partitions(today.minusDays(14), today.plusDays(1)));
+
+        service.setUp();
+
+        verify(jdbcTemplate).query(contains("REFERENTIAL_CONSTRAINTS"), any(RowCallbackHandler.class));
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE posts DROP PRIMARY KEY, ADD PRIMARY KEY (post_id, date)");
+        inOrder.verify(jdbcTemplate).execute(startsWith("ALTER TABLE posts PARTITION BY RANGE COLUMNS(date) ("
+                + "PARTITION p_archive VALUES LESS THAN ('" + today.minusDays(14) + "'), PARTITION " + name(today.minusDays(14))));
+        verify(jdbcTemplate).execute(contains("PARTITION p_future VALUES LESS THAN (MAXVALUE))"));
+    }
+
+    @Test
+    @DisplayName("Retenção dentro da janela do feed ou antes do arquivamento deve ser rejeitada")
+    void testConstructor_RetentionInsideFeedWindow_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new PostPartitionService(jdbcTemplate, true, 7, 14, false, 30, "none"));
+        assertThrows(IllegalArgumentException.class, () -> new PostPartitionService(jdbcTemplate, true, 0, 30, false, 30, "none"));
+        // Partições desanexadas antes do arquivamento perderiam os posts
+        assertThrows(IllegalArgumentException.class, () -> new PostPartitionService(jdbcTemplate, true, 7, 30, true, 30, "none"));
+        assertDoesNotThrow(() -> new PostPartitionService(jdbcTemplate, true, 7, 31, true, 30, "none"));
+    }
+
+    @Test
+    @DisplayName("Particionamento sem retenção ou com ddl-auto que recria o schema deve ser rejeitado")
+    void testConstructor_WithoutRetentionOrWithSchemaGeneration_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new PostPartitionService(jdbcTemplate, true, 7, 0, false, 30, "none"));
+        assertThrows(IllegalArgumentException.class, () -> new PostPartitionService(jdbcTemplate, true, 7, 30, false, 30, "create"));
+        assertThrows(IllegalArgumentException.class, () -> new PostPartitionService(jdbcTemplate, true, 7, 30, false, 30, "update"));
+        assertDoesNotThrow(() -> new PostPartitionService(jdbcTemplate, true, 7, 30, false, 30, "validate"));
+        // Desabilitado, a configuração do schema não importa
+        assertDoesNotThrow(() -> new PostPartitionService(jdbcTemplate, false, 7, 0, false, 30, "create"));
+    }
+}
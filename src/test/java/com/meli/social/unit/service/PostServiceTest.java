@@ -3,6 +3,11 @@ package com.meli.social.unit.service;
 import com.meli.social.exception.PostNotFoundException;
 import com.meli.social.exception.PostUnprocessableException;
 import com.meli.social.exception.UserNotFoundException;
+import com.meli.social.outbox.inter.IOutboxService;
+import com.meli.social.outbox.model.OutboxEvent;
+import com.meli.social.outbox.model.OutboxEventType;
+import com.meli.social.post.dto.FeedCursor;
+import com.meli.social.post.dto.FeedPostDTO;
 import com.meli.social.post.dto.FollowedPostsDTO;
 import com.meli.social.post.dto.PostDTO;
 import com.meli.social.post.dto.PostPromoDTO;
@@ -10,11 +15,21 @@ import com.meli.social.post.dto.PromoProducsListDTO;
 import com.meli.social.post.dto.PromoProductsCountDTO;
 import com.meli.social.post.dto.ProductDTO;
 import com.meli.social.post.impl.PostService;
+import com.meli.social.post.inter.ICounterBufferService;
 import com.meli.social.post.inter.IProductRepository;
+import com.meli.social.post.inter.IFeedCacheService;
+import com.meli.social.post.inter.IFeedStreamService;
+import com.meli.social.post.inter.IFeedVersionService;
+import com.meli.social.post.inter.IFeedIndexService;
+import com.meli.social.post.inter.IFeedSingleFlightService;
 import com.meli.social.post.inter.IPostRepository;
+import com.meli.social.post.inter.IShardedFeedQueryService;
+import com.meli.social.post.inter.ITimelineService;
 import com.meli.social.post.inter.PostLikeJpaRepository;
 import com.meli.social.post.model.Post;
 import com.meli.social.post.model.Product;
+import com.meli.social.user.dto.FollowEdgeRow;
+import com.meli.social.user.inter.IFollowGraphService;
 import com.meli.social.user.inter.UserJpaRepository;
 import com.meli.social.user.model.User;
 import org.junit.jupiter.api.BeforeEach;
@@ -24,17 +39,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.*;
 
@@ -54,12 +76,42 @@ class PostServiceTest {
     @Mock
     private PostLikeJpaRepository postLikeRepository;
 
+    @Mock
+    private ITimelineService timelineService;
+
+    @Mock
+    private IFeedIndexService feedIndexService;
+
+    @Mock
+    private IFeedCacheService feedCacheService;
+
+    @Mock
+    private IFeedSingleFlightService feedSingleFlightService;
+
+    @Mock
+    private IFeedStreamService feedStreamService;
+
+    @Mock
+    private IFeedVersionService feedVersionService;
+
+    @Mock
+    private IShardedFeedQueryService shardedFeedQueryService;
+
+    @Mock
+    private IFollowGraphService followGraphService;
+
+    @Mock
+    private ICounterBufferService counterBufferService;
+
+    @Mock
+    private IOutboxService outboxService;
+
     @InjectMocks
     private PostService postService;
 
     @BeforeEach
     void setUp() {
-        reset(postRepository, productRepository, userRepository, postLikeRepository);
+        reset(postRepository, productRepository, userRepository, postLikeRepository, timelineService, feedIndexService, feedCacheService, feedSingleFlightService, feedStreamService, feedVersionService, shardedFeedQueryService, followGraphService, counterBufferService, outboxService);
     }
 
     @Test
@@ -306,9 +358,9 @@ class PostServiceTest {
         p3.setDiscount(null);
         p3.setLikesCount(0);
 
-        List<Post> followingPosts = List.of(p1, p2, p3);
+        List<FeedPostDTO> followingPosts = List.of(FeedPostDTO.fromEntity(p1), FeedPostDTO.fromEntity(p2), FeedPostDTO.fromEntity(p3));
 
-        when(postRepository.findPostsByUserIdInAndDateBetween(eq(List.of(2, 3, 4)), any(), any(), any(Pageable.class)))
+        when(postRepository.findFeedRowsByUserIdInAndDateBetween(eq(List.of(2, 3, 4)), any(), any(), any(Pageable.class)))
                 .thenReturn(followingPosts);
 
         FollowedPostsDTO result = postService.getFollowedPosts(1, null);
@@ -322,7 +374,7 @@ class PostServiceTest {
 
         verify(userRepository, times(1)).existsById(1);
         verify(userRepository, times(1)).findFollowingIdsByUserId(1);
-        verify(postRepository, times(1)).findPostsByUserIdInAndDateBetween(eq(List.of(2, 3, 4)), any(), any(), any(Pageable.class));
+        verify(postRepository, times(1)).findFeedRowsByUserIdInAndDateBetween(eq(List.of(2, 3, 4)), any(), any(), any(Pageable.class));
 
         UserNotFoundException exception = assertThrows(
                 UserNotFoundException.class,
@@ -347,7 +399,271 @@ class PostServiceTest {
 
         verify(userRepository, times(1)).existsById(999);
         verify(userRepository, times(1)).findFollowingIdsByUserId(999);
-        verify(postRepository, never()).findPostsByUserIdInAndDateBetween(anyList(), any(), any(), any(Pageable.class));
+        verify(postRepository, never()).findFeedRowsByUserIdInAndDateBetween(anyList(), any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Deve paginar o feed por cursor e devolver o nextCursor quando a página estiver cheia")
+    void testFollowingsPostListingByCursor_ShouldReturnNextCursor() {
+        Post p1 = new Post();
+        p1.setPostId(11);
+        p1.setDate(LocalDate.now().minusDays(1));
+        Post p2 = new Post();
+        p2.setPostId(10);
+        p2.setDate(LocalDate.now().minusDays(1));
+        FeedCursor after = new FeedCursor(LocalDate.now().minusDays(1), 12);
+
+        when(userRepository.existsById(1)).thenReturn(true);
+        when(userRepository.findFollowingIdsByUserId(1)).thenReturn(List.of(2, 3));
+        when(postRepository.findFeedRowsByUserIdInAndDateBetween(eq(List.of(2, 3)), any(), any(), eq(after), eq(Sort.Direction.DESC), eq(2)))
+                .thenReturn(List.of(FeedPostDTO.fromEntity(p1), FeedPostDTO.fromEntity(p2)));
+
+        FollowedPostsDTO result = postService.getFollowedPostsByCursor(1, null, after.encode(), 2);
+
+        assertEquals(List.of(FeedPostDTO.fromEntity(p1), FeedPostDTO.fromEntity(p2)), result.getPosts());
+        assertEquals(FeedCursor.of(p2), FeedCursor.decode(result.getNextCursor()));
+    }
+
+    @Test
+    @DisplayName("Não deve devolver nextCursor quando a última página não estiver cheia")
+    void testFollowingsPostListingByCursor_LastPageShouldNotReturnNextCursor() {
+        Post p1 = new Post();
+        p1.setPostId(11);
+        p1.setDate(LocalDate.now().minusDays(1));
+
+        when(userRepository.existsById(1)).thenReturn(true);
+        when(userRepository.findFollowingIdsByUserId(1)).thenReturn(List.of(2));
+        when(postRepository.findFeedRowsByUserIdInAndDateBetween(eq(List.of(2)), any(), any(), isNull(), eq(Sort.Direction.ASC), eq(5)))
+                .thenReturn(List.of(FeedPostDTO.fromEntity(p1)));
+
+        FollowedPostsDTO result = postService.getFollowedPostsByCursor(1, "date_asc", "", 5);
+
+        assertEquals(1, result.getPosts().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Deve lançar IllegalArgumentException quando o cursor for inválido")
+    void testFollowingsPostListingByCursor_InvalidCursor() {
+        when(userRepository.existsById(1)).thenReturn(true);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> postService.getFollowedPostsByCursor(1, null, "@@invalido@@", 5));
+        verify(postRepository, never()).findFeedRowsByUserIdInAndDateBetween(anyList(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Deve montar o feed pelo índice em memória e carregar os posts por id na ordem do índice")
+    void testFollowingsPostListing_ShouldUseFeedIndexWhenEnabled() {
+        Post p1 = new Post();
+        p1.setPostId(5);
+        Post p2 = new Post();
+        p2.setPostId(3);
+
+        when(userRepository.existsById(1)).thenReturn(true);
+        when(feedIndexService.isEnabled()).thenReturn(true);
+        when(userRepository.findFollowingIdsByUserId(1)).thenReturn(List.of(2, 3));
+        when(feedIndexService.findFeedPostIds(eq(List.of(2, 3)), any(), any(), eq(Sort.Direction.DESC), eq(10), eq(10)))
+                .thenReturn(List.of(5, 3));
+        when(postRepository.findFeedRowsByPostIdIn(List.of(5, 3))).thenReturn(List.of(FeedPostDTO.fromEntity(p2), FeedPostDTO.fromEntity(p1)));
+
+        FollowedPostsDTO result = postService.getFollowedPosts(1, null, 1, 10);
+
+        assertEquals(List.of(FeedPostDTO.fromEntity(p1), FeedPostDTO.fromEntity(p2)), result.getPosts());
+        verify(postRepository, never()).findFeedRowsByUserIdInAndDateBetween(anyList(), any(), any(), any(Pageable.class));
+        verifyNoInteractions(timelineService);
+    }
+
+    private static FollowEdgeRow edge(Integer followerId, Integer followedId) {
+        return new FollowEdgeRow() {
+            public Integer getFollowerId() { return followerId; }
+            public Integer getFollowedId() { return followedId; }
+        };
+    }
+
+    private static FeedPostDTO feedRow(Integer userId, Integer postId, LocalDate date) {
+        FeedPostDTO row = new FeedPostDTO();
+        row.setUserId(userId);
+        row.setPostId(postId);
+        row.setDate(date);
+        return row;
+    }
+
+    @Test
+    @DisplayName("Deve montar o feed de vários usuários com uma consulta de posts e separar por usuário")
+    void testFollowedPostsBatch_ShouldSplitSharedQueryPerUser() {
+        LocalDate today = LocalDate.now();
+        FeedPostDTO a1 = feedRow(10, 1, today.minusDays(3));
+        FeedPostDTO a2 = feedRow(10, 4, today.minusDays(1));
+        FeedPostDTO b1 = feedRow(20, 2, today.minusDays(2));
+
+        when(userRepository.findExistingIds(List.of(1, 2, 3, 999))).thenReturn(List.of(1, 2, 3));
+        when(userRepository.findFollowEdgesByFollowerIdIn(anyList()))
+                .thenReturn(List.of(edge(1, 10), edge(1, 20), edge(2, 20)));
+        when(postRepository.findFeedRowsPerAuthor(eq(List.of(10, 20)), any(), any(), eq(false), eq(Sort.Direction.DESC), eq(2)))
+                .thenReturn(List.of(a2, b1, a1));
+
+        Map<Integer, FollowedPostsDTO> result = postService.getFollowedPostsBatch(List.of(1, 2, 3, 999, 1), null, 2);
+
+        assertEquals(List.of(1, 2, 3), List.copyOf(result.keySet()));
+        assertEquals(List.of(a2, b1), result.get(1).getPosts());
+        assertEquals(List.of(b1), result.get(2).getPosts());
+        assertNull(result.get(3).getPosts());
+        verify(postRepository, times(1)).findFeedRowsPerAuthor(anyList(), any(), any(), anyBoolean(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Deve ordenar o feed em lote por score com sort=rank e manter posts null para quem não segue ninguém no grafo")
+    void testFollowedPostsBatch_ShouldRankByScoreAndKeepNullForGraphWithoutFollows() {
+        LocalDate today = LocalDate.now();
+        FeedPostDTO recent = feedRow(10, 1, today);
+        recent.setScore(1.0);
+        FeedPostDTO popular = feedRow(20, 2, today.minusDays(5));
+        popular.setScore(3.0);
+
+        when(userRepository.findExistingIds(List.of(1, 2))).thenReturn(List.of(1, 2));
+        when(followGraphService.isEnabled()).thenReturn(true);
+        when(followGraphService.findFollowingIds(1)).thenReturn(List.of(10, 20));
+        when(followGraphService.findFollowingIds(2)).thenReturn(List.of());
+        when(postRepository.findFeedRowsPerAuthor(eq(List.of(10, 20)), any(), any(), eq(true), any(), eq(5)))
+                .thenReturn(List.of(recent, popular));
+
+        Map<Integer, FollowedPostsDTO> result = postService.getFollowedPostsBatch(List.of(1, 2), "rank", 5);
+
+        assertEquals(List.of(popular, recent), result.get(1).getPosts());
+        assertNull(result.get(2).getPosts());
+    }
+
+    @Test
+    @DisplayName("Deve lançar IllegalArgumentException quando a lista do feed em lote for vazia")
+    void testFollowedPostsBatch_EmptyList() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> postService.getFollowedPostsBatch(List.of(), null, 10));
+
+        assertEquals("Lista de usuários não pode ser vazia", exception.getMessage());
+        verifyNoInteractions(postRepository);
+    }
+
+    @Test
+    @DisplayName("Deve entregar cada linha do cursor de exportação ao consumidor, na ordem")
+    void testStreamFollowedPosts_ShouldDeliverEveryRow() {
+        FeedPostDTO r1 = new FeedPostDTO();
+        r1.setPostId(1);
+        FeedPostDTO r2 = new FeedPostDTO();
+        r2.setPostId(2);
+        List<FeedPostDTO> received = new ArrayList<>();
+
+        when(userRepository.existsById(1)).thenReturn(true);
+        when(postRepository.streamFeedRowsByFollowerIdAndDateBetween(eq(1), any(), any(), eq(Sort.Direction.ASC)))
+                .thenReturn(Stream.of(r1, r2));
+
+        long count = postService.streamFollowedPosts(1, "date_asc", received::add);
+
+        assertEquals(2, count);
+        assertEquals(List.of(r1, r2), received);
+    }
+
+    @Test
+    @DisplayName("Deve consultar o feed em blocos paralelos quando o modo sharded estiver habilitado")
+    void testFollowingsPostListing_ShouldUseShardedQueryWhenEnabled() {
+        FeedPostDTO row = feedRow(2, 7, LocalDate.now());
+
+        when(userRepository.existsById(1)).thenReturn(true);
+        when(userRepository.findFollowingIdsByUserId(1)).thenReturn(List.of(2, 3));
+        when(shardedFeedQueryService.isEnabled()).thenReturn(true);
+        when(shardedFeedQueryService.findFeedRows(eq(List.of(2, 3)), any(), any(), eq(Sort.Direction.DESC), eq(1), eq(5)))
+                .thenReturn(List.of(row));
+
+        FollowedPostsDTO result = postService.getFollowedPosts(1, null, 1, 5);
+
+        assertEquals(List.of(row), result.getPosts());
+        verify(postRepository, never()).findFeedRowsByUserIdInAndDateBetween(anyList(), any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Deve ler os seguidos do grafo em memória quando habilitado, sem consultar user_follows")
+    void testFollowingsPostListing_ShouldUseFollowGraphWhenEnabled() {
+        FeedPostDTO row = feedRow(2, 7, LocalDate.now());
+
+        when(userRepository.existsById(1)).thenReturn(true);
+        when(followGraphService.isEnabled()).thenReturn(true);
+        when(followGraphService.findFollowingIds(1)).thenReturn(List.of(2));
+        when(postRepository.findFeedRowsByUserIdInAndDateBetween(eq(List.of(2)), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(row));
+
+        FollowedPostsDTO result = postService.getFollowedPosts(1, null, 0, 5);
+
+        assertEquals(List.of(row), result.getPosts());
+        verify(userRepository, never()).findFollowingIdsByUserId(any());
+    }
+
+    @Test
+    @DisplayName("Deve ordenar por score no banco na ordenação rank, mesmo com a timeline habilitada")
+    void testFollowingsPostListing_RankShouldQueryByScore() {
+        FeedPostDTO row = feedRow(2, 7, LocalDate.now());
+
+        when(userRepository.existsById(1)).thenReturn(true);
+        when(userRepository.findFollowingIdsByUserId(1)).thenReturn(List.of(2));
+        when(postRepository.findFeedRowsByUserIdInAndDateBetween(eq(List.of(2)), any(), any(), eq(PageRequest.of(1, 5, IPostRepository.RANK_SORT))))
+                .thenReturn(List.of(row));
+
+        FollowedPostsDTO result = postService.getFollowedPosts(1, "rank", 1, 5);
+
+        assertEquals(List.of(row), result.getPosts());
+        verifyNoInteractions(timelineService);
+    }
+
+    @Test
+    @DisplayName("Deve devolver cursor com score na ordenação rank e rejeitar cursor de data")
+    void testFollowingsPostListingByCursor_RankCursorCarriesScore() {
+        FeedPostDTO row = feedRow(2, 7, LocalDate.now());
+        row.setScore(2900.5);
+
+        when(userRepository.existsById(1)).thenReturn(true);
+        when(userRepository.findFollowingIdsByUserId(1)).thenReturn(List.of(2));
+        when(postRepository.findRankedFeedRowsByUserIdInAndDateBetween(eq(List.of(2)), any(), any(), isNull(), eq(1)))
+                .thenReturn(List.of(row));
+
+        FollowedPostsDTO result = postService.getFollowedPostsByCursor(1, "rank", "", 1);
+
+        assertEquals(FeedCursor.ranked(row), FeedCursor.decode(result.getNextCursor()));
+        String dateCursor = new FeedCursor(LocalDate.now(), 7).encode();
+        assertThrows(IllegalArgumentException.class, () -> postService.getFollowedPostsByCursor(1, "rank", dateCursor, 1));
+    }
+
+    @Test
+    @DisplayName("Deve servir o feed pelo cache quando habilitado, sem consultar o banco")
+    void testFollowingsPostListing_ShouldServeFromCacheWhenEnabled() {
+        FollowedPostsDTO cached = new FollowedPostsDTO(1, List.of());
+
+        when(feedCacheService.isEnabled()).thenReturn(true);
+        when(feedCacheService.get(eq(1), eq("date_desc"), eq(0), eq(10), any())).thenReturn(cached);
+
+        FollowedPostsDTO result = postService.getFollowedPosts(1, "date_desc", 0, 10);
+
+        assertSame(cached, result);
+        verifyNoInteractions(postRepository, timelineService);
+        verify(userRepository, never()).existsById(any());
+    }
+
+    @Test
+    @DisplayName("Deve ler o feed da timeline materializada quando habilitada, sem consultar os follows")
+    void testFollowingsPostListing_ShouldReadFromTimelineWhenEnabled() {
+        FeedPostDTO post = new FeedPostDTO();
+        post.setPostId(10);
+        post.setDate(LocalDate.now().minusDays(1));
+
+        when(userRepository.existsById(1)).thenReturn(true);
+        when(timelineService.isEnabled()).thenReturn(true);
+        when(timelineService.findFeed(eq(1), any(), any(), eq(Sort.Direction.ASC), eq(0), eq(10)))
+                .thenReturn(List.of(post));
+
+        FollowedPostsDTO result = postService.getFollowedPosts(1, "date_asc", 0, 10);
+
+        assertEquals(1, result.getUserId());
+        assertEquals(List.of(post), result.getPosts());
+        verify(userRepository, never()).findFollowingIdsByUserId(any());
+        verifyNoInteractions(postRepository);
     }
 
     @Test
@@ -458,6 +774,26 @@ class PostServiceTest {
         verifyNoInteractions(productRepository);
     }
 
+    @Test
+    @DisplayName("Com a data do post, like deve buscar e atualizar pela PK inteira (post_id, date)")
+    void testLikePost_WithDate_ShouldUseFullPrimaryKey() {
+        LocalDate date = LocalDate.of(2026, 1, 1);
+        User user = new User();
+        user.setUserId(1);
+        Post post = new Post();
+        post.setPostId(10);
+        post.setUser(user);
+        post.setDate(date);
+
+        when(userRepository.findById(1)).thenReturn(Optional.of(user));
+        when(postRepository.findByIdAndDate(10, date)).thenReturn(Optional.of(post));
+
+        postService.likePost(10, 1, date);
+
+        verify(postRepository, never()).findById(any());
+        verify(postRepository, times(1)).incrementLikesCount(10, date);
+    }
+
     @Test
     @DisplayName("Deve curtir um post com sucesso e incrementar likesCount")
     void testLikePost_Success() {
@@ -479,15 +815,11 @@ class PostServiceTest {
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         when(postRepository.findById(postId)).thenReturn(Optional.of(post));
         when(postLikeRepository.existsByUser_UserIdAndPost_PostId(userId, postId)).thenReturn(false);
-        when(postRepository.save(any(Post.class))).thenAnswer(inv -> inv.getArgument(0));
 
         assertDoesNotThrow(() -> postService.likePost(postId, userId));
 
-        var postCaptor = org.mockito.ArgumentCaptor.forClass(Post.class);
-        verify(postRepository).save(postCaptor.capture());
-        Post saved = postCaptor.getValue();
-
-        assertEquals(1, saved.getLikesCount());
+        verify(postRepository, times(1)).incrementLikesCount(eq(postId), any());
+        verify(postRepository, never()).save(any(Post.class));
         verify(postLikeRepository, times(1)).save(any());
 
         verify(userRepository, times(1)).findById(userId);
@@ -495,6 +827,76 @@ class PostServiceTest {
         verify(postLikeRepository, times(1)).existsByUser_UserIdAndPost_PostId(userId, postId);
     }
 
+    @Test
+    @DisplayName("Com o buffer de contadores habilitado, like deve acumular o delta em memória sem UPDATE no post")
+    void testLikePost_ShouldBufferCounterWhenEnabled() {
+        User user = new User();
+        user.setUserId(1);
+        Post post = new Post();
+        post.setPostId(10);
+        post.setUser(user);
+
+        when(userRepository.findById(1)).thenReturn(Optional.of(user));
+        when(postRepository.findById(10)).thenReturn(Optional.of(post));
+        when(postLikeRepository.existsByUser_UserIdAndPost_PostId(1, 10)).thenReturn(false);
+        when(counterBufferService.isEnabled()).thenReturn(true);
+
+        postService.likePost(10, 1);
+
+        verify(counterBufferService, times(1)).addLikes(10, 1);
+        verify(postRepository, never()).incrementLikesCount(any(), any());
+        // Cache e versão dos feeds só são invalidados quando o flush grava o likesCount
+        verifyNoInteractions(feedCacheService, feedVersionService);
+    }
+
+    @Test
+    @DisplayName("Com o outbox habilitado, like deve gravar o evento e deixar contador e caches para o relay")
+    void testLikePost_ShouldPublishOutboxEventWhenEnabled() {
+        User user = new User();
+        user.setUserId(1);
+        Post post = new Post();
+        post.setPostId(10);
+        post.setUser(user);
+
+        when(userRepository.findById(1)).thenReturn(Optional.of(user));
+        when(postRepository.findById(10)).thenReturn(Optional.of(post));
+        when(postLikeRepository.existsByUser_UserIdAndPost_PostId(1, 10)).thenReturn(false);
+        when(outboxService.isEnabled()).thenReturn(true);
+
+        postService.likePost(10, 1);
+
+        verify(postLikeRepository, times(1)).save(any());
+        verify(outboxService, times(1)).publish(OutboxEventType.POST_LIKED, 1, 10);
+        verify(postRepository, never()).incrementLikesCount(any(), any());
+        verify(counterBufferService, never()).addLikes(any(), anyInt());
+        verifyNoInteractions(feedCacheService, feedVersionService);
+    }
+
+    @Test
+    @DisplayName("Eventos de post entregues pelo relay devem alimentar timeline, stream e contadores; posts removidos são ignorados")
+    void testHandle_ShouldApplyPostEvents() {
+        User author = new User();
+        author.setUserId(2);
+        Post post = new Post();
+        post.setPostId(10);
+        post.setUser(author);
+
+        when(postRepository.findById(10)).thenReturn(Optional.of(post));
+        when(postRepository.findById(11)).thenReturn(Optional.empty());
+
+        postService.handle(new OutboxEvent(OutboxEventType.POST_CREATED, 2, 10));
+        postService.handle(new OutboxEvent(OutboxEventType.POST_UNLIKED, 1, 10));
+        postService.handle(new OutboxEvent(OutboxEventType.POST_LIKED, 1, 11));
+        postService.handle(new OutboxEvent(OutboxEventType.FOLLOW, 1, 2));
+
+        verify(timelineService, times(1)).fanOut(post);
+        verify(feedStreamService, times(1)).publish(post);
+        verify(postRepository, times(1)).decrementLikesCount(eq(10), any());
+        verify(postRepository, never()).incrementLikesCount(any(), any());
+        verify(feedVersionService, times(2)).bumpFollowersOf(2);
+        verifyNoInteractions(feedIndexService);
+    }
+
     @Test
     @DisplayName("Deve lançar PostUnprocessableException ao curtir um post já curtido")
     void testLikePost_AlreadyLiked_ShouldThrow() {
@@ -546,14 +948,11 @@ class PostServiceTest {
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         when(postRepository.findById(postId)).thenReturn(Optional.of(post));
         when(postLikeRepository.deleteByUser_UserIdAndPost_PostId(userId, postId)).thenReturn(1L);
-        when(postRepository.save(any(Post.class))).thenAnswer(inv -> inv.getArgument(0));
 
         assertDoesNotThrow(() -> postService.unlikePost(postId, userId));
 
-        var postCaptor = org.mockito.ArgumentCaptor.forClass(Post.class);
-        verify(postRepository).save(postCaptor.capture());
-        Post saved = postCaptor.getValue();
-        assertEquals(0, saved.getLikesCount());
+        verify(postRepository, times(1)).decrementLikesCount(eq(postId), any());
+        verify(postRepository, never()).save(any(Post.class));
 
         verify(postLikeRepository, times(1)).deleteByUser_UserIdAndPost_PostId(userId, postId);
     }
@@ -0,0 +1,110 @@
+package com.meli.social.unit.service;
+
+import com.meli.social.post.dto.FeedPostDTO;
+import com.meli.social.post.impl.ShardedFeedQueryService;
+import com.meli.social.post.inter.IPostRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ShardedFeedQueryService - Consulta em blocos Tests")
+class ShardedFeedQueryServiceTest {
+
+    @Mock
+    private IPostRepository postRepository;
+
+    private ShardedFeedQueryService shardedFeedQueryService;
+
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        shardedFeedQueryService = new ShardedFeedQueryService(postRepository, null, true, 2, 2, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        shardedFeedQueryService.shutdown();
+    }
+
+    private FeedPostDTO row(Integer postId, int daysAgo) {
+        FeedPostDTO row = new FeedPostDTO();
+        row.setPostId(postId);
+        row.setDate(today.minusDays(daysAgo));
+        return row;
+    }
+
+    @Test
+    @DisplayName("Deve dividir os autores em blocos, limitar cada bloco a (page+1)*size e fazer o merge ordenado")
+    void testFindFeedRows_ShouldQueryChunksAndMerge() {
+        Pageable head = PageRequest.of(0, 4, Sort.by(Sort.Direction.DESC, "date").and(Sort.by(Sort.Direction.DESC, "postId")));
+        when(postRepository.findFeedRowsByUserIdInAndDateBetween(eq(List.of(1, 2)), any(), any(), eq(head)))
+                .thenReturn(List.of(row(10, 0), row(4, 3)));
+        when(postRepository.findFeedRowsByUserIdInAndDateBetween(eq(List.of(3, 4)), any(), any(), eq(head)))
+                .thenReturn(List.of(row(8, 1), row(6, 2), row(2, 5)));
+        when(postRepository.findFeedRowsByUserIdInAndDateBetween(eq(List.of(5)), any(), any(), eq(head)))
+                .thenReturn(List.of(row(9, 1)));
+
+        List<FeedPostDTO> page = shardedFeedQueryService.findFeedRows(List.of(1, 2, 3, 4, 5), today.minusDays(14), today, Sort.Direction.DESC, 1, 2);
+
+        assertEquals(List.of(8, 6), page.stream().map(FeedPostDTO::getPostId).toList());
+        verify(postRepository, times(3)).findFeedRowsByUserIdInAndDateBetween(anyList(), any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Deve propagar o erro de um bloco para a requisição")
+    void testFindFeedRows_ShouldPropagateChunkFailure() {
+        when(postRepository.findFeedRowsByUserIdInAndDateBetween(anyList(), any(), any(), any(Pageable.class)))
+                .thenThrow(new IllegalStateException("falha"));
+
+        assertThrows(IllegalStateException.class,
+                () -> shardedFeedQueryService.findFeedRows(List.of(1, 2, 3), today.minusDays(14), today, Sort.Direction.ASC, 0, 10));
+    }
+
+    @Test
+    @DisplayName("Sem vaga para consulta paralela, deve consultar os blocos em sequência na thread da requisição")
+    void testFindFeedRows_WithoutPermitShouldQuerySequentially() {
+        ShardedFeedQueryService sequential = new ShardedFeedQueryService(postRepository, null, true, 2, 2, 0);
+        List<String> threads = new CopyOnWriteArrayList<>();
+        when(postRepository.findFeedRowsByUserIdInAndDateBetween(anyList(), any(), any(), any(Pageable.class))).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return List.of();
+        });
+
+        sequential.findFeedRows(List.of(1, 2, 3), today.minusDays(14), today, Sort.Direction.DESC, 0, 10);
+        sequential.shutdown();
+
+        assertEquals(List.of(Thread.currentThread().getName(), Thread.currentThread().getName()), threads);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar páginas fundas por offset e pool de conexões sem folga para os blocos")
+    void testFindFeedRows_ShouldRejectDeepPagesAndSmallPool() {
+        assertThrows(IllegalArgumentException.class,
+                () -> shardedFeedQueryService.findFeedRows(List.of(1, 2, 3), today.minusDays(14), today, Sort.Direction.DESC, 100, 10));
+
+        try (HikariDataSource pool = new HikariDataSource()) {
+            pool.setMaximumPoolSize(5);
+            assertThrows(IllegalArgumentException.class, () -> new ShardedFeedQueryService(postRepository, pool, true, 2, 4, 2));
+        }
+        verifyNoInteractions(postRepository);
+    }
+}
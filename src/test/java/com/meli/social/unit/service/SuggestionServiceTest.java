@@ -0,0 +1,145 @@
+package com.meli.social.unit.service;
+
+import com.meli.social.exception.UserNotFoundException;
+import com.meli.social.user.dto.FollowEdgeRow;
+import com.meli.social.user.dto.UserWithSuggestionsDTO;
+import com.meli.social.user.impl.SuggestionService;
+import com.meli.social.user.inter.IFollowGraphService;
+import com.meli.social.user.inter.UserJpaRepository;
+import com.meli.social.user.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SuggestionService - Sugestões de quem seguir Tests")
+class SuggestionServiceTest {
+
+    @Mock
+    private UserJpaRepository userRepository;
+
+    @Mock
+    private IFollowGraphService followGraphService;
+
+    private SuggestionService suggestionService;
+
+    @BeforeEach
+    void setUp() {
+        suggestionService = new SuggestionService(userRepository, followGraphService, 100, Duration.ofHours(1), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        suggestionService.shutdown();
+    }
+
+    private static User user(Integer userId) {
+        User user = new User("user" + userId);
+        user.setUserId(userId);
+        return user;
+    }
+
+    private static FollowEdgeRow edge(Integer followerId, Integer followedId) {
+        return new FollowEdgeRow() {
+            @Override
+            public Integer getFollowerId() {
+                return followerId;
+            }
+
+            @Override
+            public Integer getFollowedId() {
+                return followedId;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Deve ranquear amigos de amigos por conexões em comum, sem o próprio usuário e os já seguidos")
+    void testGetSuggestions_ShouldRankFriendsOfFriends() {
+        // 1 segue 2 e 3; 2 segue 1, 3, 4 e 5; 3 segue 5
+        when(userRepository.findById(1)).thenReturn(Optional.of(user(1)));
+        when(userRepository.findFollowingIdsByUserId(1)).thenReturn(List.of(2, 3));
+        when(userRepository.findFollowEdgesByFollowerIdIn(List.of(2, 3)))
+                .thenReturn(List.of(edge(2, 1), edge(2, 3), edge(2, 4), edge(2, 5), edge(3, 5)));
+        when(userRepository.findByUserIdIn(List.of(5, 4))).thenReturn(List.of(user(4), user(5)));
+
+        UserWithSuggestionsDTO result = suggestionService.getSuggestions(1, 0, 10);
+
+        assertEquals(2, result.getSuggestions().size());
+        assertEquals(5, result.getSuggestions().get(0).getUserId());
+        assertEquals(2, result.getSuggestions().get(0).getSharedConnections());
+        assertEquals(4, result.getSuggestions().get(1).getUserId());
+        assertEquals(1, result.getSuggestions().get(1).getSharedConnections());
+    }
+
+    @Test
+    @DisplayName("Deve servir o ranking guardado e recalcular só depois de invalidado")
+    void testGetSuggestions_ShouldReuseStoredRankingUntilInvalidated() {
+        when(userRepository.findById(1)).thenReturn(Optional.of(user(1)));
+        when(userRepository.findFollowingIdsByUserId(1)).thenReturn(List.of(2));
+        when(userRepository.findFollowEdgesByFollowerIdIn(List.of(2))).thenReturn(List.of(edge(2, 3)));
+        when(userRepository.findByUserIdIn(List.of(3))).thenReturn(List.of(user(3)));
+
+        suggestionService.getSuggestions(1, 0, 10);
+        suggestionService.getSuggestions(1, 0, 10);
+        verify(userRepository, times(1)).findFollowingIdsByUserId(1);
+
+        suggestionService.invalidate(1);
+        suggestionService.getSuggestions(1, 0, 10);
+        verify(userRepository, times(2)).findFollowingIdsByUserId(1);
+    }
+
+    @Test
+    @DisplayName("Refresh deve recalcular em paralelo os usuários invalidados usando o grafo em memória")
+    void testRefresh_ShouldRecomputeInvalidatedUsersFromGraph() {
+        when(followGraphService.isEnabled()).thenReturn(true);
+        for (int userId = 1; userId <= 100; userId++) {
+            when(userRepository.findById(userId)).thenReturn(Optional.of(user(userId)));
+            when(followGraphService.findFollowingIds(userId)).thenReturn(List.of(1000));
+        }
+        when(followGraphService.findFollowingIds(1000)).thenReturn(List.of(2000));
+        when(userRepository.findByUserIdIn(anyList())).thenReturn(List.of(user(2000)));
+        for (int userId = 1; userId <= 100; userId++) {
+            suggestionService.getSuggestions(userId, 0, 10);
+        }
+
+        // 1 a 100 seguem 1000; um follow de 1000 invalida 1000 e seus seguidores, sem consultar quem são
+        when(followGraphService.findFollowingIds(1000)).thenReturn(List.of(2000, 3000));
+        suggestionService.invalidate(1000);
+        verify(followGraphService, never()).findFollowerIds(any());
+        suggestionService.refresh();
+
+        when(userRepository.findByUserIdIn(List.of(2000, 3000))).thenReturn(List.of(user(2000), user(3000)));
+        for (int userId = 1; userId <= 100; userId++) {
+            assertEquals(2, suggestionService.getSuggestions(userId, 0, 10).getSuggestions().size());
+        }
+        verify(userRepository, never()).findFollowingIdsByUserId(any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar UserNotFoundException para usuário inexistente")
+    void testGetSuggestions_ShouldThrowWhenUserDoesNotExist() {
+        when(userRepository.findById(99)).thenReturn(Optional.empty());
+
+        assertThrows(UserNotFoundException.class, () -> suggestionService.getSuggestions(99, 0, 10));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar paginação inválida")
+    void testGetSuggestions_ShouldRejectInvalidPage() {
+        assertThrows(IllegalArgumentException.class, () -> suggestionService.getSuggestions(1, -1, 10));
+        assertThrows(IllegalArgumentException.class, () -> suggestionService.getSuggestions(1, 0, 101));
+    }
+}
@@ -0,0 +1,275 @@
+package com.meli.social.unit.service;
+
+import com.meli.social.post.dto.FeedCursor;
+import com.meli.social.post.dto.FeedPostDTO;
+import com.meli.social.post.impl.TimelineService;
+import com.meli.social.post.inter.ICounterBufferService;
+import com.meli.social.post.inter.IPostRepository;
+import com.meli.social.post.inter.TimelineJpaRepository;
+import com.meli.social.post.model.Post;
+import com.meli.social.post.model.TimelineEntry;
+import com.meli.social.user.inter.UserJpaRepository;
+import com.meli.social.user.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TimelineService - Fan-out Tests")
+class TimelineServiceTest {
+
+    @Mock
+    private TimelineJpaRepository timelineRepository;
+
+    @Mock
+    private IPostRepository postRepository;
+
+    @Mock
+    private UserJpaRepository userRepository;
+
+    @Mock
+    private ICounterBufferService counterBufferService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TimelineService timelineService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        timelineService = new TimelineService(timelineRepository, postRepository, userRepository, counterBufferService, meterRegistry, true, 100, 0.1);
+    }
+
+    private Post createPost(Integer postId, User author, LocalDate date) {
+        Post post = new Post();
+        post.setPostId(postId);
+        post.setUser(author);
+        post.setDate(date);
+        return post;
+    }
+
+    @Test
+    @DisplayName("Deve gravar uma entrada na timeline de cada seguidor do autor")
+    @SuppressWarnings("unchecked")
+    void testFanOut_ShouldCreateEntryPerFollower() {
+        User author = new User("author");
+        author.setUserId(1);
+        Post post = createPost(10, author, LocalDate.now());
+
+        when(userRepository.findFollowerIdsByUserId(1)).thenReturn(List.of(2, 3));
+
+        timelineService.fanOut(post);
+
+        ArgumentCaptor<List<TimelineEntry>> captor = ArgumentCaptor.forClass(List.class);
+        verify(timelineRepository).saveAll(captor.capture());
+        List<TimelineEntry> entries = captor.getValue();
+        assertEquals(2, entries.size());
+        assertEquals(List.of(2, 3), entries.stream().map(TimelineEntry::getOwnerId).toList());
+        assertTrue(entries.stream().allMatch(e -> e.getAuthorId() == 1 && e.getPost() == post));
+        assertTrue(entries.stream().allMatch(e -> post.getDate().equals(e.getPostDate())));
+    }
+
+    @Test
+    @DisplayName("Não deve distribuir posts de autores acima do limite de seguidores (pull)")
+    void testFanOut_ShouldSkipPulledAuthors() {
+        User author = new User("celebrity");
+        author.setUserId(1);
+        author.setFollowersCount(100);
+        author.setFeedPulled(true);
+
+        when(userRepository.lockFeedPulledByUserId(1)).thenReturn(Optional.of(true));
+        when(userRepository.getFollowersCountByUserId(1)).thenReturn(Optional.of(100));
+
+        timelineService.fanOut(createPost(10, author, LocalDate.now()));
+
+        verifyNoInteractions(timelineRepository);
+        verify(userRepository, never()).findFollowerIdsByUserId(any());
+        verify(userRepository, never()).updateFeedPulled(any(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("O limite de pull deve considerar os seguidores ainda pendentes no buffer de contadores")
+    void testBackfill_ShouldCountBufferedFollowersTowardsThreshold() {
+        when(userRepository.lockFeedPulledByUserId(2)).thenReturn(Optional.of(false));
+        when(userRepository.getFollowersCountByUserId(2)).thenReturn(Optional.of(60));
+        when(counterBufferService.isEnabled()).thenReturn(true);
+        when(counterBufferService.pendingFollowers(2)).thenReturn(40L);
+        when(userRepository.updateFeedPulled(2, true)).thenReturn(1);
+
+        timelineService.backfill(1, 2);
+
+        verify(timelineRepository, times(1)).deleteByAuthorId(2);
+        verify(timelineRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Ao atingir o limite o autor deve passar a pull e ter suas linhas removidas das timelines")
+    void testBackfill_ShouldSwitchAuthorToPullWhenCrossingThreshold() {
+        when(userRepository.lockFeedPulledByUserId(2)).thenReturn(Optional.of(false));
+        when(userRepository.getFollowersCountByUserId(2)).thenReturn(Optional.of(100));
+        when(userRepository.updateFeedPulled(2, true)).thenReturn(1);
+
+        timelineService.backfill(1, 2);
+
+        verify(timelineRepository, times(1)).deleteByAuthorId(2);
+        verify(timelineRepository, never()).saveAll(any());
+        verify(postRepository, never()).lockPostsByUserIdAndDateBetween(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Autor em pull só deve voltar a push abaixo do limite com histerese, copiando a janela para todos os seguidores")
+    @SuppressWarnings("unchecked")
+    void testPrune_ShouldSwitchAuthorBackToPushBelowHysteresis() {
+        User author = new User("celebrity");
+        author.setUserId(2);
+        Post post = createPost(20, author, LocalDate.now().minusDays(1));
+
+        when(userRepository.lockFeedPulledByUserId(2)).thenReturn(Optional.of(true));
+        // 95 >= 100 * 0.9: continua em pull
+        when(userRepository.getFollowersCountByUserId(2)).thenReturn(Optional.of(95));
+        timelineService.prune(1, 2);
+        verify(userRepository, never()).updateFeedPulled(any(), anyBoolean());
+
+        when(userRepository.getFollowersCountByUserId(2)).thenReturn(Optional.of(89));
+        when(userRepository.updateFeedPulled(2, false)).thenReturn(1);
+        when(postRepository.lockPostsByUserIdAndDateBetween(eq(2), any(), any())).thenReturn(List.of(post));
+        when(userRepository.findFollowerIdsByUserId(2)).thenReturn(List.of(3, 4));
+        timelineService.prune(1, 2);
+
+        ArgumentCaptor<List<TimelineEntry>> captor = ArgumentCaptor.forClass(List.class);
+        verify(timelineRepository).saveAll(captor.capture());
+        assertEquals(List.of(3, 4), captor.getValue().stream().map(TimelineEntry::getOwnerId).toList());
+        assertTrue(captor.getValue().stream().allMatch(entry -> entry.getPost() == post));
+    }
+
+    @Test
+    @DisplayName("Deve copiar os posts dos últimos 14 dias do seguido ao seguir")
+    @SuppressWarnings("unchecked")
+    void testBackfill_ShouldCopyRecentPostsOfFollowed() {
+        User followed = new User("followed");
+        followed.setUserId(2);
+        Post post = createPost(20, followed, LocalDate.now().minusDays(3));
+
+        when(postRepository.findPostsByUserIdAndDateBetween(eq(2), eq(LocalDate.now().minusDays(14)), eq(LocalDate.now())))
+                .thenReturn(List.of(post));
+
+        timelineService.backfill(1, 2);
+
+        ArgumentCaptor<List<TimelineEntry>> captor = ArgumentCaptor.forClass(List.class);
+        verify(timelineRepository).saveAll(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertEquals(1, captor.getValue().get(0).getOwnerId());
+    }
+
+    @Test
+    @DisplayName("Deve remover as entradas do autor deixado de seguir")
+    void testPrune_ShouldDeleteEntriesOfUnfollowed() {
+        timelineService.prune(1, 2);
+
+        verify(timelineRepository, times(1)).deleteByOwnerIdAndAuthorId(1, 2);
+    }
+
+    @Test
+    @DisplayName("Não deve tocar na timeline quando desabilitada")
+    void testDisabled_ShouldDoNothing() {
+        TimelineService disabled = new TimelineService(timelineRepository, postRepository, userRepository, counterBufferService, meterRegistry, false, 100, 0.1);
+        User author = new User("author");
+        author.setUserId(1);
+
+        disabled.fanOut(createPost(10, author, LocalDate.now()));
+        disabled.backfill(1, 2);
+        disabled.prune(1, 2);
+
+        assertFalse(disabled.isEnabled());
+        verifyNoInteractions(timelineRepository, postRepository, userRepository);
+    }
+
+    @Test
+    @DisplayName("Deve intercalar a timeline com os posts puxados dos autores acima do limite")
+    void testFindFeed_ShouldMergePushedAndPulledPosts() {
+        User author = new User("author");
+        author.setUserId(2);
+        User celebrity = new User("celebrity");
+        celebrity.setUserId(3);
+        LocalDate today = LocalDate.now();
+
+        FeedPostDTO pushed1 = FeedPostDTO.fromEntity(createPost(1, author, today.minusDays(1)));
+        FeedPostDTO pushed2 = FeedPostDTO.fromEntity(createPost(2, author, today.minusDays(4)));
+        FeedPostDTO pulled1 = FeedPostDTO.fromEntity(createPost(3, celebrity, today.minusDays(2)));
+        FeedPostDTO pulled2 = FeedPostDTO.fromEntity(createPost(4, celebrity, today.minusDays(6)));
+
+        when(userRepository.findPulledFollowingIdsByUserId(1)).thenReturn(List.of(3));
+        when(timelineRepository.findFeedRowsByOwnerIdAndDateBetween(eq(1), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(pushed1, pushed2));
+        when(postRepository.findFeedRowsByUserIdInAndDateBetween(eq(List.of(3)), any(), any(), isNull(), eq(Sort.Direction.DESC), anyInt()))
+                .thenReturn(List.of(pulled1, pulled2));
+
+        List<FeedPostDTO> firstPage = timelineService.findFeed(1, today.minusDays(14), today, Sort.Direction.DESC, 0, 2);
+        List<FeedPostDTO> secondPage = timelineService.findFeed(1, today.minusDays(14), today, Sort.Direction.DESC, 1, 2);
+
+        assertEquals(List.of(pushed1, pulled1), firstPage);
+        assertEquals(List.of(pushed2, pulled2), secondPage);
+        assertEquals(2.0, meterRegistry.counter("social.feed.pull.reads").count());
+        assertEquals(2.0, meterRegistry.counter("social.feed.pull.merged.posts").count());
+    }
+
+    @Test
+    @DisplayName("Deve ler apenas a timeline quando nenhum seguido está acima do limite")
+    void testFindFeed_ShouldUseOnlyTimelineWithoutPulledAuthors() {
+        when(userRepository.findPulledFollowingIdsByUserId(1)).thenReturn(List.of());
+        when(timelineRepository.findFeedRowsByOwnerIdAndDateBetween(eq(1), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        timelineService.findFeed(1, LocalDate.now().minusDays(14), LocalDate.now(), Sort.Direction.DESC, 3, 10);
+
+        verify(postRepository, never()).findFeedRowsByUserIdInAndDateBetween(anyList(), any(), any(), any(), any(), anyInt());
+        assertEquals(0.0, meterRegistry.counter("social.feed.pull.reads").count());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar páginas por offset além do limite e indicar o cursor")
+    void testFindFeed_ShouldRejectDeepOffsetPages() {
+        LocalDate today = LocalDate.now();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> timelineService.findFeed(1, today.minusDays(14), today, Sort.Direction.DESC, 100, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> timelineService.findFeed(1, today.minusDays(14), today, Sort.Direction.DESC, Integer.MAX_VALUE, 10));
+        verifyNoInteractions(timelineRepository, postRepository);
+    }
+
+    @Test
+    @DisplayName("Deve paginar a timeline por cursor (date, postId) sem OFFSET")
+    void testFindFeedByCursor_ShouldUseKeysetQuery() {
+        FeedCursor after = new FeedCursor(LocalDate.now().minusDays(2), 7);
+        when(timelineRepository.findFeedRowsByOwnerIdAndDateBetweenBeforeCursor(eq(1), any(), any(), eq(after.date()), eq(7), any(Pageable.class)))
+                .thenReturn(List.of());
+        when(userRepository.findPulledFollowingIdsByUserId(1)).thenReturn(List.of());
+
+        timelineService.findFeed(1, LocalDate.now().minusDays(14), LocalDate.now(), Sort.Direction.DESC, after, 10);
+
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+        verify(timelineRepository).findFeedRowsByOwnerIdAndDateBetweenBeforeCursor(eq(1), any(), any(), eq(after.date()), eq(7), captor.capture());
+        assertEquals(0, captor.getValue().getOffset());
+        assertEquals(10, captor.getValue().getPageSize());
+    }
+}
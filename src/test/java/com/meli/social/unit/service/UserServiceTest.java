@@ -1,10 +1,14 @@
 package com.meli.social.unit.service;
 
+import com.meli.social.post.inter.ICounterBufferService;
+import com.meli.social.user.dto.UserDTO;
 import com.meli.social.user.dto.UserSimpleDTO;
 import com.meli.social.user.dto.UserWithFollowedDTO;
 import com.meli.social.user.dto.UserWithFollowersDTO;
 import com.meli.social.user.model.User;
 import com.meli.social.user.impl.UserService;
+import com.meli.social.user.inter.IFollowBitmapService;
+import com.meli.social.user.inter.ILeaderboardService;
 import com.meli.social.user.inter.UserJpaRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,8 +19,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,12 +38,21 @@ class UserServiceTest {
 @Mock
 private UserJpaRepository userRepository;
 
+@Mock
+private IFollowBitmapService followBitmapService;
+
+@Mock
+private ILeaderboardService leaderboardService;
+
+@Mock
+private ICounterBufferService counterBufferService;
+
 @InjectMocks
 private UserService userService;
 
 @BeforeEach
 void setUp() {
-    reset(userRepository);
+    reset(userRepository, followBitmapService, leaderboardService, counterBufferService);
 }
 
 
@@ -531,4 +546,118 @@ void testGetFollowingUserNotFound() {
     verify(userRepository, never()).findFollowingByUserId(anyInt());
 }
 
-}
\ No newline at end of file
+@Test
+@DisplayName("Com bitmaps habilitados, seguidores mútuos devem vir da interseção em memória, ordenados por nome")
+void testGetMutualFollows_ShouldUseBitmapsWhenEnabled() {
+    User mainUser = new User("main");
+    mainUser.setUserId(1);
+    User bob = new User("bob");
+    bob.setUserId(3);
+    User ana = new User("ana");
+    ana.setUserId(2);
+
+    when(userRepository.findById(1)).thenReturn(Optional.of(mainUser));
+    when(followBitmapService.isEnabled()).thenReturn(true);
+    when(followBitmapService.findMutualFollowIds(1)).thenReturn(List.of(2, 3));
+    when(userRepository.findByUserIdIn(List.of(2, 3))).thenReturn(List.of(bob, ana));
+
+    UserWithFollowedDTO result = userService.getMutualFollows(1);
+
+    assertEquals(List.of("ana", "bob"), result.getFollowed().stream().map(UserSimpleDTO::getUserName).toList());
+    verify(userRepository, never()).findMutualFollowers(any());
+}
+
+@Test
+@DisplayName("Sem bitmaps, a contagem de seguidores em comum deve usar a consulta no banco")
+void testGetCommonFollowersCount_ShouldFallBackToQuery() {
+    when(userRepository.existsById(1)).thenReturn(true);
+    when(userRepository.existsById(2)).thenReturn(true);
+    when(userRepository.countCommonFollowers(1, 2)).thenReturn(4L);
+
+    assertEquals(4L, userService.getCommonFollowersCount(1, 2).getCommonFollowersCount());
+    verify(followBitmapService, never()).countCommonFollowers(any(), any());
+}
+
+@Test
+@DisplayName("Paginação por cursor deve continuar do (userName, userId) do último seguidor, sem COUNT")
+void testGetFollowersByCursor_ShouldSeekFromLastUser() {
+    User mainUser = new User();
+    mainUser.setUserId(1);
+    mainUser.setUserName("main_user");
+
+    User follower1 = new User();
+    follower1.setUserId(2);
+    follower1.setUserName("follower_1");
+
+    User follower2 = new User();
+    follower2.setUserId(3);
+    follower2.setUserName("follower_2");
+
+    User follower3 = new User();
+    follower3.setUserId(4);
+    follower3.setUserName("follower_3");
+
+    when(userRepository.findById(1)).thenReturn(Optional.of(mainUser));
+    when(userRepository.findFollowersByUserIdFirstOrderByNameAndIdAsc(eq(1), any(PageRequest.class)))
+            .thenReturn(new SliceImpl<>(List.of(follower1, follower2), PageRequest.of(0, 2), true));
+
+    UserWithFollowersDTO first = userService.getFollowersByCursor(1, null, "", 2);
+    assertEquals(List.of(2, 3), first.getFollowers().stream().map(UserSimpleDTO::getUserId).toList());
+    assertNotNull(first.getNextCursor());
+
+    when(userRepository.findFollowersByUserIdAfterOrderByNameAndIdAsc(eq(1), eq("follower_2"), eq(3), any(PageRequest.class)))
+            .thenReturn(new SliceImpl<>(List.of(follower3), PageRequest.of(0, 2), false));
+
+    UserWithFollowersDTO last = userService.getFollowersByCursor(1, "name_asc", first.getNextCursor(), 2);
+    assertEquals(List.of(4), last.getFollowers().stream().map(UserSimpleDTO::getUserId).toList());
+    assertNull(last.getNextCursor());
+    verify(userRepository, never()).findFollowersByUserIdOrderByNameAsc(any(), any(PageRequest.class));
+}
+
+@Test
+@DisplayName("Paginação por cursor deve rejeitar cursor e ordem inválidos")
+void testGetFollowingByCursor_ShouldRejectInvalidCursorAndOrder() {
+    assertThrows(IllegalArgumentException.class, () -> userService.getFollowingByCursor(1, null, "%%%", 10));
+    assertThrows(IllegalArgumentException.class, () -> userService.getFollowingByCursor(1, "date_desc", "", 10));
+    verifyNoInteractions(userRepository);
+}
+
+@Test
+@DisplayName("Com o ranking em memória pronto, top usuários não deve consultar o banco")
+void testGetTopUsers_ShouldUseLeaderboardWhenEnabled() {
+    List<UserDTO> top = List.of(new UserDTO(2, "star", 10), new UserDTO(1, "fan", 1));
+    when(leaderboardService.isEnabled()).thenReturn(true);
+    when(leaderboardService.getTopUsers(2)).thenReturn(top);
+
+    assertEquals(top, userService.getTopUsers(2));
+    verify(userRepository, never()).findAllByOrderByFollowersCountDesc(any());
+}
+
+@Test
+@DisplayName("Com o buffer de contadores, top usuários deve somar os seguidores pendentes e reordenar")
+void testGetTopUsers_ShouldMergePendingFollowers() {
+    User star = new User("star");
+    star.setUserId(1);
+    star.setFollowersCount(10);
+    User fading = new User("fading");
+    fading.setUserId(2);
+    fading.setFollowersCount(8);
+    User third = new User("third");
+    third.setUserId(3);
+    third.setFollowersCount(6);
+    User rising = new User("rising");
+    rising.setUserId(4);
+    rising.setFollowersCount(2);
+
+    when(counterBufferService.isEnabled()).thenReturn(true);
+    when(counterBufferService.pendingFollowers()).thenReturn(Map.of(2, -5L, 4, 7L));
+    when(userRepository.findAllByOrderByFollowersCountDesc(PageRequest.of(0, 3))).thenReturn(List.of(star, fading, third));
+    when(userRepository.findAllById(List.of(4))).thenReturn(List.of(rising));
+
+    List<UserDTO> top = userService.getTopUsers(2);
+
+    assertEquals(List.of(1, 4), top.stream().map(UserDTO::getUserId).toList());
+    assertEquals(List.of(10, 9), top.stream().map(UserDTO::getFollowersCount).toList());
+}
+
+}